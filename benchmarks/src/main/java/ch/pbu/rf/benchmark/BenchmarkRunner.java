@@ -0,0 +1,37 @@
+package ch.pbu.rf.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Represents the entry point of the benchmarks.
+ * <p>
+ * Accepts the regular JMH command line options (e.g. a benchmark filter or
+ * <code>-p precision=34</code>) and always adds the {@link GCProfiler}, so that
+ * every result reports the bytes allocated per operation
+ * (<code>gc.alloc.rate.norm</code>) next to the operations per second.
+ *
+ * @author Yanick Senn
+ */
+public final class BenchmarkRunner {
+
+	/**
+	 * Private constructor.
+	 */
+	private BenchmarkRunner() {
+		throw new AssertionError();
+	}
+
+
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.addProfiler(GCProfiler.class)
+			.build();
+
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,116 @@
+package ch.pbu.rf.benchmark;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+
+/**
+ * Represents the colors the benchmarks run on.
+ * <p>
+ * RGB-Colors are 8-bit sRGB values (<code>k / 255</code>) as delivered by scanners and
+ * spectrophotometer exports. XYZ- and Lab-Colors are converted from those (linearized)
+ * RGB-Colors and therefore lie within the sRGB gamut. Pairs of Lab-Colors are either
+ * nearby (delta E1976 up to about 5, as in tolerance checks) or arbitrary (as in
+ * catalog scans). Every value is rounded to the precision of the benchmark.
+ *
+ * @author Yanick Senn
+ */
+final class ColorData {
+
+	/**
+	 * Number of colors, a power of two so that the benchmarks can cycle with a mask.
+	 */
+	static final int SIZE = 1024;
+	static final int MASK = SIZE - 1;
+
+	private static final long SEED = 20181012L;
+
+	private final ColorRGB[] rgb = new ColorRGB[SIZE];
+	private final ColorXYZ[] xyz = new ColorXYZ[SIZE];
+	private final ColorLab[] lab = new ColorLab[SIZE];
+	private final ColorLab[] labNearby = new ColorLab[SIZE];
+	private final ColorLab[] labArbitrary = new ColorLab[SIZE];
+	private final BigDecimal[] values = new BigDecimal[SIZE];
+
+
+	/**
+	 * Constructor with precision.
+	 *
+	 * @param precision Precision of the values.
+	 */
+	ColorData(int precision) {
+		MathContext mc = new MathContext(precision, RoundingMode.HALF_UP);
+		Random random = new Random(SEED);
+
+		for (int i = 0; i < SIZE; i++) {
+			BigDecimal r = channel(random, mc);
+			BigDecimal g = channel(random, mc);
+			BigDecimal b = channel(random, mc);
+			rgb[i] = new ColorRGB(r, g, b);
+			values[i] = r;
+
+			ColorRGB linear = new ColorRGB(
+				ColorUtil.calulateRGBtoXYZGammaCorrection(r),
+				ColorUtil.calulateRGBtoXYZGammaCorrection(g),
+				ColorUtil.calulateRGBtoXYZGammaCorrection(b));
+
+			ColorXYZ converted = ColorUtil.convertToXYZ(linear, RF.CIE1931.D65);
+			xyz[i] = new ColorXYZ(converted.getX().round(mc), converted.getY().round(mc), converted.getZ().round(mc));
+
+			ColorLab convertedLab = ColorUtil.convertToLab(converted, RF.CIE1931.D65);
+			lab[i] = new ColorLab(convertedLab.getL().round(mc), convertedLab.getA().round(mc), convertedLab.getB().round(mc));
+		}
+
+		for (int i = 0; i < SIZE; i++) {
+			labNearby[i] = new ColorLab(
+				offset(lab[i].getL(), random, mc),
+				offset(lab[i].getA(), random, mc),
+				offset(lab[i].getB(), random, mc));
+			labArbitrary[i] = lab[random.nextInt(SIZE)];
+		}
+	}
+
+
+	ColorRGB[] getRGB() {
+		return rgb;
+	}
+
+	ColorXYZ[] getXYZ() {
+		return xyz;
+	}
+
+	ColorLab[] getLab() {
+		return lab;
+	}
+
+	ColorLab[] getLabNearby() {
+		return labNearby;
+	}
+
+	ColorLab[] getLabArbitrary() {
+		return labArbitrary;
+	}
+
+	/**
+	 * Returns values between 0 and 1 for the gamma corrections.
+	 */
+	BigDecimal[] getValues() {
+		return values;
+	}
+
+
+	private static BigDecimal channel(Random random, MathContext mc) {
+		return BigDecimal.valueOf(random.nextInt(256)).divide(BigDecimal.valueOf(255), mc);
+	}
+
+	private static BigDecimal offset(BigDecimal value, Random random, MathContext mc) {
+		return value.add(BigDecimal.valueOf(random.nextGaussian() * 1.5), mc);
+	}
+}
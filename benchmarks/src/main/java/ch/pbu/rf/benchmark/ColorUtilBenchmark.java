@@ -0,0 +1,94 @@
+package ch.pbu.rf.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+
+/**
+ * Benchmarks the conversions of {@link ColorUtil}.
+ * <p>
+ * The <I>precision</I> is the precision of the input values.
+ *
+ * @author Yanick Senn
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2)
+@State(Scope.Thread)
+public class ColorUtilBenchmark {
+
+	@Param({ "16", "34", "100" })
+	public int precision;
+
+	private ColorRGB[] rgb;
+	private ColorXYZ[] xyz;
+	private ColorLab[] lab;
+	private BigDecimal[] values;
+	private int index;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		ColorData data = new ColorData(precision);
+		rgb = data.getRGB();
+		xyz = data.getXYZ();
+		lab = data.getLab();
+		values = data.getValues();
+	}
+
+
+	@Benchmark
+	public ColorXYZ convertToXYZ_rgb() {
+		return ColorUtil.convertToXYZ(rgb[next()], RF.CIE1931.D65);
+	}
+
+	@Benchmark
+	public ColorXYZ convertToXYZ_lab() {
+		return ColorUtil.convertToXYZ(lab[next()], RF.CIE1931.D65);
+	}
+
+	@Benchmark
+	public ColorLab convertToLab() {
+		return ColorUtil.convertToLab(xyz[next()], RF.CIE1931.D65);
+	}
+
+	@Benchmark
+	public BigDecimal[][] calculateRGBtoXYZTransformationMatrix() {
+		return ColorUtil.calculateRGBtoXYZTransformationMatrix(RF.RGB.ColorSpace.sRGB);
+	}
+
+	@Benchmark
+	public BigDecimal calulateRGBtoXYZGammaCorrection() {
+		return ColorUtil.calulateRGBtoXYZGammaCorrection(values[next()]);
+	}
+
+	@Benchmark
+	public BigDecimal calulateXYZtoRGBGammaCorrection() {
+		return ColorUtil.calulateXYZtoRGBGammaCorrection(values[next()]);
+	}
+
+
+	private int next() {
+		return index = (index + 1) & ColorData.MASK;
+	}
+}
@@ -0,0 +1,99 @@
+package ch.pbu.rf.benchmark;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.pbu.rf.color.lab.ColorLab;
+
+/**
+ * Benchmarks the delta E calculations of {@link ColorUtil} and {@link ColorUtilDouble}.
+ * <p>
+ * The <I>precision</I> is the precision of the input values and of the
+ * {@link MathContext} passed to the calculations accepting one. The <I>pairs</I>
+ * are either nearby or arbitrary (see {@link ColorData}).
+ *
+ * @author Yanick Senn
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2)
+@State(Scope.Thread)
+public class DeltaEBenchmark {
+
+	@Param({ "16", "34", "100" })
+	public int precision;
+
+	@Param({ "NEARBY", "ARBITRARY" })
+	public String pairs;
+
+	private MathContext mc;
+	private ColorLab[] colors1;
+	private ColorLab[] colors2;
+	private int index;
+
+
+	@Setup(Level.Trial)
+	public void setup() {
+		ColorData data = new ColorData(precision);
+		mc = new MathContext(precision, RoundingMode.HALF_UP);
+		colors1 = data.getLab();
+		colors2 = "NEARBY".equals(pairs) ? data.getLabNearby() : data.getLabArbitrary();
+	}
+
+
+	@Benchmark
+	public BigDecimal calculateDeltaE1976() {
+		int i = next();
+		return ColorUtil.calculateDeltaE1976(colors1[i], colors2[i]);
+	}
+
+	@Benchmark
+	public BigDecimal calculateDeltaE1976_mc() {
+		int i = next();
+		ColorLab color1 = colors1[i];
+		ColorLab color2 = colors2[i];
+		return ColorUtil.calculateDeltaE1976(color1.getL(), color1.getA(), color1.getB(), color2.getL(), color2.getA(), color2.getB(), mc);
+	}
+
+	@Benchmark
+	public BigDecimal calculateDeltaE2000() {
+		int i = next();
+		return ColorUtil.calculateDeltaE2000(colors1[i], colors2[i]);
+	}
+
+	@Benchmark
+	public double calculateDeltaE1976_double() {
+		int i = next();
+		return ColorUtilDouble.calculateDeltaE1976(colors1[i], colors2[i]);
+	}
+
+	@Benchmark
+	public double calculateDeltaE2000_double() {
+		int i = next();
+		return ColorUtilDouble.calculateDeltaE2000(colors1[i], colors2[i]);
+	}
+
+
+	private int next() {
+		return index = (index + 1) & ColorData.MASK;
+	}
+}
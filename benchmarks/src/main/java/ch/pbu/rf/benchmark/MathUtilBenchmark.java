@@ -0,0 +1,151 @@
+package ch.pbu.rf.benchmark;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.pbu.rf.MathUtil;
+
+/**
+ * Benchmarks the matrix products of {@link MathUtil}.
+ * <p>
+ * The <I>size</I> is the width and height of both (quadratic) <code>double</code> matrices,
+ * the <I>exactSize</I> the one of the exact matrices, which use a precision of 34 digits
+ * and only run with the smaller sizes because of their cost. The <I>parallelism</I> of the
+ * {@link ForkJoinPool} only applies to the parallel products; run with
+ * <code>-p parallelism=1,4,16,64</code> on a machine with at least as many cores to measure
+ * the scaling. No scaling numbers are part of this module.
+ *
+ * @author Yanick Senn
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2)
+public class MathUtilBenchmark {
+	private static final MathContext MC = new MathContext(34, RoundingMode.HALF_UP);
+
+
+	@Benchmark
+	public double[][] calculateProduct_double(Matrices matrices) {
+		return MathUtil.calculateProduct(matrices.matrix1, matrices.matrix2);
+	}
+
+	@Benchmark
+	public double[][] calculateProductParallel_double(Matrices matrices, Pool pool) {
+		return MathUtil.calculateProductParallel(matrices.matrix1, matrices.matrix2, pool.pool);
+	}
+
+	@Benchmark
+	public BigDecimal[][] calculateProduct(ExactMatrices matrices) {
+		return MathUtil.calculateProduct(matrices.matrix1, matrices.matrix2, MC);
+	}
+
+	@Benchmark
+	public BigDecimal[][] calculateProductParallel(ExactMatrices matrices, Pool pool) {
+		return MathUtil.calculateProductParallel(matrices.matrix1, matrices.matrix2, MC, pool.pool);
+	}
+
+
+	private static double[][] createMatrix(Random random, int size) {
+		double[][] matrix = new double[size][size];
+
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				matrix[y][x] = random.nextDouble() * 2.0 - 1.0;
+			}
+		}
+
+		return matrix;
+	}
+
+	private static BigDecimal[][] createExactMatrix(Random random, int size) {
+		BigDecimal[][] result = new BigDecimal[size][size];
+
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				result[y][x] = new BigDecimal(random.nextDouble() * 2.0 - 1.0, MC);
+			}
+		}
+
+		return result;
+	}
+
+
+	/**
+	 * Represents the <code>double</code> matrices.
+	 */
+	@State(Scope.Benchmark)
+	public static class Matrices {
+		@Param({ "32", "128", "512", "1024" })
+		public int size;
+
+		private double[][] matrix1;
+		private double[][] matrix2;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			Random random = new Random(42);
+			matrix1 = createMatrix(random, size);
+			matrix2 = createMatrix(random, size);
+		}
+	}
+
+	/**
+	 * Represents the exact matrices.
+	 */
+	@State(Scope.Benchmark)
+	public static class ExactMatrices {
+		@Param({ "32", "64", "128" })
+		public int exactSize;
+
+		private BigDecimal[][] matrix1;
+		private BigDecimal[][] matrix2;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			Random random = new Random(42);
+			matrix1 = createExactMatrix(random, exactSize);
+			matrix2 = createExactMatrix(random, exactSize);
+		}
+	}
+
+	/**
+	 * Represents the pool of the parallel products.
+	 */
+	@State(Scope.Benchmark)
+	public static class Pool {
+		@Param({ "1", "4", "16", "64" })
+		public int parallelism;
+
+		private ForkJoinPool pool;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			pool = new ForkJoinPool(parallelism);
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			pool.shutdown();
+		}
+	}
+}
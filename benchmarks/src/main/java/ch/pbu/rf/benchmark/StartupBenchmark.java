@@ -0,0 +1,54 @@
+package ch.pbu.rf.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+
+/**
+ * Benchmarks the time to the first conversion in a fresh JVM.
+ * <p>
+ * Every fork measures exactly one invocation without warmup, which therefore includes
+ * the class loading and static initialization of {@link RF}, {@link ColorUtil} and the
+ * classes they use. The result is the distribution over the forks; raise the number of
+ * forks with <code>-f</code> for a tighter estimate.
+ *
+ * @author Yanick Senn
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 20)
+public class StartupBenchmark {
+
+	@Benchmark
+	public ColorLab convertToLab_exact() {
+		ColorRGB color = new ColorRGB(new BigDecimal("0.5"), new BigDecimal("0.2"), new BigDecimal("0.1"));
+		return ColorUtil.convertToLab(ColorUtil.convertToXYZ(color, RF.CIE1931.D65), RF.CIE1931.D65);
+	}
+
+	@Benchmark
+	public double[] convertToLab_double() {
+		double[] xyz = ColorUtilDouble.convertRGBToXYZ(0.5, 0.2, 0.1, RF.CIE1931.D65);
+		return ColorUtilDouble.convertXYZToLab(xyz[0], xyz[1], xyz[2], RF.CIE1931.D65);
+	}
+
+	@Benchmark
+	public double calculateDeltaE2000_double() {
+		return Delta.E2000.calculate(50.0, 2.6772, -79.7751, 50.0, 0.0, -82.7485);
+	}
+}
@@ -0,0 +1,350 @@
+package ch.pbu.rf;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * Represents the exact LU decomposition of a quadratic matrix with partial pivoting
+ * (<code>P * A = L * U</code>).
+ * <p>
+ * The decomposition costs <code>O(N&sup3;)</code> once, every {@link #solve(BigDecimal[])}
+ * against it <code>O(N&sup2;)</code>. <I>L</I> is unit lower triangular and stored together
+ * with <I>U</I>. A singular matrix can be decomposed; its {@link #determinant()} is zero
+ * and {@link #solve(BigDecimal[])} as well as {@link #inverse()} fail. Instances are immutable.
+ * <p>
+ * The elimination is rounded to the precision of the Math-Context, so the last pivot of a singular
+ * matrix is usually a small residue instead of zero. A pivot is therefore treated as zero if its absolute
+ * value is not bigger than <code>N * max|row| * 10<sup>2 - precision</sup></code>, where <I>max|row|</I> is the
+ * biggest absolute value of its row in the matrix. With {@link MathContext#UNLIMITED} only an exact zero is.
+ *
+ * @author Yanick Senn
+ *
+ * @see LUDecompositionDouble
+ */
+public final class LUDecomposition {
+	private final BigDecimal[][] lu;
+	private final int[] pivot;
+	private final boolean evenPermutation;
+	private final boolean singular;
+	private final MathContext mc;
+
+
+	private LUDecomposition(BigDecimal[][] lu, int[] pivot, boolean evenPermutation, boolean singular, MathContext mc) {
+		this.lu = lu;
+		this.pivot = pivot;
+		this.evenPermutation = evenPermutation;
+		this.singular = singular;
+		this.mc = mc;
+	}
+
+
+	/**
+	 * Decomposes the given matrix.
+	 *
+	 * @param matrix Quadratic matrix.
+	 * @param mc Math-Context.
+	 *
+	 * @return The decomposition.
+	 *
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If matrix is not quadratic.
+	 */
+	public static LUDecomposition of(BigDecimal[][] matrix, MathContext mc) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+		Objects.requireNonNull(mc, "mc is not specified");
+
+		if (!MathUtil.isQuadratic(matrix)) {
+			throw new IllegalArgumentException("matrix is not quadratic");
+		}
+
+		int n = matrix.length;
+		BigDecimal[][] lu = new BigDecimal[n][];
+		int[] pivot = new int[n];
+
+		for (int i = 0; i < n; i++) {
+			lu[i] = matrix[i].clone();
+			pivot[i] = i;
+		}
+
+		BigDecimal[] tolerances = new BigDecimal[n];
+		for (int i = 0; i < n; i++) {
+			tolerances[i] = tolerance(lu[i], mc);
+		}
+
+		boolean evenPermutation = true;
+		boolean singular = false;
+
+		for (int k = 0; k < n; k++) {
+			// Partial pivoting: the biggest absolute value of column k becomes the pivot.
+			int p = k;
+			for (int i = k + 1; i < n; i++) {
+				if (lu[i][k].abs().compareTo(lu[p][k].abs()) > 0) {
+					p = i;
+				}
+			}
+
+			if (p != k) {
+				BigDecimal[] row = lu[p]; lu[p] = lu[k]; lu[k] = row;
+				int index = pivot[p]; pivot[p] = pivot[k]; pivot[k] = index;
+				evenPermutation = !evenPermutation;
+			}
+
+			BigDecimal value = lu[k][k];
+			if (value.abs().compareTo(tolerances[pivot[k]]) <= 0) {
+				singular = true;
+				continue;
+			}
+
+			for (int i = k + 1; i < n; i++) {
+				BigDecimal factor = lu[i][k].divide(value, mc);
+				lu[i][k] = factor;
+
+				if (factor.signum() == 0) {
+					continue;
+				}
+
+				for (int j = k + 1; j < n; j++) {
+					lu[i][j] = lu[i][j].subtract(factor.multiply(lu[k][j], mc), mc);
+				}
+			}
+		}
+
+		return new LUDecomposition(lu, pivot, evenPermutation, singular, mc);
+	}
+
+
+	/**
+	 * Returns the size (<I>N</I>) of the decomposed matrix.
+	 *
+	 * @return Size.
+	 */
+	public int getSize() {
+		return lu.length;
+	}
+
+	/**
+	 * Returns the Math-Context of the decomposition.
+	 *
+	 * @return Math-Context.
+	 */
+	public MathContext getMathContext() {
+		return mc;
+	}
+
+	/**
+	 * Returns <code>true</code> if the decomposed matrix is singular.
+	 *
+	 * @return <code>true</code> if the decomposed matrix is singular. Returns <code>false</code> otherwise.
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * Returns the unit lower triangular matrix <I>L</I>.
+	 *
+	 * @return A new NxN matrix.
+	 */
+	public BigDecimal[][] getLower() {
+		int n = lu.length;
+		BigDecimal[][] result = MathUtil.createMatrix(BigDecimal.ZERO, n);
+
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(lu[i], 0, result[i], 0, i);
+			result[i][i] = BigDecimal.ONE;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the upper triangular matrix <I>U</I>.
+	 *
+	 * @return A new NxN matrix.
+	 */
+	public BigDecimal[][] getUpper() {
+		int n = lu.length;
+		BigDecimal[][] result = MathUtil.createMatrix(BigDecimal.ZERO, n);
+
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(lu[i], i, result[i], i, n - i);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the row permutation, i.e. row <I>i</I> of <I>P * A</I> is row <code>pivot[i]</code> of <I>A</I>.
+	 *
+	 * @return A new array.
+	 */
+	public int[] getPivot() {
+		return pivot.clone();
+	}
+
+	/**
+	 * Calculates the determinant of the decomposed matrix.
+	 *
+	 * @return The determinant.
+	 */
+	public BigDecimal determinant() {
+		if (singular) {
+			return BigDecimal.ZERO;
+		}
+
+		BigDecimal result = BigDecimal.ONE;
+		for (int i = 0; i < lu.length; i++) {
+			result = result.multiply(lu[i][i], mc);
+		}
+
+		return evenPermutation ? result : result.negate(mc);
+	}
+
+	/**
+	 * Solves <code>A * x = b</code>.
+	 *
+	 * @param vector Right-hand side <I>b</I> (length N).
+	 *
+	 * @return Solution <I>x</I> (length N).
+	 *
+	 * @throws NullPointerException If vector is not specified.
+	 * @throws IllegalArgumentException If the length of vector does not match the size.
+	 * @throws ArithmeticException If the decomposed matrix is singular.
+	 */
+	public BigDecimal[] solve(BigDecimal[] vector) {
+		Objects.requireNonNull(vector, "vector is not specified");
+
+		int n = lu.length;
+		if (vector.length != n) {
+			throw new IllegalArgumentException(String.format("length of vector (%d) does not match with the size (%d)", vector.length, n));
+		}
+
+		checkSingular();
+
+		BigDecimal[] result = new BigDecimal[n];
+		for (int i = 0; i < n; i++) {
+			result[i] = Objects.requireNonNull(vector[pivot[i]], "vector contains null");
+		}
+
+		substitute(result);
+		return result;
+	}
+
+	/**
+	 * Solves <code>A * X = B</code>.
+	 *
+	 * @param matrix Right-hand side <I>B</I> (N rows).
+	 *
+	 * @return Solution <I>X</I> (same shape as <I>B</I>).
+	 *
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If the height of matrix does not match the size.
+	 * @throws ArithmeticException If the decomposed matrix is singular.
+	 */
+	public BigDecimal[][] solve(BigDecimal[][] matrix) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+
+		if (!MathUtil.validateMatrix(matrix, new MatrixValidatorEqualOrBigger(1))) {
+			throw new IllegalArgumentException("matrix is not valid");
+		}
+
+		int n = lu.length;
+		if (matrix.length != n) {
+			throw new IllegalArgumentException(String.format("height of matrix (%d) does not match with the size (%d)", matrix.length, n));
+		}
+
+		checkSingular();
+
+		int width = matrix[0].length;
+		BigDecimal[][] result = new BigDecimal[n][width];
+		BigDecimal[] column = new BigDecimal[n];
+
+		for (int x = 0; x < width; x++) {
+			for (int i = 0; i < n; i++) {
+				column[i] = matrix[pivot[i]][x];
+			}
+
+			substitute(column);
+
+			for (int i = 0; i < n; i++) {
+				result[i][x] = column[i];
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Calculates the inverse of the decomposed matrix.
+	 *
+	 * @return The inverse.
+	 *
+	 * @throws ArithmeticException If the decomposed matrix is singular.
+	 */
+	public BigDecimal[][] inverse() {
+		int n = lu.length;
+		BigDecimal[][] identity = MathUtil.createMatrix(BigDecimal.ZERO, n);
+
+		for (int i = 0; i < n; i++) {
+			identity[i][i] = BigDecimal.ONE;
+		}
+
+		return solve(identity);
+	}
+
+
+	/**
+	 * Returns the tolerance of the pivots of the <I>row</I>, see the class documentation.
+	 */
+	private static BigDecimal tolerance(BigDecimal[] row, MathContext mc) {
+		if (mc.getPrecision() == 0) {
+			return BigDecimal.ZERO;
+		}
+
+		BigDecimal max = BigDecimal.ZERO;
+		for (BigDecimal value : row) {
+			max = max.max(Objects.requireNonNull(value, "matrix contains null").abs());
+		}
+
+		return max.multiply(BigDecimal.valueOf(row.length)).scaleByPowerOfTen(2 - mc.getPrecision());
+	}
+
+	private void checkSingular() {
+		if (singular) {
+			throw new ArithmeticException("matrix is singular");
+		}
+	}
+
+	/**
+	 * Forward substitution with <I>L</I> and back substitution with <I>U</I>, in place.
+	 */
+	private void substitute(BigDecimal[] values) {
+		int n = lu.length;
+
+		for (int i = 1; i < n; i++) {
+			BigDecimal[] row = lu[i];
+			BigDecimal value = values[i];
+
+			for (int j = 0; j < i; j++) {
+				value = value.subtract(row[j].multiply(values[j], mc), mc);
+			}
+
+			values[i] = value;
+		}
+
+		for (int i = n - 1; i >= 0; i--) {
+			BigDecimal[] row = lu[i];
+			BigDecimal value = values[i];
+
+			for (int j = i + 1; j < n; j++) {
+				value = value.subtract(row[j].multiply(values[j], mc), mc);
+			}
+
+			values[i] = value.divide(row[i], mc);
+		}
+	}
+}
@@ -0,0 +1,323 @@
+package ch.pbu.rf;
+
+import java.util.Objects;
+
+/**
+ * Represents the LU decomposition of a quadratic <code>double</code> matrix with partial pivoting
+ * (<code>P * A = L * U</code>).
+ * <p>
+ * The <code>double</code> counterpart of {@link LUDecomposition}. A matrix is singular if the
+ * absolute value of a pivot is not bigger than <code>N * max|row| * 2<sup>-52</sup></code>, where
+ * <I>max|row|</I> is the biggest absolute value of its row in the matrix; smaller pivots are rounding
+ * residues. Nearly singular matrices above this tolerance are decomposed and solved as is.
+ * Instances are immutable.
+ *
+ * @author Yanick Senn
+ */
+public final class LUDecompositionDouble {
+	private final double[][] lu;
+	private final int[] pivot;
+	private final boolean evenPermutation;
+	private final boolean singular;
+
+
+	private LUDecompositionDouble(double[][] lu, int[] pivot, boolean evenPermutation, boolean singular) {
+		this.lu = lu;
+		this.pivot = pivot;
+		this.evenPermutation = evenPermutation;
+		this.singular = singular;
+	}
+
+
+	/**
+	 * Decomposes the given matrix.
+	 *
+	 * @param matrix Quadratic matrix.
+	 *
+	 * @return The decomposition.
+	 *
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If matrix is not quadratic.
+	 */
+	public static LUDecompositionDouble of(double[][] matrix) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+
+		if (!MathUtil.validateMatrix(matrix)) {
+			throw new IllegalArgumentException("matrix is not valid");
+		}
+
+		int n = matrix.length;
+		if (matrix[0].length != n) {
+			throw new IllegalArgumentException("matrix is not quadratic");
+		}
+
+		double[][] lu = new double[n][];
+		int[] pivot = new int[n];
+
+		for (int i = 0; i < n; i++) {
+			lu[i] = matrix[i].clone();
+			pivot[i] = i;
+		}
+
+		double[] tolerances = new double[n];
+		for (int i = 0; i < n; i++) {
+			double max = 0.0;
+			for (double value : lu[i]) {
+				max = Math.max(max, Math.abs(value));
+			}
+
+			tolerances[i] = n * max * Math.ulp(1.0);
+		}
+
+		boolean evenPermutation = true;
+		boolean singular = false;
+
+		for (int k = 0; k < n; k++) {
+			int p = k;
+			for (int i = k + 1; i < n; i++) {
+				if (Math.abs(lu[i][k]) > Math.abs(lu[p][k])) {
+					p = i;
+				}
+			}
+
+			if (p != k) {
+				double[] row = lu[p]; lu[p] = lu[k]; lu[k] = row;
+				int index = pivot[p]; pivot[p] = pivot[k]; pivot[k] = index;
+				evenPermutation = !evenPermutation;
+			}
+
+			double value = lu[k][k];
+			if (Math.abs(value) <= tolerances[pivot[k]]) {
+				singular = true;
+				continue;
+			}
+
+			double[] rowK = lu[k];
+
+			for (int i = k + 1; i < n; i++) {
+				double[] rowI = lu[i];
+				double factor = rowI[k] / value;
+				rowI[k] = factor;
+
+				if (factor == 0.0) {
+					continue;
+				}
+
+				for (int j = k + 1; j < n; j++) {
+					rowI[j] -= factor * rowK[j];
+				}
+			}
+		}
+
+		return new LUDecompositionDouble(lu, pivot, evenPermutation, singular);
+	}
+
+
+	/**
+	 * Returns the size (<I>N</I>) of the decomposed matrix.
+	 *
+	 * @return Size.
+	 */
+	public int getSize() {
+		return lu.length;
+	}
+
+	/**
+	 * Returns <code>true</code> if the decomposed matrix is singular.
+	 *
+	 * @return <code>true</code> if the decomposed matrix is singular. Returns <code>false</code> otherwise.
+	 */
+	public boolean isSingular() {
+		return singular;
+	}
+
+	/**
+	 * Returns the unit lower triangular matrix <I>L</I>.
+	 *
+	 * @return A new NxN matrix.
+	 */
+	public double[][] getLower() {
+		int n = lu.length;
+		double[][] result = new double[n][n];
+
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(lu[i], 0, result[i], 0, i);
+			result[i][i] = 1.0;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the upper triangular matrix <I>U</I>.
+	 *
+	 * @return A new NxN matrix.
+	 */
+	public double[][] getUpper() {
+		int n = lu.length;
+		double[][] result = new double[n][n];
+
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(lu[i], i, result[i], i, n - i);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the row permutation, i.e. row <I>i</I> of <I>P * A</I> is row <code>pivot[i]</code> of <I>A</I>.
+	 *
+	 * @return A new array.
+	 */
+	public int[] getPivot() {
+		return pivot.clone();
+	}
+
+	/**
+	 * Calculates the determinant of the decomposed matrix.
+	 *
+	 * @return The determinant.
+	 */
+	public double determinant() {
+		if (singular) {
+			return 0.0;
+		}
+
+		double result = 1.0;
+		for (int i = 0; i < lu.length; i++) {
+			result *= lu[i][i];
+		}
+
+		return evenPermutation ? result : -result;
+	}
+
+	/**
+	 * Solves <code>A * x = b</code>.
+	 *
+	 * @param vector Right-hand side <I>b</I> (length N).
+	 *
+	 * @return Solution <I>x</I> (length N).
+	 *
+	 * @throws NullPointerException If vector is not specified.
+	 * @throws IllegalArgumentException If the length of vector does not match the size.
+	 * @throws ArithmeticException If the decomposed matrix is singular.
+	 */
+	public double[] solve(double[] vector) {
+		Objects.requireNonNull(vector, "vector is not specified");
+
+		int n = lu.length;
+		if (vector.length != n) {
+			throw new IllegalArgumentException(String.format("length of vector (%d) does not match with the size (%d)", vector.length, n));
+		}
+
+		checkSingular();
+
+		double[] result = new double[n];
+		for (int i = 0; i < n; i++) {
+			result[i] = vector[pivot[i]];
+		}
+
+		substitute(result);
+		return result;
+	}
+
+	/**
+	 * Solves <code>A * X = B</code>.
+	 *
+	 * @param matrix Right-hand side <I>B</I> (N rows).
+	 *
+	 * @return Solution <I>X</I> (same shape as <I>B</I>).
+	 *
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If the height of matrix does not match the size.
+	 * @throws ArithmeticException If the decomposed matrix is singular.
+	 */
+	public double[][] solve(double[][] matrix) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+
+		if (!MathUtil.validateMatrix(matrix)) {
+			throw new IllegalArgumentException("matrix is not valid");
+		}
+
+		int n = lu.length;
+		if (matrix.length != n) {
+			throw new IllegalArgumentException(String.format("height of matrix (%d) does not match with the size (%d)", matrix.length, n));
+		}
+
+		checkSingular();
+
+		int width = matrix[0].length;
+		double[][] result = new double[n][width];
+		double[] column = new double[n];
+
+		for (int x = 0; x < width; x++) {
+			for (int i = 0; i < n; i++) {
+				column[i] = matrix[pivot[i]][x];
+			}
+
+			substitute(column);
+
+			for (int i = 0; i < n; i++) {
+				result[i][x] = column[i];
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Calculates the inverse of the decomposed matrix.
+	 *
+	 * @return The inverse.
+	 *
+	 * @throws ArithmeticException If the decomposed matrix is singular.
+	 */
+	public double[][] inverse() {
+		int n = lu.length;
+		double[][] identity = new double[n][n];
+
+		for (int i = 0; i < n; i++) {
+			identity[i][i] = 1.0;
+		}
+
+		return solve(identity);
+	}
+
+
+	private void checkSingular() {
+		if (singular) {
+			throw new ArithmeticException("matrix is singular");
+		}
+	}
+
+	/**
+	 * Forward substitution with <I>L</I> and back substitution with <I>U</I>, in place.
+	 */
+	private void substitute(double[] values) {
+		int n = lu.length;
+
+		for (int i = 1; i < n; i++) {
+			double[] row = lu[i];
+			double value = values[i];
+
+			for (int j = 0; j < i; j++) {
+				value -= row[j] * values[j];
+			}
+
+			values[i] = value;
+		}
+
+		for (int i = n - 1; i >= 0; i--) {
+			double[] row = lu[i];
+			double value = values[i];
+
+			for (int j = i + 1; j < n; j++) {
+				value -= row[j] * values[j];
+			}
+
+			values[i] = value / row[i];
+		}
+	}
+}
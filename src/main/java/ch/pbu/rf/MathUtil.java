@@ -2,9 +2,10 @@ package ch.pbu.rf;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.Arrays;
 import java.util.Objects;
-
-import ch.obermuhlner.math.big.BigDecimalMath;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Represents the math-util.
@@ -13,7 +14,27 @@ import ch.obermuhlner.math.big.BigDecimalMath;
  */
 public class MathUtil {
 	public static final MathContext MC = RF.MC;
-	public static final BigDecimal PI = BigDecimalMath.pi(MC);
+	
+	/**
+	 * Pi rounded to {@link #MC}, embedded as literal to keep the class initialization cheap.
+	 */
+	public static final BigDecimal PI = new BigDecimal(
+		"3.141592653589793238462643383279502884197169399375105820974944592307816406286208998628034825342117068");
+	
+	/**
+	 * Tile size of the blocked matrix products (in rows and columns).
+	 */
+	public static final int PRODUCT_BLOCK_SIZE = 64;
+	
+	/**
+	 * Number of multiply-adds above which the <code>double</code> matrix product is parallelized.
+	 */
+	public static final long PRODUCT_PARALLEL_THRESHOLD = 1L << 18;
+	
+	/**
+	 * Number of multiply-adds above which the exact matrix product is parallelized.
+	 */
+	public static final long PRODUCT_PARALLEL_THRESHOLD_EXACT = 1L << 10;
 
 	
 	/**
@@ -39,7 +60,7 @@ public class MathUtil {
 		Objects.requireNonNull(angdeg, "angdeg is not specified");
 		Objects.requireNonNull(mc, "mc is not specified");
 		
-        return angdeg.divide(bd(180, mc), mc).multiply(PI, mc);
+        return angdeg.divide(bd(180, mc), mc).multiply(PI.round(mc), mc);
     }
 	
 	/**
@@ -57,7 +78,7 @@ public class MathUtil {
 		Objects.requireNonNull(angrad, "angrad is not specified");
 		Objects.requireNonNull(mc, "mc is not specified");
 		
-        return angrad.multiply(bd(180, mc), mc).divide(PI, mc);
+        return angrad.multiply(bd(180, mc), mc).divide(PI.round(mc), mc);
     }
 
 	/**
@@ -339,6 +360,189 @@ public class MathUtil {
 		return result;
 	}
 	
+	/**
+	 * Calculates the product of the given matrices in parallel on the {@link ForkJoinPool#commonPool() common pool}.
+	 * <p>
+	 * Same as {@link #calculateProduct(BigDecimal[][], BigDecimal[][], MathContext)}, the values are
+	 * accumulated in the same order and therefore numerically equal. The product is cache-blocked in
+	 * tiles of {@link #PRODUCT_BLOCK_SIZE} like the <code>double</code> product, so that a tile of the
+	 * references of matrix2 is reused for all rows of a task. Products with more than
+	 * {@link #PRODUCT_PARALLEL_THRESHOLD_EXACT} multiply-adds are split by rows.
+	 * 
+	 * @param matrix1 First matrix.
+	 * @param matrix2 Second matrix.
+	 * @param mc Math-Context.
+	 * 
+	 * @return The product of the given matrices.
+	 * 
+	 * @throws NullPointerException If matrix1 is not specified.
+	 * @throws NullPointerException If matrix2 is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If matrix1 is not valid.
+	 * @throws IllegalArgumentException If matrix2 is not valid.
+	 * @throws IllegalArgumentException If the width of matrix1 does not match the height of matrix2.
+	 */
+	public static BigDecimal[][] calculateProductParallel(BigDecimal[][] matrix1, BigDecimal[][] matrix2, MathContext mc) {
+		return calculateProductParallel(matrix1, matrix2, mc, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Calculates the product of the given matrices in parallel on the given pool.
+	 * 
+	 * @param matrix1 First matrix.
+	 * @param matrix2 Second matrix.
+	 * @param mc Math-Context.
+	 * @param pool Pool.
+	 * 
+	 * @return The product of the given matrices.
+	 * 
+	 * @throws NullPointerException If matrix1 is not specified.
+	 * @throws NullPointerException If matrix2 is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws NullPointerException If pool is not specified.
+	 * @throws IllegalArgumentException If matrix1 is not valid.
+	 * @throws IllegalArgumentException If matrix2 is not valid.
+	 * @throws IllegalArgumentException If the width of matrix1 does not match the height of matrix2.
+	 * 
+	 * @see #calculateProductParallel(BigDecimal[][], BigDecimal[][], MathContext)
+	 */
+	public static BigDecimal[][] calculateProductParallel(BigDecimal[][] matrix1, BigDecimal[][] matrix2, MathContext mc, ForkJoinPool pool) {
+		Objects.requireNonNull(matrix1, "matrix1 is not specified");
+		Objects.requireNonNull(matrix2, "matrix2 is not specified");
+		Objects.requireNonNull(mc, "mc is not specified");
+		Objects.requireNonNull(pool, "pool is not specified");
+		
+		if (!validateMatrix(matrix1, new MatrixValidatorEqualOrBigger(1))) {
+			throw new IllegalArgumentException("matrix1 is not valid");
+		}
+		
+		if (!validateMatrix(matrix2, new MatrixValidatorEqualOrBigger(1))) {
+			throw new IllegalArgumentException("matrix2 is not valid");
+		}
+		
+		int height = matrix1.length;
+		int inner = matrix1[0].length;
+		int width = matrix2[0].length;
+		
+		if (inner != matrix2.length) {
+			throw new IllegalArgumentException(String.format("width of matrix1 (%d) does not match with the height of matrix2 (%d)", inner, matrix2.length));
+		}
+		
+		BigDecimal[][] result = new BigDecimal[height][width];
+		
+		ProductRows rows = (from, to) -> calculateProductRows(matrix1, matrix2, result, from, to, mc);
+		
+		invokeProduct(rows, height, (long) inner * width, PRODUCT_PARALLEL_THRESHOLD_EXACT, pool);
+		return result;
+	}
+	
+	/**
+	 * Calculates the product of the given <code>double</code> matrices.
+	 * <p>
+	 * The product is cache-blocked in tiles of {@link #PRODUCT_BLOCK_SIZE}. Every cell is accumulated
+	 * in the same order as by the naive triple loop.
+	 * 
+	 * @param matrix1 First matrix.
+	 * @param matrix2 Second matrix.
+	 * 
+	 * @return The product of the given matrices.
+	 * 
+	 * @throws NullPointerException If matrix1 is not specified.
+	 * @throws NullPointerException If matrix2 is not specified.
+	 * @throws IllegalArgumentException If matrix1 is not valid.
+	 * @throws IllegalArgumentException If matrix2 is not valid.
+	 * @throws IllegalArgumentException If the width of matrix1 does not match the height of matrix2.
+	 */
+	public static double[][] calculateProduct(double[][] matrix1, double[][] matrix2) {
+		double[][] result = createProduct(matrix1, matrix2);
+		
+		calculateProductRows(matrix1, matrix2, result, 0, matrix1.length);
+		return result;
+	}
+	
+	/**
+	 * Calculates the product of the given <code>double</code> matrices in parallel on the
+	 * {@link ForkJoinPool#commonPool() common pool}.
+	 * <p>
+	 * Same as {@link #calculateProduct(double[][], double[][])}, the values are therefore equal.
+	 * Products with more than {@link #PRODUCT_PARALLEL_THRESHOLD} multiply-adds are split by rows.
+	 * 
+	 * @param matrix1 First matrix.
+	 * @param matrix2 Second matrix.
+	 * 
+	 * @return The product of the given matrices.
+	 * 
+	 * @throws NullPointerException If matrix1 is not specified.
+	 * @throws NullPointerException If matrix2 is not specified.
+	 * @throws IllegalArgumentException If matrix1 is not valid.
+	 * @throws IllegalArgumentException If matrix2 is not valid.
+	 * @throws IllegalArgumentException If the width of matrix1 does not match the height of matrix2.
+	 */
+	public static double[][] calculateProductParallel(double[][] matrix1, double[][] matrix2) {
+		return calculateProductParallel(matrix1, matrix2, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Calculates the product of the given <code>double</code> matrices in parallel on the given pool.
+	 * 
+	 * @param matrix1 First matrix.
+	 * @param matrix2 Second matrix.
+	 * @param pool Pool.
+	 * 
+	 * @return The product of the given matrices.
+	 * 
+	 * @throws NullPointerException If matrix1 is not specified.
+	 * @throws NullPointerException If matrix2 is not specified.
+	 * @throws NullPointerException If pool is not specified.
+	 * @throws IllegalArgumentException If matrix1 is not valid.
+	 * @throws IllegalArgumentException If matrix2 is not valid.
+	 * @throws IllegalArgumentException If the width of matrix1 does not match the height of matrix2.
+	 * 
+	 * @see #calculateProductParallel(double[][], double[][])
+	 */
+	public static double[][] calculateProductParallel(double[][] matrix1, double[][] matrix2, ForkJoinPool pool) {
+		Objects.requireNonNull(pool, "pool is not specified");
+		
+		double[][] result = createProduct(matrix1, matrix2);
+		
+		ProductRows rows = (from, to) -> calculateProductRows(matrix1, matrix2, result, from, to);
+		invokeProduct(rows, matrix1.length, (long) matrix2.length * result[0].length, PRODUCT_PARALLEL_THRESHOLD, pool);
+		return result;
+	}
+	
+	/**
+	 * Rounds every value of the given matrix.
+	 * 
+	 * @param matrix Matrix.
+	 * @param mc Math-Context.
+	 * 
+	 * @return A copy of the given matrix with every value rounded.
+	 * 
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 */
+	public static BigDecimal[][] round(BigDecimal[][] matrix, MathContext mc) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+		Objects.requireNonNull(mc, "mc is not specified");
+		
+		if (!validateMatrix(matrix)) {
+			throw new IllegalArgumentException("matrix is not valid");
+		}
+		
+		BigDecimal[][] result = new BigDecimal[matrix.length][];
+		
+		for (int y = 0; y < matrix.length; y++) {
+			result[y] = new BigDecimal[matrix[y].length];
+			
+			for (int x = 0; x < matrix[y].length; x++) {
+				result[y][x] = matrix[y][x].round(mc);
+			}
+		}
+		
+		return result;
+	}
+	
 	/**
 	 * Calculates the inverse of the given matrix.
 	 * 
@@ -383,17 +587,17 @@ public class MathUtil {
 		// xg yg zg
 		// xb yb zb
 		
-		BigDecimal dxr = MathUtil.calculate2x2Determinant(yg, zg, yb, zb, MC);
-		BigDecimal dyr = MathUtil.calculate2x2Determinant(xg, zg, xb, zb, MC);
-		BigDecimal dzr = MathUtil.calculate2x2Determinant(xg, yg, xb, yb, MC);
+		BigDecimal dxr = MathUtil.calculate2x2Determinant(yg, zg, yb, zb, mc);
+		BigDecimal dyr = MathUtil.calculate2x2Determinant(xg, zg, xb, zb, mc);
+		BigDecimal dzr = MathUtil.calculate2x2Determinant(xg, yg, xb, yb, mc);
 		
-		BigDecimal dxg = MathUtil.calculate2x2Determinant(yr, zr, yb, zb, MC);
-		BigDecimal dyg = MathUtil.calculate2x2Determinant(xr, zr, xb, zb, MC);
-		BigDecimal dzg = MathUtil.calculate2x2Determinant(xr, yr, xb, yb, MC);
+		BigDecimal dxg = MathUtil.calculate2x2Determinant(yr, zr, yb, zb, mc);
+		BigDecimal dyg = MathUtil.calculate2x2Determinant(xr, zr, xb, zb, mc);
+		BigDecimal dzg = MathUtil.calculate2x2Determinant(xr, yr, xb, yb, mc);
 		
-		BigDecimal dxb = MathUtil.calculate2x2Determinant(yr, zr, yg, zg, MC);
-		BigDecimal dyb = MathUtil.calculate2x2Determinant(xr, zr, xg, zg, MC);
-		BigDecimal dzb = MathUtil.calculate2x2Determinant(xr, yr, xg, yg, MC);
+		BigDecimal dxb = MathUtil.calculate2x2Determinant(yr, zr, yg, zg, mc);
+		BigDecimal dyb = MathUtil.calculate2x2Determinant(xr, zr, xg, zg, mc);
+		BigDecimal dzb = MathUtil.calculate2x2Determinant(xr, yr, xg, yg, mc);
 		
 		// Multiply
 		
@@ -401,10 +605,10 @@ public class MathUtil {
 		// - + -
 		// + - +
 
-		dyr = dyr.negate(MC);
-		dxg = dxg.negate(MC);
-		dzg = dzg.negate(MC);
-		dyb = dyb.negate(MC);
+		dyr = dyr.negate(mc);
+		dxg = dxg.negate(mc);
+		dzg = dzg.negate(mc);
+		dyb = dyb.negate(mc);
 		
 		// Transponate & apply factor
 
@@ -419,6 +623,120 @@ public class MathUtil {
 		return result;
 	}
 
+	/**
+	 * Calculates the inverse of the given quadratic matrix by its {@link LUDecomposition}.
+	 * <p>
+	 * In contrast to {@link #calculate3x3Inverse(BigDecimal[][], MathContext)} a singular
+	 * matrix is not returned as is.
+	 * 
+	 * @param matrix Matrix.
+	 * @param mc Math-Context.
+	 * 
+	 * @return The inverse of the given matrix.
+	 * 
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If matrix is not quadratic.
+	 * @throws ArithmeticException If matrix is singular.
+	 */
+	public static BigDecimal[][] calculateInverse(BigDecimal[][] matrix, MathContext mc) {
+		return LUDecomposition.of(matrix, mc).inverse();
+	}
+	
+	/**
+	 * Calculates the determinant of the given quadratic matrix by its {@link LUDecomposition}.
+	 * 
+	 * @param matrix Matrix.
+	 * @param mc Math-Context.
+	 * 
+	 * @return The determinant of the given matrix.
+	 * 
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If matrix is not quadratic.
+	 */
+	public static BigDecimal calculateDeterminant(BigDecimal[][] matrix, MathContext mc) {
+		return LUDecomposition.of(matrix, mc).determinant();
+	}
+	
+	/**
+	 * Solves <code>A * x = b</code> for the given quadratic matrix by its {@link LUDecomposition}.
+	 * <p>
+	 * Decompose once with {@link LUDecomposition#of(BigDecimal[][], MathContext)} to solve
+	 * repeatedly against the same matrix.
+	 * 
+	 * @param matrix Matrix <I>A</I>.
+	 * @param vector Right-hand side <I>b</I>.
+	 * @param mc Math-Context.
+	 * 
+	 * @return Solution <I>x</I>.
+	 * 
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws NullPointerException If vector is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If matrix is not quadratic.
+	 * @throws IllegalArgumentException If the length of vector does not match the size of matrix.
+	 * @throws ArithmeticException If matrix is singular.
+	 */
+	public static BigDecimal[] calculateSolution(BigDecimal[][] matrix, BigDecimal[] vector, MathContext mc) {
+		Objects.requireNonNull(vector, "vector is not specified");
+		return LUDecomposition.of(matrix, mc).solve(vector);
+	}
+	
+	/**
+	 * Calculates the inverse of the given quadratic <code>double</code> matrix by its {@link LUDecompositionDouble}.
+	 * 
+	 * @param matrix Matrix.
+	 * 
+	 * @return The inverse of the given matrix.
+	 * 
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If matrix is not quadratic.
+	 * @throws ArithmeticException If matrix is singular.
+	 */
+	public static double[][] calculateInverse(double[][] matrix) {
+		return LUDecompositionDouble.of(matrix).inverse();
+	}
+	
+	/**
+	 * Calculates the determinant of the given quadratic <code>double</code> matrix by its {@link LUDecompositionDouble}.
+	 * 
+	 * @param matrix Matrix.
+	 * 
+	 * @return The determinant of the given matrix.
+	 * 
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If matrix is not quadratic.
+	 */
+	public static double calculateDeterminant(double[][] matrix) {
+		return LUDecompositionDouble.of(matrix).determinant();
+	}
+	
+	/**
+	 * Solves <code>A * x = b</code> for the given quadratic <code>double</code> matrix by its {@link LUDecompositionDouble}.
+	 * 
+	 * @param matrix Matrix <I>A</I>.
+	 * @param vector Right-hand side <I>b</I>.
+	 * 
+	 * @return Solution <I>x</I>.
+	 * 
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws NullPointerException If vector is not specified.
+	 * @throws IllegalArgumentException If matrix is not valid.
+	 * @throws IllegalArgumentException If matrix is not quadratic.
+	 * @throws IllegalArgumentException If the length of vector does not match the size of matrix.
+	 * @throws ArithmeticException If matrix is singular.
+	 */
+	public static double[] calculateSolution(double[][] matrix, double[] vector) {
+		Objects.requireNonNull(vector, "vector is not specified");
+		return LUDecompositionDouble.of(matrix).solve(vector);
+	}
+
 	/**
 	 * Calculates the determinant of a 3x3 matrix.
 	 * 
@@ -461,9 +779,9 @@ public class MathUtil {
 		BigDecimal result = resultStep1
 			.add(resultStep2, mc)
 			.add(resultStep3, mc)
-			.subtract(resultStep4)
-			.subtract(resultStep5)
-			.subtract(resultStep6);
+			.subtract(resultStep4, mc)
+			.subtract(resultStep5, mc)
+			.subtract(resultStep6, mc);
 			
 		return result;
 	}
@@ -626,6 +944,146 @@ public class MathUtil {
 		return result;
 	}
 	
+	private static double[][] createProduct(double[][] matrix1, double[][] matrix2) {
+		Objects.requireNonNull(matrix1, "matrix1 is not specified");
+		Objects.requireNonNull(matrix2, "matrix2 is not specified");
+		
+		if (!validateMatrix(matrix1)) {
+			throw new IllegalArgumentException("matrix1 is not valid");
+		}
+		
+		if (!validateMatrix(matrix2)) {
+			throw new IllegalArgumentException("matrix2 is not valid");
+		}
+		
+		if (matrix1[0].length != matrix2.length) {
+			throw new IllegalArgumentException(String.format("width of matrix1 (%d) does not match with the height of matrix2 (%d)", matrix1[0].length, matrix2.length));
+		}
+		
+		return new double[matrix1.length][matrix2[0].length];
+	}
+	
+	static boolean validateMatrix(double[][] matrix) {
+		if (matrix.length == 0 || matrix[0] == null || matrix[0].length == 0) {
+			return false;
+		}
+		
+		for (double[] row : matrix) {
+			if (row == null || row.length != matrix[0].length) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	private static void calculateProductRows(double[][] matrix1, double[][] matrix2, double[][] result, int from, int to) {
+		int inner = matrix2.length;
+		int width = result[0].length;
+		
+		// Tiles of matrix2 are reused for all rows of the range; k-tiles are visited in order.
+		for (int zz = 0; zz < inner; zz += PRODUCT_BLOCK_SIZE) {
+			int zEnd = Math.min(zz + PRODUCT_BLOCK_SIZE, inner);
+			
+			for (int xx = 0; xx < width; xx += PRODUCT_BLOCK_SIZE) {
+				int xEnd = Math.min(xx + PRODUCT_BLOCK_SIZE, width);
+				
+				for (int y = from; y < to; y++) {
+					double[] row1 = matrix1[y];
+					double[] row = result[y];
+					
+					for (int z = zz; z < zEnd; z++) {
+						double value1 = row1[z];
+						double[] row2 = matrix2[z];
+						
+						for (int x = xx; x < xEnd; x++) {
+							row[x] += value1 * row2[x];
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	private static void calculateProductRows(BigDecimal[][] matrix1, BigDecimal[][] matrix2, BigDecimal[][] result, int from, int to, MathContext mc) {
+		int inner = matrix2.length;
+		int width = result[0].length;
+		
+		for (int y = from; y < to; y++) {
+			Arrays.fill(result[y], BigDecimal.ZERO);
+		}
+		
+		// Same tiling as the double product; k-tiles are visited in order, so every cell is accumulated in k order.
+		for (int zz = 0; zz < inner; zz += PRODUCT_BLOCK_SIZE) {
+			int zEnd = Math.min(zz + PRODUCT_BLOCK_SIZE, inner);
+			
+			for (int xx = 0; xx < width; xx += PRODUCT_BLOCK_SIZE) {
+				int xEnd = Math.min(xx + PRODUCT_BLOCK_SIZE, width);
+				
+				for (int y = from; y < to; y++) {
+					BigDecimal[] row1 = matrix1[y];
+					BigDecimal[] row = result[y];
+					
+					for (int z = zz; z < zEnd; z++) {
+						BigDecimal value1 = row1[z];
+						BigDecimal[] row2 = matrix2[z];
+						
+						for (int x = xx; x < xEnd; x++) {
+							row[x] = row[x].add(value1.multiply(row2[x], mc), mc);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	private static void invokeProduct(ProductRows rows, int height, long workPerRow, long threshold, ForkJoinPool pool) {
+		int granularity = (int) Math.max(1, Math.min(height, threshold / Math.max(1, workPerRow)));
+		
+		if (granularity >= height) {
+			rows.calculate(0, height);
+		} else {
+			pool.invoke(new ProductTask(rows, 0, height, granularity));
+		}
+	}
+	
+	/**
+	 * Represents the calculation of the rows <I>from</I> to <I>to</I> of a product.
+	 */
+	@FunctionalInterface
+	private interface ProductRows {
+		void calculate(int from, int to);
+	}
+	
+	/**
+	 * Represents the task splitting the rows of a product until <I>granularity</I> is reached.
+	 */
+	private static final class ProductTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		
+		private final ProductRows rows;
+		private final int from, to, granularity;
+		
+		private ProductTask(ProductRows rows, int from, int to, int granularity) {
+			this.rows = rows;
+			this.from = from;
+			this.to = to;
+			this.granularity = granularity;
+		}
+		
+		@Override
+		protected void compute() {
+			if (to - from <= granularity) {
+				rows.calculate(from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(
+					new ProductTask(rows, from, middle, granularity),
+					new ProductTask(rows, middle, to, granularity));
+			}
+		}
+	}
+	
 	/**
 	 * Creates a {@link BigDecimal}.
 	 * 
@@ -0,0 +1,366 @@
+package ch.pbu.rf;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * Represents an exact 3x3 matrix.
+ * <p>
+ * The fixed-size counterpart of a 3x3 <code>BigDecimal[][]</code> for the color transforms, which
+ * only ever use 3x3 and 3x1 shapes. The shape is given by the type, therefore no operation
+ * validates it, and every operation is unrolled. The results match the ones of {@link MathUtil}.
+ * Values are compared by {@link BigDecimal#compareTo(BigDecimal)}, the scale is ignored.
+ * Instances are immutable.
+ *
+ * @author Yanick Senn
+ */
+public final class Matrix3 {
+	public static final Matrix3 IDENTITY = new Matrix3(
+		BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO,
+		BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ZERO,
+		BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ONE);
+
+	private final BigDecimal m00, m01, m02;
+	private final BigDecimal m10, m11, m12;
+	private final BigDecimal m20, m21, m22;
+
+
+	/**
+	 * Constructor with the values in row-major order.
+	 *
+	 * @param m00 Value at row 0 and column 0.
+	 * @param m01 Value at row 0 and column 1.
+	 * @param m02 Value at row 0 and column 2.
+	 * @param m10 Value at row 1 and column 0.
+	 * @param m11 Value at row 1 and column 1.
+	 * @param m12 Value at row 1 and column 2.
+	 * @param m20 Value at row 2 and column 0.
+	 * @param m21 Value at row 2 and column 1.
+	 * @param m22 Value at row 2 and column 2.
+	 *
+	 * @throws NullPointerException If any value is not specified.
+	 */
+	public Matrix3(
+			BigDecimal m00, BigDecimal m01, BigDecimal m02,
+			BigDecimal m10, BigDecimal m11, BigDecimal m12,
+			BigDecimal m20, BigDecimal m21, BigDecimal m22) {
+		this.m00 = Objects.requireNonNull(m00, "m00 is not specified");
+		this.m01 = Objects.requireNonNull(m01, "m01 is not specified");
+		this.m02 = Objects.requireNonNull(m02, "m02 is not specified");
+		this.m10 = Objects.requireNonNull(m10, "m10 is not specified");
+		this.m11 = Objects.requireNonNull(m11, "m11 is not specified");
+		this.m12 = Objects.requireNonNull(m12, "m12 is not specified");
+		this.m20 = Objects.requireNonNull(m20, "m20 is not specified");
+		this.m21 = Objects.requireNonNull(m21, "m21 is not specified");
+		this.m22 = Objects.requireNonNull(m22, "m22 is not specified");
+	}
+
+
+	/**
+	 * Returns the matrix of the given 3x3 matrix.
+	 *
+	 * @param matrix Matrix.
+	 *
+	 * @return Matrix.
+	 *
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws IllegalArgumentException If matrix is not a valid 3x3 matrix.
+	 */
+	public static Matrix3 of(BigDecimal[][] matrix) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+
+		if (!MathUtil.validateMatrix(matrix, new MatrixValidatorExact(3))) {
+			throw new IllegalArgumentException("matrix is not a valid 3x3 matrix");
+		}
+
+		return new Matrix3(
+			matrix[0][0], matrix[0][1], matrix[0][2],
+			matrix[1][0], matrix[1][1], matrix[1][2],
+			matrix[2][0], matrix[2][1], matrix[2][2]);
+	}
+
+	/**
+	 * Returns the diagonal matrix of the given vector.
+	 *
+	 * @param diagonal Diagonal.
+	 *
+	 * @return Diagonal matrix.
+	 *
+	 * @throws NullPointerException If diagonal is not specified.
+	 */
+	public static Matrix3 diagonal(Vector3 diagonal) {
+		Objects.requireNonNull(diagonal, "diagonal is not specified");
+
+		return new Matrix3(
+			diagonal.getX(), BigDecimal.ZERO, BigDecimal.ZERO,
+			BigDecimal.ZERO, diagonal.getY(), BigDecimal.ZERO,
+			BigDecimal.ZERO, BigDecimal.ZERO, diagonal.getZ());
+	}
+
+
+	/**
+	 * Returns the value at the given row and column.
+	 *
+	 * @param row Row (0 - 2).
+	 * @param column Column (0 - 2).
+	 *
+	 * @return Value.
+	 *
+	 * @throws IndexOutOfBoundsException If row or column is not between 0 and 2.
+	 */
+	public BigDecimal get(int row, int column) {
+		if (row < 0 || row > 2 || column < 0 || column > 2) {
+			throw new IndexOutOfBoundsException(String.format("(%d, %d) out of bounds for 3x3", row, column));
+		}
+
+		switch (row * 3 + column) {
+			case 0: return m00;
+			case 1: return m01;
+			case 2: return m02;
+			case 3: return m10;
+			case 4: return m11;
+			case 5: return m12;
+			case 6: return m20;
+			case 7: return m21;
+			default: return m22;
+		}
+	}
+
+	/**
+	 * Calculates the product of this matrix and the given vector.
+	 *
+	 * @param vector Vector.
+	 * @param mc Math-Context.
+	 *
+	 * @return The product.
+	 *
+	 * @throws NullPointerException If vector is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public Vector3 multiply(Vector3 vector, MathContext mc) {
+		Objects.requireNonNull(vector, "vector is not specified");
+		Objects.requireNonNull(mc, "mc is not specified");
+
+		BigDecimal x = vector.getX();
+		BigDecimal y = vector.getY();
+		BigDecimal z = vector.getZ();
+
+		return new Vector3(
+			m00.multiply(x, mc).add(m01.multiply(y, mc), mc).add(m02.multiply(z, mc), mc),
+			m10.multiply(x, mc).add(m11.multiply(y, mc), mc).add(m12.multiply(z, mc), mc),
+			m20.multiply(x, mc).add(m21.multiply(y, mc), mc).add(m22.multiply(z, mc), mc));
+	}
+
+	/**
+	 * Calculates the product of this matrix and the given matrix.
+	 *
+	 * @param matrix Matrix.
+	 * @param mc Math-Context.
+	 *
+	 * @return The product.
+	 *
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public Matrix3 multiply(Matrix3 matrix, MathContext mc) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+		Objects.requireNonNull(mc, "mc is not specified");
+
+		Matrix3 o = matrix;
+
+		return new Matrix3(
+			m00.multiply(o.m00, mc).add(m01.multiply(o.m10, mc), mc).add(m02.multiply(o.m20, mc), mc),
+			m00.multiply(o.m01, mc).add(m01.multiply(o.m11, mc), mc).add(m02.multiply(o.m21, mc), mc),
+			m00.multiply(o.m02, mc).add(m01.multiply(o.m12, mc), mc).add(m02.multiply(o.m22, mc), mc),
+
+			m10.multiply(o.m00, mc).add(m11.multiply(o.m10, mc), mc).add(m12.multiply(o.m20, mc), mc),
+			m10.multiply(o.m01, mc).add(m11.multiply(o.m11, mc), mc).add(m12.multiply(o.m21, mc), mc),
+			m10.multiply(o.m02, mc).add(m11.multiply(o.m12, mc), mc).add(m12.multiply(o.m22, mc), mc),
+
+			m20.multiply(o.m00, mc).add(m21.multiply(o.m10, mc), mc).add(m22.multiply(o.m20, mc), mc),
+			m20.multiply(o.m01, mc).add(m21.multiply(o.m11, mc), mc).add(m22.multiply(o.m21, mc), mc),
+			m20.multiply(o.m02, mc).add(m21.multiply(o.m12, mc), mc).add(m22.multiply(o.m22, mc), mc));
+	}
+
+	/**
+	 * Calculates the product of this matrix and the diagonal matrix of the given vector,
+	 * i.e. scales column <I>i</I> by value <I>i</I> of the vector.
+	 *
+	 * @param diagonal Diagonal.
+	 * @param mc Math-Context.
+	 *
+	 * @return The product.
+	 *
+	 * @throws NullPointerException If diagonal is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public Matrix3 multiplyDiagonal(Vector3 diagonal, MathContext mc) {
+		Objects.requireNonNull(diagonal, "diagonal is not specified");
+		Objects.requireNonNull(mc, "mc is not specified");
+
+		BigDecimal x = diagonal.getX();
+		BigDecimal y = diagonal.getY();
+		BigDecimal z = diagonal.getZ();
+
+		return new Matrix3(
+			m00.multiply(x, mc), m01.multiply(y, mc), m02.multiply(z, mc),
+			m10.multiply(x, mc), m11.multiply(y, mc), m12.multiply(z, mc),
+			m20.multiply(x, mc), m21.multiply(y, mc), m22.multiply(z, mc));
+	}
+
+	/**
+	 * Returns the transpose.
+	 *
+	 * @return The transpose.
+	 */
+	public Matrix3 transpose() {
+		return new Matrix3(
+			m00, m10, m20,
+			m01, m11, m21,
+			m02, m12, m22);
+	}
+
+	/**
+	 * Calculates the determinant.
+	 * <p>
+	 * Same as {@link MathUtil#calculate3x3Determinant(BigDecimal[][], MathContext)}.
+	 *
+	 * @param mc Math-Context.
+	 *
+	 * @return The determinant.
+	 *
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public BigDecimal determinant(MathContext mc) {
+		Objects.requireNonNull(mc, "mc is not specified");
+
+		return m00.multiply(m11, mc).multiply(m22, mc)
+			.add(m01.multiply(m12, mc).multiply(m20, mc), mc)
+			.add(m02.multiply(m10, mc).multiply(m21, mc), mc)
+			.subtract(m20.multiply(m11, mc).multiply(m02, mc), mc)
+			.subtract(m21.multiply(m12, mc).multiply(m00, mc), mc)
+			.subtract(m22.multiply(m10, mc).multiply(m01, mc), mc);
+	}
+
+	/**
+	 * Calculates the inverse.
+	 * <p>
+	 * Same as {@link MathUtil#calculate3x3Inverse(BigDecimal[][], MathContext)}, i.e. if the determinant
+	 * is zero the matrix itself is returned.
+	 *
+	 * @param mc Math-Context.
+	 *
+	 * @return The inverse.
+	 *
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public Matrix3 inverse(MathContext mc) {
+		BigDecimal determinant = determinant(mc);
+		if (determinant.compareTo(BigDecimal.ZERO) == 0) {
+			return this;
+		}
+
+		// Cofactors with their signs applied.
+		BigDecimal c00 = det2(m11, m12, m21, m22, mc);
+		BigDecimal c01 = det2(m10, m12, m20, m22, mc).negate(mc);
+		BigDecimal c02 = det2(m10, m11, m20, m21, mc);
+
+		BigDecimal c10 = det2(m01, m02, m21, m22, mc).negate(mc);
+		BigDecimal c11 = det2(m00, m02, m20, m22, mc);
+		BigDecimal c12 = det2(m00, m01, m20, m21, mc).negate(mc);
+
+		BigDecimal c20 = det2(m01, m02, m11, m12, mc);
+		BigDecimal c21 = det2(m00, m02, m10, m12, mc).negate(mc);
+		BigDecimal c22 = det2(m00, m01, m10, m11, mc);
+
+		BigDecimal factor = BigDecimal.ONE.divide(determinant, mc);
+
+		// Transposed cofactors (adjugate) multiplied by the factor.
+		return new Matrix3(
+			c00.multiply(factor, mc), c10.multiply(factor, mc), c20.multiply(factor, mc),
+			c01.multiply(factor, mc), c11.multiply(factor, mc), c21.multiply(factor, mc),
+			c02.multiply(factor, mc), c12.multiply(factor, mc), c22.multiply(factor, mc));
+	}
+
+	/**
+	 * Rounds every value.
+	 *
+	 * @param mc Math-Context.
+	 *
+	 * @return The rounded matrix.
+	 *
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public Matrix3 round(MathContext mc) {
+		Objects.requireNonNull(mc, "mc is not specified");
+
+		return new Matrix3(
+			m00.round(mc), m01.round(mc), m02.round(mc),
+			m10.round(mc), m11.round(mc), m12.round(mc),
+			m20.round(mc), m21.round(mc), m22.round(mc));
+	}
+
+	/**
+	 * Returns the matrix as 3x3 array.
+	 *
+	 * @return A new 3x3 matrix.
+	 */
+	public BigDecimal[][] toArray() {
+		return new BigDecimal[][] {
+			{ m00, m01, m02 },
+			{ m10, m11, m12 },
+			{ m20, m21, m22 }
+		};
+	}
+
+	/**
+	 * Returns the matrix with <code>double</code> values.
+	 *
+	 * @return Matrix.
+	 */
+	public Matrix3Double toDouble() {
+		return new Matrix3Double(
+			m00.doubleValue(), m01.doubleValue(), m02.doubleValue(),
+			m10.doubleValue(), m11.doubleValue(), m12.doubleValue(),
+			m20.doubleValue(), m21.doubleValue(), m22.doubleValue());
+	}
+
+
+	private static BigDecimal det2(BigDecimal a, BigDecimal b, BigDecimal c, BigDecimal d, MathContext mc) {
+		return a.multiply(d, mc).subtract(c.multiply(b, mc), mc);
+	}
+
+
+	@Override
+	public int hashCode() {
+		// Consistent with equals, which ignores the scale.
+		return Objects.hash(
+			m00.stripTrailingZeros(), m01.stripTrailingZeros(), m02.stripTrailingZeros(),
+			m10.stripTrailingZeros(), m11.stripTrailingZeros(), m12.stripTrailingZeros(),
+			m20.stripTrailingZeros(), m21.stripTrailingZeros(), m22.stripTrailingZeros());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+
+		Matrix3 other = (Matrix3) obj;
+
+		return
+			this.m00.compareTo(other.m00) == 0 && this.m01.compareTo(other.m01) == 0 && this.m02.compareTo(other.m02) == 0 &&
+			this.m10.compareTo(other.m10) == 0 && this.m11.compareTo(other.m11) == 0 && this.m12.compareTo(other.m12) == 0 &&
+			this.m20.compareTo(other.m20) == 0 && this.m21.compareTo(other.m21) == 0 && this.m22.compareTo(other.m22) == 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[[%s, %s, %s], [%s, %s, %s], [%s, %s, %s]]", getClass().getSimpleName(), m00, m01, m02, m10, m11, m12, m20, m21, m22);
+	}
+}
@@ -0,0 +1,264 @@
+package ch.pbu.rf;
+
+import java.util.Objects;
+
+/**
+ * Represents a 3x3 matrix with <code>double</code> values.
+ * <p>
+ * The <code>double</code> counterpart of {@link Matrix3}. Every operation is unrolled;
+ * {@link #multiply(double, double, double, double[], int)} writes into a caller-provided
+ * array and therefore allocates nothing. Instances are immutable.
+ *
+ * @author Yanick Senn
+ */
+public final class Matrix3Double {
+	public static final Matrix3Double IDENTITY = new Matrix3Double(
+		1.0, 0.0, 0.0,
+		0.0, 1.0, 0.0,
+		0.0, 0.0, 1.0);
+
+	private final double m00, m01, m02;
+	private final double m10, m11, m12;
+	private final double m20, m21, m22;
+
+
+	/**
+	 * Constructor with the values in row-major order.
+	 *
+	 * @param m00 Value at row 0 and column 0.
+	 * @param m01 Value at row 0 and column 1.
+	 * @param m02 Value at row 0 and column 2.
+	 * @param m10 Value at row 1 and column 0.
+	 * @param m11 Value at row 1 and column 1.
+	 * @param m12 Value at row 1 and column 2.
+	 * @param m20 Value at row 2 and column 0.
+	 * @param m21 Value at row 2 and column 1.
+	 * @param m22 Value at row 2 and column 2.
+	 */
+	public Matrix3Double(
+			double m00, double m01, double m02,
+			double m10, double m11, double m12,
+			double m20, double m21, double m22) {
+		this.m00 = m00; this.m01 = m01; this.m02 = m02;
+		this.m10 = m10; this.m11 = m11; this.m12 = m12;
+		this.m20 = m20; this.m21 = m21; this.m22 = m22;
+	}
+
+
+	/**
+	 * Returns the value at the given row and column.
+	 *
+	 * @param row Row (0 - 2).
+	 * @param column Column (0 - 2).
+	 *
+	 * @return Value.
+	 *
+	 * @throws IndexOutOfBoundsException If row or column is not between 0 and 2.
+	 */
+	public double get(int row, int column) {
+		if (row < 0 || row > 2 || column < 0 || column > 2) {
+			throw new IndexOutOfBoundsException(String.format("(%d, %d) out of bounds for 3x3", row, column));
+		}
+
+		switch (row * 3 + column) {
+			case 0: return m00;
+			case 1: return m01;
+			case 2: return m02;
+			case 3: return m10;
+			case 4: return m11;
+			case 5: return m12;
+			case 6: return m20;
+			case 7: return m21;
+			default: return m22;
+		}
+	}
+
+	/**
+	 * Calculates the product of this matrix and the given vector.
+	 *
+	 * @param vector Vector.
+	 *
+	 * @return The product.
+	 *
+	 * @throws NullPointerException If vector is not specified.
+	 */
+	public Vector3Double multiply(Vector3Double vector) {
+		Objects.requireNonNull(vector, "vector is not specified");
+
+		double x = vector.getX();
+		double y = vector.getY();
+		double z = vector.getZ();
+
+		return new Vector3Double(
+			m00 * x + m01 * y + m02 * z,
+			m10 * x + m11 * y + m12 * z,
+			m20 * x + m21 * y + m22 * z);
+	}
+
+	/**
+	 * Calculates the product of this matrix and the vector <I>x</I>, <I>y</I> and <I>z</I>.
+	 *
+	 * @param x X value.
+	 * @param y Y value.
+	 * @param z Z value.
+	 * @param result The product (output, <code>x, y, z</code>).
+	 * @param offset Offset of x in result.
+	 *
+	 * @throws NullPointerException If result is not specified.
+	 * @throws IndexOutOfBoundsException If result is too small.
+	 */
+	public void multiply(double x, double y, double z, double[] result, int offset) {
+		Objects.requireNonNull(result, "result is not specified");
+		if (offset < 0 || offset > result.length - 3) {
+			throw new IndexOutOfBoundsException(String.format("range [%d, %d + 3) out of bounds for length %d", offset, offset, result.length));
+		}
+
+		result[offset] = m00 * x + m01 * y + m02 * z;
+		result[offset + 1] = m10 * x + m11 * y + m12 * z;
+		result[offset + 2] = m20 * x + m21 * y + m22 * z;
+	}
+
+	/**
+	 * Calculates the product of this matrix and the given matrix.
+	 *
+	 * @param matrix Matrix.
+	 *
+	 * @return The product.
+	 *
+	 * @throws NullPointerException If matrix is not specified.
+	 */
+	public Matrix3Double multiply(Matrix3Double matrix) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+
+		Matrix3Double o = matrix;
+
+		return new Matrix3Double(
+			m00 * o.m00 + m01 * o.m10 + m02 * o.m20,
+			m00 * o.m01 + m01 * o.m11 + m02 * o.m21,
+			m00 * o.m02 + m01 * o.m12 + m02 * o.m22,
+
+			m10 * o.m00 + m11 * o.m10 + m12 * o.m20,
+			m10 * o.m01 + m11 * o.m11 + m12 * o.m21,
+			m10 * o.m02 + m11 * o.m12 + m12 * o.m22,
+
+			m20 * o.m00 + m21 * o.m10 + m22 * o.m20,
+			m20 * o.m01 + m21 * o.m11 + m22 * o.m21,
+			m20 * o.m02 + m21 * o.m12 + m22 * o.m22);
+	}
+
+	/**
+	 * Calculates the product of this matrix and the diagonal matrix of the given vector,
+	 * i.e. scales column <I>i</I> by value <I>i</I> of the vector.
+	 *
+	 * @param diagonal Diagonal.
+	 *
+	 * @return The product.
+	 *
+	 * @throws NullPointerException If diagonal is not specified.
+	 */
+	public Matrix3Double multiplyDiagonal(Vector3Double diagonal) {
+		Objects.requireNonNull(diagonal, "diagonal is not specified");
+
+		double x = diagonal.getX();
+		double y = diagonal.getY();
+		double z = diagonal.getZ();
+
+		return new Matrix3Double(
+			m00 * x, m01 * y, m02 * z,
+			m10 * x, m11 * y, m12 * z,
+			m20 * x, m21 * y, m22 * z);
+	}
+
+	/**
+	 * Returns the transpose.
+	 *
+	 * @return The transpose.
+	 */
+	public Matrix3Double transpose() {
+		return new Matrix3Double(
+			m00, m10, m20,
+			m01, m11, m21,
+			m02, m12, m22);
+	}
+
+	/**
+	 * Calculates the determinant.
+	 *
+	 * @return The determinant.
+	 */
+	public double determinant() {
+		return
+			m00 * (m11 * m22 - m21 * m12) -
+			m01 * (m10 * m22 - m20 * m12) +
+			m02 * (m10 * m21 - m20 * m11);
+	}
+
+	/**
+	 * Calculates the inverse.
+	 * <p>
+	 * Same as {@link Matrix3#inverse(java.math.MathContext)}, i.e. if the determinant is zero
+	 * the matrix itself is returned.
+	 *
+	 * @return The inverse.
+	 */
+	public Matrix3Double inverse() {
+		double determinant = determinant();
+		if (determinant == 0.0) {
+			return this;
+		}
+
+		double factor = 1.0 / determinant;
+
+		return new Matrix3Double(
+			(m11 * m22 - m21 * m12) * factor, (m21 * m02 - m01 * m22) * factor, (m01 * m12 - m11 * m02) * factor,
+			(m20 * m12 - m10 * m22) * factor, (m00 * m22 - m20 * m02) * factor, (m10 * m02 - m00 * m12) * factor,
+			(m10 * m21 - m20 * m11) * factor, (m20 * m01 - m00 * m21) * factor, (m00 * m11 - m10 * m01) * factor);
+	}
+
+	/**
+	 * Returns the matrix as 3x3 array.
+	 *
+	 * @return A new 3x3 matrix.
+	 */
+	public double[][] toArray() {
+		return new double[][] {
+			{ m00, m01, m02 },
+			{ m10, m11, m12 },
+			{ m20, m21, m22 }
+		};
+	}
+
+
+	@Override
+	public int hashCode() {
+		int result = 1;
+		for (double val : new double[] { m00, m01, m02, m10, m11, m12, m20, m21, m22 }) {
+			result = 31 * result + Double.hashCode(val);
+		}
+
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+
+		Matrix3Double other = (Matrix3Double) obj;
+
+		return
+			Double.compare(this.m00, other.m00) == 0 && Double.compare(this.m01, other.m01) == 0 && Double.compare(this.m02, other.m02) == 0 &&
+			Double.compare(this.m10, other.m10) == 0 && Double.compare(this.m11, other.m11) == 0 && Double.compare(this.m12, other.m12) == 0 &&
+			Double.compare(this.m20, other.m20) == 0 && Double.compare(this.m21, other.m21) == 0 && Double.compare(this.m22, other.m22) == 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[[%s, %s, %s], [%s, %s, %s], [%s, %s, %s]]", getClass().getSimpleName(), m00, m01, m02, m10, m11, m12, m20, m21, m22);
+	}
+}
@@ -0,0 +1,119 @@
+package ch.pbu.rf;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Represents the precision profiles for the calculations.
+ * <p>
+ * Every calculation of {@link ch.pbu.rf.color.ColorUtil} and {@link ch.pbu.rf.color.deltae.Delta}
+ * accepting a {@link MathContext} checks it by {@link #check(MathContext)} and uses it for all
+ * intermediate operations; calculations without one use {@link RF#MC}. Prepared colors
+ * ({@link ch.pbu.rf.color.lab.PreparedColorLab}) are prepared with a math-context as well.
+ * {@link MathUtil} and {@link LUDecomposition} are not bound to these profiles, they use the
+ * math-context as given and accept {@link MathContext#UNLIMITED} as well.
+ * Constants (e.g. the illuminants, the transformation matrices and <I>&pi;</I>) are precomputed
+ * with {@link RF#MC} and rounded to the chosen precision, therefore precisions beyond
+ * {@link RF#MC} are not supported.
+ * <p>
+ * 34 digits are far beyond the noise of any color measurement and considerably cheaper than
+ * the default of 100 digits.
+ * 
+ * @author Yanick Senn
+ */
+public final class Precision {
+	
+	/**
+	 * 16 digits, {@link RoundingMode#HALF_EVEN} (IEEE 754R Decimal64).
+	 */
+	public static final MathContext DECIMAL64 = MathContext.DECIMAL64;
+	
+	/**
+	 * 34 digits, {@link RoundingMode#HALF_EVEN} (IEEE 754R Decimal128).
+	 */
+	public static final MathContext DECIMAL128 = MathContext.DECIMAL128;
+	
+	/**
+	 * 34 digits, {@link RoundingMode#HALF_UP}.
+	 */
+	public static final MathContext DIGITS_34 = new MathContext(34, RoundingMode.HALF_UP);
+	
+	/**
+	 * 50 digits, {@link RoundingMode#HALF_UP}.
+	 */
+	public static final MathContext DIGITS_50 = new MathContext(50, RoundingMode.HALF_UP);
+	
+	/**
+	 * 100 digits, {@link RoundingMode#HALF_UP}. Same as {@link RF#MC}.
+	 */
+	public static final MathContext DIGITS_100 = RF.MC;
+	
+	
+	/**
+	 * Private constructor.
+	 */
+	private Precision() {
+		throw new AssertionError();
+	}
+	
+	
+	/**
+	 * Returns the math-context with the given digits, rounding {@link RoundingMode#HALF_UP}.
+	 * 
+	 * @param digits Digits.
+	 * 
+	 * @return Math-Context.
+	 * 
+	 * @throws IllegalArgumentException If digits is smaller than 1.
+	 * @throws IllegalArgumentException If digits is bigger than the precision of {@link RF#MC}.
+	 */
+	public static MathContext of(int digits) {
+		if (digits < 1) {
+			throw new IllegalArgumentException("digits should not be smaller than 1");
+		}
+		
+		if (digits > RF.MC.getPrecision()) {
+			throw new IllegalArgumentException(String.format("digits should not be bigger than %d", RF.MC.getPrecision()));
+		}
+		
+		MathContext result;
+		switch (digits) {
+			case 34:
+				result = DIGITS_34;
+				break;
+			case 50:
+				result = DIGITS_50;
+				break;
+			case 100:
+				result = DIGITS_100;
+				break;
+			default:
+				result = new MathContext(digits, RoundingMode.HALF_UP);
+				break;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Checks whether the <I>mc</I> is supported.
+	 * 
+	 * @param mc Math-Context.
+	 * 
+	 * @return Math-Context.
+	 * 
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If the precision of mc is unlimited or bigger than the precision of {@link RF#MC}.
+	 */
+	public static MathContext check(MathContext mc) {
+		if (mc == null) {
+			throw new NullPointerException("mc is not specified");
+		}
+		
+		if (mc.getPrecision() == 0 || mc.getPrecision() > RF.MC.getPrecision()) {
+			throw new IllegalArgumentException(String.format("precision of mc should be between 1 and %d", RF.MC.getPrecision()));
+		}
+		
+		return mc;
+	}
+}
@@ -0,0 +1,154 @@
+package ch.pbu.rf;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+/**
+ * Represents an exact column vector with three values.
+ * <p>
+ * The fixed-size counterpart of a 3x1 <code>BigDecimal[][]</code>, see {@link Matrix3}.
+ * Values are compared by {@link BigDecimal#compareTo(BigDecimal)}, the scale is ignored.
+ * Instances are immutable.
+ *
+ * @author Yanick Senn
+ */
+public final class Vector3 {
+	private final BigDecimal x;
+	private final BigDecimal y;
+	private final BigDecimal z;
+
+
+	/**
+	 * Constructor with x, y and z.
+	 *
+	 * @param x X value (row 0).
+	 * @param y Y value (row 1).
+	 * @param z Z value (row 2).
+	 *
+	 * @throws NullPointerException If x is not specified.
+	 * @throws NullPointerException If y is not specified.
+	 * @throws NullPointerException If z is not specified.
+	 */
+	public Vector3(BigDecimal x, BigDecimal y, BigDecimal z) {
+		this.x = Objects.requireNonNull(x, "x is not specified");
+		this.y = Objects.requireNonNull(y, "y is not specified");
+		this.z = Objects.requireNonNull(z, "z is not specified");
+	}
+
+
+	/**
+	 * Returns the vector of the given 3x1 matrix.
+	 *
+	 * @param matrix Matrix.
+	 *
+	 * @return Vector.
+	 *
+	 * @throws NullPointerException If matrix is not specified.
+	 * @throws IllegalArgumentException If matrix is not a valid 3x1 matrix.
+	 */
+	public static Vector3 of(BigDecimal[][] matrix) {
+		Objects.requireNonNull(matrix, "matrix is not specified");
+
+		if (!MathUtil.validateMatrix(matrix) || matrix.length != 3 || matrix[0].length != 1) {
+			throw new IllegalArgumentException("matrix is not a valid 3x1 matrix");
+		}
+
+		return new Vector3(matrix[0][0], matrix[1][0], matrix[2][0]);
+	}
+
+
+	/**
+	 * Returns the x value (row 0).
+	 *
+	 * @return X value.
+	 */
+	public BigDecimal getX() {
+		return x;
+	}
+
+	/**
+	 * Returns the y value (row 1).
+	 *
+	 * @return Y value.
+	 */
+	public BigDecimal getY() {
+		return y;
+	}
+
+	/**
+	 * Returns the z value (row 2).
+	 *
+	 * @return Z value.
+	 */
+	public BigDecimal getZ() {
+		return z;
+	}
+
+	/**
+	 * Rounds every value.
+	 *
+	 * @param mc Math-Context.
+	 *
+	 * @return The rounded vector.
+	 *
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public Vector3 round(MathContext mc) {
+		Objects.requireNonNull(mc, "mc is not specified");
+
+		return new Vector3(x.round(mc), y.round(mc), z.round(mc));
+	}
+
+	/**
+	 * Returns the vector as 3x1 matrix.
+	 *
+	 * @return A new 3x1 matrix.
+	 */
+	public BigDecimal[][] toArray() {
+		return new BigDecimal[][] {
+			{ x },
+			{ y },
+			{ z }
+		};
+	}
+
+	/**
+	 * Returns the vector with <code>double</code> values.
+	 *
+	 * @return Vector.
+	 */
+	public Vector3Double toDouble() {
+		return new Vector3Double(x.doubleValue(), y.doubleValue(), z.doubleValue());
+	}
+
+
+	@Override
+	public int hashCode() {
+		// Consistent with equals, which ignores the scale.
+		return Objects.hash(x.stripTrailingZeros(), y.stripTrailingZeros(), z.stripTrailingZeros());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+
+		Vector3 other = (Vector3) obj;
+
+		return
+			this.x.compareTo(other.x) == 0 &&
+			this.y.compareTo(other.y) == 0 &&
+			this.z.compareTo(other.z) == 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[x: %s, y: %s, z: %s]", getClass().getSimpleName(), x, y, z);
+	}
+}
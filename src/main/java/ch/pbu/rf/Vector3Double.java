@@ -0,0 +1,97 @@
+package ch.pbu.rf;
+
+/**
+ * Represents a column vector with three <code>double</code> values.
+ * <p>
+ * The <code>double</code> counterpart of {@link Vector3}. Instances are immutable.
+ *
+ * @author Yanick Senn
+ */
+public final class Vector3Double {
+	private final double x;
+	private final double y;
+	private final double z;
+
+
+	/**
+	 * Constructor with x, y and z.
+	 *
+	 * @param x X value (row 0).
+	 * @param y Y value (row 1).
+	 * @param z Z value (row 2).
+	 */
+	public Vector3Double(double x, double y, double z) {
+		this.x = x;
+		this.y = y;
+		this.z = z;
+	}
+
+
+	/**
+	 * Returns the x value (row 0).
+	 *
+	 * @return X value.
+	 */
+	public double getX() {
+		return x;
+	}
+
+	/**
+	 * Returns the y value (row 1).
+	 *
+	 * @return Y value.
+	 */
+	public double getY() {
+		return y;
+	}
+
+	/**
+	 * Returns the z value (row 2).
+	 *
+	 * @return Z value.
+	 */
+	public double getZ() {
+		return z;
+	}
+
+	/**
+	 * Returns the values.
+	 *
+	 * @return A new array (<code>{x, y, z}</code>).
+	 */
+	public double[] toArray() {
+		return new double[] { x, y, z };
+	}
+
+
+	@Override
+	public int hashCode() {
+		int result = Double.hashCode(x);
+		result = 31 * result + Double.hashCode(y);
+		result = 31 * result + Double.hashCode(z);
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+
+		Vector3Double other = (Vector3Double) obj;
+
+		return
+			Double.compare(this.x, other.x) == 0 &&
+			Double.compare(this.y, other.y) == 0 &&
+			Double.compare(this.z, other.z) == 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[x: %s, y: %s, z: %s]", getClass().getSimpleName(), x, y, z);
+	}
+}
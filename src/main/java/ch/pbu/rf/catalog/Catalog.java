@@ -0,0 +1,251 @@
+package ch.pbu.rf.catalog;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import ch.pbu.rf.color.Color;
+import ch.pbu.rf.color.ColorBatchUtil;
+import ch.pbu.rf.color.ColorType;
+import ch.pbu.rf.color.deltae.DeltaECalculatorDelegate;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.pot.Pot;
+
+/**
+ * Represents a read-only catalog of colors (Lab or XYZ) with names and amounts, written by {@link CatalogWriter}.
+ * <p>
+ * The columns of the file are mapped into memory by {@link FileChannel#map(MapMode, long, long)} and read in
+ * place; nothing is deserialized when opening. Several processes opening the same catalog share its pages
+ * through the page cache. The components are stored as <code>double</code>, colors are returned with
+ * {@link BigDecimal#valueOf(double)}.
+ * <p>
+ * The catalog contains the records committed when it was opened, appends made afterwards are not visible.
+ * It may be read concurrently.
+ *
+ * @author Yanick Senn
+ */
+public final class Catalog {
+	private final ColorType colorType;
+	private final int size;
+
+	private final DoubleBuffer[] components;
+	private final LongBuffer amounts;
+	private final LongBuffer nameOffsets;
+	private final IntBuffer nameIndexes;
+	private final ByteBuffer names;
+
+
+	private Catalog(FileChannel channel) throws IOException {
+		CatalogHeader header = CatalogHeader.read(channel);
+
+		this.colorType = header.colorType;
+		this.size = (int) header.count;
+
+		this.components = new DoubleBuffer[3];
+		for (int i = 0; i < components.length; i++) {
+			components[i] = map(channel, header.componentOffset(i), size * Double.BYTES).asDoubleBuffer();
+		}
+
+		this.amounts = map(channel, header.amountsOffset(), size * Long.BYTES).asLongBuffer();
+		this.nameOffsets = map(channel, header.nameOffsetsOffset(), (header.names + 1) * Long.BYTES).asLongBuffer();
+		this.nameIndexes = map(channel, header.nameIndexesOffset(), size * Integer.BYTES).asIntBuffer();
+		this.names = map(channel, header.namesOffset(), header.namesSize);
+	}
+
+
+	/**
+	 * Opens the catalog.
+	 *
+	 * @param path Path.
+	 *
+	 * @return Catalog.
+	 *
+	 * @throws NullPointerException If path is not specified.
+	 * @throws IOException If the file can not be read or is not a valid catalog.
+	 */
+	public static Catalog open(Path path) throws IOException {
+		Objects.requireNonNull(path, "path is not specified");
+
+		// The mappings stay valid after the channel is closed.
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new Catalog(channel);
+		}
+	}
+
+
+	/**
+	 * Returns the color type ({@link ColorType#LAB} or {@link ColorType#XYZ}).
+	 *
+	 * @return Color type.
+	 */
+	public ColorType getColorType() {
+		return colorType;
+	}
+
+	/**
+	 * Returns the number of records.
+	 *
+	 * @return Number of records.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the <I>component</I> of the color of record <I>index</I>.
+	 *
+	 * @param index Index of the record.
+	 * @param component Component (<code>0</code>, <code>1</code> or <code>2</code> for L, a and b or X, Y and Z).
+	 *
+	 * @return Value.
+	 *
+	 * @throws IndexOutOfBoundsException If index or component is out of bounds.
+	 */
+	public double getComponent(int index, int component) {
+		checkIndex(index);
+		return components[component].get(index);
+	}
+
+	/**
+	 * Copies the colors of the records <I>from</I> to <I>from + length</I> into the arrays.
+	 * <p>
+	 * The arrays can be passed to {@link ColorBatchUtil} and
+	 * {@link DeltaECalculatorDelegate#calculate(double, double, double, double[], double[], double[], int, double[], int, int)}.
+	 *
+	 * @param from Index of the first record.
+	 * @param c0 L or X values (output).
+	 * @param c1 A or Y values (output).
+	 * @param c2 B or Z values (output).
+	 * @param offset Offset of the first color in c0, c1 and c2.
+	 * @param length Number of records.
+	 *
+	 * @throws NullPointerException If c0, c1 or c2 is not specified.
+	 * @throws IndexOutOfBoundsException If the records or the arrays are out of bounds.
+	 */
+	public void copyComponents(int from, double[] c0, double[] c1, double[] c2, int offset, int length) {
+		Objects.requireNonNull(c0, "c0 is not specified");
+		Objects.requireNonNull(c1, "c1 is not specified");
+		Objects.requireNonNull(c2, "c2 is not specified");
+
+		if (from < 0 || length < 0 || from > size - length) {
+			throw new IndexOutOfBoundsException(String.format("range [%d, %d + %d) out of bounds for size %d", from, from, length, size));
+		}
+
+		double[][] targets = { c0, c1, c2 };
+		for (int i = 0; i < components.length; i++) {
+			// Duplicated, the position is not shared between threads.
+			DoubleBuffer source = components[i].duplicate();
+			source.position(from);
+			source.get(targets[i], offset, length);
+		}
+	}
+
+	/**
+	 * Returns the color of record <I>index</I>.
+	 *
+	 * @param index Index of the record.
+	 *
+	 * @return {@link ColorLab} or {@link ColorXYZ}, see {@link #getColorType()}.
+	 *
+	 * @throws IndexOutOfBoundsException If index is out of bounds.
+	 */
+	public Color getColor(int index) {
+		BigDecimal c0 = BigDecimal.valueOf(getComponent(index, 0));
+		BigDecimal c1 = BigDecimal.valueOf(getComponent(index, 1));
+		BigDecimal c2 = BigDecimal.valueOf(getComponent(index, 2));
+
+		return colorType == ColorType.LAB ? new ColorLab(c0, c1, c2) : new ColorXYZ(c0, c1, c2);
+	}
+
+	/**
+	 * Returns the name of record <I>index</I>.
+	 *
+	 * @param index Index of the record.
+	 *
+	 * @return Name or <code>null</code> if the record has no name.
+	 *
+	 * @throws IndexOutOfBoundsException If index is out of bounds.
+	 */
+	public String getName(int index) {
+		checkIndex(index);
+
+		int name = nameIndexes.get(index);
+		if (name < 0) {
+			return null;
+		}
+
+		int start = (int) nameOffsets.get(name);
+		int end = (int) nameOffsets.get(name + 1);
+
+		byte[] bytes = new byte[end - start];
+		ByteBuffer source = names.duplicate();
+		source.position(start);
+		source.get(bytes);
+
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the amount in milliliter of record <I>index</I>.
+	 *
+	 * @param index Index of the record.
+	 *
+	 * @return Amount in milliliter.
+	 *
+	 * @throws IndexOutOfBoundsException If index is out of bounds.
+	 */
+	public long getAmountInMilliliter(int index) {
+		checkIndex(index);
+		return amounts.get(index);
+	}
+
+	/**
+	 * Returns record <I>index</I> as pot.
+	 *
+	 * @param index Index of the record.
+	 *
+	 * @return Pot.
+	 *
+	 * @throws IllegalStateException If the catalog does not contain Lab-Colors.
+	 * @throws IndexOutOfBoundsException If index is out of bounds.
+	 */
+	public Pot getPot(int index) {
+		if (colorType != ColorType.LAB) {
+			throw new IllegalStateException(String.format("catalog should contain Lab-Colors (%s)", colorType));
+		}
+
+		Pot result = new Pot();
+		result.setName(getName(index));
+		result.setColor((ColorLab) getColor(index));
+		result.setAmountInMilliliter(getAmountInMilliliter(index));
+		return result;
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("%s[colorType: %s, size: %d]", getClass().getSimpleName(), colorType, size);
+	}
+
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("index %d out of bounds for size %d", index, size));
+		}
+	}
+
+	private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+		return channel.map(MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
@@ -0,0 +1,174 @@
+package ch.pbu.rf.catalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import ch.pbu.rf.color.ColorType;
+
+/**
+ * Represents the header and the layout of a catalog file.
+ * <p>
+ * The file starts with a header of {@link #SIZE} bytes, followed by the columns, each reserved
+ * for <I>capacity</I> records:
+ * <pre>
+ *  0  magic "PBRFCTLG"
+ *  8  int  version
+ * 12  int  color type (1 = Lab, 2 = XYZ)
+ * 16  long number of records
+ * 24  long capacity
+ * 32  long number of names
+ * 40  long number of bytes of the names
+ * 48  reserved
+ *
+ * double[capacity]     L or X
+ * double[capacity]     a or Y
+ * double[capacity]     b or Z
+ * long[capacity]       amount in milliliter
+ * long[capacity + 1]   offset of every name within the names (the last is the end)
+ * int[capacity]        index of the name of every record or -1
+ * byte[]               names (UTF-8), up to the end of the file
+ * </pre>
+ * All values are little-endian. Records are committed by updating the number of records in the header
+ * after the columns were written.
+ *
+ * @author Yanick Senn
+ */
+final class CatalogHeader {
+	static final int SIZE = 64;
+	static final int VERSION = 1;
+
+	// Every column must fit into a single mapping.
+	static final long MAX_CAPACITY = (Integer.MAX_VALUE - 8) / Long.BYTES;
+
+	private static final byte[] MAGIC = "PBRFCTLG".getBytes(StandardCharsets.US_ASCII);
+
+	final ColorType colorType;
+	final long count;
+	final long capacity;
+	final long names;
+	final long namesSize;
+
+
+	CatalogHeader(ColorType colorType, long count, long capacity, long names, long namesSize) {
+		this.colorType = colorType;
+		this.count = count;
+		this.capacity = capacity;
+		this.names = names;
+		this.namesSize = namesSize;
+	}
+
+
+	/**
+	 * Reads and validates the header.
+	 *
+	 * @param channel File.
+	 *
+	 * @return Header.
+	 *
+	 * @throws IOException If the file can not be read or is not a valid catalog.
+	 */
+	static CatalogHeader read(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, buffer.position()) < 0) {
+				throw new IOException("catalog header is truncated");
+			}
+		}
+
+		byte[] magic = new byte[MAGIC.length];
+		buffer.position(0);
+		buffer.get(magic);
+
+		if (!Arrays.equals(MAGIC, magic)) {
+			throw new IOException("file is not a catalog");
+		}
+
+		int version = buffer.getInt(8);
+		if (version != VERSION) {
+			throw new IOException(String.format("catalog version %d is not supported", version));
+		}
+
+		ColorType colorType = toColorType(buffer.getInt(12));
+		long count = buffer.getLong(16);
+		long capacity = buffer.getLong(24);
+		long names = buffer.getLong(32);
+		long namesSize = buffer.getLong(40);
+
+		if (capacity < 0 || capacity > MAX_CAPACITY || count < 0 || count > capacity || names < 0 || names > count
+				|| namesSize < 0 || namesSize > Integer.MAX_VALUE) {
+			throw new IOException("catalog header is corrupt");
+		}
+
+		CatalogHeader result = new CatalogHeader(colorType, count, capacity, names, namesSize);
+		if (channel.size() < result.namesOffset() + namesSize) {
+			throw new IOException("catalog is truncated");
+		}
+
+		return result;
+	}
+
+	/**
+	 * Writes the header and extends the file to the start of the names if needed.
+	 *
+	 * @param channel File.
+	 *
+	 * @throws IOException If the file can not be written.
+	 */
+	void write(FileChannel channel) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.put(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putInt(colorType == ColorType.LAB ? 1 : 2);
+		buffer.putLong(count);
+		buffer.putLong(capacity);
+		buffer.putLong(names);
+		buffer.putLong(namesSize);
+		buffer.position(0);
+
+		CatalogWriter.write(channel, buffer, 0);
+
+		if (channel.size() < namesOffset()) {
+			CatalogWriter.write(channel, ByteBuffer.allocate(1), namesOffset() - 1);
+		}
+	}
+
+	// Offsets within the file for the capacity of the header.
+
+	long componentOffset(int component) {
+		return SIZE + component * capacity * Double.BYTES;
+	}
+
+	long amountsOffset() {
+		return SIZE + 3 * capacity * Double.BYTES;
+	}
+
+	long nameOffsetsOffset() {
+		return SIZE + 4 * capacity * Long.BYTES;
+	}
+
+	long nameIndexesOffset() {
+		return nameOffsetsOffset() + (capacity + 1) * Long.BYTES;
+	}
+
+	long namesOffset() {
+		long end = nameIndexesOffset() + capacity * Integer.BYTES;
+		return (end + 7) & ~7L;
+	}
+
+
+	private static ColorType toColorType(int code) throws IOException {
+		switch (code) {
+			case 1:
+				return ColorType.LAB;
+			case 2:
+				return ColorType.XYZ;
+			default:
+				throw new IOException(String.format("catalog color type %d is not supported", code));
+		}
+	}
+}
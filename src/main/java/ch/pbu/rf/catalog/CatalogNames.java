@@ -0,0 +1,171 @@
+package ch.pbu.rf.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Represents the name dictionary of {@link CatalogWriter}.
+ * <p>
+ * The names are kept as UTF-8 bytes in one array and found by an open addressing hash table of their
+ * hashes and indexes; no <code>String</code> is kept per name and the bytes are only compared on equal
+ * hashes. Catalogs with millions of distinct names need a fraction of the memory and time of a
+ * <code>HashMap</code>.
+ *
+ * @author Yanick Senn
+ */
+final class CatalogNames {
+	private byte[] bytes;
+	private int[] ends;
+
+	// Hash in the upper, index + 1 in the lower 32 bits, 0 if empty.
+	private long[] table;
+	private int size;
+
+
+	/**
+	 * Constructor with the names of a catalog.
+	 *
+	 * @param bytes Names (UTF-8), not copied.
+	 * @param ends End of every name within bytes.
+	 * @param size Number of names.
+	 */
+	CatalogNames(byte[] bytes, int[] ends, int size) {
+		this.bytes = bytes;
+		this.ends = ends.length == 0 ? new int[16] : ends;
+		this.table = new long[tableSize(size)];
+		this.size = 0;
+
+		for (int i = 0; i < size; i++) {
+			int start = i == 0 ? 0 : ends[i - 1];
+			insert(entry(hash(bytes, start, ends[i]), i));
+		}
+
+		this.size = size;
+	}
+
+
+	/**
+	 * Returns the number of names.
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of bytes of the names.
+	 */
+	int byteSize() {
+		return size == 0 ? 0 : ends[size - 1];
+	}
+
+	/**
+	 * Returns the bytes of the names, valid up to {@link #byteSize()}.
+	 */
+	byte[] bytes() {
+		return bytes;
+	}
+
+	/**
+	 * Returns the end of name <I>index</I> within {@link #bytes()}.
+	 */
+	int end(int index) {
+		return ends[index];
+	}
+
+	/**
+	 * Returns the index of the <I>name</I> and adds it if it is not contained yet.
+	 *
+	 * @param name Name (UTF-8).
+	 *
+	 * @return Index.
+	 */
+	int indexOf(byte[] name) {
+		int hash = hash(name, 0, name.length);
+		int mask = table.length - 1;
+		int slot = hash & mask;
+
+		for (long entry; (entry = table[slot]) != 0; slot = (slot + 1) & mask) {
+			int index = (int) entry - 1;
+			if ((int) (entry >>> 32) == hash && equals(index, name)) {
+				return index;
+			}
+		}
+
+		int start = byteSize();
+		if (start + name.length > bytes.length) {
+			bytes = Arrays.copyOf(bytes, (int) Math.min(Math.max(bytes.length * 2L, start + (long) name.length), Integer.MAX_VALUE - 8));
+		}
+
+		if (size == ends.length) {
+			ends = Arrays.copyOf(ends, size * 2);
+		}
+
+		System.arraycopy(name, 0, bytes, start, name.length);
+		ends[size] = start + name.length;
+		table[slot] = entry(hash, size);
+
+		int result = size++;
+		if (size * 2L > table.length) {
+			long[] entries = table;
+			table = new long[table.length * 2];
+
+			for (long entry : entries) {
+				if (entry != 0) {
+					insert(entry);
+				}
+			}
+		}
+
+		return result;
+	}
+
+
+	private void insert(long entry) {
+		int mask = table.length - 1;
+		int slot = (int) (entry >>> 32) & mask;
+
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+
+		table[slot] = entry;
+	}
+
+	private boolean equals(int index, byte[] name) {
+		int start = index == 0 ? 0 : ends[index - 1];
+		if (ends[index] - start != name.length) {
+			return false;
+		}
+
+		for (int i = 0; i < name.length; i++) {
+			if (bytes[start + i] != name[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static long entry(int hash, int index) {
+		return ((long) hash << 32) | (index + 1L);
+	}
+
+	private static int hash(byte[] bytes, int from, int to) {
+		int result = 1;
+		for (int i = from; i < to; i++) {
+			result = 31 * result + bytes[i];
+		}
+
+		// Spreads the bits, the table is indexed by the lower ones.
+		result *= 0x9E3779B9;
+		return result ^ (result >>> 16);
+	}
+
+	private static int tableSize(int size) {
+		int result = 16;
+		while (result < size * 2L) {
+			result *= 2;
+		}
+
+		return result;
+	}
+}
@@ -0,0 +1,405 @@
+package ch.pbu.rf.catalog;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+import ch.pbu.rf.color.Color;
+import ch.pbu.rf.color.ColorType;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.pot.Pot;
+
+/**
+ * Represents the writer of a {@link Catalog}.
+ * <p>
+ * Records are appended to a buffer of {@link #BUFFER_SIZE} records and written column by column when the
+ * buffer is full, by {@link #flush()} and by {@link #close()}. Every write commits the records by updating
+ * the header last; a {@link Catalog} opened afterwards sees them. Equal names are stored once.
+ * <p>
+ * The columns are reserved for a capacity of records. If it is exceeded, the catalog is copied into a new file
+ * with twice the capacity, which replaces the old one atomically; catalogs opened before keep reading the
+ * old file.
+ * <p>
+ * Instances are not thread-safe. A catalog must only be written by one writer at a time.
+ *
+ * @author Yanick Senn
+ */
+public final class CatalogWriter implements AutoCloseable {
+	public static final int DEFAULT_CAPACITY = 1024;
+	public static final int BUFFER_SIZE = 4096;
+
+	private final Path path;
+	private final ColorType colorType;
+	private final CatalogNames names;
+
+	private FileChannel channel;
+	private CatalogHeader header;
+
+	private final double[][] components;
+	private final long[] amounts;
+	private final int[] nameIndexes;
+	private int buffered;
+
+
+	private CatalogWriter(Path path, FileChannel channel, CatalogHeader header, CatalogNames names) {
+		this.path = path;
+		this.channel = channel;
+		this.header = header;
+		this.colorType = header.colorType;
+		this.names = names;
+
+		this.components = new double[3][BUFFER_SIZE];
+		this.amounts = new long[BUFFER_SIZE];
+		this.nameIndexes = new int[BUFFER_SIZE];
+	}
+
+
+	/**
+	 * Creates a new, empty catalog or replaces an existing file. Uses {@link #DEFAULT_CAPACITY}.
+	 *
+	 * @param path Path.
+	 * @param colorType Color type ({@link ColorType#LAB} or {@link ColorType#XYZ}).
+	 *
+	 * @return Writer.
+	 *
+	 * @throws NullPointerException If path is not specified.
+	 * @throws NullPointerException If colorType is not specified.
+	 * @throws IllegalArgumentException If colorType is not LAB or XYZ.
+	 * @throws IOException If the file can not be written.
+	 */
+	public static CatalogWriter create(Path path, ColorType colorType) throws IOException {
+		return create(path, colorType, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new, empty catalog or replaces an existing file.
+	 *
+	 * @param path Path.
+	 * @param colorType Color type ({@link ColorType#LAB} or {@link ColorType#XYZ}).
+	 * @param capacity Initial number of records reserved.
+	 *
+	 * @return Writer.
+	 *
+	 * @throws NullPointerException If path is not specified.
+	 * @throws NullPointerException If colorType is not specified.
+	 * @throws IllegalArgumentException If colorType is not LAB or XYZ.
+	 * @throws IllegalArgumentException If capacity is smaller than 1 or too large.
+	 * @throws IOException If the file can not be written.
+	 */
+	public static CatalogWriter create(Path path, ColorType colorType, int capacity) throws IOException {
+		Objects.requireNonNull(path, "path is not specified");
+		Objects.requireNonNull(colorType, "colorType is not specified");
+
+		if (colorType != ColorType.LAB && colorType != ColorType.XYZ) {
+			throw new IllegalArgumentException(String.format("colorType should be LAB or XYZ (%s)", colorType));
+		}
+
+		if (capacity < 1 || capacity > CatalogHeader.MAX_CAPACITY) {
+			throw new IllegalArgumentException(String.format("capacity should be between 1 and %d", CatalogHeader.MAX_CAPACITY));
+		}
+
+		FileChannel channel = FileChannel.open(path,
+			StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		try {
+			CatalogHeader header = new CatalogHeader(colorType, 0, capacity, 0, 0);
+			header.write(channel);
+			return new CatalogWriter(path, channel, header, new CatalogNames(new byte[1 << 16], new int[0], 0));
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Opens an existing catalog to append records.
+	 * <p>
+	 * The names of the catalog are read to store equal names once.
+	 *
+	 * @param path Path.
+	 *
+	 * @return Writer.
+	 *
+	 * @throws NullPointerException If path is not specified.
+	 * @throws IOException If the file can not be read or is not a valid catalog.
+	 */
+	public static CatalogWriter open(Path path) throws IOException {
+		Objects.requireNonNull(path, "path is not specified");
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		try {
+			CatalogHeader header = CatalogHeader.read(channel);
+			return new CatalogWriter(path, channel, header, readNames(channel, header));
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Returns the color type.
+	 *
+	 * @return Color type.
+	 */
+	public ColorType getColorType() {
+		return colorType;
+	}
+
+	/**
+	 * Returns the number of records, including the ones not written yet.
+	 *
+	 * @return Number of records.
+	 */
+	public long size() {
+		return header.count + buffered;
+	}
+
+	/**
+	 * Appends a color without name and amount.
+	 *
+	 * @param color Color.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 * @throws IllegalArgumentException If the type of the color is not the one of the catalog.
+	 * @throws IOException If the buffer is written and the file can not be written.
+	 */
+	public void append(Color color) throws IOException {
+		append(color, null, 0);
+	}
+
+	/**
+	 * Appends a pot.
+	 *
+	 * @param pot Pot.
+	 *
+	 * @throws NullPointerException If pot or its color is not specified.
+	 * @throws IllegalArgumentException If the catalog does not contain Lab-Colors.
+	 * @throws IOException If the buffer is written and the file can not be written.
+	 */
+	public void append(Pot pot) throws IOException {
+		Objects.requireNonNull(pot, "pot is not specified");
+		append(pot.getColor(), pot.getName(), pot.getAmountInMilliliter());
+	}
+
+	/**
+	 * Appends a color with name and amount.
+	 *
+	 * @param color Color.
+	 * @param name Name or <code>null</code>.
+	 * @param amountInMilliliter Amount in milliliter.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 * @throws IllegalArgumentException If the type of the color is not the one of the catalog.
+	 * @throws IllegalStateException If the catalog is full.
+	 * @throws IOException If the buffer is written and the file can not be written.
+	 */
+	public void append(Color color, String name, long amountInMilliliter) throws IOException {
+		Objects.requireNonNull(color, "color is not specified");
+
+		if (color.getType() != colorType) {
+			throw new IllegalArgumentException(String.format("color should be of type %s (%s)", colorType, color.getType()));
+		}
+
+		if (size() == CatalogHeader.MAX_CAPACITY) {
+			throw new IllegalStateException("catalog is full");
+		}
+
+		if (color instanceof ColorLab) {
+			ColorLab lab = (ColorLab) color;
+			set(lab.getL(), lab.getA(), lab.getB());
+		} else {
+			ColorXYZ xyz = (ColorXYZ) color;
+			set(xyz.getX(), xyz.getY(), xyz.getZ());
+		}
+
+		amounts[buffered] = amountInMilliliter;
+		nameIndexes[buffered] = name == null ? -1 : indexOf(name);
+
+		if (++buffered == BUFFER_SIZE) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes the buffered records and commits them.
+	 *
+	 * @throws IOException If the file can not be written.
+	 */
+	public void flush() throws IOException {
+		if (buffered == 0) {
+			return;
+		}
+
+		long count = header.count + buffered;
+		if (count > header.capacity) {
+			grow(Math.min(Math.max(header.capacity * 2, count), CatalogHeader.MAX_CAPACITY));
+		}
+
+		for (int i = 0; i < components.length; i++) {
+			ByteBuffer buffer = allocate(buffered * Double.BYTES);
+			buffer.asDoubleBuffer().put(components[i], 0, buffered);
+			write(channel, buffer, header.componentOffset(i) + header.count * Double.BYTES);
+		}
+
+		ByteBuffer buffer = allocate(buffered * Long.BYTES);
+		buffer.asLongBuffer().put(amounts, 0, buffered);
+		write(channel, buffer, header.amountsOffset() + header.count * Long.BYTES);
+
+		buffer = allocate(buffered * Integer.BYTES);
+		buffer.asIntBuffer().put(nameIndexes, 0, buffered);
+		write(channel, buffer, header.nameIndexesOffset() + header.count * Integer.BYTES);
+
+		int from = (int) header.names;
+		if (names.size() > from) {
+			buffer = allocate((names.size() - from) * Long.BYTES);
+			for (int i = from; i < names.size(); i++) {
+				buffer.putLong(names.end(i));
+			}
+
+			buffer.position(0);
+			write(channel, buffer, header.nameOffsetsOffset() + (from + 1) * Long.BYTES);
+
+			int start = (int) header.namesSize;
+			write(channel, ByteBuffer.wrap(names.bytes(), start, names.byteSize() - start), header.namesOffset() + start);
+		}
+
+		header = new CatalogHeader(colorType, count, header.capacity, names.size(), names.byteSize());
+		header.write(channel);
+
+		buffered = 0;
+	}
+
+	/**
+	 * Writes the buffered records, forces them to the storage device and closes the file.
+	 *
+	 * @throws IOException If the file can not be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+			channel.force(true);
+		} finally {
+			channel.close();
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("%s[path: %s, colorType: %s, size: %d]", getClass().getSimpleName(), path, colorType, size());
+	}
+
+
+	/**
+	 * Writes the remaining bytes of the buffer at <I>position</I>.
+	 */
+	static void write(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+
+	private void set(BigDecimal c0, BigDecimal c1, BigDecimal c2) {
+		components[0][buffered] = Objects.requireNonNull(c0, "color value is not specified").doubleValue();
+		components[1][buffered] = Objects.requireNonNull(c1, "color value is not specified").doubleValue();
+		components[2][buffered] = Objects.requireNonNull(c2, "color value is not specified").doubleValue();
+	}
+
+	private int indexOf(String name) {
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+
+		if ((long) names.byteSize() + bytes.length > Integer.MAX_VALUE - 8) {
+			throw new IllegalStateException("catalog names are full");
+		}
+
+		return names.indexOf(bytes);
+	}
+
+	/**
+	 * Copies the catalog into a new file with <I>capacity</I> and replaces the old file by it.
+	 */
+	private void grow(long capacity) throws IOException {
+		CatalogHeader target = new CatalogHeader(colorType, header.count, capacity, header.names, header.namesSize);
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+		FileChannel copy = FileChannel.open(temporary,
+			StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+		try {
+			for (int i = 0; i < components.length; i++) {
+				transfer(copy, header.componentOffset(i), target.componentOffset(i), header.count * Double.BYTES);
+			}
+
+			transfer(copy, header.amountsOffset(), target.amountsOffset(), header.count * Long.BYTES);
+			transfer(copy, header.nameOffsetsOffset(), target.nameOffsetsOffset(), (header.names + 1) * Long.BYTES);
+			transfer(copy, header.nameIndexesOffset(), target.nameIndexesOffset(), header.count * Integer.BYTES);
+			transfer(copy, header.namesOffset(), target.namesOffset(), header.namesSize);
+
+			target.write(copy);
+			copy.force(true);
+
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException e) {
+			copy.close();
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+
+		channel.close();
+		channel = copy;
+		header = target;
+	}
+
+	private void transfer(FileChannel target, long from, long to, long length) throws IOException {
+		target.position(to);
+
+		long done = 0;
+		while (done < length) {
+			done += channel.transferTo(from + done, length - done, target);
+		}
+	}
+
+	private static CatalogNames readNames(FileChannel channel, CatalogHeader header) throws IOException {
+		int size = (int) header.names;
+
+		ByteBuffer offsets = allocate((size + 1) * Long.BYTES);
+		read(channel, offsets, header.nameOffsetsOffset());
+
+		int[] ends = new int[size];
+		for (int i = 0; i < size; i++) {
+			ends[i] = (int) offsets.getLong((i + 1) * Long.BYTES);
+		}
+
+		// Room for the names appended.
+		ByteBuffer bytes = ByteBuffer.allocate((int) Math.min(header.namesSize + (1 << 16), Integer.MAX_VALUE - 8));
+		bytes.limit((int) header.namesSize);
+		read(channel, bytes, header.namesOffset());
+
+		return new CatalogNames(bytes.array(), ends, size);
+	}
+
+	private static void read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position + buffer.position());
+			if (read < 0) {
+				throw new IOException("catalog is truncated");
+			}
+		}
+	}
+
+	private static ByteBuffer allocate(int size) {
+		return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
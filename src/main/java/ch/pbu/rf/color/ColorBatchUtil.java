@@ -0,0 +1,419 @@
+package ch.pbu.rf.color;
+
+import java.util.Objects;
+
+import ch.pbu.rf.color.rgb.ColorSpaceRGB;
+import ch.pbu.rf.color.rgb.GammaTable;
+import ch.pbu.rf.illuminant.Illuminant;
+
+/**
+ * Represents the Color-Batch-Util.
+ * <p>
+ * Converts whole datasets held in primitive arrays (struct-of-arrays or interleaved)
+ * and writes the results into caller-provided arrays. No objects are allocated per
+ * element. The arithmetic is the one of {@link ColorUtilDouble}, the RGB channels are
+ * used as-is like in {@link ColorUtil#convertToXYZ(ch.pbu.rf.color.rgb.ColorRGB, Illuminant)}.
+ * <p>
+ * On Java 21 and later the RGB to Lab conversion of struct-of-arrays is vectorized if the
+ * module <code>jdk.incubator.vector</code> is resolved (<code>--add-modules jdk.incubator.vector</code>).
+ * The results then stay within {@link ColorUtilDouble#ACCURACY} instead of being bit-identical.
+ *
+ * @author Yanick Senn
+ */
+public class ColorBatchUtil {
+
+	/**
+	 * Private constructor.
+	 */
+	private ColorBatchUtil() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Converts the RGB-Colors to XYZ-Colors by the <I>colorSpace</I>.
+	 *
+	 * @param r R values.
+	 * @param g G values.
+	 * @param b B values.
+	 * @param colorSpace Color space.
+	 * @param x X values (output).
+	 * @param y Y values (output).
+	 * @param z Z values (output).
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws IndexOutOfBoundsException If an array is shorter than r.
+	 */
+	public static void convertRGBToXYZ(double[] r, double[] g, double[] b, ColorSpaceRGB colorSpace, double[] x, double[] y, double[] z) {
+		Objects.requireNonNull(r, "r is not specified");
+
+		convertRGBToXYZ(r, g, b, 0, colorSpace, x, y, z, 0, r.length);
+	}
+
+	/**
+	 * Converts <I>length</I> RGB-Colors to XYZ-Colors by the <I>colorSpace</I>.
+	 *
+	 * @param r R values.
+	 * @param g G values.
+	 * @param b B values.
+	 * @param offset Offset of the first color in r, g and b.
+	 * @param colorSpace Color space.
+	 * @param x X values (output).
+	 * @param y Y values (output).
+	 * @param z Z values (output).
+	 * @param outOffset Offset of the first color in x, y and z.
+	 * @param length Number of colors.
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	public static void convertRGBToXYZ(double[] r, double[] g, double[] b, int offset, ColorSpaceRGB colorSpace, double[] x, double[] y, double[] z, int outOffset, int length) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		checkRange(offset, length, "r", r, "g", g, "b", b);
+		checkRange(outOffset, length, "x", x, "y", y, "z", z);
+
+		double[][] m = ColorUtilDouble.calculateRGBtoXYZTransformationMatrix(colorSpace);
+		double m00 = m[0][0], m01 = m[0][1], m02 = m[0][2];
+		double m10 = m[1][0], m11 = m[1][1], m12 = m[1][2];
+		double m20 = m[2][0], m21 = m[2][1], m22 = m[2][2];
+
+		for (int i = 0; i < length; i++) {
+			double vr = r[offset + i];
+			double vg = g[offset + i];
+			double vb = b[offset + i];
+
+			x[outOffset + i] = m00 * vr + m01 * vg + m02 * vb;
+			y[outOffset + i] = m10 * vr + m11 * vg + m12 * vb;
+			z[outOffset + i] = m20 * vr + m21 * vg + m22 * vb;
+		}
+	}
+
+	/**
+	 * Converts the XYZ-Colors to Lab-Colors by the <I>illuminant</I>.
+	 *
+	 * @param x X values.
+	 * @param y Y values.
+	 * @param z Z values.
+	 * @param illuminant Illuminant.
+	 * @param l L values (output).
+	 * @param a A values (output).
+	 * @param b B values (output).
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IndexOutOfBoundsException If an output array is shorter than x.
+	 */
+	public static void convertXYZToLab(double[] x, double[] y, double[] z, Illuminant illuminant, double[] l, double[] a, double[] b) {
+		Objects.requireNonNull(x, "x is not specified");
+
+		convertXYZToLab(x, y, z, 0, illuminant, l, a, b, 0, x.length);
+	}
+
+	/**
+	 * Converts <I>length</I> XYZ-Colors to Lab-Colors by the <I>illuminant</I>.
+	 *
+	 * @param x X values.
+	 * @param y Y values.
+	 * @param z Z values.
+	 * @param offset Offset of the first color in x, y and z.
+	 * @param illuminant Illuminant.
+	 * @param l L values (output).
+	 * @param a A values (output).
+	 * @param b B values (output).
+	 * @param outOffset Offset of the first color in l, a and b.
+	 * @param length Number of colors.
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	public static void convertXYZToLab(double[] x, double[] y, double[] z, int offset, Illuminant illuminant, double[] l, double[] a, double[] b, int outOffset, int length) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkRange(offset, length, "x", x, "y", y, "z", z);
+		checkRange(outOffset, length, "l", l, "a", a, "b", b);
+
+		double rrx = illuminant.getReciprocalReferenceWhiteXAsDouble();
+		double rry = illuminant.getReciprocalReferenceWhiteYAsDouble();
+		double rrz = illuminant.getReciprocalReferenceWhiteZAsDouble();
+
+		for (int i = 0; i < length; i++) {
+			double fx = ColorUtilDouble._calculate_f_lab(x[offset + i] * rrx);
+			double fy = ColorUtilDouble._calculate_f_lab(y[offset + i] * rry);
+			double fz = ColorUtilDouble._calculate_f_lab(z[offset + i] * rrz);
+
+			l[outOffset + i] = fy * 116.0 - 16.0;
+			a[outOffset + i] = (fx - fy) * 500.0;
+			b[outOffset + i] = (fy - fz) * 200.0;
+		}
+	}
+
+	/**
+	 * Converts the RGB-Colors to Lab-Colors by the <I>colorSpace</I> and the <I>illuminant</I>.
+	 *
+	 * @param r R values.
+	 * @param g G values.
+	 * @param b B values.
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param labL L values (output).
+	 * @param labA A values (output).
+	 * @param labB B values (output).
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IndexOutOfBoundsException If an array is shorter than r.
+	 */
+	public static void convertRGBToLab(double[] r, double[] g, double[] b, ColorSpaceRGB colorSpace, Illuminant illuminant, double[] labL, double[] labA, double[] labB) {
+		Objects.requireNonNull(r, "r is not specified");
+
+		convertRGBToLab(r, g, b, 0, colorSpace, illuminant, labL, labA, labB, 0, r.length);
+	}
+
+	/**
+	 * Converts <I>length</I> RGB-Colors to Lab-Colors by the <I>colorSpace</I> and the <I>illuminant</I>.
+	 *
+	 * @param r R values.
+	 * @param g G values.
+	 * @param b B values.
+	 * @param offset Offset of the first color in r, g and b.
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param labL L values (output).
+	 * @param labA A values (output).
+	 * @param labB B values (output).
+	 * @param outOffset Offset of the first color in labL, labA and labB.
+	 * @param length Number of colors.
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	public static void convertRGBToLab(double[] r, double[] g, double[] b, int offset, ColorSpaceRGB colorSpace, Illuminant illuminant, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkRange(offset, length, "r", r, "g", g, "b", b);
+		checkRange(outOffset, length, "labL", labL, "labA", labA, "labB", labB);
+
+		Kernel kernel = new Kernel(colorSpace, illuminant);
+
+		if (ColorKernels.convertRGBToLab(kernel.getMatrix(), r, g, b, offset, labL, labA, labB, outOffset, length)) {
+			return;
+		}
+
+		for (int i = 0; i < length; i++) {
+			kernel.convert(r[offset + i], g[offset + i], b[offset + i], labL, labA, labB, outOffset + i);
+		}
+	}
+
+	/**
+	 * Converts interleaved RGB-Colors (<code>r0, g0, b0, r1, g1, b1, ...</code>) to Lab-Colors
+	 * by the <I>colorSpace</I> and the <I>illuminant</I>.
+	 *
+	 * @param rgb Interleaved RGB values.
+	 * @param offset Offset of the first color in rgb (in colors, not in values).
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param labL L values (output).
+	 * @param labA A values (output).
+	 * @param labB B values (output).
+	 * @param outOffset Offset of the first color in labL, labA and labB.
+	 * @param length Number of colors.
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	public static void convertRGBToLab(float[] rgb, int offset, ColorSpaceRGB colorSpace, Illuminant illuminant, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		Objects.requireNonNull(rgb, "rgb is not specified");
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkRange(offset, length, rgb.length / 3);
+		checkRange(outOffset, length, "labL", labL, "labA", labA, "labB", labB);
+
+		Kernel kernel = new Kernel(colorSpace, illuminant);
+
+		for (int i = 0, j = offset * 3; i < length; i++, j += 3) {
+			kernel.convert(rgb[j], rgb[j + 1], rgb[j + 2], labL, labA, labB, outOffset + i);
+		}
+	}
+
+	/**
+	 * Converts interleaved 8-bit RGB-Colors (<code>r0, g0, b0, r1, g1, b1, ...</code>, unsigned) to
+	 * Lab-Colors by the <I>colorSpace</I> and the <I>illuminant</I>. Each channel is scaled to
+	 * <code>[0, 1]</code> by dividing it by 255.
+	 *
+	 * @param rgb Interleaved RGB values.
+	 * @param offset Offset of the first color in rgb (in colors, not in bytes).
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param labL L values (output).
+	 * @param labA A values (output).
+	 * @param labB B values (output).
+	 * @param outOffset Offset of the first color in labL, labA and labB.
+	 * @param length Number of colors.
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	public static void convertRGBToLab(byte[] rgb, int offset, ColorSpaceRGB colorSpace, Illuminant illuminant, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		Objects.requireNonNull(rgb, "rgb is not specified");
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkRange(offset, length, rgb.length / 3);
+		checkRange(outOffset, length, "labL", labL, "labA", labA, "labB", labB);
+
+		Kernel kernel = new Kernel(colorSpace, illuminant);
+
+		for (int i = 0, j = offset * 3; i < length; i++, j += 3) {
+			kernel.convert(
+				(rgb[j] & 0xFF) / 255.0,
+				(rgb[j + 1] & 0xFF) / 255.0,
+				(rgb[j + 2] & 0xFF) / 255.0,
+				labL, labA, labB, outOffset + i);
+		}
+	}
+
+	/**
+	 * Converts interleaved gamma encoded 8-bit sRGB-Colors (<code>r0, g0, b0, r1, g1, b1, ...</code>, unsigned) to
+	 * Lab-Colors by the <I>colorSpace</I> and the <I>illuminant</I>. Each channel is linearized by
+	 * the {@link GammaTable} of 8 bits, i.e. by an array load instead of a power per channel.
+	 *
+	 * @param rgb Interleaved RGB values.
+	 * @param offset Offset of the first color in rgb (in colors, not in bytes).
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param labL L values (output).
+	 * @param labA A values (output).
+	 * @param labB B values (output).
+	 * @param outOffset Offset of the first color in labL, labA and labB.
+	 * @param length Number of colors.
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	public static void convertEncodedRGBToLab(byte[] rgb, int offset, ColorSpaceRGB colorSpace, Illuminant illuminant, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		Objects.requireNonNull(rgb, "rgb is not specified");
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkRange(offset, length, rgb.length / 3);
+		checkRange(outOffset, length, "labL", labL, "labA", labA, "labB", labB);
+
+		Kernel kernel = new Kernel(colorSpace, illuminant);
+		GammaTable gamma = GammaTable.of(GammaTable.BITS_8);
+
+		for (int i = 0, j = offset * 3; i < length; i++, j += 3) {
+			kernel.convert(
+				gamma.linearizeAsDouble(rgb[j] & 0xFF),
+				gamma.linearizeAsDouble(rgb[j + 1] & 0xFF),
+				gamma.linearizeAsDouble(rgb[j + 2] & 0xFF),
+				labL, labA, labB, outOffset + i);
+		}
+	}
+
+	/**
+	 * Converts interleaved gamma encoded 16-bit sRGB-Colors (<code>r0, g0, b0, r1, g1, b1, ...</code>, unsigned) to
+	 * Lab-Colors by the <I>colorSpace</I> and the <I>illuminant</I>. Each channel is linearized by
+	 * the {@link GammaTable} of 16 bits, i.e. by an array load instead of a power per channel.
+	 *
+	 * @param rgb Interleaved RGB values.
+	 * @param offset Offset of the first color in rgb (in colors, not in shorts).
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param labL L values (output).
+	 * @param labA A values (output).
+	 * @param labB B values (output).
+	 * @param outOffset Offset of the first color in labL, labA and labB.
+	 * @param length Number of colors.
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	public static void convertEncodedRGBToLab(short[] rgb, int offset, ColorSpaceRGB colorSpace, Illuminant illuminant, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		Objects.requireNonNull(rgb, "rgb is not specified");
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkRange(offset, length, rgb.length / 3);
+		checkRange(outOffset, length, "labL", labL, "labA", labA, "labB", labB);
+
+		Kernel kernel = new Kernel(colorSpace, illuminant);
+		GammaTable gamma = GammaTable.of(GammaTable.BITS_16);
+
+		for (int i = 0, j = offset * 3; i < length; i++, j += 3) {
+			kernel.convert(
+				gamma.linearizeAsDouble(rgb[j] & 0xFFFF),
+				gamma.linearizeAsDouble(rgb[j + 1] & 0xFFFF),
+				gamma.linearizeAsDouble(rgb[j + 2] & 0xFFFF),
+				labL, labA, labB, outOffset + i);
+		}
+	}
+
+
+	private static void checkRange(int offset, int length, String name1, double[] array1, String name2, double[] array2, String name3, double[] array3) {
+		Objects.requireNonNull(array1, name1 + " is not specified");
+		Objects.requireNonNull(array2, name2 + " is not specified");
+		Objects.requireNonNull(array3, name3 + " is not specified");
+
+		checkRange(offset, length, array1.length);
+		checkRange(offset, length, array2.length);
+		checkRange(offset, length, array3.length);
+	}
+
+	private static void checkRange(int offset, int length, int arrayLength) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException(String.format("range [%d, %d + %d) out of bounds for length %d", offset, offset, length, arrayLength));
+		}
+	}
+
+
+	/**
+	 * Represents the fused RGB to Lab kernel for one color space and illuminant.
+	 */
+	private static final class Kernel {
+		private final double m00, m01, m02;
+		private final double m10, m11, m12;
+		private final double m20, m21, m22;
+
+		/**
+		 * Constructor with color space and illuminant.
+		 *
+		 * @param colorSpace Color space.
+		 * @param illuminant Illuminant.
+		 */
+		private Kernel(ColorSpaceRGB colorSpace, Illuminant illuminant) {
+			double[][] m = ColorUtilDouble.calculateRGBtoXYZTransformationMatrix(colorSpace);
+
+			// The division by the reference white is folded into the matrix rows.
+			double rrx = illuminant.getReciprocalReferenceWhiteXAsDouble();
+			double rry = illuminant.getReciprocalReferenceWhiteYAsDouble();
+			double rrz = illuminant.getReciprocalReferenceWhiteZAsDouble();
+
+			this.m00 = m[0][0] * rrx; this.m01 = m[0][1] * rrx; this.m02 = m[0][2] * rrx;
+			this.m10 = m[1][0] * rry; this.m11 = m[1][1] * rry; this.m12 = m[1][2] * rry;
+			this.m20 = m[2][0] * rrz; this.m21 = m[2][1] * rrz; this.m22 = m[2][2] * rrz;
+		}
+
+		private double[] getMatrix() {
+			return new double[] { m00, m01, m02, m10, m11, m12, m20, m21, m22 };
+		}
+
+		private void convert(double r, double g, double b, double[] labL, double[] labA, double[] labB, int index) {
+			double fx = ColorUtilDouble._calculate_f_lab(m00 * r + m01 * g + m02 * b);
+			double fy = ColorUtilDouble._calculate_f_lab(m10 * r + m11 * g + m12 * b);
+			double fz = ColorUtilDouble._calculate_f_lab(m20 * r + m21 * g + m22 * b);
+
+			labL[index] = fy * 116.0 - 16.0;
+			labA[index] = (fx - fy) * 500.0;
+			labB[index] = (fy - fz) * 200.0;
+		}
+	}
+}
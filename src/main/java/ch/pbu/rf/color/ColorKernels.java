@@ -0,0 +1,41 @@
+package ch.pbu.rf.color;
+
+/**
+ * Represents the accelerated kernels of {@link ColorBatchUtil}.
+ * <p>
+ * This is the Java 8 variant, which accelerates nothing; the caller falls back to its
+ * scalar loop. The multi-release JAR replaces this class on Java 21 and later by a
+ * variant with <code>jdk.incubator.vector</code> kernels (<code>src/main/java21</code>).
+ *
+ * @author Yanick Senn
+ */
+final class ColorKernels {
+
+	/**
+	 * Private constructor.
+	 */
+	private ColorKernels() {
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Returns <code>true</code> if the kernels are vectorized.
+	 *
+	 * @return Always <code>false</code>.
+	 */
+	static boolean isVectorized() {
+		return false;
+	}
+
+	/**
+	 * Converts <I>length</I> RGB-Colors to Lab-Colors by the <I>matrix</I>, which already
+	 * contains the division by the reference white (row-major, 9 values).
+	 * The ranges are checked by the caller.
+	 *
+	 * @return <code>true</code> if the colors are converted. Returns <code>false</code> if the caller has to convert them.
+	 */
+	static boolean convertRGBToLab(double[] matrix, double[] r, double[] g, double[] b, int offset, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		return false;
+	}
+}
@@ -0,0 +1,563 @@
+package ch.pbu.rf.color;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ch.pbu.rf.color.deltae.DeltaECalculatorDelegate;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.rgb.ColorSpaceRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.illuminant.Illuminant;
+
+/**
+ * Represents the Color-Stream-Util.
+ * <p>
+ * Maps streams of colors through a conversion or a delta E stage. The colors are pulled from the
+ * source in batches of <I>batchSize</I>, unpacked into primitive planes and converted at once by
+ * {@link ColorBatchUtil} respectively {@link DeltaECalculatorDelegate#calculate(double, double, double, double[], double[], double[], int, double[], int, int)}.
+ * A parallel stream splits into one batch per task, the batch is unpacked and converted by the
+ * worker which traverses it. At most one batch per traversing task is held in memory, therefore
+ * streams larger than the memory can be processed as long as the terminal operation does not
+ * collect them.
+ * <p>
+ * The results are the ones of the <code>double</code> arithmetic of {@link ColorBatchUtil}, within
+ * {@link ColorUtilDouble#ACCURACY} of {@link ColorUtil}. The stages only read the color space and
+ * the illuminant, whose derived values are cached thread-safely, therefore shared instances can be
+ * used by concurrent streams. The returned streams are parallel if the source is, encounter ordered
+ * if the source is and close the source when they are closed.
+ *
+ * @author Yanick Senn
+ */
+public class ColorStreamUtil {
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+
+	/**
+	 * Private constructor.
+	 */
+	private ColorStreamUtil() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Converts the RGB-Colors to XYZ-Colors by the <I>colorSpace</I> in batches of {@link #DEFAULT_BATCH_SIZE}.
+	 *
+	 * @param colors RGB-Colors.
+	 * @param colorSpace Color space.
+	 *
+	 * @return XYZ-Colors.
+	 *
+	 * @throws NullPointerException If colors is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 */
+	public static Stream<ColorXYZ> convertRGBToXYZ(Stream<ColorRGB> colors, ColorSpaceRGB colorSpace) {
+		return convertRGBToXYZ(colors, colorSpace, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Converts the RGB-Colors to XYZ-Colors by the <I>colorSpace</I> in batches of <I>batchSize</I>.
+	 *
+	 * @param colors RGB-Colors.
+	 * @param colorSpace Color space.
+	 * @param batchSize Number of colors per batch.
+	 *
+	 * @return XYZ-Colors.
+	 *
+	 * @throws NullPointerException If colors is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws IllegalArgumentException If batchSize is smaller than 1.
+	 */
+	public static Stream<ColorXYZ> convertRGBToXYZ(Stream<ColorRGB> colors, ColorSpaceRGB colorSpace, int batchSize) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+
+		return stream(colors, new ColorStage<ColorRGB, ColorXYZ>() {
+			@Override
+			public void unpack(ColorRGB color, double[] c0, double[] c1, double[] c2, int index) {
+				unpackRGB(color, c0, c1, c2, index);
+			}
+
+			@Override
+			public void convert(double[] c0, double[] c1, double[] c2, int length) {
+				ColorBatchUtil.convertRGBToXYZ(c0, c1, c2, 0, colorSpace, c0, c1, c2, 0, length);
+			}
+
+			@Override
+			public ColorXYZ pack(double c0, double c1, double c2) {
+				return new ColorXYZ(BigDecimal.valueOf(c0), BigDecimal.valueOf(c1), BigDecimal.valueOf(c2));
+			}
+		}, batchSize);
+	}
+
+	/**
+	 * Converts the XYZ-Colors to Lab-Colors by the <I>illuminant</I> in batches of {@link #DEFAULT_BATCH_SIZE}.
+	 *
+	 * @param colors XYZ-Colors.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return Lab-Colors.
+	 *
+	 * @throws NullPointerException If colors is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static Stream<ColorLab> convertXYZToLab(Stream<ColorXYZ> colors, Illuminant illuminant) {
+		return convertXYZToLab(colors, illuminant, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Converts the XYZ-Colors to Lab-Colors by the <I>illuminant</I> in batches of <I>batchSize</I>.
+	 *
+	 * @param colors XYZ-Colors.
+	 * @param illuminant Illuminant.
+	 * @param batchSize Number of colors per batch.
+	 *
+	 * @return Lab-Colors.
+	 *
+	 * @throws NullPointerException If colors is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IllegalArgumentException If batchSize is smaller than 1.
+	 */
+	public static Stream<ColorLab> convertXYZToLab(Stream<ColorXYZ> colors, Illuminant illuminant, int batchSize) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+
+		return stream(colors, new ColorStage<ColorXYZ, ColorLab>() {
+			@Override
+			public void unpack(ColorXYZ color, double[] c0, double[] c1, double[] c2, int index) {
+				Objects.requireNonNull(color, "color is not specified");
+
+				c0[index] = color.getX().doubleValue();
+				c1[index] = color.getY().doubleValue();
+				c2[index] = color.getZ().doubleValue();
+			}
+
+			@Override
+			public void convert(double[] c0, double[] c1, double[] c2, int length) {
+				ColorBatchUtil.convertXYZToLab(c0, c1, c2, 0, illuminant, c0, c1, c2, 0, length);
+			}
+
+			@Override
+			public ColorLab pack(double c0, double c1, double c2) {
+				return packLab(c0, c1, c2);
+			}
+		}, batchSize);
+	}
+
+	/**
+	 * Converts the RGB-Colors to Lab-Colors by the <I>colorSpace</I> and the <I>illuminant</I>
+	 * in batches of {@link #DEFAULT_BATCH_SIZE}.
+	 *
+	 * @param colors RGB-Colors.
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return Lab-Colors.
+	 *
+	 * @throws NullPointerException If colors is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static Stream<ColorLab> convertRGBToLab(Stream<ColorRGB> colors, ColorSpaceRGB colorSpace, Illuminant illuminant) {
+		return convertRGBToLab(colors, colorSpace, illuminant, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Converts the RGB-Colors to Lab-Colors by the <I>colorSpace</I> and the <I>illuminant</I>
+	 * in batches of <I>batchSize</I>.
+	 *
+	 * @param colors RGB-Colors.
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param batchSize Number of colors per batch.
+	 *
+	 * @return Lab-Colors.
+	 *
+	 * @throws NullPointerException If colors is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IllegalArgumentException If batchSize is smaller than 1.
+	 */
+	public static Stream<ColorLab> convertRGBToLab(Stream<ColorRGB> colors, ColorSpaceRGB colorSpace, Illuminant illuminant, int batchSize) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+
+		return stream(colors, new ColorStage<ColorRGB, ColorLab>() {
+			@Override
+			public void unpack(ColorRGB color, double[] c0, double[] c1, double[] c2, int index) {
+				unpackRGB(color, c0, c1, c2, index);
+			}
+
+			@Override
+			public void convert(double[] c0, double[] c1, double[] c2, int length) {
+				ColorBatchUtil.convertRGBToLab(c0, c1, c2, 0, colorSpace, illuminant, c0, c1, c2, 0, length);
+			}
+
+			@Override
+			public ColorLab pack(double c0, double c1, double c2) {
+				return packLab(c0, c1, c2);
+			}
+		}, batchSize);
+	}
+
+	/**
+	 * Calculates the delta E of the <I>reference</I> against every sample in batches of {@link #DEFAULT_BATCH_SIZE}.
+	 *
+	 * @param reference Reference. Its values are read once, changes afterwards are not considered.
+	 * @param samples Samples.
+	 * @param delegate Delta E delegate.
+	 *
+	 * @return Delta E per sample.
+	 *
+	 * @throws NullPointerException If reference is not specified.
+	 * @throws NullPointerException If samples is not specified.
+	 * @throws NullPointerException If delegate is not specified.
+	 */
+	public static DoubleStream calculateDeltaE(ColorLab reference, Stream<ColorLab> samples, DeltaECalculatorDelegate delegate) {
+		return calculateDeltaE(reference, samples, delegate, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Calculates the delta E of the <I>reference</I> against every sample in batches of <I>batchSize</I>.
+	 *
+	 * @param reference Reference. Its values are read once, changes afterwards are not considered.
+	 * @param samples Samples.
+	 * @param delegate Delta E delegate.
+	 * @param batchSize Number of samples per batch.
+	 *
+	 * @return Delta E per sample.
+	 *
+	 * @throws NullPointerException If reference is not specified.
+	 * @throws NullPointerException If samples is not specified.
+	 * @throws NullPointerException If delegate is not specified.
+	 * @throws IllegalArgumentException If batchSize is smaller than 1.
+	 */
+	public static DoubleStream calculateDeltaE(ColorLab reference, Stream<ColorLab> samples, DeltaECalculatorDelegate delegate, int batchSize) {
+		Objects.requireNonNull(reference, "reference is not specified");
+		Objects.requireNonNull(samples, "samples is not specified");
+		Objects.requireNonNull(delegate, "delegate is not specified");
+		checkBatchSize(batchSize);
+
+		double l = reference.getL().doubleValue();
+		double a = reference.getA().doubleValue();
+		double b = reference.getB().doubleValue();
+
+		DeltaSpliterator spliterator = new DeltaSpliterator(samples.spliterator(), null, batchSize, l, a, b, delegate);
+		return StreamSupport.doubleStream(spliterator, samples.isParallel()).onClose(samples::close);
+	}
+
+
+	private static <T, R> Stream<R> stream(Stream<T> colors, ColorStage<T, R> stage, int batchSize) {
+		Objects.requireNonNull(colors, "colors is not specified");
+		checkBatchSize(batchSize);
+
+		ColorSpliterator<T, R> spliterator = new ColorSpliterator<>(colors.spliterator(), null, batchSize, stage);
+		return StreamSupport.stream(spliterator, colors.isParallel()).onClose(colors::close);
+	}
+
+	private static void unpackRGB(ColorRGB color, double[] c0, double[] c1, double[] c2, int index) {
+		Objects.requireNonNull(color, "color is not specified");
+
+		c0[index] = color.getR().doubleValue();
+		c1[index] = color.getG().doubleValue();
+		c2[index] = color.getB().doubleValue();
+	}
+
+	private static ColorLab packLab(double l, double a, double b) {
+		return new ColorLab(BigDecimal.valueOf(l), BigDecimal.valueOf(a), BigDecimal.valueOf(b));
+	}
+
+	private static void checkBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize should not be smaller than 1");
+		}
+	}
+
+
+	/**
+	 * Represents a conversion stage of three channels, converted in place.
+	 */
+	private interface ColorStage<T, R> {
+
+		void unpack(T color, double[] c0, double[] c1, double[] c2, int index);
+
+		void convert(double[] c0, double[] c1, double[] c2, int length);
+
+		R pack(double c0, double c1, double c2);
+	}
+
+	/**
+	 * Represents the batching of a source spliterator into primitive planes.
+	 * <p>
+	 * A spliterator either pulls its batches from the source or holds exactly one batch, which
+	 * was split off. Split off batches keep the colors as objects until they are traversed, so
+	 * that unpacking and converting happens on the traversing thread.
+	 */
+	private abstract static class BatchSpliterator<T> {
+		private final Spliterator<T> source;
+		private final int batchSize;
+		private Object[] pending;
+
+		double[] c0, c1, c2;
+		int index, length;
+
+		// Collects the next color of the source into the current batch.
+		private final Consumer<T> unpacker = color -> unpack(color, length++);
+
+		BatchSpliterator(Spliterator<T> source, Object[] pending, int batchSize) {
+			this.source = source;
+			this.pending = pending;
+			this.batchSize = batchSize;
+		}
+
+
+		/**
+		 * Unpacks the <I>color</I> into the planes at <I>index</I>.
+		 */
+		abstract void unpack(T color, int index);
+
+		/**
+		 * Processes the first <I>length</I> values of the planes.
+		 */
+		abstract void process(int length);
+
+		/**
+		 * Fills and processes the next batch.
+		 *
+		 * @return <code>true</code> if the batch contains at least one color. Returns <code>false</code> otherwise.
+		 */
+		@SuppressWarnings("unchecked")
+		final boolean nextBatch() {
+			index = 0;
+			length = 0;
+
+			if (pending != null) {
+				allocate(pending.length);
+
+				for (Object color : pending) {
+					unpack((T) color, length++);
+				}
+
+				pending = null;
+			} else if (source != null) {
+				allocate(batchSize);
+
+				while (length < batchSize && source.tryAdvance(unpacker)) {
+					// unpacked by the consumer
+				}
+			}
+
+			if (length == 0) {
+				return false;
+			}
+
+			process(length);
+			return true;
+		}
+
+		/**
+		 * Takes the next batch of the source without unpacking it.
+		 *
+		 * @return Colors or <code>null</code> if this spliterator cannot be split.
+		 */
+		final Object[] splitBatch() {
+			// A split off batch is not split any further; a batch in progress would break the encounter order.
+			if (source == null || index < length) {
+				return null;
+			}
+
+			Object[] batch = new Object[batchSize];
+			int[] count = new int[1];
+
+			while (count[0] < batchSize && source.tryAdvance(color -> batch[count[0]++] = color)) {
+				// collected by the consumer
+			}
+
+			if (count[0] == 0) {
+				return null;
+			}
+
+			return count[0] == batchSize ? batch : Arrays.copyOf(batch, count[0]);
+		}
+
+		final int batchSize() {
+			return batchSize;
+		}
+
+		final long remaining() {
+			if (pending != null) {
+				return pending.length;
+			}
+
+			long remaining = length - index;
+
+			if (source == null) {
+				return remaining;
+			}
+
+			long size = source.estimateSize();
+			return size == Long.MAX_VALUE ? size : size + remaining;
+		}
+
+		final int batchCharacteristics() {
+			if (source == null) {
+				return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+			}
+
+			return source.characteristics() & Spliterator.ORDERED;
+		}
+
+		void allocate(int size) {
+			if (c0 == null || c0.length < size) {
+				c0 = new double[size];
+				c1 = new double[size];
+				c2 = new double[size];
+			}
+		}
+	}
+
+	/**
+	 * Represents the spliterator of a conversion stage.
+	 */
+	private static final class ColorSpliterator<T, R> extends BatchSpliterator<T> implements Spliterator<R> {
+		private final ColorStage<T, R> stage;
+
+		private ColorSpliterator(Spliterator<T> source, Object[] pending, int batchSize, ColorStage<T, R> stage) {
+			super(source, pending, batchSize);
+			this.stage = stage;
+		}
+
+		@Override
+		void unpack(T color, int index) {
+			stage.unpack(color, c0, c1, c2, index);
+		}
+
+		@Override
+		void process(int length) {
+			stage.convert(c0, c1, c2, length);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super R> action) {
+			Objects.requireNonNull(action, "action is not specified");
+
+			if (index == length && !nextBatch()) {
+				return false;
+			}
+
+			action.accept(stage.pack(c0[index], c1[index], c2[index]));
+			index++;
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super R> action) {
+			Objects.requireNonNull(action, "action is not specified");
+
+			while (index < length || nextBatch()) {
+				for (; index < length; index++) {
+					action.accept(stage.pack(c0[index], c1[index], c2[index]));
+				}
+			}
+		}
+
+		@Override
+		public Spliterator<R> trySplit() {
+			Object[] batch = splitBatch();
+			return batch == null ? null : new ColorSpliterator<>(null, batch, batchSize(), stage);
+		}
+
+		@Override
+		public long estimateSize() {
+			return remaining();
+		}
+
+		@Override
+		public int characteristics() {
+			return batchCharacteristics() | Spliterator.NONNULL;
+		}
+	}
+
+	/**
+	 * Represents the spliterator of a delta E stage.
+	 */
+	private static final class DeltaSpliterator extends BatchSpliterator<ColorLab> implements Spliterator.OfDouble {
+		private final double l, a, b;
+		private final DeltaECalculatorDelegate delegate;
+		private double[] result;
+
+		private DeltaSpliterator(Spliterator<ColorLab> source, Object[] pending, int batchSize, double l, double a, double b, DeltaECalculatorDelegate delegate) {
+			super(source, pending, batchSize);
+			this.l = l;
+			this.a = a;
+			this.b = b;
+			this.delegate = delegate;
+		}
+
+		@Override
+		void unpack(ColorLab color, int index) {
+			Objects.requireNonNull(color, "color is not specified");
+
+			c0[index] = color.getL().doubleValue();
+			c1[index] = color.getA().doubleValue();
+			c2[index] = color.getB().doubleValue();
+		}
+
+		@Override
+		void process(int length) {
+			delegate.calculate(l, a, b, c0, c1, c2, 0, result, 0, length);
+		}
+
+		@Override
+		void allocate(int size) {
+			super.allocate(size);
+
+			if (result == null || result.length < size) {
+				result = new double[size];
+			}
+		}
+
+		@Override
+		public boolean tryAdvance(DoubleConsumer action) {
+			Objects.requireNonNull(action, "action is not specified");
+
+			if (index == length && !nextBatch()) {
+				return false;
+			}
+
+			action.accept(result[index++]);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(DoubleConsumer action) {
+			Objects.requireNonNull(action, "action is not specified");
+
+			while (index < length || nextBatch()) {
+				for (; index < length; index++) {
+					action.accept(result[index]);
+				}
+			}
+		}
+
+		@Override
+		public Spliterator.OfDouble trySplit() {
+			Object[] batch = splitBatch();
+			return batch == null ? null : new DeltaSpliterator(null, batch, batchSize(), l, a, b, delegate);
+		}
+
+		@Override
+		public long estimateSize() {
+			return remaining();
+		}
+
+		@Override
+		public int characteristics() {
+			return batchCharacteristics();
+		}
+	}
+}
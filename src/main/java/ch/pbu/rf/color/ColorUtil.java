@@ -6,12 +6,16 @@ import java.util.Objects;
 
 import ch.obermuhlner.math.big.BigDecimalMath;
 import ch.pbu.rf.MathUtil;
+import ch.pbu.rf.Matrix3;
+import ch.pbu.rf.Precision;
 import ch.pbu.rf.RF;
+import ch.pbu.rf.Vector3;
 import ch.pbu.rf.color.lab.ColorLab;
-import ch.pbu.rf.color.rgb.ChromaticityCoordinate;
+import ch.pbu.rf.color.lab.PreparedColorLab;
 import ch.pbu.rf.color.rgb.ColorRGB;
 import ch.pbu.rf.color.rgb.ColorSpaceRGB;
 import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.illuminant.ChromaticAdaptation;
 import ch.pbu.rf.illuminant.Illuminant;
 
 /**
@@ -21,8 +25,28 @@ import ch.pbu.rf.illuminant.Illuminant;
  */
 public class ColorUtil {
 	public static final MathContext MC = RF.MC;
-	public static final BigDecimal E = bd(216, MC).divide(bd(24389, MC), MC);
-	public static final BigDecimal K = bd(24389, MC).divide(bd(27, MC), MC);
+	
+	// 216 / 24389 and 24389 / 27 rounded to MC, embedded as literals to keep the class initialization cheap.
+	public static final BigDecimal E = new BigDecimal(
+		"0.008856451679035630817171675755463528639960637992537619418590348107753495428266841608922055024806265120");
+	public static final BigDecimal K = new BigDecimal(
+		"903.2962962962962962962962962962962962962962962962962962962962962962962962962962962962962962962962963");
+	
+	// Bounds of the delta E2000 terms: |RT| < sqrt(3), 0.07 <= T <= 1.93, C' <= 1.5 * C*ab.
+	private static final BigDecimal RT_MAX = new BigDecimal(
+		"1.732050807568877293527446341505872366942805253810380628055806979451933016908800037081146186757248576");
+	private static final BigDecimal LAMBDA = BigDecimal.ONE.subtract(RT_MAX.divide(bd(2, MC), MC), MC);
+	private static final BigDecimal T_MIN = bd("0.07", MC);
+	private static final BigDecimal T_MAX = bd("1.93", MC);
+	private static final BigDecimal G_MAX = bd("0.5", MC);
+	
+	// sRGB transfer function, the values are exact and therefore not rounded per precision.
+	private static final BigDecimal GAMMA_DECODE_THRESHOLD = new BigDecimal("0.04045");
+	private static final BigDecimal GAMMA_ENCODE_THRESHOLD = new BigDecimal("0.0031308");
+	private static final BigDecimal GAMMA_SLOPE = new BigDecimal("12.92");
+	private static final BigDecimal GAMMA_OFFSET = new BigDecimal("0.055");
+	private static final BigDecimal GAMMA_SCALE = new BigDecimal("1.055");
+	private static final BigDecimal GAMMA_EXPONENT = new BigDecimal("2.4");
 
 	/**
 	 * Private constructor.
@@ -33,6 +57,8 @@ public class ColorUtil {
 
 	/**
 	 * Returns the reference white for <I>illuminant</I>.
+	 * <p>
+	 * The reference white is calculated once by the illuminant, see {@link Illuminant#getReferenceWhite()}.
 	 * 
 	 * @param illuminant Illuminant.
 	 * 
@@ -43,15 +69,7 @@ public class ColorUtil {
 	public static ColorXYZ calculateReferenceWhite(Illuminant illuminant) {
 		Objects.requireNonNull(illuminant, "illuminant is not specified");
 
-		BigDecimal ix = illuminant.getX();
-		BigDecimal iy = illuminant.getY();
-		BigDecimal iz = illuminant.getZ();
-
-		BigDecimal y = BigDecimal.ONE;
-		BigDecimal x = ix.multiply(y, MC).divide(iy, MC);
-		BigDecimal z = iz.multiply(y, MC).divide(iy, MC);
-
-		ColorXYZ result = new ColorXYZ(x, y, z);
+		ColorXYZ result = illuminant.getReferenceWhite();
 		return result;
 	}
 
@@ -67,26 +85,45 @@ public class ColorUtil {
 	 * @throws NullPointerException If illuminant is not specified.
 	 */
 	public static ColorXYZ convertToXYZ(ColorLab color, Illuminant illuminant) {
+		return convertToXYZ(color, illuminant, MC);
+	}
+
+	/**
+	 * Converts the <I>color</I> to an XYZ-Color by the <I>illuminant</I> with the given precision.
+	 * 
+	 * @param color Color.
+	 * @param illuminant Illuminant.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return XYZ-Color.
+	 * 
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static ColorXYZ convertToXYZ(ColorLab color, Illuminant illuminant, MathContext mc) {
 		Objects.requireNonNull(color, "color is not specified");
 		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Precision.check(mc);
 
 		BigDecimal l = color.getL();
 		BigDecimal a = color.getA();
 		BigDecimal b = color.getB();
 
-		ColorXYZ rw = calculateReferenceWhite(illuminant);
-		BigDecimal rx = rw.getX();
-		BigDecimal ry = rw.getY();
-		BigDecimal rz = rw.getZ();
+		ColorXYZ rw = illuminant.getReferenceWhite();
+		BigDecimal rx = rw.getX().round(mc);
+		BigDecimal ry = rw.getY().round(mc);
+		BigDecimal rz = rw.getZ().round(mc);
 		
 
-		BigDecimal ty = l.add(bd(16, MC), MC).divide(bd(116, MC), MC);
-		BigDecimal tx = a.divide(bd(500, MC), MC).add(ty, MC);
-		BigDecimal tz = b.divide(bd(200, MC), MC).subtract(ty, MC);
+		BigDecimal ty = l.add(bd(16, mc), mc).divide(bd(116, mc), mc);
+		BigDecimal tx = a.divide(bd(500, mc), mc).add(ty, mc);
+		BigDecimal tz = ty.subtract(b.divide(bd(200, mc), mc), mc);
 
-		BigDecimal x = _calculate_f_xyz(tx, MC).multiply(rx, MC);
-		BigDecimal y = _calculate_f_xyz(ty, MC).multiply(ry, MC);
-		BigDecimal z = _calculate_f_xyz(tz, MC).multiply(rz, MC);
+		BigDecimal x = _calculate_f_xyz(tx, mc).multiply(rx, mc);
+		BigDecimal y = _calculate_f_xyz(ty, mc).multiply(ry, mc);
+		BigDecimal z = _calculate_f_xyz(tz, mc).multiply(rz, mc);
 
 		return new ColorXYZ(x, y, z);
 	}
@@ -103,31 +140,83 @@ public class ColorUtil {
 	 * @throws NullPointerException If illuminant is not specified.
 	 */
 	public static ColorXYZ convertToXYZ(ColorRGB color, Illuminant illuminant) {
+		return convertToXYZ(color, illuminant, MC);
+	}
+
+	/**
+	 * Converts the <I>color</I> to an XYZ-Color by the <I>illuminant</I> with the given precision.
+	 * <p>
+	 * The color is converted by {@link RF.RGB.ColorSpace#sRGB} relative to its own reference white,
+	 * the illuminant is not applied. Use {@link #convertToXYZ(ColorRGB, ColorSpaceRGB, Illuminant, ChromaticAdaptation, MathContext)}
+	 * to adapt the color to the illuminant.
+	 * 
+	 * @param color Color.
+	 * @param illuminant Illuminant.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return XYZ-Color.
+	 * 
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static ColorXYZ convertToXYZ(ColorRGB color, Illuminant illuminant, MathContext mc) {
 		Objects.requireNonNull(color, "color is not specified");
 		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Precision.check(mc);
 
-		BigDecimal r = color.getR();
-		BigDecimal g = color.getG();
-		BigDecimal b = color.getB();
-		
-		BigDecimal[][] m = calculateRGBtoXYZTransformationMatrix(RF.RGB.ColorSpace.sRGB);
-		BigDecimal[][] rgb = {
-			{r},
-			{g},
-			{b}
-		};
+		Vector3 rgb = new Vector3(color.getR(), color.getG(), color.getB());
 		
-		BigDecimal[][] xyz = MathUtil.calculateProduct(m, rgb, MC);
+		Matrix3 m = RF.RGB.ColorSpace.sRGB.getRGBtoXYZMatrix().round(mc);
+		Vector3 xyz = m.multiply(rgb, mc);
 		
 		ColorXYZ result = new ColorXYZ(
-			xyz[0][0],
-			xyz[1][0],
-			xyz[2][0]
+			xyz.getX(),
+			xyz.getY(),
+			xyz.getZ()
 		);
 		
 		return result;
 	}
 
+	/**
+	 * Converts the <I>color</I> of the <I>colorSpace</I> to an XYZ-Color adapted to the <I>illuminant</I>.
+	 * <p>
+	 * The adaptation is fused into the transformations matrix, see
+	 * {@link ColorSpaceRGB#getRGBtoXYZMatrix(Illuminant, ChromaticAdaptation)}, and therefore costs
+	 * no additional multiply.
+	 * 
+	 * @param color Color.
+	 * @param colorSpace Color space of the color.
+	 * @param illuminant Illuminant to adapt to.
+	 * @param adaptation Chromatic adaptation.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return XYZ-Color.
+	 * 
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If adaptation is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static ColorXYZ convertToXYZ(ColorRGB color, ColorSpaceRGB colorSpace, Illuminant illuminant, ChromaticAdaptation adaptation, MathContext mc) {
+		Objects.requireNonNull(color, "color is not specified");
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Objects.requireNonNull(adaptation, "adaptation is not specified");
+		Precision.check(mc);
+
+		Vector3 rgb = new Vector3(color.getR(), color.getG(), color.getB());
+		
+		Matrix3 m = colorSpace.getRGBtoXYZMatrix(illuminant, adaptation).round(mc);
+		Vector3 xyz = m.multiply(rgb, mc);
+		
+		return new ColorXYZ(xyz.getX(), xyz.getY(), xyz.getZ());
+	}
+
 	/**
 	 * Converts the <I>color</I> to an Lab-Color by the <I>illuminant</I>.
 	 * 
@@ -140,25 +229,44 @@ public class ColorUtil {
 	 * @throws NullPointerException If illuminant is not specified.
 	 */
 	public static ColorLab convertToLab(ColorXYZ color, Illuminant illuminant) {
+		return convertToLab(color, illuminant, MC);
+	}
+
+	/**
+	 * Converts the <I>color</I> to an Lab-Color by the <I>illuminant</I> with the given precision.
+	 * 
+	 * @param color      Color.
+	 * @param illuminant Illuminant.
+	 * @param mc         Math-Context, see {@link Precision}.
+	 * 
+	 * @return Lab-Color.
+	 * 
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static ColorLab convertToLab(ColorXYZ color, Illuminant illuminant, MathContext mc) {
 		Objects.requireNonNull(color, "color is not specified");
 		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Precision.check(mc);
 
 		BigDecimal x = color.getX();
 		BigDecimal y = color.getY();
 		BigDecimal z = color.getZ();
 
-		ColorXYZ rw = calculateReferenceWhite(illuminant);
-		BigDecimal rx = rw.getX();
-		BigDecimal ry = rw.getY();
-		BigDecimal rz = rw.getZ();
+		ColorXYZ rrw = illuminant.getReciprocalReferenceWhite();
+		BigDecimal rrx = rrw.getX().round(mc);
+		BigDecimal rry = rrw.getY().round(mc);
+		BigDecimal rrz = rrw.getZ().round(mc);
 
-		BigDecimal fx = _calculate_f_lab(x.divide(rx, MC), MC);
-		BigDecimal fy = _calculate_f_lab(y.divide(ry, MC), MC);
-		BigDecimal fz = _calculate_f_lab(z.divide(rz, MC), MC);
+		BigDecimal fx = _calculate_f_lab(x.multiply(rrx, mc), mc);
+		BigDecimal fy = _calculate_f_lab(y.multiply(rry, mc), mc);
+		BigDecimal fz = _calculate_f_lab(z.multiply(rrz, mc), mc);
 
-		BigDecimal l = fy.multiply(bd(116, MC), MC).subtract(bd(16, MC), MC);
-		BigDecimal a = fx.subtract(fy, MC).multiply(bd(500, MC), MC);
-		BigDecimal b = fy.subtract(fz, MC).multiply(bd(200, MC), MC);
+		BigDecimal l = fy.multiply(bd(116, mc), mc).subtract(bd(16, mc), mc);
+		BigDecimal a = fx.subtract(fy, mc).multiply(bd(500, mc), mc);
+		BigDecimal b = fy.subtract(fz, mc).multiply(bd(200, mc), mc);
 
 		return new ColorLab(l, a, b);
 	}
@@ -166,9 +274,10 @@ public class ColorUtil {
 	
 	/**
 	 * Calculates the transformations matrix to convert RGB to XYZ by the given color space.
+	 * <p>
+	 * The matrix is cached by the color space, see {@link ColorSpaceRGB#getRGBtoXYZTransformationMatrix()}.
 	 * 
 	 * @param colorSpace Color space.
-	 * @param illuminant Illuminant.
 	 * 
 	 * @return The transformations matrix to convert RGB to XYZ by the given color space.
 	 * 
@@ -177,62 +286,37 @@ public class ColorUtil {
 	public static BigDecimal[][] calculateRGBtoXYZTransformationMatrix(ColorSpaceRGB colorSpace) throws NullPointerException {
 		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
 		
-		ChromaticityCoordinate r = colorSpace.getR();
-		BigDecimal ccrx = r.getX();
-		BigDecimal ccry = r.getY();
-
-		ChromaticityCoordinate g = colorSpace.getG();
-		BigDecimal ccgx = g.getX();
-		BigDecimal ccgy = g.getY();
-
-		ChromaticityCoordinate b = colorSpace.getB();
-		BigDecimal ccbx = b.getX();
-		BigDecimal ccby = b.getY();
-		
-		Illuminant illuminant = colorSpace.getIlluminant();
-		ColorXYZ rw = calculateReferenceWhite(illuminant);
-		BigDecimal[][] matrixRw = { 
-			{ rw.getX() },
-			{ rw.getY() },
-			{ rw.getZ() } 
-		};
-		
-		BigDecimal xr = ccrx.divide(ccry, MC);
-		BigDecimal xg = ccgx.divide(ccgy, MC);
-		BigDecimal xb = ccbx.divide(ccby, MC);
-
-		BigDecimal yr = BigDecimal.ONE;
-		BigDecimal yg = BigDecimal.ONE;
-		BigDecimal yb = BigDecimal.ONE;
+		BigDecimal[][] result = colorSpace.getRGBtoXYZTransformationMatrix();
+		return result;
+	}
 
-		BigDecimal zr = BigDecimal.ONE.subtract(ccrx, MC).subtract(ccry, MC).divide(ccry, MC);
-		BigDecimal zg = BigDecimal.ONE.subtract(ccgx, MC).subtract(ccgy, MC).divide(ccgy, MC);
-		BigDecimal zb = BigDecimal.ONE.subtract(ccbx, MC).subtract(ccby, MC).divide(ccby, MC);
-		
-		BigDecimal[][] matrix = {
-			{ xr, xg, xb },
-			{ yr, yg, yb },
-			{ zr, zg, zb }
-		};
-		
-		BigDecimal[][] matrixInversed = MathUtil.calculate3x3Inverse(matrix, MC);
-		BigDecimal[][] matrixSrgb = MathUtil.calculateProduct(matrixInversed, matrixRw, MC);
-		
-		BigDecimal[][] result = {
-			{ matrix[0][0].multiply(matrixSrgb[0][0], MC), matrix[0][1].multiply(matrixSrgb[1][0], MC), matrix[0][2].multiply(matrixSrgb[2][0], MC) },
-			{ matrix[1][0].multiply(matrixSrgb[0][0], MC), matrix[1][1].multiply(matrixSrgb[1][0], MC), matrix[1][2].multiply(matrixSrgb[2][0], MC) },
-			{ matrix[2][0].multiply(matrixSrgb[0][0], MC), matrix[2][1].multiply(matrixSrgb[1][0], MC), matrix[2][2].multiply(matrixSrgb[2][0], MC) }
-		};
+	/**
+	 * Calculates the transformations matrix to convert RGB to XYZ by the given color space with the given precision.
+	 * 
+	 * @param colorSpace Color space.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return The transformations matrix to convert RGB to XYZ by the given color space.
+	 * 
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static BigDecimal[][] calculateRGBtoXYZTransformationMatrix(ColorSpaceRGB colorSpace, MathContext mc) throws NullPointerException {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Precision.check(mc);
 		
+		BigDecimal[][] result = colorSpace.getRGBtoXYZTransformationMatrix(mc);
 		return result;
 	}
 
 
 	/**
 	 * Calculates the transformations matrix to convert XYZ to RGB by the given color space.
+	 * <p>
+	 * The matrix is cached by the color space, see {@link ColorSpaceRGB#getXYZtoRGBTransformationMatrix()}.
 	 * 
 	 * @param colorSpace Color space.
-	 * @param illuminant Illuminant.
 	 * 
 	 * @return The transformations matrix to convert XYZ to RGB by the given color space.
 	 * 
@@ -241,8 +325,27 @@ public class ColorUtil {
 	public static BigDecimal[][] calculateXYZtoRGBTransformationMatrix(ColorSpaceRGB colorSpace) throws NullPointerException {
 		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
 		
-		BigDecimal[][] transformationMatrix = calculateRGBtoXYZTransformationMatrix(colorSpace);
-		BigDecimal[][] result = MathUtil.calculate3x3Inverse(transformationMatrix, MC);
+		BigDecimal[][] result = colorSpace.getXYZtoRGBTransformationMatrix();
+		return result;
+	}
+
+	/**
+	 * Calculates the transformations matrix to convert XYZ to RGB by the given color space with the given precision.
+	 * 
+	 * @param colorSpace Color space.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return The transformations matrix to convert XYZ to RGB by the given color space.
+	 * 
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static BigDecimal[][] calculateXYZtoRGBTransformationMatrix(ColorSpaceRGB colorSpace, MathContext mc) throws NullPointerException {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Precision.check(mc);
+		
+		BigDecimal[][] result = colorSpace.getXYZtoRGBTransformationMatrix(mc);
 		return result;
 	}
 
@@ -256,13 +359,30 @@ public class ColorUtil {
 	 * @throws NullPointerException If val is not specified.
 	 */
 	public static BigDecimal calulateRGBtoXYZGammaCorrection(BigDecimal val) {
+		return calulateRGBtoXYZGammaCorrection(val, MC);
+	}
+
+	/**
+	 * Calculates the gamma correction for RGB to XYZ with the given precision.
+	 * 
+	 * @param val Value.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return The gamma correction for RGB to XYZ.
+	 * 
+	 * @throws NullPointerException If val is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static BigDecimal calulateRGBtoXYZGammaCorrection(BigDecimal val, MathContext mc) {
 		Objects.requireNonNull(val, "val is not specified");
+		Precision.check(mc);
 		
 		BigDecimal result = null;
-		if (val.compareTo(bd("0.04045", MC)) < 0) {
-			result = val.divide(bd("12.92", MC), MC);
+		if (val.compareTo(GAMMA_DECODE_THRESHOLD) < 0) {
+			result = val.divide(GAMMA_SLOPE, mc);
 		} else {
-			result = BigDecimalMath.pow(val.add(bd("0.055", MC), MC).divide(bd("1.055", MC), MC), bd("2.4", MC), MC);
+			result = BigDecimalMath.pow(val.add(GAMMA_OFFSET, mc).divide(GAMMA_SCALE, mc), GAMMA_EXPONENT, mc);
 		}
 		
 		return result;
@@ -279,13 +399,30 @@ public class ColorUtil {
 	 * @throws NullPointerException If val is not specified.
 	 */
 	public static BigDecimal calulateXYZtoRGBGammaCorrection(BigDecimal val) {
+		return calulateXYZtoRGBGammaCorrection(val, MC);
+	}
+
+	/**
+	 * Calculates the gamma correction for XYZ to RGB with the given precision.
+	 * 
+	 * @param val Value.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return The gamma correction for XYZ to RGB.
+	 * 
+	 * @throws NullPointerException If val is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static BigDecimal calulateXYZtoRGBGammaCorrection(BigDecimal val, MathContext mc) {
 		Objects.requireNonNull(val, "val is not specified");
+		Precision.check(mc);
 		
 		BigDecimal result = null;
-		if (val.compareTo(bd("0.0031308", MC)) <= 0) {
-			result = val.multiply(bd("12.92", MC), MC);
+		if (val.compareTo(GAMMA_ENCODE_THRESHOLD) <= 0) {
+			result = val.multiply(GAMMA_SLOPE, mc);
 		} else {
-			result = bd("1.055", MC).multiply(BigDecimalMath.pow(val, BigDecimal.ONE.divide(bd("2.4", MC), MC), MC), MC).subtract(bd("0.055", MC), MC);
+			result = GAMMA_SCALE.multiply(BigDecimalMath.pow(val, BigDecimal.ONE.divide(GAMMA_EXPONENT, mc), mc), mc).subtract(GAMMA_OFFSET, mc);
 		}
 		
 		return result;
@@ -304,18 +441,37 @@ public class ColorUtil {
 	 * @throws DeltaE1976CalculationException If it is not possible to calculate the delta E1976.
 	 */
 	public static BigDecimal calculateDeltaE1976(ColorLab color1, ColorLab color2) throws NullPointerException {
+		return calculateDeltaE1976(color1, color2, MC);
+	}
+	
+	/**
+	 * Calculates the delta E1976 for the given two colors with the given precision.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return Delta E1976 for the given two colors.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static BigDecimal calculateDeltaE1976(ColorLab color1, ColorLab color2, MathContext mc) throws NullPointerException {
 		Objects.requireNonNull(color1, "color1 is not specified");
 		Objects.requireNonNull(color2, "color2 is not specified");
+		Precision.check(mc);
 		
-		BigDecimal color1L = replaceZeroWithNearlyZero(color1.getL(), MC);
-		BigDecimal color1a = replaceZeroWithNearlyZero(color1.getA(), MC);
-		BigDecimal color1b = replaceZeroWithNearlyZero(color1.getB(), MC);
+		BigDecimal color1L = replaceZeroWithNearlyZero(color1.getL(), mc);
+		BigDecimal color1a = replaceZeroWithNearlyZero(color1.getA(), mc);
+		BigDecimal color1b = replaceZeroWithNearlyZero(color1.getB(), mc);
 
-		BigDecimal color2L = replaceZeroWithNearlyZero(color2.getL(), MC);
-		BigDecimal color2a = replaceZeroWithNearlyZero(color2.getA(), MC);
-		BigDecimal color2b = replaceZeroWithNearlyZero(color2.getB(), MC);
+		BigDecimal color2L = replaceZeroWithNearlyZero(color2.getL(), mc);
+		BigDecimal color2a = replaceZeroWithNearlyZero(color2.getA(), mc);
+		BigDecimal color2b = replaceZeroWithNearlyZero(color2.getB(), mc);
 
-		BigDecimal result = calculateDeltaE1976(color1L, color1a, color1b, color2L, color2a, color2b, MC);
+		BigDecimal result = calculateDeltaE1976(color1L, color1a, color1b, color2L, color2a, color2b, mc);
 		return result;
 	}
 	
@@ -332,7 +488,7 @@ public class ColorUtil {
 		BigDecimal step2 = a1.subtract(a2, mc).pow(2, mc);
 		BigDecimal step3 = b1.subtract(b2, mc).pow(2, mc);
 		
-		BigDecimal result = BigDecimalMath.sqrt(step1.add(step2).add(step3), mc);
+		BigDecimal result = BigDecimalMath.sqrt(step1.add(step2, mc).add(step3, mc), mc);
 		return result;
 	}
 	
@@ -347,53 +503,379 @@ public class ColorUtil {
 	 * @throws DeltaE2000CalculationException If it is not possible to calculate the delta E2000.
 	 */
 	public static BigDecimal calculateDeltaE2000(ColorLab color1, ColorLab color2) {
+		return calculateDeltaE2000(color1, color2, MC);
+	}
+	
+	/**
+	 * Calculates the delta E2000 for the given two colors with the given precision.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return Delta E2000 for the given two colors.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static BigDecimal calculateDeltaE2000(ColorLab color1, ColorLab color2, MathContext mc) {
 		Objects.requireNonNull(color1, "color1 is not specified");
 		Objects.requireNonNull(color2, "color2 is not specified");
+		Precision.check(mc);
 		
-		BigDecimal color1L = replaceZeroWithNearlyZero(color1.getL(), MC);
-		BigDecimal color1a = replaceZeroWithNearlyZero(color1.getA(), MC);
-		BigDecimal color1b = replaceZeroWithNearlyZero(color1.getB(), MC);
+		BigDecimal color1L = replaceZeroWithNearlyZero(color1.getL(), mc);
+		BigDecimal color1a = replaceZeroWithNearlyZero(color1.getA(), mc);
+		BigDecimal color1b = replaceZeroWithNearlyZero(color1.getB(), mc);
 
-		BigDecimal color2L = replaceZeroWithNearlyZero(color2.getL(), MC);
-		BigDecimal color2a = replaceZeroWithNearlyZero(color2.getA(), MC);
-		BigDecimal color2b = replaceZeroWithNearlyZero(color2.getB(), MC);
+		BigDecimal color2L = replaceZeroWithNearlyZero(color2.getL(), mc);
+		BigDecimal color2a = replaceZeroWithNearlyZero(color2.getA(), mc);
+		BigDecimal color2b = replaceZeroWithNearlyZero(color2.getB(), mc);
+		
+		BigDecimal color1C = calculateC(color1a, color1b, mc);
+		BigDecimal color2C = calculateC(color2a, color2b, mc);
 		
-		BigDecimal g = calculateG(color1a, color1b, color2a, color2b, MC);
+		BigDecimal dE = _calculate_delta_e_2000(color1L, color1a, color1b, color1C, color2L, color2a, color2b, color2C, mc);
+		return dE;
+	}
+	
+	/**
+	 * Calculates the delta E2000 for the given two prepared colors.
+	 * <p>
+	 * Same as {@link #calculateDeltaE2000(ColorLab, ColorLab)} but reuses the per-color
+	 * terms of <I>color1</I> and <I>color2</I> instead of recalculating them for every pair.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * 
+	 * @return Delta E2000 for the given two colors.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 */
+	public static BigDecimal calculateDeltaE2000(PreparedColorLab color1, PreparedColorLab color2) {
+		return calculateDeltaE2000(color1, color2, MC);
+	}
+	
+	/**
+	 * Calculates the delta E2000 for the given two prepared colors with the given precision.
+	 * <p>
+	 * Same as {@link #calculateDeltaE2000(ColorLab, ColorLab, MathContext)} if both colors are
+	 * prepared with <I>mc</I>, see {@link PreparedColorLab#PreparedColorLab(ColorLab, MathContext)}.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return Delta E2000 for the given two colors.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static BigDecimal calculateDeltaE2000(PreparedColorLab color1, PreparedColorLab color2, MathContext mc) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+		Precision.check(mc);
+		
+		BigDecimal dE = _calculate_delta_e_2000(
+			color1.getL(), color1.getA(), color1.getB(), color1.getC(), 
+			color2.getL(), color2.getA(), color2.getB(), color2.getC(), mc);
+		return dE;
+	}
+	
+	/**
+	 * Checks whether the delta E1976 for the given two colors is within the <I>threshold</I>.
+	 * Compares the squared distance and therefore skips the square root.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 * 
+	 * @return True if the delta E1976 is within the threshold, otherwise false.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If threshold is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 */
+	public static boolean isDeltaE1976Within(ColorLab color1, ColorLab color2, BigDecimal threshold) {
+		return isDeltaE1976Within(color1, color2, threshold, MC);
+	}
+	
+	/**
+	 * Checks whether the delta E1976 for the given two colors is within the <I>threshold</I> with the given precision.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return True if the delta E1976 is within the threshold, otherwise false.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If threshold is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 * 
+	 * @see #isDeltaE1976Within(ColorLab, ColorLab, BigDecimal)
+	 */
+	public static boolean isDeltaE1976Within(ColorLab color1, ColorLab color2, BigDecimal threshold, MathContext mc) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+		checkThreshold(threshold);
+		Precision.check(mc);
+		
+		BigDecimal step1 = replaceZeroWithNearlyZero(color1.getL(), mc).subtract(replaceZeroWithNearlyZero(color2.getL(), mc), mc).pow(2, mc);
+		BigDecimal step2 = replaceZeroWithNearlyZero(color1.getA(), mc).subtract(replaceZeroWithNearlyZero(color2.getA(), mc), mc).pow(2, mc);
+		BigDecimal step3 = replaceZeroWithNearlyZero(color1.getB(), mc).subtract(replaceZeroWithNearlyZero(color2.getB(), mc), mc).pow(2, mc);
+		
+		return step1.add(step2, mc).add(step3, mc).compareTo(threshold.pow(2, mc)) <= 0;
+	}
+	
+	/**
+	 * Checks whether the delta E2000 for the given two colors is within the <I>threshold</I>.
+	 * <p>
+	 * Same as <code>calculateDeltaE2000(color1, color2).compareTo(threshold) &lt;= 0</code> but
+	 * stops as soon as the result is decided: first by |dL| / SL alone, then by a bound derived
+	 * from the delta E1976, then by the chroma and hue differences without the hue angles and
+	 * finally without the rotation term.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 * 
+	 * @return True if the delta E2000 is within the threshold, otherwise false.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If threshold is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 */
+	public static boolean isDeltaE2000Within(ColorLab color1, ColorLab color2, BigDecimal threshold) {
+		return isDeltaE2000Within(color1, color2, threshold, MC);
+	}
+	
+	/**
+	 * Checks whether the delta E2000 for the given two colors is within the <I>threshold</I> with the given precision.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return True if the delta E2000 is within the threshold, otherwise false.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If threshold is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 * 
+	 * @see #isDeltaE2000Within(ColorLab, ColorLab, BigDecimal)
+	 */
+	public static boolean isDeltaE2000Within(ColorLab color1, ColorLab color2, BigDecimal threshold, MathContext mc) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+		checkThreshold(threshold);
+		Precision.check(mc);
+		
+		BigDecimal color1L = replaceZeroWithNearlyZero(color1.getL(), mc);
+		BigDecimal color1a = replaceZeroWithNearlyZero(color1.getA(), mc);
+		BigDecimal color1b = replaceZeroWithNearlyZero(color1.getB(), mc);
+
+		BigDecimal color2L = replaceZeroWithNearlyZero(color2.getL(), mc);
+		BigDecimal color2a = replaceZeroWithNearlyZero(color2.getA(), mc);
+		BigDecimal color2b = replaceZeroWithNearlyZero(color2.getB(), mc);
+		
+		return _is_delta_e_2000_within(
+			color1L, color1a, color1b, null, 
+			color2L, color2a, color2b, null, threshold, mc);
+	}
+	
+	/**
+	 * Checks whether the delta E2000 for the given two prepared colors is within the <I>threshold</I>.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 * 
+	 * @return True if the delta E2000 is within the threshold, otherwise false.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If threshold is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 * 
+	 * @see #isDeltaE2000Within(ColorLab, ColorLab, BigDecimal)
+	 */
+	public static boolean isDeltaE2000Within(PreparedColorLab color1, PreparedColorLab color2, BigDecimal threshold) {
+		return isDeltaE2000Within(color1, color2, threshold, MC);
+	}
+	
+	/**
+	 * Checks whether the delta E2000 for the given two prepared colors is within the <I>threshold</I> with the given precision.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return True if the delta E2000 is within the threshold, otherwise false.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If threshold is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 * 
+	 * @see #calculateDeltaE2000(PreparedColorLab, PreparedColorLab, MathContext)
+	 */
+	public static boolean isDeltaE2000Within(PreparedColorLab color1, PreparedColorLab color2, BigDecimal threshold, MathContext mc) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+		checkThreshold(threshold);
+		Precision.check(mc);
+		
+		return _is_delta_e_2000_within(
+			color1.getL(), color1.getA(), color1.getB(), color1, 
+			color2.getL(), color2.getA(), color2.getB(), color2, threshold, mc);
+	}
+	
+	/**
+	 * Chromas are taken from the prepared colors if specified, otherwise they are only
+	 * calculated if the delta L did not already decide.
+	 */
+	private static boolean _is_delta_e_2000_within(
+			BigDecimal color1L, BigDecimal color1a, BigDecimal color1b, PreparedColorLab prepared1, 
+			BigDecimal color2L, BigDecimal color2a, BigDecimal color2b, PreparedColorLab prepared2, BigDecimal threshold, MathContext mc) {
+		BigDecimal tt = threshold.pow(2, mc);
+		
+		// |dL| / SL alone
+		BigDecimal dL = calculateDeltaL(color1L, color2L, mc);
+		BigDecimal SL = calculateSL(calculateMeanL(color1L, color2L, mc), mc);
+		
+		BigDecimal termL = dL.divide(SL, mc);
+		if (termL.compareTo(threshold) > 0) {
+			return false;
+		}
+		
+		BigDecimal termLL = termL.pow(2, mc);
+		
+		// Delta E1976 in the a-b-plane: (dC'/SC)^2 + (dH'/SH)^2 >= (da^2 + db^2) / SC^2 with SH <= SC
+		BigDecimal color1C = prepared1 != null ? prepared1.getC() : calculateC(color1a, color1b, mc);
+		BigDecimal color2C = prepared2 != null ? prepared2.getC() : calculateC(color2a, color2b, mc);
+		
+		BigDecimal da = color2a.subtract(color1a, mc);
+		BigDecimal db = color2b.subtract(color1b, mc);
+		
+		BigDecimal SCmax = calculateSC(BigDecimal.ONE.add(G_MAX, mc).multiply(calculateMeanC(color1C, color2C, mc), mc), mc);
+		BigDecimal bound = termLL.add(LAMBDA.multiply(da.pow(2, mc).add(db.pow(2, mc), mc), mc).divide(SCmax.pow(2, mc), mc), mc);
+		if (bound.compareTo(tt) > 0) {
+			return false;
+		}
+		
+		// C' and dH'^2 = |a'b'1 - a'b'2|^2 - dC'^2 without the hue angles
+		BigDecimal g = calculateG(color1C, color2C, mc);
 
-		BigDecimal a1 = calculateA(g, color1a, MC);
-		BigDecimal b1 = calculateB(color1b, MC); 
-		BigDecimal c1 = calculateC(a1, b1, MC);
-		BigDecimal h1 = calculateH(a1, color1b, MC);
+		BigDecimal a1 = calculateA(g, color1a, mc);
+		BigDecimal b1 = calculateB(color1b, mc); 
+		BigDecimal c1 = calculateC(a1, b1, mc);
 		
-		BigDecimal a2 = calculateA(g, color2a, MC);
-		BigDecimal b2 = calculateB(color2b, MC); 
-		BigDecimal c2 = calculateC(a2, b2, MC);
-		BigDecimal h2 = calculateH(a2, color2b, MC);
+		BigDecimal a2 = calculateA(g, color2a, mc);
+		BigDecimal b2 = calculateB(color2b, mc); 
+		BigDecimal c2 = calculateC(a2, b2, mc);
 		
-		BigDecimal meanL = calculateMeanL(color1L, color2L, MC);
-		BigDecimal meanC = calculateMeanC(c1, c2, MC);
-		BigDecimal meanH = calculateMeanH(h1, h2, MC);
+		BigDecimal meanC = calculateMeanC(c1, c2, mc);
+		BigDecimal dC = calculateDeltaC(c1, c2, mc);
+		BigDecimal dHH = a2.subtract(a1, mc).pow(2, mc).add(db.pow(2, mc), mc).subtract(dC.pow(2, mc), mc).max(BigDecimal.ZERO);
+		
+		BigDecimal SC = calculateSC(meanC, mc);
+		BigDecimal termC = dC.divide(SC, mc);
+		BigDecimal termCC = termC.pow(2, mc);
+		
+		BigDecimal SHmax = calculateSH(meanC, T_MAX, mc);
+		bound = termLL.add(LAMBDA.multiply(termCC.add(dHH.divide(SHmax.pow(2, mc), mc), mc), mc), mc);
+		if (bound.compareTo(tt) > 0) {
+			return false;
+		}
+		
+		BigDecimal SHmin = calculateSH(meanC, T_MIN, mc);
+		bound = termLL.add(termCC, mc).add(dHH.divide(SHmin.pow(2, mc), mc), mc);
+		if (bound.compareTo(tt) <= 0) {
+			return true;
+		}
+		
+		// Hue angles, the rotation term is never positive
+		BigDecimal h1 = calculateH(a1, color1b, mc);
+		BigDecimal h2 = calculateH(a2, color2b, mc);
+		BigDecimal meanH = calculateMeanH(h1, h2, mc);
+		
+		BigDecimal dH = calculateDeltaH(c1, c2, h1, h2, mc);
+		BigDecimal SH = calculateSH(meanC, calculateT(meanH, mc), mc);
+		BigDecimal termH = dH.divide(SH, mc);
+		
+		bound = termLL.add(termCC, mc).add(termH.pow(2, mc), mc);
+		if (bound.compareTo(tt) <= 0) {
+			return true;
+		}
+		
+		if (bound.subtract(RT_MAX.multiply(termC, mc).multiply(termH, mc), mc).compareTo(tt) > 0) {
+			return false;
+		}
+		
+		// Rotation
+		BigDecimal RT = calculateRT(calculateRC(meanC, mc), calculateD0(meanH, mc), mc);
+		
+		BigDecimal dE = calculateDeltaE2000(dL, dC, dH, BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE, SL, SC, SH, RT, mc);
+		return dE.compareTo(threshold) <= 0;
+	}
+	
+	private static BigDecimal _calculate_delta_e_2000(
+			BigDecimal color1L, BigDecimal color1a, BigDecimal color1b, BigDecimal color1C, 
+			BigDecimal color2L, BigDecimal color2a, BigDecimal color2b, BigDecimal color2C, MathContext mc) {
+		BigDecimal g = calculateG(color1C, color2C, mc);
 
-		BigDecimal dL = calculateDeltaL(color1L, color2L, MC);
-		BigDecimal dC = calculateDeltaC(c1, c2, MC);
-		BigDecimal dH = calculateDeltaH(c1, c2, h1, h2, MC);
+		BigDecimal a1 = calculateA(g, color1a, mc);
+		BigDecimal b1 = calculateB(color1b, mc); 
+		BigDecimal c1 = calculateC(a1, b1, mc);
+		BigDecimal h1 = calculateH(a1, color1b, mc);
 		
-		BigDecimal T = calculateT(meanH, MC);
+		BigDecimal a2 = calculateA(g, color2a, mc);
+		BigDecimal b2 = calculateB(color2b, mc); 
+		BigDecimal c2 = calculateC(a2, b2, mc);
+		BigDecimal h2 = calculateH(a2, color2b, mc);
+		
+		BigDecimal meanL = calculateMeanL(color1L, color2L, mc);
+		BigDecimal meanC = calculateMeanC(c1, c2, mc);
+		BigDecimal meanH = calculateMeanH(h1, h2, mc);
+
+		BigDecimal dL = calculateDeltaL(color1L, color2L, mc);
+		BigDecimal dC = calculateDeltaC(c1, c2, mc);
+		BigDecimal dH = calculateDeltaH(c1, c2, h1, h2, mc);
+		
+		BigDecimal T = calculateT(meanH, mc);
 
-		BigDecimal SL = calculateSL(meanL, MC);
-		BigDecimal SC = calculateSC(meanC, MC);
-		BigDecimal SH = calculateSH(meanC, T, MC);
+		BigDecimal SL = calculateSL(meanL, mc);
+		BigDecimal SC = calculateSC(meanC, mc);
+		BigDecimal SH = calculateSH(meanC, T, mc);
 
-		BigDecimal d0 = calculateD0(meanH , MC);
+		BigDecimal d0 = calculateD0(meanH , mc);
 
-		BigDecimal RC = calculateRC(meanC, MC);
-		BigDecimal RT = calculateRT(RC, d0, MC);
+		BigDecimal RC = calculateRC(meanC, mc);
+		BigDecimal RT = calculateRT(RC, d0, mc);
 				
 		BigDecimal KL = BigDecimal.ONE;
 		BigDecimal KC = BigDecimal.ONE;
 		BigDecimal KH = BigDecimal.ONE;
 
-		BigDecimal dE = calculateDeltaE2000(dL, dC, dH, KL, KC, KH, SL, SC, SH, RT, MC);
+		BigDecimal dE = calculateDeltaE2000(dL, dC, dH, KL, KC, KH, SL, SC, SH, RT, mc);
 		return dE;
 	}
 	
@@ -407,6 +889,18 @@ public class ColorUtil {
 		BigDecimal step1 = BigDecimalMath.sqrt(a1.pow(2, mc).add(b1.pow(2, mc), mc), mc);
 		BigDecimal step2 = BigDecimalMath.sqrt(a2.pow(2, mc).add(b2.pow(2, mc), mc), mc);
 
+		BigDecimal result = calculateG(step1, step2, mc);
+		return result;
+	}
+	
+	public static BigDecimal calculateG(BigDecimal c1, BigDecimal c2, MathContext mc) {
+		Objects.requireNonNull(c1, "c1 is not specified");
+		Objects.requireNonNull(c2, "c2 is not specified");
+		Objects.requireNonNull(mc, "mc is not specified");
+		
+		BigDecimal step1 = c1;
+		BigDecimal step2 = c2;
+
 		BigDecimal step3 = step1.add(step2, mc).divide(bd(2, mc), mc).pow(7, mc);
 		BigDecimal step4 = step1.add(step2, mc).divide(bd(2, mc), mc).pow(7, mc);
 		BigDecimal step5 = bd(25, mc).pow(7, mc);
@@ -622,7 +1116,7 @@ public class ColorUtil {
 		if (vP3.compareTo(E) > 0) {
 			result = vP3;
 		} else {
-			result = val.multiply(bd(116, mc), mc).subtract(bd(16, mc), mc).divide(K, mc);
+			result = val.multiply(bd(116, mc), mc).subtract(bd(16, mc), mc).divide(K.round(mc), mc);
 		}
 
 		return result;
@@ -634,23 +1128,35 @@ public class ColorUtil {
 		if (val.compareTo(E) > 0) {
 			result = BigDecimalMath.root(val, bd(3, mc), mc);
 		} else {
-			result = val.multiply(K, mc).add(bd(16, mc), mc).divide(bd(116, mc), mc);
+			result = val.multiply(K.round(mc), mc).add(bd(16, mc), mc).divide(bd(116, mc), mc);
 		}
 		
 		return result;
 	}
 
-	public static final BigDecimal PI = BigDecimalMath.pi(MC);
+	public static final BigDecimal PI = MathUtil.PI;
 	
 	private static BigDecimal toRadians(BigDecimal angdeg, MathContext mc) {
-        return angdeg.divide(bd(180, mc), mc).multiply(PI, mc);
+        return angdeg.divide(bd(180, mc), mc).multiply(PI.round(mc), mc);
     }
 	
 	private static BigDecimal toDegrees(BigDecimal angrad, MathContext mc) {
-        return angrad.multiply(bd(180, mc), mc).divide(PI, mc);
+        return angrad.multiply(bd(180, mc), mc).divide(PI.round(mc), mc);
     }
 	
-	private static BigDecimal replaceZeroWithNearlyZero(BigDecimal val, MathContext mc) {
+	/**
+	 * Replaces zero with a nearly zero value (1 / 10<sup>precision</sup>) since the delta E
+	 * calculations are not defined for zero-components.
+	 * 
+	 * @param val Value.
+	 * @param mc Math-Context.
+	 * 
+	 * @return Value or nearly zero if the value is zero.
+	 * 
+	 * @throws NullPointerException If val is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public static BigDecimal replaceZeroWithNearlyZero(BigDecimal val, MathContext mc) {
 		Objects.requireNonNull(val, "val is not specified");
 		Objects.requireNonNull(mc, "mc is not specified");
 		
@@ -665,6 +1171,14 @@ public class ColorUtil {
 	}
 	
 	
+	private static void checkThreshold(BigDecimal threshold) {
+		Objects.requireNonNull(threshold, "threshold is not specified");
+		
+		if (threshold.signum() < 0) {
+			throw new IllegalArgumentException("threshold should not be negative");
+		}
+	}
+	
 	private static BigDecimal bd(int i, MathContext mc) {
 		return new BigDecimal(i, mc);
 	}
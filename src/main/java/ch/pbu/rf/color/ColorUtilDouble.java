@@ -0,0 +1,778 @@
+package ch.pbu.rf.color;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.lab.PreparedColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.rgb.ColorSpaceRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.illuminant.Illuminant;
+
+/**
+ * Represents the Color-Util working on primitive <code>double</code> values.
+ * <p>
+ * Mirrors the operations of {@link ColorUtil} step by step, including its handling
+ * of zero-components, so that every result stays within {@link #ACCURACY} of the
+ * exact {@link ColorUtil} result. Use {@link ColorUtil} where exact arithmetic is
+ * required (e.g. for audits) and this class where throughput matters.
+ *
+ * @author Yanick Senn
+ */
+public class ColorUtilDouble {
+	public static final double ACCURACY = 1e-9;
+	public static final double E = 216.0 / 24389.0;
+	public static final double K = 24389.0 / 27.0;
+
+	private static final double NEARLY_ZERO = BigDecimal.ONE.divide(BigDecimal.TEN.pow(RF.MC.getPrecision(), RF.MC), RF.MC).doubleValue();
+	private static final double POW_25_7 = Math.pow(25, 7);
+
+	// Bounds of the delta E2000 terms: |RT| < sqrt(3), 0.07 <= T <= 1.93, C' <= 1.5 * C*ab.
+	private static final double RT_MAX = Math.sqrt(3.0);
+	private static final double LAMBDA = 1.0 - RT_MAX / 2.0;
+	private static final double T_MIN = 1.0 - 0.17 - 0.24 - 0.32 - 0.20;
+	private static final double T_MAX = 1.0 + 0.17 + 0.24 + 0.32 + 0.20;
+	private static final double G_MAX = 0.5;
+
+	/**
+	 * Private constructor.
+	 */
+	private ColorUtilDouble() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Returns the reference white for <I>illuminant</I>.
+	 *
+	 * @param illuminant Illuminant.
+	 *
+	 * @return Reference white as XYZ (<code>{x, y, z}</code>).
+	 *
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static double[] calculateReferenceWhite(Illuminant illuminant) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+
+		double[] result = { 
+			illuminant.getReferenceWhiteXAsDouble(), 
+			illuminant.getReferenceWhiteYAsDouble(), 
+			illuminant.getReferenceWhiteZAsDouble() 
+		};
+		
+		return result;
+	}
+
+	/**
+	 * Converts the <I>color</I> to an XYZ-Color by the <I>illuminant</I>.
+	 *
+	 * @param color Color.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return XYZ-Color (<code>{x, y, z}</code>).
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static double[] convertToXYZ(ColorLab color, Illuminant illuminant) {
+		Objects.requireNonNull(color, "color is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+
+		return convertLabToXYZ(color.getL().doubleValue(), color.getA().doubleValue(), color.getB().doubleValue(), illuminant);
+	}
+
+	/**
+	 * Converts the Lab-Color <I>l</I>, <I>a</I> and <I>b</I> to an XYZ-Color by the <I>illuminant</I>.
+	 *
+	 * @param l L value.
+	 * @param a A value.
+	 * @param b B value.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return XYZ-Color (<code>{x, y, z}</code>).
+	 *
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static double[] convertLabToXYZ(double l, double a, double b, Illuminant illuminant) {
+		double[] result = new double[3];
+		convertLabToXYZ(l, a, b, illuminant, result, 0);
+		return result;
+	}
+
+	/**
+	 * Converts the Lab-Color <I>l</I>, <I>a</I> and <I>b</I> to an XYZ-Color by the <I>illuminant</I>
+	 * into <I>xyz</I>. Does not allocate.
+	 *
+	 * @param l L value.
+	 * @param a A value.
+	 * @param b B value.
+	 * @param illuminant Illuminant.
+	 * @param xyz XYZ-Color (output, <code>{x, y, z}</code> from offset).
+	 * @param offset Offset of x in xyz.
+	 *
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If xyz is not specified.
+	 * @throws IndexOutOfBoundsException If the range is out of the bounds of xyz.
+	 */
+	public static void convertLabToXYZ(double l, double a, double b, Illuminant illuminant, double[] xyz, int offset) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkOutput(xyz, "xyz", offset);
+
+		double ty = (l + 16.0) / 116.0;
+		double tx = a / 500.0 + ty;
+		double tz = ty - b / 200.0;
+
+		xyz[offset] = _calculate_f_xyz(tx) * illuminant.getReferenceWhiteXAsDouble();
+		xyz[offset + 1] = _calculate_f_xyz(ty) * illuminant.getReferenceWhiteYAsDouble();
+		xyz[offset + 2] = _calculate_f_xyz(tz) * illuminant.getReferenceWhiteZAsDouble();
+	}
+
+	/**
+	 * Converts the <I>color</I> to an XYZ-Color by the <I>illuminant</I>.
+	 *
+	 * @param color Color.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return XYZ-Color (<code>{x, y, z}</code>).
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static double[] convertToXYZ(ColorRGB color, Illuminant illuminant) {
+		Objects.requireNonNull(color, "color is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+
+		return convertRGBToXYZ(color.getR().doubleValue(), color.getG().doubleValue(), color.getB().doubleValue(), illuminant);
+	}
+
+	/**
+	 * Converts the RGB-Color <I>r</I>, <I>g</I> and <I>b</I> to an XYZ-Color by the <I>illuminant</I>.
+	 *
+	 * @param r R value.
+	 * @param g G value.
+	 * @param b B value.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return XYZ-Color (<code>{x, y, z}</code>).
+	 *
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static double[] convertRGBToXYZ(double r, double g, double b, Illuminant illuminant) {
+		double[] result = new double[3];
+		convertRGBToXYZ(r, g, b, illuminant, result, 0);
+		return result;
+	}
+
+	/**
+	 * Converts the RGB-Color <I>r</I>, <I>g</I> and <I>b</I> to an XYZ-Color by the <I>illuminant</I>
+	 * into <I>xyz</I>. Does not allocate.
+	 *
+	 * @param r R value.
+	 * @param g G value.
+	 * @param b B value.
+	 * @param illuminant Illuminant.
+	 * @param xyz XYZ-Color (output, <code>{x, y, z}</code> from offset).
+	 * @param offset Offset of x in xyz.
+	 *
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If xyz is not specified.
+	 * @throws IndexOutOfBoundsException If the range is out of the bounds of xyz.
+	 */
+	public static void convertRGBToXYZ(double r, double g, double b, Illuminant illuminant, double[] xyz, int offset) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkOutput(xyz, "xyz", offset);
+
+		double[][] m = SRGB.RGB_TO_XYZ;
+
+		xyz[offset] = m[0][0] * r + m[0][1] * g + m[0][2] * b;
+		xyz[offset + 1] = m[1][0] * r + m[1][1] * g + m[1][2] * b;
+		xyz[offset + 2] = m[2][0] * r + m[2][1] * g + m[2][2] * b;
+	}
+
+	/**
+	 * Converts the <I>color</I> to an Lab-Color by the <I>illuminant</I>.
+	 *
+	 * @param color Color.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return Lab-Color (<code>{l, a, b}</code>).
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static double[] convertToLab(ColorXYZ color, Illuminant illuminant) {
+		Objects.requireNonNull(color, "color is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+
+		return convertXYZToLab(color.getX().doubleValue(), color.getY().doubleValue(), color.getZ().doubleValue(), illuminant);
+	}
+
+	/**
+	 * Converts the XYZ-Color <I>x</I>, <I>y</I> and <I>z</I> to an Lab-Color by the <I>illuminant</I>.
+	 *
+	 * @param x X value.
+	 * @param y Y value.
+	 * @param z Z value.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return Lab-Color (<code>{l, a, b}</code>).
+	 *
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static double[] convertXYZToLab(double x, double y, double z, Illuminant illuminant) {
+		double[] result = new double[3];
+		convertXYZToLab(x, y, z, illuminant, result, 0);
+		return result;
+	}
+
+	/**
+	 * Converts the XYZ-Color <I>x</I>, <I>y</I> and <I>z</I> to an Lab-Color by the <I>illuminant</I>
+	 * into <I>lab</I>. Does not allocate.
+	 *
+	 * @param x X value.
+	 * @param y Y value.
+	 * @param z Z value.
+	 * @param illuminant Illuminant.
+	 * @param lab Lab-Color (output, <code>{l, a, b}</code> from offset).
+	 * @param offset Offset of l in lab.
+	 *
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If lab is not specified.
+	 * @throws IndexOutOfBoundsException If the range is out of the bounds of lab.
+	 */
+	public static void convertXYZToLab(double x, double y, double z, Illuminant illuminant, double[] lab, int offset) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkOutput(lab, "lab", offset);
+
+		double fx = _calculate_f_lab(x * illuminant.getReciprocalReferenceWhiteXAsDouble());
+		double fy = _calculate_f_lab(y * illuminant.getReciprocalReferenceWhiteYAsDouble());
+		double fz = _calculate_f_lab(z * illuminant.getReciprocalReferenceWhiteZAsDouble());
+
+		lab[offset] = fy * 116.0 - 16.0;
+		lab[offset + 1] = (fx - fy) * 500.0;
+		lab[offset + 2] = (fy - fz) * 200.0;
+	}
+
+	/**
+	 * Converts the RGB-Color <I>r</I>, <I>g</I> and <I>b</I> to an Lab-Color by the <I>illuminant</I>
+	 * into <I>lab</I>. Does not allocate.
+	 * <p>
+	 * Equals {@link #convertRGBToXYZ(double, double, double, Illuminant, double[], int)} followed by
+	 * {@link #convertXYZToLab(double, double, double, Illuminant, double[], int)} without the
+	 * intermediate XYZ-Color.
+	 *
+	 * @param r R value.
+	 * @param g G value.
+	 * @param b B value.
+	 * @param illuminant Illuminant.
+	 * @param lab Lab-Color (output, <code>{l, a, b}</code> from offset).
+	 * @param offset Offset of l in lab.
+	 *
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If lab is not specified.
+	 * @throws IndexOutOfBoundsException If the range is out of the bounds of lab.
+	 */
+	public static void convertRGBToLab(double r, double g, double b, Illuminant illuminant, double[] lab, int offset) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		checkOutput(lab, "lab", offset);
+
+		double[][] m = SRGB.RGB_TO_XYZ;
+
+		double x = m[0][0] * r + m[0][1] * g + m[0][2] * b;
+		double y = m[1][0] * r + m[1][1] * g + m[1][2] * b;
+		double z = m[2][0] * r + m[2][1] * g + m[2][2] * b;
+
+		convertXYZToLab(x, y, z, illuminant, lab, offset);
+	}
+
+	/**
+	 * Calculates the transformations matrix to convert RGB to XYZ by the given color space.
+	 *
+	 * @param colorSpace Color space.
+	 *
+	 * @return The transformations matrix to convert RGB to XYZ by the given color space.
+	 *
+	 * @throws NullPointerException If colorSpace is not specified.
+	 */
+	public static double[][] calculateRGBtoXYZTransformationMatrix(ColorSpaceRGB colorSpace) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+
+		return colorSpace.getRGBtoXYZMatrix().toDouble().toArray();
+	}
+
+	/**
+	 * Calculates the transformations matrix to convert XYZ to RGB by the given color space.
+	 *
+	 * @param colorSpace Color space.
+	 *
+	 * @return The transformations matrix to convert XYZ to RGB by the given color space.
+	 *
+	 * @throws NullPointerException If colorSpace is not specified.
+	 */
+	public static double[][] calculateXYZtoRGBTransformationMatrix(ColorSpaceRGB colorSpace) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+
+		return colorSpace.getXYZtoRGBMatrix().toDouble().toArray();
+	}
+
+	/**
+	 * Calculates the gamma correction for RGB to XYZ.
+	 *
+	 * @param val Value.
+	 *
+	 * @return The gamma correction for RGB to XYZ.
+	 */
+	public static double calulateRGBtoXYZGammaCorrection(double val) {
+		double result;
+		if (val < 0.04045) {
+			result = val / 12.92;
+		} else {
+			result = Math.pow((val + 0.055) / 1.055, 2.4);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Calculates the gamma correction for XYZ to RGB.
+	 *
+	 * @param val Value.
+	 *
+	 * @return The gamma correction for XYZ to RGB.
+	 */
+	public static double calulateXYZtoRGBGammaCorrection(double val) {
+		double result;
+		if (val <= 0.0031308) {
+			result = val * 12.92;
+		} else {
+			result = 1.055 * Math.pow(val, 1.0 / 2.4) - 0.055;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Calculates the delta E1976 for the given two colors.
+	 *
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 *
+	 * @return Delta E1976 for the given two colors.
+	 *
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 */
+	public static double calculateDeltaE1976(ColorLab color1, ColorLab color2) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+
+		return calculateDeltaE1976(
+			color1.getL().doubleValue(), color1.getA().doubleValue(), color1.getB().doubleValue(),
+			color2.getL().doubleValue(), color2.getA().doubleValue(), color2.getB().doubleValue());
+	}
+
+	/**
+	 * Calculates the delta E1976 for the given two Lab-Colors.
+	 *
+	 * @param l1 L value of the first color.
+	 * @param a1 A value of the first color.
+	 * @param b1 B value of the first color.
+	 * @param l2 L value of the second color.
+	 * @param a2 A value of the second color.
+	 * @param b2 B value of the second color.
+	 *
+	 * @return Delta E1976 for the given two colors.
+	 */
+	public static double calculateDeltaE1976(double l1, double a1, double b1, double l2, double a2, double b2) {
+		double dL = replaceZeroWithNearlyZero(l1) - replaceZeroWithNearlyZero(l2);
+		double da = replaceZeroWithNearlyZero(a1) - replaceZeroWithNearlyZero(a2);
+		double db = replaceZeroWithNearlyZero(b1) - replaceZeroWithNearlyZero(b2);
+
+		double result = Math.sqrt(dL * dL + da * da + db * db);
+		return result;
+	}
+
+	/**
+	 * Calculates the delta E2000 for the given two colors.
+	 *
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 *
+	 * @return Delta E2000 for the given two colors.
+	 *
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 */
+	public static double calculateDeltaE2000(ColorLab color1, ColorLab color2) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+
+		return calculateDeltaE2000(
+			color1.getL().doubleValue(), color1.getA().doubleValue(), color1.getB().doubleValue(),
+			color2.getL().doubleValue(), color2.getA().doubleValue(), color2.getB().doubleValue());
+	}
+
+	/**
+	 * Calculates the delta E2000 for the given two Lab-Colors.
+	 *
+	 * @param l1 L value of the first color.
+	 * @param a1 A value of the first color.
+	 * @param b1 B value of the first color.
+	 * @param l2 L value of the second color.
+	 * @param a2 A value of the second color.
+	 * @param b2 B value of the second color.
+	 *
+	 * @return Delta E2000 for the given two colors.
+	 */
+	public static double calculateDeltaE2000(double l1, double a1, double b1, double l2, double a2, double b2) {
+		l1 = replaceZeroWithNearlyZero(l1);
+		a1 = replaceZeroWithNearlyZero(a1);
+		b1 = replaceZeroWithNearlyZero(b1);
+
+		l2 = replaceZeroWithNearlyZero(l2);
+		a2 = replaceZeroWithNearlyZero(a2);
+		b2 = replaceZeroWithNearlyZero(b2);
+
+		double bb1 = b1 * b1;
+		double bb2 = b2 * b2;
+
+		return calculateDeltaE2000(
+			l1, a1, b1, bb1, Math.sqrt(a1 * a1 + bb1), 
+			l2, a2, b2, bb2, Math.sqrt(a2 * a2 + bb2));
+	}
+
+	/**
+	 * Calculates the delta E2000 for the given two prepared colors.
+	 * <p>
+	 * Same as {@link #calculateDeltaE2000(ColorLab, ColorLab)} but reuses the per-color
+	 * terms of <I>color1</I> and <I>color2</I> instead of recalculating them for every pair.
+	 *
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 *
+	 * @return Delta E2000 for the given two colors.
+	 *
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 */
+	public static double calculateDeltaE2000(PreparedColorLab color1, PreparedColorLab color2) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+
+		return calculateDeltaE2000(
+			color1.getLAsDouble(), color1.getAAsDouble(), color1.getBAsDouble(), color1.getBSquaredAsDouble(), color1.getCAsDouble(),
+			color2.getLAsDouble(), color2.getAAsDouble(), color2.getBAsDouble(), color2.getBSquaredAsDouble(), color2.getCAsDouble());
+	}
+
+	/**
+	 * Checks whether the delta E1976 for the given two Lab-Colors is within the <I>threshold</I>.
+	 * Compares the squared distance and therefore skips the square root.
+	 *
+	 * @param l1 L value of the first color.
+	 * @param a1 A value of the first color.
+	 * @param b1 B value of the first color.
+	 * @param l2 L value of the second color.
+	 * @param a2 A value of the second color.
+	 * @param b2 B value of the second color.
+	 * @param threshold Threshold (inclusive).
+	 *
+	 * @return True if the delta E1976 is within the threshold, otherwise false.
+	 *
+	 * @throws IllegalArgumentException If threshold is negative.
+	 */
+	public static boolean isDeltaE1976Within(double l1, double a1, double b1, double l2, double a2, double b2, double threshold) {
+		checkThreshold(threshold);
+
+		double dL = replaceZeroWithNearlyZero(l1) - replaceZeroWithNearlyZero(l2);
+		double da = replaceZeroWithNearlyZero(a1) - replaceZeroWithNearlyZero(a2);
+		double db = replaceZeroWithNearlyZero(b1) - replaceZeroWithNearlyZero(b2);
+
+		return dL * dL + da * da + db * db <= threshold * threshold;
+	}
+
+	/**
+	 * Checks whether the delta E2000 for the given two Lab-Colors is within the <I>threshold</I>.
+	 * <p>
+	 * Same as <code>calculateDeltaE2000(...) &lt;= threshold</code> (up to rounding) but stops as
+	 * soon as the result is decided: first by |dL| / SL alone, then by a bound derived from the
+	 * delta E1976, then by the chroma and hue differences without the hue angles and finally
+	 * without the rotation term.
+	 *
+	 * @param l1 L value of the first color.
+	 * @param a1 A value of the first color.
+	 * @param b1 B value of the first color.
+	 * @param l2 L value of the second color.
+	 * @param a2 A value of the second color.
+	 * @param b2 B value of the second color.
+	 * @param threshold Threshold (inclusive).
+	 *
+	 * @return True if the delta E2000 is within the threshold, otherwise false.
+	 *
+	 * @throws IllegalArgumentException If threshold is negative.
+	 */
+	public static boolean isDeltaE2000Within(double l1, double a1, double b1, double l2, double a2, double b2, double threshold) {
+		l1 = replaceZeroWithNearlyZero(l1);
+		a1 = replaceZeroWithNearlyZero(a1);
+		b1 = replaceZeroWithNearlyZero(b1);
+
+		l2 = replaceZeroWithNearlyZero(l2);
+		a2 = replaceZeroWithNearlyZero(a2);
+		b2 = replaceZeroWithNearlyZero(b2);
+
+		double bb1 = b1 * b1;
+		double bb2 = b2 * b2;
+
+		return isDeltaE2000Within(
+			l1, a1, b1, bb1, Math.sqrt(a1 * a1 + bb1), 
+			l2, a2, b2, bb2, Math.sqrt(a2 * a2 + bb2), threshold);
+	}
+
+	/**
+	 * Checks whether the delta E2000 for the given two prepared colors is within the <I>threshold</I>.
+	 *
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 *
+	 * @return True if the delta E2000 is within the threshold, otherwise false.
+	 *
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 *
+	 * @see #isDeltaE2000Within(double, double, double, double, double, double, double)
+	 */
+	public static boolean isDeltaE2000Within(PreparedColorLab color1, PreparedColorLab color2, double threshold) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+
+		return isDeltaE2000Within(
+			color1.getLAsDouble(), color1.getAAsDouble(), color1.getBAsDouble(), color1.getBSquaredAsDouble(), color1.getCAsDouble(),
+			color2.getLAsDouble(), color2.getAAsDouble(), color2.getBAsDouble(), color2.getBSquaredAsDouble(), color2.getCAsDouble(), threshold);
+	}
+
+	/**
+	 * Replaces zero with a nearly zero value, same as {@link ColorUtil#replaceZeroWithNearlyZero(BigDecimal, java.math.MathContext)}.
+	 *
+	 * @param val Value.
+	 *
+	 * @return Value or nearly zero if the value is zero.
+	 */
+	public static double replaceZeroWithNearlyZero(double val) {
+		return val == 0.0 ? NEARLY_ZERO : val;
+	}
+
+
+	private static double calculateDeltaE2000(
+			double l1, double a1, double b1, double bb1, double cab1, 
+			double l2, double a2, double b2, double bb2, double cab2) {
+		// G
+		double g = calculateG(cab1, cab2);
+
+		// a', C', h'
+		double a1p = (1.0 + g) * a1;
+		double c1p = Math.sqrt(a1p * a1p + bb1);
+		double h1p = calculateH(a1p, b1);
+
+		double a2p = (1.0 + g) * a2;
+		double c2p = Math.sqrt(a2p * a2p + bb2);
+		double h2p = calculateH(a2p, b2);
+
+		// Means
+		double meanL = (l1 + l2) / 2.0;
+		double meanC = (c1p + c2p) / 2.0;
+		double meanH = calculateMeanH(h1p, h2p);
+
+		// Deltas
+		double dL = Math.abs(l2 - l1);
+		double dC = Math.abs(c2p - c1p);
+		double dH = calculateDeltaH(c1p, c2p, h1p, h2p);
+
+		// Weighting functions
+		double sl = calculateSL(meanL);
+		double sc = 1.0 + 0.045 * meanC;
+		double sh = 1.0 + 0.015 * meanC * calculateT(meanH);
+
+		// Rotation
+		double rt = calculateRT(meanC, meanH);
+
+		double termL = dL / sl;
+		double termC = dC / sc;
+		double termH = dH / sh;
+
+		double result = Math.sqrt(termL * termL + termC * termC + termH * termH + rt * termC * termH);
+		return result;
+	}
+
+	private static boolean isDeltaE2000Within(
+			double l1, double a1, double b1, double bb1, double cab1, 
+			double l2, double a2, double b2, double bb2, double cab2, double threshold) {
+		checkThreshold(threshold);
+
+		double tt = threshold * threshold;
+
+		// |dL| / SL alone
+		double termL = Math.abs(l2 - l1) / calculateSL((l1 + l2) / 2.0);
+		if (termL > threshold) {
+			return false;
+		}
+
+		double termLL = termL * termL;
+
+		// Delta E1976 in the a-b-plane: (dC'/SC)^2 + (dH'/SH)^2 >= (da^2 + db^2) / SC^2 with SH <= SC
+		double da = a2 - a1;
+		double db = b2 - b1;
+
+		double scMax = 1.0 + 0.045 * (1.0 + G_MAX) * (cab1 + cab2) / 2.0;
+		if (termLL + LAMBDA * (da * da + db * db) / (scMax * scMax) > tt) {
+			return false;
+		}
+
+		// C' and dH'^2 = |a'b'1 - a'b'2|^2 - dC'^2 without the hue angles
+		double g = calculateG(cab1, cab2);
+
+		double a1p = (1.0 + g) * a1;
+		double c1p = Math.sqrt(a1p * a1p + bb1);
+
+		double a2p = (1.0 + g) * a2;
+		double c2p = Math.sqrt(a2p * a2p + bb2);
+
+		double meanC = (c1p + c2p) / 2.0;
+		double dC = Math.abs(c2p - c1p);
+		double dap = a2p - a1p;
+		double dHH = Math.max(0.0, dap * dap + db * db - dC * dC);
+
+		double termC = dC / (1.0 + 0.045 * meanC);
+		double termCC = termC * termC;
+
+		double shMax = 1.0 + 0.015 * meanC * T_MAX;
+		if (termLL + LAMBDA * (termCC + dHH / (shMax * shMax)) > tt) {
+			return false;
+		}
+
+		double shMin = 1.0 + 0.015 * meanC * T_MIN;
+		if (termLL + termCC + dHH / (shMin * shMin) <= tt) {
+			return true;
+		}
+
+		// Hue angles, the rotation term is never positive
+		double h1p = calculateH(a1p, b1);
+		double h2p = calculateH(a2p, b2);
+		double meanH = calculateMeanH(h1p, h2p);
+
+		double termH = calculateDeltaH(c1p, c2p, h1p, h2p) / (1.0 + 0.015 * meanC * calculateT(meanH));
+		double result = termLL + termCC + termH * termH;
+
+		if (result <= tt) {
+			return true;
+		}
+
+		if (result - RT_MAX * termC * termH > tt) {
+			return false;
+		}
+
+		// Rotation
+		result += calculateRT(meanC, meanH) * termC * termH;
+		return result <= tt;
+	}
+
+	private static double calculateG(double cab1, double cab2) {
+		double meanCab = (cab1 + cab2) / 2.0;
+		double meanCab7 = Math.pow(meanCab, 7);
+		return (1.0 - Math.sqrt(meanCab7 / (meanCab7 + POW_25_7))) / 2.0;
+	}
+
+	private static double calculateMeanH(double h1, double h2) {
+		return Math.abs(h1 - h2) <= 180.0 ? (h1 + h2) / 2.0 : (h1 + h2 - 360.0) / 2.0;
+	}
+
+	private static double calculateDeltaH(double c1, double c2, double h1, double h2) {
+		double dh = Math.abs(h2 - h1);
+		if (dh > 180.0) {
+			dh = 360.0 - dh;
+		}
+
+		return 2.0 * Math.sqrt(c1 * c2) * Math.sin(Math.toRadians(dh) / 2.0);
+	}
+
+	private static double calculateSL(double meanL) {
+		double meanL50 = (meanL - 50.0) * (meanL - 50.0);
+		return 1.0 + 0.015 * meanL50 / Math.sqrt(20.0 + meanL50);
+	}
+
+	private static double calculateT(double meanH) {
+		return 1.0
+			- 0.17 * Math.cos(Math.toRadians(meanH - 30.0))
+			+ 0.24 * Math.cos(Math.toRadians(2.0 * meanH))
+			+ 0.32 * Math.cos(Math.toRadians(3.0 * meanH + 6.0))
+			- 0.20 * Math.cos(Math.toRadians(4.0 * meanH - 63.0));
+	}
+
+	private static double calculateRT(double meanC, double meanH) {
+		double d0 = 30.0 * Math.exp(-Math.pow((meanH - 275.0) / 25.0, 2));
+		double meanC7 = Math.pow(meanC, 7);
+		double rc = 2.0 * Math.sqrt(meanC7 / (meanC7 + POW_25_7));
+		return -rc * Math.sin(2.0 * Math.toRadians(d0));
+	}
+
+	private static void checkThreshold(double threshold) {
+		if (!(threshold >= 0.0)) {
+			throw new IllegalArgumentException("threshold should not be negative");
+		}
+	}
+
+
+	private static double calculateH(double a, double b) {
+		double result = Math.toDegrees(Math.atan2(b, a));
+		if (result < 0) {
+			result += 360.0;
+		}
+
+		return result;
+	}
+
+	static double _calculate_f_xyz(double val) {
+		double result;
+
+		double vP3 = val * val * val;
+		if (vP3 > E) {
+			result = vP3;
+		} else {
+			result = (val * 116.0 - 16.0) / K;
+		}
+
+		return result;
+	}
+
+	static double _calculate_f_lab(double val) {
+		double result;
+
+		if (val > E) {
+			result = Math.cbrt(val);
+		} else {
+			result = (val * K + 16.0) / 116.0;
+		}
+
+		return result;
+	}
+
+	private static void checkOutput(double[] array, String name, int offset) {
+		// The message is only built on failure, the checked call does not allocate.
+		if (array == null) {
+			throw new NullPointerException(name + " is not specified");
+		}
+
+		if (offset < 0 || offset > array.length - 3) {
+			throw new IndexOutOfBoundsException(String.format("range [%d, %d + 3) out of bounds for length %d", offset, offset, array.length));
+		}
+	}
+
+
+	/**
+	 * Holds the sRGB transformation matrix used by {@link ColorUtil#convertToXYZ(ColorRGB, Illuminant)}.
+	 */
+	private static final class SRGB {
+		private static final double[][] RGB_TO_XYZ = calculateRGBtoXYZTransformationMatrix(RF.RGB.ColorSpace.sRGB);
+	}
+}
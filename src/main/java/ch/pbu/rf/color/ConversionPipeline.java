@@ -0,0 +1,495 @@
+package ch.pbu.rf.color;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+import ch.obermuhlner.math.big.BigDecimalMath;
+import ch.pbu.rf.Matrix3;
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.Vector3;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.rgb.ColorSpaceRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.illuminant.ChromaticAdaptation;
+import ch.pbu.rf.illuminant.Illuminant;
+
+/**
+ * Represents the conversions between RGB, XYZ and Lab compiled for a color space and an illuminant.
+ * <p>
+ * Everything that does not depend on the color is calculated once: the reference white is
+ * folded into the transformation matrices (<code>diag(1 / white) * RGBtoXYZ</code> and
+ * <code>XYZtoRGB * diag(white)</code>) and the constants of the Lab function are rounded to the
+ * Math-Context. Every conversion then runs in a single pass without intermediate colors.
+ * <p>
+ * The RGB channels are either used as-is like in {@link ColorUtil#convertToXYZ(ColorRGB, Illuminant)} or,
+ * if <I>encoded</I>, linearized by the sRGB gamma correction first (and encoded again by
+ * {@link #convertToRGB(ColorLab)}). The results match the ones of {@link ColorUtil} within the
+ * precision of the Math-Context; the <code>double</code> conversions the ones of {@link ColorUtilDouble}
+ * within {@link ColorUtilDouble#ACCURACY}. Instances are immutable and thread-safe.
+ *
+ * @author Yanick Senn
+ */
+public final class ConversionPipeline {
+	private final ColorSpaceRGB colorSpace;
+	private final Illuminant illuminant;
+	private final ChromaticAdaptation adaptation;
+	private final boolean encoded;
+	private final MathContext mc;
+
+	// Exact: matrices in row-major order, reference white and Lab constants rounded to mc.
+	private final BigDecimal[] rgbToRelative;
+	private final BigDecimal[] relativeToRgb;
+	private final BigDecimal[] white;
+	private final BigDecimal[] reciprocalWhite;
+	private final BigDecimal e, k, three, c16, c116, c500, c200;
+
+	// Double: same as above.
+	private final double[] rgbToRelativeDouble;
+	private final double[] relativeToRgbDouble;
+	private final double[] whiteDouble;
+	private final double[] reciprocalWhiteDouble;
+
+
+	private ConversionPipeline(ColorSpaceRGB colorSpace, Illuminant illuminant, ChromaticAdaptation adaptation, boolean encoded, MathContext mc) {
+		this.colorSpace = colorSpace;
+		this.illuminant = illuminant;
+		this.adaptation = adaptation;
+		this.encoded = encoded;
+		this.mc = mc;
+
+		Matrix3 rgbToXyz = adaptation == null ? colorSpace.getRGBtoXYZMatrix() : colorSpace.getRGBtoXYZMatrix(illuminant, adaptation);
+		Matrix3 xyzToRgb = adaptation == null ? colorSpace.getXYZtoRGBMatrix() : colorSpace.getXYZtoRGBMatrix(illuminant, adaptation);
+
+		ColorXYZ rw = illuminant.getReferenceWhite();
+		ColorXYZ rrw = illuminant.getReciprocalReferenceWhite();
+		Vector3 w = new Vector3(rw.getX(), rw.getY(), rw.getZ()).round(mc);
+		Vector3 rw1 = new Vector3(rrw.getX(), rrw.getY(), rrw.getZ()).round(mc);
+
+		Matrix3 toRelative = Matrix3.diagonal(rw1).multiply(rgbToXyz.round(mc), mc);
+		Matrix3 fromRelative = xyzToRgb.round(mc).multiplyDiagonal(w, mc);
+
+		this.rgbToRelative = flatten(toRelative.toArray());
+		this.relativeToRgb = flatten(fromRelative.toArray());
+		this.white = new BigDecimal[] { w.getX(), w.getY(), w.getZ() };
+		this.reciprocalWhite = new BigDecimal[] { rw1.getX(), rw1.getY(), rw1.getZ() };
+
+		this.e = ColorUtil.E;
+		this.k = ColorUtil.K.round(mc);
+		this.three = new BigDecimal(3);
+		this.c16 = new BigDecimal(16);
+		this.c116 = new BigDecimal(116);
+		this.c500 = new BigDecimal(500);
+		this.c200 = new BigDecimal(200);
+
+		this.rgbToRelativeDouble = toDouble(flatten(Matrix3.diagonal(
+			new Vector3(rrw.getX(), rrw.getY(), rrw.getZ())).multiply(rgbToXyz, ColorUtil.MC).toArray()));
+		this.relativeToRgbDouble = toDouble(flatten(xyzToRgb.multiplyDiagonal(
+			new Vector3(rw.getX(), rw.getY(), rw.getZ()), ColorUtil.MC).toArray()));
+		this.whiteDouble = new double[] {
+			illuminant.getReferenceWhiteXAsDouble(),
+			illuminant.getReferenceWhiteYAsDouble(),
+			illuminant.getReferenceWhiteZAsDouble()
+		};
+		this.reciprocalWhiteDouble = new double[] {
+			illuminant.getReciprocalReferenceWhiteXAsDouble(),
+			illuminant.getReciprocalReferenceWhiteYAsDouble(),
+			illuminant.getReciprocalReferenceWhiteZAsDouble()
+		};
+	}
+
+
+	/**
+	 * Compiles the pipeline for linear RGB with {@link ColorUtil#MC}.
+	 *
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return Pipeline.
+	 *
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static ConversionPipeline of(ColorSpaceRGB colorSpace, Illuminant illuminant) {
+		return of(colorSpace, illuminant, false, ColorUtil.MC);
+	}
+
+	/**
+	 * Compiles the pipeline.
+	 *
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param encoded True if the RGB channels are gamma encoded, false if they are linear.
+	 * @param mc Math-Context of the exact conversions, see {@link Precision}.
+	 *
+	 * @return Pipeline.
+	 *
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static ConversionPipeline of(ColorSpaceRGB colorSpace, Illuminant illuminant, boolean encoded, MathContext mc) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Precision.check(mc);
+
+		return new ConversionPipeline(colorSpace, illuminant, null, encoded, mc);
+	}
+
+	/**
+	 * Compiles the pipeline with chromatic adaptation from the illuminant of the color space to <I>illuminant</I>.
+	 * <p>
+	 * The adaptation matrix is fused into the transformation matrices, see
+	 * {@link ColorSpaceRGB#getRGBtoXYZMatrix(Illuminant, ChromaticAdaptation)}, therefore the
+	 * conversions cost the same as without adaptation. The conversions between XYZ and Lab are
+	 * not affected.
+	 *
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param adaptation Chromatic adaptation.
+	 * @param encoded True if the RGB channels are gamma encoded, false if they are linear.
+	 * @param mc Math-Context of the exact conversions, see {@link Precision}.
+	 *
+	 * @return Pipeline.
+	 *
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If adaptation is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static ConversionPipeline of(ColorSpaceRGB colorSpace, Illuminant illuminant, ChromaticAdaptation adaptation, boolean encoded, MathContext mc) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Objects.requireNonNull(adaptation, "adaptation is not specified");
+		Precision.check(mc);
+
+		return new ConversionPipeline(colorSpace, illuminant, adaptation, encoded, mc);
+	}
+
+
+	/**
+	 * Returns the color space.
+	 *
+	 * @return Color space.
+	 */
+	public ColorSpaceRGB getColorSpace() {
+		return colorSpace;
+	}
+
+	/**
+	 * Returns the illuminant.
+	 *
+	 * @return Illuminant.
+	 */
+	public Illuminant getIlluminant() {
+		return illuminant;
+	}
+
+	/**
+	 * Returns the chromatic adaptation.
+	 *
+	 * @return Chromatic adaptation or <code>null</code> if the RGB-Colors are not adapted.
+	 */
+	public ChromaticAdaptation getAdaptation() {
+		return adaptation;
+	}
+
+	/**
+	 * Returns whether the RGB channels are gamma encoded.
+	 *
+	 * @return True if the RGB channels are gamma encoded, false if they are linear.
+	 */
+	public boolean isEncoded() {
+		return encoded;
+	}
+
+	/**
+	 * Returns the Math-Context of the exact conversions.
+	 *
+	 * @return Math-Context.
+	 */
+	public MathContext getMathContext() {
+		return mc;
+	}
+
+	/**
+	 * Converts the <I>color</I> to an Lab-Color.
+	 *
+	 * @param color Color.
+	 *
+	 * @return Lab-Color.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 */
+	public ColorLab convertToLab(ColorRGB color) {
+		Objects.requireNonNull(color, "color is not specified");
+
+		BigDecimal r = linearize(color.getR());
+		BigDecimal g = linearize(color.getG());
+		BigDecimal b = linearize(color.getB());
+
+		BigDecimal[] m = rgbToRelative;
+
+		return toLab(
+			m[0].multiply(r, mc).add(m[1].multiply(g, mc), mc).add(m[2].multiply(b, mc), mc),
+			m[3].multiply(r, mc).add(m[4].multiply(g, mc), mc).add(m[5].multiply(b, mc), mc),
+			m[6].multiply(r, mc).add(m[7].multiply(g, mc), mc).add(m[8].multiply(b, mc), mc));
+	}
+
+	/**
+	 * Converts the <I>color</I> to an RGB-Color.
+	 * <p>
+	 * Colors outside of the gamut of the color space result in channels outside of <code>[0, 1]</code>.
+	 *
+	 * @param color Color.
+	 *
+	 * @return RGB-Color.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 */
+	public ColorRGB convertToRGB(ColorLab color) {
+		Objects.requireNonNull(color, "color is not specified");
+
+		BigDecimal ty = color.getL().add(c16, mc).divide(c116, mc);
+		BigDecimal xr = fXYZ(color.getA().divide(c500, mc).add(ty, mc));
+		BigDecimal yr = fXYZ(ty);
+		BigDecimal zr = fXYZ(ty.subtract(color.getB().divide(c200, mc), mc));
+
+		BigDecimal[] m = relativeToRgb;
+
+		return new ColorRGB(
+			encode(m[0].multiply(xr, mc).add(m[1].multiply(yr, mc), mc).add(m[2].multiply(zr, mc), mc)),
+			encode(m[3].multiply(xr, mc).add(m[4].multiply(yr, mc), mc).add(m[5].multiply(zr, mc), mc)),
+			encode(m[6].multiply(xr, mc).add(m[7].multiply(yr, mc), mc).add(m[8].multiply(zr, mc), mc)));
+	}
+
+	/**
+	 * Converts the <I>color</I> to an Lab-Color.
+	 *
+	 * @param color Color.
+	 *
+	 * @return Lab-Color.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 */
+	public ColorLab convertToLab(ColorXYZ color) {
+		Objects.requireNonNull(color, "color is not specified");
+
+		return toLab(
+			color.getX().multiply(reciprocalWhite[0], mc),
+			color.getY().multiply(reciprocalWhite[1], mc),
+			color.getZ().multiply(reciprocalWhite[2], mc));
+	}
+
+	/**
+	 * Converts the <I>color</I> to an XYZ-Color.
+	 *
+	 * @param color Color.
+	 *
+	 * @return XYZ-Color.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 */
+	public ColorXYZ convertToXYZ(ColorLab color) {
+		Objects.requireNonNull(color, "color is not specified");
+
+		BigDecimal ty = color.getL().add(c16, mc).divide(c116, mc);
+		BigDecimal tx = color.getA().divide(c500, mc).add(ty, mc);
+		BigDecimal tz = ty.subtract(color.getB().divide(c200, mc), mc);
+
+		return new ColorXYZ(
+			fXYZ(tx).multiply(white[0], mc),
+			fXYZ(ty).multiply(white[1], mc),
+			fXYZ(tz).multiply(white[2], mc));
+	}
+
+	/**
+	 * Converts the RGB-Color <I>r</I>, <I>g</I> and <I>b</I> to an Lab-Color.
+	 *
+	 * @param r R value.
+	 * @param g G value.
+	 * @param b B value.
+	 * @param lab Lab-Color (output, <code>l, a, b</code>).
+	 * @param offset Offset of l in lab.
+	 *
+	 * @throws NullPointerException If lab is not specified.
+	 * @throws IndexOutOfBoundsException If lab is too small.
+	 */
+	public void convertRGBToLab(double r, double g, double b, double[] lab, int offset) {
+		checkOutput(lab, "lab", offset);
+
+		if (encoded) {
+			r = ColorUtilDouble.calulateRGBtoXYZGammaCorrection(r);
+			g = ColorUtilDouble.calulateRGBtoXYZGammaCorrection(g);
+			b = ColorUtilDouble.calulateRGBtoXYZGammaCorrection(b);
+		}
+
+		double[] m = rgbToRelativeDouble;
+
+		toLab(
+			m[0] * r + m[1] * g + m[2] * b,
+			m[3] * r + m[4] * g + m[5] * b,
+			m[6] * r + m[7] * g + m[8] * b,
+			lab, offset);
+	}
+
+	/**
+	 * Converts the Lab-Color <I>l</I>, <I>a</I> and <I>b</I> to an RGB-Color.
+	 *
+	 * @param l L value.
+	 * @param a A value.
+	 * @param b B value.
+	 * @param rgb RGB-Color (output, <code>r, g, b</code>).
+	 * @param offset Offset of r in rgb.
+	 *
+	 * @throws NullPointerException If rgb is not specified.
+	 * @throws IndexOutOfBoundsException If rgb is too small.
+	 */
+	public void convertLabToRGB(double l, double a, double b, double[] rgb, int offset) {
+		checkOutput(rgb, "rgb", offset);
+
+		double ty = (l + 16.0) / 116.0;
+		double xr = ColorUtilDouble._calculate_f_xyz(a / 500.0 + ty);
+		double yr = ColorUtilDouble._calculate_f_xyz(ty);
+		double zr = ColorUtilDouble._calculate_f_xyz(ty - b / 200.0);
+
+		double[] m = relativeToRgbDouble;
+
+		double r = m[0] * xr + m[1] * yr + m[2] * zr;
+		double g = m[3] * xr + m[4] * yr + m[5] * zr;
+		double bl = m[6] * xr + m[7] * yr + m[8] * zr;
+
+		if (encoded) {
+			r = ColorUtilDouble.calulateXYZtoRGBGammaCorrection(r);
+			g = ColorUtilDouble.calulateXYZtoRGBGammaCorrection(g);
+			bl = ColorUtilDouble.calulateXYZtoRGBGammaCorrection(bl);
+		}
+
+		rgb[offset] = r;
+		rgb[offset + 1] = g;
+		rgb[offset + 2] = bl;
+	}
+
+	/**
+	 * Converts the XYZ-Color <I>x</I>, <I>y</I> and <I>z</I> to an Lab-Color.
+	 *
+	 * @param x X value.
+	 * @param y Y value.
+	 * @param z Z value.
+	 * @param lab Lab-Color (output, <code>l, a, b</code>).
+	 * @param offset Offset of l in lab.
+	 *
+	 * @throws NullPointerException If lab is not specified.
+	 * @throws IndexOutOfBoundsException If lab is too small.
+	 */
+	public void convertXYZToLab(double x, double y, double z, double[] lab, int offset) {
+		checkOutput(lab, "lab", offset);
+
+		toLab(x * reciprocalWhiteDouble[0], y * reciprocalWhiteDouble[1], z * reciprocalWhiteDouble[2], lab, offset);
+	}
+
+	/**
+	 * Converts the Lab-Color <I>l</I>, <I>a</I> and <I>b</I> to an XYZ-Color.
+	 *
+	 * @param l L value.
+	 * @param a A value.
+	 * @param b B value.
+	 * @param xyz XYZ-Color (output, <code>x, y, z</code>).
+	 * @param offset Offset of x in xyz.
+	 *
+	 * @throws NullPointerException If xyz is not specified.
+	 * @throws IndexOutOfBoundsException If xyz is too small.
+	 */
+	public void convertLabToXYZ(double l, double a, double b, double[] xyz, int offset) {
+		checkOutput(xyz, "xyz", offset);
+
+		double ty = (l + 16.0) / 116.0;
+
+		xyz[offset] = ColorUtilDouble._calculate_f_xyz(a / 500.0 + ty) * whiteDouble[0];
+		xyz[offset + 1] = ColorUtilDouble._calculate_f_xyz(ty) * whiteDouble[1];
+		xyz[offset + 2] = ColorUtilDouble._calculate_f_xyz(ty - b / 200.0) * whiteDouble[2];
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("%s[colorSpace: %s, illuminant: %s, adaptation: %s, encoded: %b, precision: %d]", getClass().getSimpleName(), colorSpace.getName(), illuminant.getName(), adaptation, encoded, mc.getPrecision());
+	}
+
+
+	private ColorLab toLab(BigDecimal xr, BigDecimal yr, BigDecimal zr) {
+		BigDecimal fx = fLab(xr);
+		BigDecimal fy = fLab(yr);
+		BigDecimal fz = fLab(zr);
+
+		return new ColorLab(
+			fy.multiply(c116, mc).subtract(c16, mc),
+			fx.subtract(fy, mc).multiply(c500, mc),
+			fy.subtract(fz, mc).multiply(c200, mc));
+	}
+
+	private static void toLab(double xr, double yr, double zr, double[] lab, int offset) {
+		double fx = ColorUtilDouble._calculate_f_lab(xr);
+		double fy = ColorUtilDouble._calculate_f_lab(yr);
+		double fz = ColorUtilDouble._calculate_f_lab(zr);
+
+		lab[offset] = fy * 116.0 - 16.0;
+		lab[offset + 1] = (fx - fy) * 500.0;
+		lab[offset + 2] = (fy - fz) * 200.0;
+	}
+
+	private BigDecimal fLab(BigDecimal val) {
+		if (val.compareTo(e) > 0) {
+			return BigDecimalMath.root(val, three, mc);
+		}
+
+		return val.multiply(k, mc).add(c16, mc).divide(c116, mc);
+	}
+
+	private BigDecimal fXYZ(BigDecimal val) {
+		BigDecimal vP3 = val.pow(3, mc);
+		if (vP3.compareTo(e) > 0) {
+			return vP3;
+		}
+
+		return val.multiply(c116, mc).subtract(c16, mc).divide(k, mc);
+	}
+
+	private BigDecimal linearize(BigDecimal val) {
+		return encoded ? ColorUtil.calulateRGBtoXYZGammaCorrection(val, mc) : val;
+	}
+
+	private BigDecimal encode(BigDecimal val) {
+		return encoded ? ColorUtil.calulateXYZtoRGBGammaCorrection(val, mc) : val;
+	}
+
+	private static BigDecimal[] flatten(BigDecimal[][] matrix) {
+		return new BigDecimal[] {
+			matrix[0][0], matrix[0][1], matrix[0][2],
+			matrix[1][0], matrix[1][1], matrix[1][2],
+			matrix[2][0], matrix[2][1], matrix[2][2]
+		};
+	}
+
+	private static double[] toDouble(BigDecimal[] values) {
+		double[] result = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = values[i].doubleValue();
+		}
+
+		return result;
+	}
+
+	private static void checkOutput(double[] array, String name, int offset) {
+		if (array == null) {
+			throw new NullPointerException(name + " is not specified");
+		}
+
+		if (offset < 0 || offset > array.length - 3) {
+			throw new IndexOutOfBoundsException(String.format("range [%d, %d + 3) out of bounds for length %d", offset, offset, array.length));
+		}
+	}
+}
@@ -0,0 +1,342 @@
+package ch.pbu.rf.color.deltae;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.pbu.rf.color.lab.ColorLab;
+
+/**
+ * Represents the memoizing delta E calculation.
+ * <p>
+ * Decorates a {@link DeltaECalculatorDelegate} with a size-bounded cache. The values of both
+ * colors are quantized to <I>scale</I> decimal places ({@link RoundingMode#HALF_UP}) and the
+ * delta E of the quantized colors is calculated by the delegate once and cached afterwards,
+ * so a hit costs one hash lookup instead of the full calculation. Because the result only
+ * depends on the quantized colors, it does not depend on the order of the calls.
+ * <p>
+ * For a symmetric delegate (<code>dE(c1, c2) = dE(c2, c1)</code>, which holds for every
+ * {@link Delta}) both orders of a pair share one entry.
+ * <p>
+ * The cache is split into segments with a least-recently-used eviction each, so concurrent
+ * callers rarely contend for the same lock. Lookups of the precision variants are served from
+ * the cached value and rounded. The calculations on primitive <code>double</code> values are
+ * cheaper than a lookup and are passed to the delegate unchanged.
+ *
+ * @author Yanick Senn
+ */
+public final class CachingDeltaECalculator implements DeltaECalculatorDelegate {
+	public static final int DEFAULT_MAXIMUM_SIZE = 1 << 16;
+	public static final int DEFAULT_SCALE = 4;
+	public static final int MAXIMUM_SCALE = 12;
+
+	private static final int SEGMENTS = 16;
+
+	private final DeltaECalculatorDelegate delegate;
+	private final int maximumSize;
+	private final int scale;
+	private final boolean symmetric;
+	private final Segment[] segments;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+
+	/**
+	 * Constructor with delegate. Uses {@link #DEFAULT_MAXIMUM_SIZE} and {@link #DEFAULT_SCALE}.
+	 * The delegate is considered symmetric if it is a {@link Delta}.
+	 *
+	 * @param delegate Delta E delegate.
+	 *
+	 * @throws NullPointerException If delegate is not specified.
+	 */
+	public CachingDeltaECalculator(DeltaECalculatorDelegate delegate) {
+		this(delegate, DEFAULT_MAXIMUM_SIZE, DEFAULT_SCALE, delegate instanceof Delta);
+	}
+
+	/**
+	 * Constructor with delegate, maximum size, scale and symmetry.
+	 *
+	 * @param delegate Delta E delegate.
+	 * @param maximumSize Maximum number of cached pairs.
+	 * @param scale Number of decimal places the values are quantized to.
+	 * @param symmetric True if the delegate is symmetric, i.e. both orders of a pair may share one entry.
+	 *
+	 * @throws NullPointerException If delegate is not specified.
+	 * @throws IllegalArgumentException If maximumSize is smaller than 1.
+	 * @throws IllegalArgumentException If scale is negative or bigger than {@link #MAXIMUM_SCALE}.
+	 */
+	public CachingDeltaECalculator(DeltaECalculatorDelegate delegate, int maximumSize, int scale, boolean symmetric) {
+		this.delegate = Objects.requireNonNull(delegate, "delegate is not specified");
+
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("maximumSize should not be smaller than 1");
+		}
+
+		if (scale < 0 || scale > MAXIMUM_SCALE) {
+			throw new IllegalArgumentException(String.format("scale should be between 0 and %d", MAXIMUM_SCALE));
+		}
+
+		this.maximumSize = maximumSize;
+		this.scale = scale;
+		this.symmetric = symmetric;
+
+		// Every segment holds at least one entry, the capacities sum up to the maximum size.
+		int count = Math.min(SEGMENTS, maximumSize);
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+		}
+	}
+
+
+	/**
+	 * Returns the delegate.
+	 *
+	 * @return Delegate.
+	 */
+	public DeltaECalculatorDelegate getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Returns the maximum number of cached pairs.
+	 *
+	 * @return Maximum size.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Returns the number of decimal places the values are quantized to.
+	 *
+	 * @return Scale.
+	 */
+	public int getScale() {
+		return scale;
+	}
+
+	/**
+	 * Returns <code>true</code> if both orders of a pair share one entry.
+	 *
+	 * @return <code>true</code> if the delegate is considered symmetric. Returns <code>false</code> otherwise.
+	 */
+	public boolean isSymmetric() {
+		return symmetric;
+	}
+
+	/**
+	 * Returns the number of cached pairs.
+	 *
+	 * @return Size.
+	 */
+	public int getSize() {
+		int result = 0;
+		for (Segment segment : segments) {
+			result += segment.size();
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the number of calculations served from the cache.
+	 *
+	 * @return Hit count.
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of calculations passed to the delegate.
+	 *
+	 * @return Miss count.
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Returns the number of pairs evicted from the cache.
+	 *
+	 * @return Eviction count.
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Removes every cached pair. The counters are not reset.
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	@Override
+	public BigDecimal calculate(ColorLab color1, ColorLab color2) {
+		Objects.requireNonNull(color1, "color1 is not specified");
+		Objects.requireNonNull(color2, "color2 is not specified");
+
+		long l1 = quantize(color1.getL());
+		long a1 = quantize(color1.getA());
+		long b1 = quantize(color1.getB());
+		long l2 = quantize(color2.getL());
+		long a2 = quantize(color2.getA());
+		long b2 = quantize(color2.getB());
+
+		Key key = symmetric && compare(l1, a1, b1, l2, a2, b2) > 0
+			? new Key(l2, a2, b2, l1, a1, b1)
+			: new Key(l1, a1, b1, l2, a2, b2);
+
+		Segment segment = segments[(key.hash & Integer.MAX_VALUE) % segments.length];
+
+		BigDecimal result = segment.get(key);
+		if (result != null) {
+			hits.increment();
+			return result;
+		}
+
+		misses.increment();
+
+		// Calculated outside of the lock; a concurrent miss on the same pair calculates the same value.
+		result = delegate.calculate(
+			new ColorLab(toValue(key.l1), toValue(key.a1), toValue(key.b1)),
+			new ColorLab(toValue(key.l2), toValue(key.a2), toValue(key.b2)));
+
+		segment.put(key, result);
+		return result;
+	}
+
+	@Override
+	public double calculate(double l1, double a1, double b1, double l2, double a2, double b2) {
+		return delegate.calculate(l1, a1, b1, l2, a2, b2);
+	}
+
+	@Override
+	public boolean isWithin(double l1, double a1, double b1, double l2, double a2, double b2, double threshold) {
+		return delegate.isWithin(l1, a1, b1, l2, a2, b2, threshold);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[delegate: %s, maximumSize: %d, scale: %d, size: %d, hits: %d, misses: %d]",
+			getClass().getSimpleName(), delegate, maximumSize, scale, getSize(), getHitCount(), getMissCount());
+	}
+
+
+	private long quantize(BigDecimal value) {
+		Objects.requireNonNull(value, "value is not specified");
+		return value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+	}
+
+	private BigDecimal toValue(long quantized) {
+		return BigDecimal.valueOf(quantized, scale);
+	}
+
+	private static int compare(long l1, long a1, long b1, long l2, long a2, long b2) {
+		if (l1 != l2) {
+			return Long.compare(l1, l2);
+		}
+
+		if (a1 != a2) {
+			return Long.compare(a1, a2);
+		}
+
+		return Long.compare(b1, b2);
+	}
+
+
+	/**
+	 * Represents the key of a cached pair.
+	 */
+	private static final class Key {
+		private final long l1;
+		private final long a1;
+		private final long b1;
+		private final long l2;
+		private final long a2;
+		private final long b2;
+		private final int hash;
+
+		private Key(long l1, long a1, long b1, long l2, long a2, long b2) {
+			this.l1 = l1;
+			this.a1 = a1;
+			this.b1 = b1;
+			this.l2 = l2;
+			this.a2 = a2;
+			this.b2 = b2;
+
+			long result = l1;
+			result = 31 * result + a1;
+			result = 31 * result + b1;
+			result = 31 * result + l2;
+			result = 31 * result + a2;
+			result = 31 * result + b2;
+
+			// Spreads the higher bits, the segment is chosen by the lower ones.
+			int h = (int) (result ^ (result >>> 32));
+			this.hash = h ^ (h >>> 16);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key other = (Key) obj;
+			return l1 == other.l1 && a1 == other.a1 && b1 == other.b1
+				&& l2 == other.l2 && a2 == other.a2 && b2 == other.b2;
+		}
+	}
+
+	/**
+	 * Represents a segment of the cache with least-recently-used eviction.
+	 */
+	private final class Segment {
+		private final int capacity;
+		private final LinkedHashMap<Key, BigDecimal> entries;
+
+		private Segment(int capacity) {
+			this.capacity = capacity;
+			this.entries = new LinkedHashMap<>(16, 0.75f, true);
+		}
+
+		private synchronized BigDecimal get(Key key) {
+			return entries.get(key);
+		}
+
+		private synchronized void put(Key key, BigDecimal value) {
+			if (entries.put(key, value) != null || entries.size() <= capacity) {
+				return;
+			}
+
+			Iterator<Map.Entry<Key, BigDecimal>> iterator = entries.entrySet().iterator();
+			iterator.next();
+			iterator.remove();
+			evictions.increment();
+		}
+
+		private synchronized int size() {
+			return entries.size();
+		}
+
+		private synchronized void clear() {
+			entries.clear();
+		}
+	}
+}
@@ -1,9 +1,14 @@
 package ch.pbu.rf.color.deltae;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
 
+import ch.pbu.rf.Precision;
 import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.ColorUtilDouble;
 import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.lab.PreparedColorLab;
 
 /**
  * Represents the delta E types.
@@ -21,6 +26,45 @@ public enum Delta implements DeltaECalculatorDelegate {
 			return ColorUtil.calculateDeltaE1976(color1, color2);
 		}
 		
+		@Override
+		public BigDecimal calculate(ColorLab color1, ColorLab color2, MathContext mc) {
+			return ColorUtil.calculateDeltaE1976(color1, color2, mc);
+		}
+		
+		@Override
+		public BigDecimal calculate(PreparedColorLab color1, PreparedColorLab color2) {
+			return calculate(color1, color2, ColorUtil.MC);
+		}
+		
+		@Override
+		public BigDecimal calculate(PreparedColorLab color1, PreparedColorLab color2, MathContext mc) {
+			Objects.requireNonNull(color1, "color1 is not specified");
+			Objects.requireNonNull(color2, "color2 is not specified");
+			Precision.check(mc);
+			
+			return ColorUtil.calculateDeltaE1976(color1.getL(), color1.getA(), color1.getB(), color2.getL(), color2.getA(), color2.getB(), mc);
+		}
+		
+		@Override
+		public double calculate(double l1, double a1, double b1, double l2, double a2, double b2) {
+			return ColorUtilDouble.calculateDeltaE1976(l1, a1, b1, l2, a2, b2);
+		}
+		
+		@Override
+		public boolean isWithin(ColorLab color1, ColorLab color2, BigDecimal threshold) {
+			return ColorUtil.isDeltaE1976Within(color1, color2, threshold);
+		}
+		
+		@Override
+		public boolean isWithin(ColorLab color1, ColorLab color2, BigDecimal threshold, MathContext mc) {
+			return ColorUtil.isDeltaE1976Within(color1, color2, threshold, mc);
+		}
+		
+		@Override
+		public boolean isWithin(double l1, double a1, double b1, double l2, double a2, double b2, double threshold) {
+			return ColorUtilDouble.isDeltaE1976Within(l1, a1, b1, l2, a2, b2, threshold);
+		}
+		
 	},
 	
 	/**
@@ -32,6 +76,62 @@ public enum Delta implements DeltaECalculatorDelegate {
 			return ColorUtil.calculateDeltaE2000(color1, color2);
 		}
 		
+		@Override
+		public BigDecimal calculate(ColorLab color1, ColorLab color2, MathContext mc) {
+			return ColorUtil.calculateDeltaE2000(color1, color2, mc);
+		}
+		
+		@Override
+		public BigDecimal calculate(PreparedColorLab color1, PreparedColorLab color2) {
+			return ColorUtil.calculateDeltaE2000(color1, color2);
+		}
+		
+		@Override
+		public BigDecimal calculate(PreparedColorLab color1, PreparedColorLab color2, MathContext mc) {
+			return ColorUtil.calculateDeltaE2000(color1, color2, mc);
+		}
+		
+		@Override
+		public double calculate(double l1, double a1, double b1, double l2, double a2, double b2) {
+			return ColorUtilDouble.calculateDeltaE2000(l1, a1, b1, l2, a2, b2);
+		}
+		
+		@Override
+		public boolean isWithin(ColorLab color1, ColorLab color2, BigDecimal threshold) {
+			return ColorUtil.isDeltaE2000Within(color1, color2, threshold);
+		}
+		
+		@Override
+		public boolean isWithin(ColorLab color1, ColorLab color2, BigDecimal threshold, MathContext mc) {
+			return ColorUtil.isDeltaE2000Within(color1, color2, threshold, mc);
+		}
+		
+		@Override
+		public boolean isWithin(double l1, double a1, double b1, double l2, double a2, double b2, double threshold) {
+			return ColorUtilDouble.isDeltaE2000Within(l1, a1, b1, l2, a2, b2, threshold);
+		}
+		
 	},
 	;
+	
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * On Java 21 and later the samples are vectorized if the module <code>jdk.incubator.vector</code>
+	 * is resolved (<code>--add-modules jdk.incubator.vector</code>). The results then stay within
+	 * {@link ColorUtilDouble#ACCURACY} instead of being bit-identical.
+	 */
+	@Override
+	public void calculate(double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, int offset, double[] result, int outOffset, int length) {
+		DeltaBatch.checkRange(sampleL, sampleA, sampleB, offset, result, outOffset, length);
+		
+		if (DeltaKernels.calculate(this, l, a, b, sampleL, sampleA, sampleB, offset, offset + length, result, outOffset)) {
+			return;
+		}
+		
+		for (int i = 0; i < length; i++) {
+			result[outOffset + i] = calculate(l, a, b, sampleL[offset + i], sampleA[offset + i], sampleB[offset + i]);
+		}
+	}
 }
@@ -0,0 +1,342 @@
+package ch.pbu.rf.color.deltae;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Represents the batch delta E calculation.
+ * <p>
+ * Calculates the delta E of one reference against N samples, of N x M pairs or of
+ * the full N x N distance matrix on primitive Lab planes. The work is split by rows
+ * and executed on a {@link ForkJoinPool}; the results are written into primitive arrays.
+ * <p>
+ * The rows are calculated by {@link DeltaECalculatorDelegate#calculate(double, double, double, double[], double[], double[], int, double[], int, int)}.
+ * On Java 21 and later the rows of {@link Delta#E1976} and {@link Delta#E2000} are vectorized
+ * if the module <code>jdk.incubator.vector</code> is resolved (<code>--add-modules jdk.incubator.vector</code>).
+ * The results then stay within {@link ch.pbu.rf.color.ColorUtilDouble#ACCURACY} instead of being bit-identical.
+ *
+ * @author Yanick Senn
+ */
+public class DeltaBatch implements AutoCloseable {
+	public static final int DEFAULT_GRANULARITY = 2048;
+
+	private final DeltaECalculatorDelegate delegate;
+	private final ForkJoinPool pool;
+	private final boolean ownsPool;
+	private final int granularity;
+
+
+	/**
+	 * Constructor with delegate. Uses the {@link ForkJoinPool#commonPool() common pool}.
+	 *
+	 * @param delegate Delta E delegate.
+	 *
+	 * @throws NullPointerException If delegate is not specified.
+	 */
+	public DeltaBatch(DeltaECalculatorDelegate delegate) {
+		this(delegate, ForkJoinPool.commonPool(), false, DEFAULT_GRANULARITY);
+	}
+
+	/**
+	 * Constructor with delegate and parallelism. Creates an own pool which is shut down by {@link #close()}.
+	 *
+	 * @param delegate Delta E delegate.
+	 * @param parallelism Parallelism.
+	 *
+	 * @throws NullPointerException If delegate is not specified.
+	 * @throws IllegalArgumentException If parallelism is smaller than 1.
+	 */
+	public DeltaBatch(DeltaECalculatorDelegate delegate, int parallelism) {
+		this(delegate, new ForkJoinPool(parallelism), true, DEFAULT_GRANULARITY);
+	}
+
+	/**
+	 * Constructor with delegate, pool and granularity.
+	 *
+	 * @param delegate Delta E delegate.
+	 * @param pool Pool. It is not shut down by {@link #close()}.
+	 * @param granularity Number of pairs below which a task is not split any further.
+	 *
+	 * @throws NullPointerException If delegate is not specified.
+	 * @throws NullPointerException If pool is not specified.
+	 * @throws IllegalArgumentException If granularity is smaller than 1.
+	 */
+	public DeltaBatch(DeltaECalculatorDelegate delegate, ForkJoinPool pool, int granularity) {
+		this(delegate, pool, false, granularity);
+	}
+
+	private DeltaBatch(DeltaECalculatorDelegate delegate, ForkJoinPool pool, boolean ownsPool, int granularity) {
+		this.delegate = Objects.requireNonNull(delegate, "delegate is not specified");
+		this.pool = Objects.requireNonNull(pool, "pool is not specified");
+		this.ownsPool = ownsPool;
+
+		if (granularity < 1) {
+			throw new IllegalArgumentException("granularity should not be smaller than 1");
+		}
+
+		this.granularity = granularity;
+	}
+
+
+	/**
+	 * Returns the delegate.
+	 *
+	 * @return Delegate.
+	 */
+	public DeltaECalculatorDelegate getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Returns the parallelism.
+	 *
+	 * @return Parallelism.
+	 */
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Calculates the delta E of the reference against every sample.
+	 *
+	 * @param l L value of the reference.
+	 * @param a A value of the reference.
+	 * @param b B value of the reference.
+	 * @param sampleL L values of the samples.
+	 * @param sampleA A values of the samples.
+	 * @param sampleB B values of the samples.
+	 * @param result Delta E per sample (output, length N).
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws IllegalArgumentException If the lengths of the arrays do not match.
+	 */
+	public void calculate(double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, double[] result) {
+		int n = checkPlanes("sample", sampleL, sampleA, sampleB);
+		checkResult(result, n);
+
+		pool.invoke(new ReferenceTask(l, a, b, sampleL, sampleA, sampleB, result, 0, n));
+	}
+
+	/**
+	 * Calculates the delta E of every pair of the first and the second colors.
+	 *
+	 * @param l1 L values of the first colors.
+	 * @param a1 A values of the first colors.
+	 * @param b1 B values of the first colors.
+	 * @param l2 L values of the second colors.
+	 * @param a2 A values of the second colors.
+	 * @param b2 B values of the second colors.
+	 * @param result Delta E per pair (output, length N * M, row-major: <code>result[i * M + j]</code>).
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws IllegalArgumentException If the lengths of the arrays do not match.
+	 */
+	public void calculate(double[] l1, double[] a1, double[] b1, double[] l2, double[] a2, double[] b2, double[] result) {
+		int n = checkPlanes("first", l1, a1, b1);
+		int m = checkPlanes("second", l2, a2, b2);
+		checkResult(result, (long) n * m);
+
+		pool.invoke(new PairsTask(l1, a1, b1, l2, a2, b2, result, 0, n, Math.max(1, granularity / Math.max(1, m))));
+	}
+
+	/**
+	 * Calculates the full N x N distance matrix of the colors.
+	 * <p>
+	 * For {@link Delta} only the upper triangle is calculated and mirrored, since those
+	 * calculations are symmetric. Other delegates are calculated in full.
+	 *
+	 * @param l L values.
+	 * @param a A values.
+	 * @param b B values.
+	 * @param result Delta E per pair (output, length N * N, row-major: <code>result[i * N + j]</code>).
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws IllegalArgumentException If the lengths of the arrays do not match.
+	 */
+	public void calculate(double[] l, double[] a, double[] b, double[] result) {
+		int n = checkPlanes("", l, a, b);
+		checkResult(result, (long) n * n);
+
+		if (delegate instanceof Delta) {
+			pool.invoke(new MatrixTask(l, a, b, result, 0, n, Math.max(1, 2 * granularity / Math.max(1, n))));
+		} else {
+			pool.invoke(new PairsTask(l, a, b, l, a, b, result, 0, n, Math.max(1, granularity / Math.max(1, n))));
+		}
+	}
+
+	/**
+	 * Shuts the pool down if it was created by this batch.
+	 */
+	@Override
+	public void close() {
+		if (ownsPool) {
+			pool.shutdown();
+		}
+	}
+
+
+	/**
+	 * Checks the ranges of {@link DeltaECalculatorDelegate#calculate(double, double, double, double[], double[], double[], int, double[], int, int)}.
+	 */
+	static void checkRange(double[] sampleL, double[] sampleA, double[] sampleB, int offset, double[] result, int outOffset, int length) {
+		Objects.requireNonNull(sampleL, "sampleL is not specified");
+		Objects.requireNonNull(sampleA, "sampleA is not specified");
+		Objects.requireNonNull(sampleB, "sampleB is not specified");
+		Objects.requireNonNull(result, "result is not specified");
+
+		checkRange(offset, length, sampleL.length);
+		checkRange(offset, length, sampleA.length);
+		checkRange(offset, length, sampleB.length);
+		checkRange(outOffset, length, result.length);
+	}
+
+	/**
+	 * Calculates the delta E of one reference against the samples <I>from</I> to <I>to</I>
+	 * into <code>result[offset + j - from]</code>, vectorized if the delegate supports it.
+	 */
+	private void calculateRow(double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, int from, int to, double[] result, int offset) {
+		delegate.calculate(l, a, b, sampleL, sampleA, sampleB, from, result, offset, to - from);
+	}
+
+	private static void checkRange(int offset, int length, int arrayLength) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException(String.format("range [%d, %d + %d) out of bounds for length %d", offset, offset, length, arrayLength));
+		}
+	}
+
+	private static int checkPlanes(String name, double[] l, double[] a, double[] b) {
+		String prefix = name.isEmpty() ? "" : name + " ";
+
+		Objects.requireNonNull(l, prefix + "l is not specified");
+		Objects.requireNonNull(a, prefix + "a is not specified");
+		Objects.requireNonNull(b, prefix + "b is not specified");
+
+		if (l.length != a.length || l.length != b.length) {
+			throw new IllegalArgumentException(String.format("%sl, a and b should have the same length (%d, %d, %d)", prefix, l.length, a.length, b.length));
+		}
+
+		return l.length;
+	}
+
+	private static void checkResult(double[] result, long length) {
+		Objects.requireNonNull(result, "result is not specified");
+
+		if (result.length < length) {
+			throw new IllegalArgumentException(String.format("result is too small (%d) for %d values", result.length, length));
+		}
+	}
+
+
+	/**
+	 * Represents the task calculating the samples <I>from</I> to <I>to</I> against one reference.
+	 */
+	private class ReferenceTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double l, a, b;
+		private final double[] sampleL, sampleA, sampleB;
+		private final double[] result;
+		private final int from, to;
+
+		private ReferenceTask(double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, double[] result, int from, int to) {
+			this.l = l; this.a = a; this.b = b;
+			this.sampleL = sampleL; this.sampleA = sampleA; this.sampleB = sampleB;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= granularity) {
+				calculateRow(l, a, b, sampleL, sampleA, sampleB, from, to, result, from);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(
+					new ReferenceTask(l, a, b, sampleL, sampleA, sampleB, result, from, middle),
+					new ReferenceTask(l, a, b, sampleL, sampleA, sampleB, result, middle, to));
+			}
+		}
+	}
+
+	/**
+	 * Represents the task calculating the rows <I>from</I> to <I>to</I> of an N x M result.
+	 */
+	private class PairsTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] l1, a1, b1;
+		private final double[] l2, a2, b2;
+		private final double[] result;
+		private final int from, to, rows;
+
+		private PairsTask(double[] l1, double[] a1, double[] b1, double[] l2, double[] a2, double[] b2, double[] result, int from, int to, int rows) {
+			this.l1 = l1; this.a1 = a1; this.b1 = b1;
+			this.l2 = l2; this.a2 = a2; this.b2 = b2;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+			this.rows = rows;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= rows) {
+				int m = l2.length;
+
+				for (int i = from; i < to; i++) {
+					calculateRow(l1[i], a1[i], b1[i], l2, a2, b2, 0, m, result, i * m);
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(
+					new PairsTask(l1, a1, b1, l2, a2, b2, result, from, middle, rows),
+					new PairsTask(l1, a1, b1, l2, a2, b2, result, middle, to, rows));
+			}
+		}
+	}
+
+	/**
+	 * Represents the task calculating the rows <I>from</I> to <I>to</I> of the upper triangle
+	 * of a symmetric N x N result and mirroring them into the lower triangle.
+	 */
+	private class MatrixTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final double[] l, a, b;
+		private final double[] result;
+		private final int from, to, rows;
+
+		private MatrixTask(double[] l, double[] a, double[] b, double[] result, int from, int to, int rows) {
+			this.l = l; this.a = a; this.b = b;
+			this.result = result;
+			this.from = from;
+			this.to = to;
+			this.rows = rows;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= rows) {
+				int n = l.length;
+
+				for (int i = from; i < to; i++) {
+					double vl = l[i], va = a[i], vb = b[i];
+					result[i * n + i] = delegate.calculate(vl, va, vb, vl, va, vb);
+
+					calculateRow(vl, va, vb, l, a, b, i + 1, n, result, i * n + i + 1);
+
+					for (int j = i + 1; j < n; j++) {
+						result[j * n + i] = result[i * n + j];
+					}
+				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(
+					new MatrixTask(l, a, b, result, from, middle, rows),
+					new MatrixTask(l, a, b, result, middle, to, rows));
+			}
+		}
+	}
+}
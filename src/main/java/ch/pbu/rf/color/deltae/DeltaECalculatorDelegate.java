@@ -1,8 +1,13 @@
 package ch.pbu.rf.color.deltae;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
 
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.color.ColorUtilDouble;
 import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.lab.PreparedColorLab;
 
 /**
  * Represents the delta-e-calculation-delegator.
@@ -23,4 +28,192 @@ public interface DeltaECalculatorDelegate {
 	 * @throws NullPointerException If color2 is not specified.
 	 */
 	BigDecimal calculate(ColorLab color1, ColorLab color2);
+	
+	/**
+	 * Calculates the corresponding delta E with the given precision.
+	 * <p>
+	 * The default implementation falls back to {@link #calculate(ColorLab, ColorLab)} and rounds the result.
+	 * Implementations may use the precision for every intermediate operation.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return The corresponding delta E.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	default BigDecimal calculate(ColorLab color1, ColorLab color2, MathContext mc) {
+		Objects.requireNonNull(mc, "mc is not specified");
+		return calculate(color1, color2).round(mc);
+	}
+	
+	/**
+	 * Calculates the corresponding delta E for prepared colors.
+	 * <p>
+	 * The default implementation falls back to {@link #calculate(ColorLab, ColorLab)}.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * 
+	 * @return The corresponding delta E.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 */
+	default BigDecimal calculate(PreparedColorLab color1, PreparedColorLab color2) {
+		return calculate(color1.getColor(), color2.getColor());
+	}
+	
+	/**
+	 * Calculates the corresponding delta E for prepared colors with the given precision.
+	 * <p>
+	 * The default implementation falls back to {@link #calculate(ColorLab, ColorLab, MathContext)}.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return The corresponding delta E.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	default BigDecimal calculate(PreparedColorLab color1, PreparedColorLab color2, MathContext mc) {
+		return calculate(color1.getColor(), color2.getColor(), mc);
+	}
+	
+	/**
+	 * Calculates the corresponding delta E on primitive <code>double</code> values.
+	 * <p>
+	 * The result is within {@link ColorUtilDouble#ACCURACY} of {@link #calculate(ColorLab, ColorLab)}.
+	 * The default implementation falls back to {@link #calculate(ColorLab, ColorLab)}.
+	 * 
+	 * @param l1 L value of the first color.
+	 * @param a1 A value of the first color.
+	 * @param b1 B value of the first color.
+	 * @param l2 L value of the second color.
+	 * @param a2 A value of the second color.
+	 * @param b2 B value of the second color.
+	 * 
+	 * @return The corresponding delta E.
+	 */
+	default double calculate(double l1, double a1, double b1, double l2, double a2, double b2) {
+		ColorLab color1 = new ColorLab(BigDecimal.valueOf(l1), BigDecimal.valueOf(a1), BigDecimal.valueOf(b1));
+		ColorLab color2 = new ColorLab(BigDecimal.valueOf(l2), BigDecimal.valueOf(a2), BigDecimal.valueOf(b2));
+		return calculate(color1, color2).doubleValue();
+	}
+	
+	/**
+	 * Checks whether the corresponding delta E is within the <I>threshold</I>.
+	 * <p>
+	 * The default implementation falls back to {@link #calculate(ColorLab, ColorLab)}.
+	 * Implementations may decide without calculating the delta E in full.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 * 
+	 * @return True if the delta E is within the threshold, otherwise false.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If threshold is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 */
+	default boolean isWithin(ColorLab color1, ColorLab color2, BigDecimal threshold) {
+		Objects.requireNonNull(threshold, "threshold is not specified");
+		
+		if (threshold.signum() < 0) {
+			throw new IllegalArgumentException("threshold should not be negative");
+		}
+		
+		return calculate(color1, color2).compareTo(threshold) <= 0;
+	}
+	
+	/**
+	 * Checks whether the corresponding delta E is within the <I>threshold</I> with the given precision.
+	 * <p>
+	 * The default implementation falls back to {@link #calculate(ColorLab, ColorLab, MathContext)}.
+	 * Implementations may decide without calculating the delta E in full.
+	 * 
+	 * @param color1 First color.
+	 * @param color2 Second color.
+	 * @param threshold Threshold (inclusive).
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @return True if the delta E is within the threshold, otherwise false.
+	 * 
+	 * @throws NullPointerException If color1 is not specified.
+	 * @throws NullPointerException If color2 is not specified.
+	 * @throws NullPointerException If threshold is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If threshold is negative.
+	 */
+	default boolean isWithin(ColorLab color1, ColorLab color2, BigDecimal threshold, MathContext mc) {
+		Objects.requireNonNull(threshold, "threshold is not specified");
+		
+		if (threshold.signum() < 0) {
+			throw new IllegalArgumentException("threshold should not be negative");
+		}
+		
+		return calculate(color1, color2, mc).compareTo(threshold) <= 0;
+	}
+	
+	/**
+	 * Checks whether the corresponding delta E on primitive <code>double</code> values is within the <I>threshold</I>.
+	 * <p>
+	 * The default implementation falls back to {@link #calculate(double, double, double, double, double, double)}.
+	 * Implementations may decide without calculating the delta E in full.
+	 * 
+	 * @param l1 L value of the first color.
+	 * @param a1 A value of the first color.
+	 * @param b1 B value of the first color.
+	 * @param l2 L value of the second color.
+	 * @param a2 A value of the second color.
+	 * @param b2 B value of the second color.
+	 * @param threshold Threshold (inclusive).
+	 * 
+	 * @return True if the delta E is within the threshold, otherwise false.
+	 * 
+	 * @throws IllegalArgumentException If threshold is negative.
+	 */
+	default boolean isWithin(double l1, double a1, double b1, double l2, double a2, double b2, double threshold) {
+		if (!(threshold >= 0.0)) {
+			throw new IllegalArgumentException("threshold should not be negative");
+		}
+		
+		return calculate(l1, a1, b1, l2, a2, b2) <= threshold;
+	}
+	
+	/**
+	 * Calculates the corresponding delta E of one color against <I>length</I> samples on primitive <code>double</code> values.
+	 * <p>
+	 * The default implementation falls back to {@link #calculate(double, double, double, double, double, double)} per sample.
+	 * Implementations may calculate the samples at once, see {@link Delta}.
+	 * 
+	 * @param l L value of the color.
+	 * @param a A value of the color.
+	 * @param b B value of the color.
+	 * @param sampleL L values of the samples.
+	 * @param sampleA A values of the samples.
+	 * @param sampleB B values of the samples.
+	 * @param offset Offset of the first sample in sampleL, sampleA and sampleB.
+	 * @param result Delta E per sample (output).
+	 * @param outOffset Offset of the first delta E in result.
+	 * @param length Number of samples.
+	 * 
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	default void calculate(double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, int offset, double[] result, int outOffset, int length) {
+		DeltaBatch.checkRange(sampleL, sampleA, sampleB, offset, result, outOffset, length);
+		
+		for (int i = 0; i < length; i++) {
+			result[outOffset + i] = calculate(l, a, b, sampleL[offset + i], sampleA[offset + i], sampleB[offset + i]);
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package ch.pbu.rf.color.deltae;
+
+/**
+ * Represents the accelerated kernels of {@link Delta}.
+ * <p>
+ * This is the Java 8 variant, which accelerates nothing; the caller falls back to its
+ * scalar loop. The multi-release JAR replaces this class on Java 21 and later by a
+ * variant with <code>jdk.incubator.vector</code> kernels (<code>src/main/java21</code>).
+ *
+ * @author Yanick Senn
+ */
+final class DeltaKernels {
+
+	/**
+	 * Private constructor.
+	 */
+	private DeltaKernels() {
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Returns <code>true</code> if the kernels are vectorized.
+	 *
+	 * @return Always <code>false</code>.
+	 */
+	static boolean isVectorized() {
+		return false;
+	}
+
+	/**
+	 * Calculates the delta E of the reference against the samples <I>from</I> to <I>to</I>
+	 * into <code>result[offset + j - from]</code>. The ranges are checked by the caller.
+	 *
+	 * @return <code>true</code> if the delta E are calculated. Returns <code>false</code> if the caller has to calculate them.
+	 */
+	static boolean calculate(Delta delta, double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, int from, int to, double[] result, int offset) {
+		return false;
+	}
+}
@@ -0,0 +1,126 @@
+package ch.pbu.rf.color.lab;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Represents the immutable Color-Lab.
+ * <p>
+ * A {@link ColorLab} whose setters throw {@link UnsupportedOperationException}, therefore it
+ * can be shared across threads and used as key of a map or as element of a set without
+ * a defensive copy. Being a {@link ColorLab}, it is accepted by every calculation, by the
+ * {@link ColorLabValidator} constraints and by the {@link ColorLab_} metamodel.
+ * <p>
+ * Equality is numerical like in {@link ColorLab#equals(Object)} (<code>1.0</code> equals
+ * <code>1.00</code>). The hash code is calculated once from the values without trailing zeros
+ * and is therefore consistent with equality. An immutable color only equals other immutable colors.
+ *
+ * @author Yanick Senn
+ */
+public final class ImmutableColorLab extends ColorLab {
+	private static final long serialVersionUID = 1L;
+
+	private final int hash;
+
+
+	/**
+	 * Constructor with <I>L</I>, <I>a</I> and <I>b</I> value.
+	 *
+	 * @param l L value.
+	 * @param a A value.
+	 * @param b B value.
+	 *
+	 * @throws NullPointerException If l is not specified.
+	 * @throws NullPointerException If a is not specified.
+	 * @throws NullPointerException If b is not specified.
+	 */
+	public ImmutableColorLab(BigDecimal l, BigDecimal a, BigDecimal b) {
+		super(
+			Objects.requireNonNull(l, "l is not specified"),
+			Objects.requireNonNull(a, "a is not specified"),
+			Objects.requireNonNull(b, "b is not specified"));
+
+		int result = l.stripTrailingZeros().hashCode();
+		result = 31 * result + a.stripTrailingZeros().hashCode();
+		result = 31 * result + b.stripTrailingZeros().hashCode();
+		this.hash = result;
+	}
+
+
+	/**
+	 * Returns the immutable variant of the given color.
+	 *
+	 * @param color Color.
+	 *
+	 * @return The color itself if it is immutable already. Returns a copy otherwise.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If a value of color is not specified.
+	 */
+	public static ImmutableColorLab of(ColorLab color) {
+		Objects.requireNonNull(color, "color is not specified");
+
+		if (color instanceof ImmutableColorLab) {
+			return (ImmutableColorLab) color;
+		}
+
+		return new ImmutableColorLab(color.getL(), color.getA(), color.getB());
+	}
+
+
+	/**
+	 * Not supported.
+	 *
+	 * @param l L value.
+	 *
+	 * @throws UnsupportedOperationException Always.
+	 */
+	@Override
+	public void setL(BigDecimal l) {
+		throw new UnsupportedOperationException("color is immutable");
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @param a A value.
+	 *
+	 * @throws UnsupportedOperationException Always.
+	 */
+	@Override
+	public void setA(BigDecimal a) {
+		throw new UnsupportedOperationException("color is immutable");
+	}
+
+	/**
+	 * Not supported.
+	 *
+	 * @param b B value.
+	 *
+	 * @throws UnsupportedOperationException Always.
+	 */
+	@Override
+	public void setB(BigDecimal b) {
+		throw new UnsupportedOperationException("color is immutable");
+	}
+
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		// The hash codes differ for most unequal colors, which avoids the comparisons.
+		if (!(obj instanceof ImmutableColorLab) || hash != ((ImmutableColorLab) obj).hash) {
+			return false;
+		}
+
+		return super.equals(obj);
+	}
+}
@@ -0,0 +1,191 @@
+package ch.pbu.rf.color.lab;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.ColorUtilDouble;
+
+/**
+ * Represents a Color-Lab prepared for repeated delta E calculations.
+ * <p>
+ * Holds the per-color terms of the delta E2000 which do not depend on the other
+ * color of the pair: the zero-replaced <I>L</I>, <I>a</I> and <I>b</I> values,
+ * the chroma <I>C*ab</I> and <I>b</I><sup>2</sup>, both exact and as <code>double</code>.
+ * The values are taken from the color once on construction; later changes of the
+ * color are not reflected. The exact chroma is calculated on first use only, since
+ * most callers only need the <code>double</code> values.
+ * <p>
+ * The exact values are prepared with a math-context, see {@link #getMathContext()}. Pass
+ * the same math-context to the delta E calculations to get the results of the
+ * unprepared colors.
+ * 
+ * @author Yanick Senn
+ */
+public class PreparedColorLab {
+	private final ColorLab color;
+	private final MathContext mc;
+	
+	private final BigDecimal l;
+	private final BigDecimal a;
+	private final BigDecimal b;
+	private volatile BigDecimal c;
+	
+	private final double lAsDouble;
+	private final double aAsDouble;
+	private final double bAsDouble;
+	private final double cAsDouble;
+	private final double bSquaredAsDouble;
+	
+	
+	/**
+	 * Constructor with color. Uses {@link ColorUtil#MC}.
+	 * 
+	 * @param color Color.
+	 * 
+	 * @throws NullPointerException If color is not specified.
+	 */
+	public PreparedColorLab(ColorLab color) {
+		this(color, ColorUtil.MC);
+	}
+	
+	/**
+	 * Constructor with color and precision.
+	 * 
+	 * @param color Color.
+	 * @param mc Math-Context, see {@link Precision}.
+	 * 
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public PreparedColorLab(ColorLab color, MathContext mc) {
+		this.color = Objects.requireNonNull(color, "color is not specified");
+		this.mc = Precision.check(mc);
+		
+		this.l = ColorUtil.replaceZeroWithNearlyZero(color.getL(), mc);
+		this.a = ColorUtil.replaceZeroWithNearlyZero(color.getA(), mc);
+		this.b = ColorUtil.replaceZeroWithNearlyZero(color.getB(), mc);
+		
+		this.lAsDouble = ColorUtilDouble.replaceZeroWithNearlyZero(color.getL().doubleValue());
+		this.aAsDouble = ColorUtilDouble.replaceZeroWithNearlyZero(color.getA().doubleValue());
+		this.bAsDouble = ColorUtilDouble.replaceZeroWithNearlyZero(color.getB().doubleValue());
+		this.cAsDouble = Math.sqrt(aAsDouble * aAsDouble + bAsDouble * bAsDouble);
+		this.bSquaredAsDouble = bAsDouble * bAsDouble;
+	}
+	
+	
+	/**
+	 * Returns the color.
+	 * 
+	 * @return Color.
+	 */
+	public ColorLab getColor() {
+		return color;
+	}
+	
+	/**
+	 * Returns the math-context the exact values are prepared with.
+	 * 
+	 * @return Math-Context.
+	 */
+	public MathContext getMathContext() {
+		return mc;
+	}
+	
+	/**
+	 * Returns the zero-replaced l value.
+	 * 
+	 * @return L value.
+	 */
+	public BigDecimal getL() {
+		return l;
+	}
+	
+	/**
+	 * Returns the zero-replaced a value.
+	 * 
+	 * @return A value.
+	 */
+	public BigDecimal getA() {
+		return a;
+	}
+	
+	/**
+	 * Returns the zero-replaced b value.
+	 * 
+	 * @return B value.
+	 */
+	public BigDecimal getB() {
+		return b;
+	}
+	
+	/**
+	 * Returns the chroma <I>C*ab</I>.
+	 * 
+	 * @return Chroma.
+	 */
+	public BigDecimal getC() {
+		BigDecimal result = c;
+		if (result == null) {
+			// Idempotent, therefore concurrent calculations are harmless.
+			result = ColorUtil.calculateC(a, b, mc);
+			c = result;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the zero-replaced l value as <code>double</code>.
+	 * 
+	 * @return L value.
+	 */
+	public double getLAsDouble() {
+		return lAsDouble;
+	}
+	
+	/**
+	 * Returns the zero-replaced a value as <code>double</code>.
+	 * 
+	 * @return A value.
+	 */
+	public double getAAsDouble() {
+		return aAsDouble;
+	}
+	
+	/**
+	 * Returns the zero-replaced b value as <code>double</code>.
+	 * 
+	 * @return B value.
+	 */
+	public double getBAsDouble() {
+		return bAsDouble;
+	}
+	
+	/**
+	 * Returns the chroma <I>C*ab</I> as <code>double</code>.
+	 * 
+	 * @return Chroma.
+	 */
+	public double getCAsDouble() {
+		return cAsDouble;
+	}
+	
+	/**
+	 * Returns <I>b</I><sup>2</sup> as <code>double</code>.
+	 * 
+	 * @return B value squared.
+	 */
+	public double getBSquaredAsDouble() {
+		return bSquaredAsDouble;
+	}
+	
+	
+	@Override
+	public String toString() {
+		return String.format("%s[L: %s, a: %s, b: %s]", getClass().getSimpleName(), l, a, b);
+	}
+}
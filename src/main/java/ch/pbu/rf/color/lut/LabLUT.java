@@ -0,0 +1,514 @@
+package ch.pbu.rf.color.lut;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import ch.pbu.rf.Matrix3;
+import ch.pbu.rf.Matrix3Double;
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.Vector3;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.deltae.DeltaECalculatorDelegate;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorSpaceRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.illuminant.Illuminant;
+
+/**
+ * Represents the 3D lookup table to convert RGB-Colors to Lab-Colors.
+ * <p>
+ * The grid of <I>size</I><sup>3</sup> points is filled by the exact {@link ColorUtil} chain
+ * (RGB to XYZ by the transformation matrix of the color space, XYZ to Lab by the illuminant)
+ * and stored as <code>float</code>. Lookups interpolate tetrahedrally between the four grid
+ * points of the tetrahedron containing the color, channels outside of <code>[0, 1]</code> are clamped.
+ * <p>
+ * The RGB channels are either used as-is like in {@link ch.pbu.rf.color.ColorBatchUtil} or,
+ * if <I>encoded</I>, linearized by the sRGB gamma correction first.
+ * <p>
+ * Use {@link #measure(DeltaECalculatorDelegate, int, long)} to report the interpolation error
+ * against the exact path and {@link #write(OutputStream)} / {@link #read(InputStream, ColorSpaceRGB, Illuminant)}
+ * to avoid rebuilding the table at startup.
+ *
+ * @author Yanick Senn
+ */
+public final class LabLUT {
+	public static final int MIN_SIZE = 2;
+	public static final int MAX_SIZE = 129;
+	public static final int DEFAULT_SIZE = 33;
+
+	private static final int MAGIC = 0x4C41424C;
+	private static final int VERSION = 1;
+
+	private final ColorSpaceRGB colorSpace;
+	private final Illuminant illuminant;
+	private final int size;
+	private final boolean encoded;
+	private final MathContext mc;
+	private final float[] grid;
+
+	private final int strideR;
+	private final int strideG;
+
+
+	private LabLUT(ColorSpaceRGB colorSpace, Illuminant illuminant, int size, boolean encoded, MathContext mc, float[] grid) {
+		this.colorSpace = colorSpace;
+		this.illuminant = illuminant;
+		this.size = size;
+		this.encoded = encoded;
+		this.mc = mc;
+		this.grid = grid;
+		this.strideR = size * size * 3;
+		this.strideG = size * 3;
+	}
+
+
+	/**
+	 * Creates the table with {@link #DEFAULT_SIZE} for linear RGB.
+	 *
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 *
+	 * @return Table.
+	 *
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 */
+	public static LabLUT create(ColorSpaceRGB colorSpace, Illuminant illuminant) {
+		return create(colorSpace, illuminant, DEFAULT_SIZE, false, Precision.DIGITS_34);
+	}
+
+	/**
+	 * Creates the table.
+	 * <p>
+	 * The grid points are calculated in parallel on the common pool. The values are stored as
+	 * <code>float</code>, therefore a precision beyond {@link Precision#DIGITS_34} does not change the table.
+	 *
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param size Grid points per channel.
+	 * @param encoded True if the RGB channels are gamma encoded, false if they are linear.
+	 * @param mc Math-Context of the exact path, see {@link Precision}.
+	 *
+	 * @return Table.
+	 *
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If size is not between {@link #MIN_SIZE} and {@link #MAX_SIZE}.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static LabLUT create(ColorSpaceRGB colorSpace, Illuminant illuminant, int size, boolean encoded, MathContext mc) {
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Precision.check(mc);
+		checkSize(size);
+
+		Matrix3 m = colorSpace.getRGBtoXYZMatrix().round(mc);
+
+		// The channel values are shared by all grid points with the same index.
+		BigDecimal[] axis = new BigDecimal[size];
+		BigDecimal divisor = new BigDecimal(size - 1);
+		for (int i = 0; i < size; i++) {
+			BigDecimal val = new BigDecimal(i).divide(divisor, mc);
+			axis[i] = encoded ? ColorUtil.calulateRGBtoXYZGammaCorrection(val, mc) : val;
+		}
+
+		float[] grid = new float[size * size * size * 3];
+
+		IntStream.range(0, size).parallel().forEach(i -> {
+			for (int j = 0; j < size; j++) {
+				for (int k = 0; k < size; k++) {
+					ColorLab lab = convert(axis[i], axis[j], axis[k], m, illuminant, mc);
+					int offset = ((i * size + j) * size + k) * 3;
+					grid[offset] = lab.getL().floatValue();
+					grid[offset + 1] = lab.getA().floatValue();
+					grid[offset + 2] = lab.getB().floatValue();
+				}
+			}
+		});
+
+		return new LabLUT(colorSpace, illuminant, size, encoded, mc, grid);
+	}
+
+	/**
+	 * Reads a table written by {@link #write(OutputStream)}.
+	 * <p>
+	 * The color space and the illuminant are not part of the stream. Their transformation matrix
+	 * and reference white are stored instead and verified against the given ones.
+	 *
+	 * @param in Input stream. It is not closed.
+	 * @param colorSpace Color space the table was created for.
+	 * @param illuminant Illuminant the table was created for.
+	 *
+	 * @return Table.
+	 *
+	 * @throws NullPointerException If in is not specified.
+	 * @throws NullPointerException If colorSpace is not specified.
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws IOException If the stream can not be read, is not a table or does not match the color space or the illuminant.
+	 */
+	public static LabLUT read(InputStream in, ColorSpaceRGB colorSpace, Illuminant illuminant) throws IOException {
+		Objects.requireNonNull(in, "in is not specified");
+		Objects.requireNonNull(colorSpace, "colorSpace is not specified");
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+
+		DataInputStream data = new DataInputStream(in);
+
+		if (data.readInt() != MAGIC) {
+			throw new IOException("stream is not a lab lut");
+		}
+
+		int version = data.readInt();
+		if (version != VERSION) {
+			throw new IOException(String.format("version %d is not supported", version));
+		}
+
+		int size = data.readInt();
+		if (size < MIN_SIZE || size > MAX_SIZE) {
+			throw new IOException(String.format("size %d is not valid", size));
+		}
+
+		boolean encoded = data.readBoolean();
+		int precision = data.readInt();
+		if (precision < 1 || precision > Precision.DIGITS_100.getPrecision()) {
+			throw new IOException(String.format("precision %d is not valid", precision));
+		}
+
+		MathContext mc = Precision.of(precision);
+
+		for (double expected : fingerprint(colorSpace, illuminant)) {
+			if (Double.doubleToLongBits(data.readDouble()) != Double.doubleToLongBits(expected)) {
+				throw new IOException("lab lut does not match the color space or the illuminant");
+			}
+		}
+
+		byte[] bytes = new byte[size * size * size * 3 * Float.BYTES];
+		data.readFully(bytes);
+
+		float[] grid = new float[size * size * size * 3];
+		ByteBuffer.wrap(bytes).asFloatBuffer().get(grid);
+
+		return new LabLUT(colorSpace, illuminant, size, encoded, mc, grid);
+	}
+
+
+	/**
+	 * Returns the color space.
+	 *
+	 * @return Color space.
+	 */
+	public ColorSpaceRGB getColorSpace() {
+		return colorSpace;
+	}
+
+	/**
+	 * Returns the illuminant.
+	 *
+	 * @return Illuminant.
+	 */
+	public Illuminant getIlluminant() {
+		return illuminant;
+	}
+
+	/**
+	 * Returns the grid points per channel.
+	 *
+	 * @return Grid points per channel.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns whether the RGB channels are gamma encoded.
+	 *
+	 * @return True if the RGB channels are gamma encoded, false if they are linear.
+	 */
+	public boolean isEncoded() {
+		return encoded;
+	}
+
+	/**
+	 * Returns the math-context of the exact path.
+	 *
+	 * @return Math-Context.
+	 */
+	public MathContext getMathContext() {
+		return mc;
+	}
+
+	/**
+	 * Converts the RGB-Color to a Lab-Color.
+	 *
+	 * @param r R value.
+	 * @param g G value.
+	 * @param b B value.
+	 * @param lab Lab values (output, <code>l, a, b</code>).
+	 * @param offset Offset of l in lab.
+	 *
+	 * @throws NullPointerException If lab is not specified.
+	 * @throws IndexOutOfBoundsException If lab is too small.
+	 */
+	public void lookup(double r, double g, double b, double[] lab, int offset) {
+		Objects.requireNonNull(lab, "lab is not specified");
+		if (offset < 0 || offset > lab.length - 3) {
+			throw new IndexOutOfBoundsException(String.format("range [%d, %d + 3) out of bounds for length %d", offset, offset, lab.length));
+		}
+
+		interpolate(r, g, b, lab, offset, lab, offset + 1, lab, offset + 2);
+	}
+
+	/**
+	 * Converts the RGB-Colors to Lab-Colors.
+	 *
+	 * @param r R values.
+	 * @param g G values.
+	 * @param b B values.
+	 * @param labL L values (output).
+	 * @param labA A values (output).
+	 * @param labB B values (output).
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws IndexOutOfBoundsException If an array is shorter than r.
+	 */
+	public void convert(double[] r, double[] g, double[] b, double[] labL, double[] labA, double[] labB) {
+		Objects.requireNonNull(r, "r is not specified");
+		checkLength(r.length, "g", g, "b", b, "labL", labL, "labA", labA, "labB", labB);
+
+		for (int i = 0; i < r.length; i++) {
+			interpolate(r[i], g[i], b[i], labL, i, labA, i, labB, i);
+		}
+	}
+
+	/**
+	 * Converts interleaved 8-bit RGB-Colors (<code>r0, g0, b0, r1, g1, b1, ...</code>, unsigned) to
+	 * Lab-Colors. Each channel is scaled to <code>[0, 1]</code> by dividing it by 255.
+	 *
+	 * @param rgb Interleaved RGB values.
+	 * @param offset Offset of the first color in rgb (in colors, not in bytes).
+	 * @param labL L values (output).
+	 * @param labA A values (output).
+	 * @param labB B values (output).
+	 * @param outOffset Offset of the first color in labL, labA and labB.
+	 * @param length Number of colors.
+	 *
+	 * @throws NullPointerException If any array is not specified.
+	 * @throws IndexOutOfBoundsException If a range is out of the bounds of its array.
+	 */
+	public void convert(byte[] rgb, int offset, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		Objects.requireNonNull(rgb, "rgb is not specified");
+		checkRange(offset, length, rgb.length / 3);
+		checkRange(outOffset, length, Objects.requireNonNull(labL, "labL is not specified").length);
+		checkRange(outOffset, length, Objects.requireNonNull(labA, "labA is not specified").length);
+		checkRange(outOffset, length, Objects.requireNonNull(labB, "labB is not specified").length);
+
+		for (int i = 0, j = offset * 3; i < length; i++, j += 3) {
+			int index = outOffset + i;
+			interpolate(
+				(rgb[j] & 0xFF) / 255.0,
+				(rgb[j + 1] & 0xFF) / 255.0,
+				(rgb[j + 2] & 0xFF) / 255.0,
+				labL, index, labA, index, labB, index);
+		}
+	}
+
+	/**
+	 * Measures the interpolation error against the exact path.
+	 * <p>
+	 * Samples the centers of all cells along the gray axis, where the L channel is most
+	 * non-linear, and <I>samples</I> random colors.
+	 *
+	 * @param delta Delta E to measure the error with.
+	 * @param samples Number of random colors.
+	 * @param seed Seed of the random colors.
+	 *
+	 * @return Report.
+	 *
+	 * @throws NullPointerException If delta is not specified.
+	 * @throws IllegalArgumentException If samples is negative.
+	 */
+	public LabLUTReport measure(DeltaECalculatorDelegate delta, int samples, long seed) {
+		Objects.requireNonNull(delta, "delta is not specified");
+
+		if (samples < 0) {
+			throw new IllegalArgumentException("samples should not be negative");
+		}
+
+		Matrix3 m = colorSpace.getRGBtoXYZMatrix().round(mc);
+		Random random = new Random(seed);
+		double[] lab = new double[3];
+
+		double sum = 0.0;
+		double max = -1.0;
+		double[] worst = null;
+
+		for (int i = 0; i < size - 1 + samples; i++) {
+			double r, g, b;
+
+			if (i < size - 1) {
+				r = g = b = (i + 0.5) / (size - 1);
+			} else {
+				r = random.nextDouble();
+				g = random.nextDouble();
+				b = random.nextDouble();
+			}
+
+			lookup(r, g, b, lab, 0);
+
+			ColorLab expected = convert(channel(r), channel(g), channel(b), m, illuminant, mc);
+			double error = delta.calculate(
+				expected.getL().doubleValue(), expected.getA().doubleValue(), expected.getB().doubleValue(),
+				lab[0], lab[1], lab[2]);
+
+			sum += error;
+			if (error > max) {
+				max = error;
+				worst = new double[] { r, g, b };
+			}
+		}
+
+		int count = size - 1 + samples;
+		return new LabLUTReport(count, sum / count, Math.max(max, 0.0), worst);
+	}
+
+	/**
+	 * Writes the table.
+	 *
+	 * @param out Output stream. It is flushed but not closed.
+	 *
+	 * @throws NullPointerException If out is not specified.
+	 * @throws IOException If the stream can not be written.
+	 */
+	public void write(OutputStream out) throws IOException {
+		Objects.requireNonNull(out, "out is not specified");
+
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeInt(size);
+		data.writeBoolean(encoded);
+		data.writeInt(mc.getPrecision());
+
+		for (double val : fingerprint(colorSpace, illuminant)) {
+			data.writeDouble(val);
+		}
+
+		ByteBuffer bytes = ByteBuffer.allocate(grid.length * Float.BYTES);
+		bytes.asFloatBuffer().put(grid);
+		data.write(bytes.array());
+
+		data.flush();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[colorSpace: %s, illuminant: %s, size: %d, encoded: %b]", getClass().getSimpleName(), colorSpace.getName(), illuminant.getName(), size, encoded);
+	}
+
+
+	private void interpolate(double r, double g, double b, double[] outL, int indexL, double[] outA, int indexA, double[] outB, int indexB) {
+		int max = size - 1;
+
+		// Clamps to [0, 1], NaN is mapped to 0.
+		double x = (r > 0.0 ? (r < 1.0 ? r : 1.0) : 0.0) * max;
+		double y = (g > 0.0 ? (g < 1.0 ? g : 1.0) : 0.0) * max;
+		double z = (b > 0.0 ? (b < 1.0 ? b : 1.0) : 0.0) * max;
+
+		int i = Math.min((int) x, max - 1);
+		int j = Math.min((int) y, max - 1);
+		int k = Math.min((int) z, max - 1);
+
+		double fx = x - i;
+		double fy = y - j;
+		double fz = z - k;
+
+		int c000 = i * strideR + j * strideG + k * 3;
+		int c111 = c000 + strideR + strideG + 3;
+
+		// The cube is split into six tetrahedra along its diagonal, the fractions select one of them.
+		int c1, c2;
+		double w0, w1, w2, w3;
+
+		if (fx >= fy) {
+			if (fy >= fz) {
+				c1 = c000 + strideR; c2 = c1 + strideG;
+				w1 = fx - fy; w2 = fy - fz; w3 = fz;
+			} else if (fx >= fz) {
+				c1 = c000 + strideR; c2 = c1 + 3;
+				w1 = fx - fz; w2 = fz - fy; w3 = fy;
+			} else {
+				c1 = c000 + 3; c2 = c1 + strideR;
+				w1 = fz - fx; w2 = fx - fy; w3 = fy;
+			}
+		} else {
+			if (fz >= fy) {
+				c1 = c000 + 3; c2 = c1 + strideG;
+				w1 = fz - fy; w2 = fy - fx; w3 = fx;
+			} else if (fz >= fx) {
+				c1 = c000 + strideG; c2 = c1 + 3;
+				w1 = fy - fz; w2 = fz - fx; w3 = fx;
+			} else {
+				c1 = c000 + strideG; c2 = c1 + strideR;
+				w1 = fy - fx; w2 = fx - fz; w3 = fz;
+			}
+		}
+
+		w0 = 1.0 - w1 - w2 - w3;
+
+		outL[indexL] = w0 * grid[c000] + w1 * grid[c1] + w2 * grid[c2] + w3 * grid[c111];
+		outA[indexA] = w0 * grid[c000 + 1] + w1 * grid[c1 + 1] + w2 * grid[c2 + 1] + w3 * grid[c111 + 1];
+		outB[indexB] = w0 * grid[c000 + 2] + w1 * grid[c1 + 2] + w2 * grid[c2 + 2] + w3 * grid[c111 + 2];
+	}
+
+	private BigDecimal channel(double val) {
+		BigDecimal result = new BigDecimal(val, mc);
+		return encoded ? ColorUtil.calulateRGBtoXYZGammaCorrection(result, mc) : result;
+	}
+
+	private static ColorLab convert(BigDecimal r, BigDecimal g, BigDecimal b, Matrix3 m, Illuminant illuminant, MathContext mc) {
+		Vector3 xyz = m.multiply(new Vector3(r, g, b), mc);
+		return ColorUtil.convertToLab(new ColorXYZ(xyz.getX(), xyz.getY(), xyz.getZ()), illuminant, mc);
+	}
+
+	private static double[] fingerprint(ColorSpaceRGB colorSpace, Illuminant illuminant) {
+		Matrix3Double m = colorSpace.getRGBtoXYZMatrix().toDouble();
+
+		return new double[] {
+			m.get(0, 0), m.get(0, 1), m.get(0, 2),
+			m.get(1, 0), m.get(1, 1), m.get(1, 2),
+			m.get(2, 0), m.get(2, 1), m.get(2, 2),
+			illuminant.getReferenceWhiteXAsDouble(),
+			illuminant.getReferenceWhiteYAsDouble(),
+			illuminant.getReferenceWhiteZAsDouble()
+		};
+	}
+
+	private static void checkSize(int size) {
+		if (size < MIN_SIZE || size > MAX_SIZE) {
+			throw new IllegalArgumentException(String.format("size should be between %d and %d", MIN_SIZE, MAX_SIZE));
+		}
+	}
+
+	private static void checkLength(int length, String name1, double[] array1, String name2, double[] array2, String name3, double[] array3, String name4, double[] array4, String name5, double[] array5) {
+		checkRange(0, length, Objects.requireNonNull(array1, name1 + " is not specified").length);
+		checkRange(0, length, Objects.requireNonNull(array2, name2 + " is not specified").length);
+		checkRange(0, length, Objects.requireNonNull(array3, name3 + " is not specified").length);
+		checkRange(0, length, Objects.requireNonNull(array4, name4 + " is not specified").length);
+		checkRange(0, length, Objects.requireNonNull(array5, name5 + " is not specified").length);
+	}
+
+	private static void checkRange(int offset, int length, int arrayLength) {
+		if (offset < 0 || length < 0 || offset > arrayLength - length) {
+			throw new IndexOutOfBoundsException(String.format("range [%d, %d + %d) out of bounds for length %d", offset, offset, length, arrayLength));
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package ch.pbu.rf.color.lut;
+
+import java.util.Arrays;
+
+/**
+ * Represents the interpolation error of a {@link LabLUT} against the exact path.
+ *
+ * @author Yanick Senn
+ */
+public final class LabLUTReport {
+	private final int samples;
+	private final double meanError;
+	private final double maxError;
+	private final double[] worst;
+
+
+	/**
+	 * Constructor with samples, errors and worst color.
+	 *
+	 * @param samples Number of samples.
+	 * @param meanError Mean delta E.
+	 * @param maxError Max delta E.
+	 * @param worst RGB values of the sample with the max delta E.
+	 */
+	LabLUTReport(int samples, double meanError, double maxError, double[] worst) {
+		this.samples = samples;
+		this.meanError = meanError;
+		this.maxError = maxError;
+		this.worst = worst;
+	}
+
+
+	/**
+	 * Returns the number of samples.
+	 *
+	 * @return Number of samples.
+	 */
+	public int getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Returns the mean delta E of the samples.
+	 *
+	 * @return Mean delta E.
+	 */
+	public double getMeanError() {
+		return meanError;
+	}
+
+	/**
+	 * Returns the max delta E of the samples.
+	 *
+	 * @return Max delta E.
+	 */
+	public double getMaxError() {
+		return maxError;
+	}
+
+	/**
+	 * Returns the RGB values of the sample with the max delta E.
+	 *
+	 * @return A copy of the RGB values (<code>r, g, b</code>).
+	 */
+	public double[] getWorst() {
+		return worst.clone();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[samples: %d, meanError: %.6f, maxError: %.6f, worst: %s]", getClass().getSimpleName(), samples, meanError, maxError, Arrays.toString(worst));
+	}
+}
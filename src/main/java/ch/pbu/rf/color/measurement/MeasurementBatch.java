@@ -0,0 +1,287 @@
+package ch.pbu.rf.color.measurement;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+import ch.pbu.rf.color.ColorBatchUtil;
+import ch.pbu.rf.color.deltae.DeltaECalculatorDelegate;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorSpaceRGB;
+import ch.pbu.rf.illuminant.Illuminant;
+
+/**
+ * Represents a batch of rows of a measurement file.
+ * <p>
+ * The numeric fields are parsed into primitive columns, which can be passed to
+ * {@link ColorBatchUtil} and {@link DeltaECalculatorDelegate#calculate(double, double, double, double[], double[], double[], int, double[], int, int)}
+ * as they are (offset <code>0</code>, length {@link #getSize()}). Texts and exact values are only
+ * parsed on demand from the bytes of the row.
+ * <p>
+ * A batch is reused by {@link MeasurementReader#read(java.util.function.Consumer)} for the next rows
+ * and is only valid until the consumer returns. Copy what has to be kept.
+ *
+ * @author Yanick Senn
+ */
+public final class MeasurementBatch {
+	private final Set<MeasurementField> fields;
+	private final int[] tokens;
+	private final MeasurementParser parser;
+
+	final double[][] columns;
+	final int[] rowStarts;
+	final int[] rowEnds;
+
+	private byte[] bytes;
+	private int size;
+	private long firstRow;
+
+
+	MeasurementBatch(Set<MeasurementField> fields, int[] tokens, byte delimiter, byte decimalSeparator, int batchSize) {
+		this.fields = Collections.unmodifiableSet(fields);
+		this.tokens = tokens;
+		this.parser = new MeasurementParser(delimiter, decimalSeparator);
+		this.columns = new double[MeasurementField.values().length][];
+		this.rowStarts = new int[batchSize];
+		this.rowEnds = new int[batchSize];
+
+		for (MeasurementField field : fields) {
+			if (field.isNumeric()) {
+				columns[field.ordinal()] = new double[batchSize];
+			}
+		}
+	}
+
+
+	void reset(byte[] bytes, int size, long firstRow) {
+		this.bytes = bytes;
+		this.size = size;
+		this.firstRow = firstRow;
+	}
+
+	/**
+	 * Returns the number of rows.
+	 *
+	 * @return Number of rows.
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the index of the first row within the file (0-based, data rows only).
+	 *
+	 * @return Index of the first row.
+	 */
+	public long getFirstRow() {
+		return firstRow;
+	}
+
+	/**
+	 * Returns the fields of the file.
+	 *
+	 * @return Fields (unmodifiable).
+	 */
+	public Set<MeasurementField> getFields() {
+		return fields;
+	}
+
+	/**
+	 * Returns whether the file contains the <I>field</I>.
+	 *
+	 * @param field Field.
+	 *
+	 * @return True if the file contains the field, otherwise false.
+	 */
+	public boolean hasField(MeasurementField field) {
+		return fields.contains(field);
+	}
+
+	/**
+	 * Returns the column of the numeric <I>field</I>.
+	 * <p>
+	 * The array is not copied and longer than {@link #getSize()}; only the first values are valid.
+	 * Empty fields are {@link Double#NaN}.
+	 *
+	 * @param field Numeric field.
+	 *
+	 * @return Column.
+	 *
+	 * @throws NullPointerException If field is not specified.
+	 * @throws IllegalArgumentException If field is not numeric or not contained in the file.
+	 */
+	public double[] getColumn(MeasurementField field) {
+		Objects.requireNonNull(field, "field is not specified");
+
+		if (!field.isNumeric()) {
+			throw new IllegalArgumentException(String.format("field %s is not numeric", field));
+		}
+
+		double[] result = columns[field.ordinal()];
+		if (result == null) {
+			throw new IllegalArgumentException(String.format("field %s is not contained", field));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the text of the <I>field</I> in row <I>index</I>.
+	 *
+	 * @param field Field.
+	 * @param index Index of the row within the batch.
+	 *
+	 * @return Text.
+	 *
+	 * @throws NullPointerException If field is not specified.
+	 * @throws IllegalArgumentException If field is not contained in the file.
+	 * @throws IndexOutOfBoundsException If index is out of bounds.
+	 */
+	public String getText(MeasurementField field, int index) {
+		moveTo(field, index);
+		return parser.text();
+	}
+
+	/**
+	 * Returns the id of row <I>index</I>, see {@link MeasurementField#SAMPLE_ID}.
+	 *
+	 * @param index Index of the row within the batch.
+	 *
+	 * @return Id.
+	 *
+	 * @throws IllegalArgumentException If the file does not contain ids.
+	 * @throws IndexOutOfBoundsException If index is out of bounds.
+	 */
+	public String getId(int index) {
+		return getText(MeasurementField.SAMPLE_ID, index);
+	}
+
+	/**
+	 * Returns the exact value of the numeric <I>field</I> in row <I>index</I>.
+	 * <p>
+	 * The value is parsed again from the bytes of the row; it is the decimal as written, not the rounded <code>double</code>.
+	 *
+	 * @param field Numeric field.
+	 * @param index Index of the row within the batch.
+	 *
+	 * @return Exact value or <code>null</code> if the field is empty.
+	 *
+	 * @throws NullPointerException If field is not specified.
+	 * @throws IllegalArgumentException If field is not numeric or not contained in the file.
+	 * @throws IndexOutOfBoundsException If index is out of bounds.
+	 */
+	public BigDecimal getExact(MeasurementField field, int index) {
+		getColumn(field);
+		moveTo(field, index);
+		return parser.parseExact();
+	}
+
+	/**
+	 * Returns the exact Lab-Color of row <I>index</I>.
+	 *
+	 * @param index Index of the row within the batch.
+	 *
+	 * @return Lab-Color.
+	 *
+	 * @throws IllegalArgumentException If the file does not contain L, A and B.
+	 * @throws IndexOutOfBoundsException If index is out of bounds.
+	 * @throws NullPointerException If a value is empty.
+	 */
+	public ColorLab getColorLab(int index) {
+		return new ColorLab(
+			getExact(MeasurementField.LAB_L, index),
+			getExact(MeasurementField.LAB_A, index),
+			getExact(MeasurementField.LAB_B, index));
+	}
+
+	/**
+	 * Converts the RGB columns to Lab-Colors, see
+	 * {@link ColorBatchUtil#convertRGBToLab(double[], double[], double[], int, ColorSpaceRGB, Illuminant, double[], double[], double[], int, int)}.
+	 *
+	 * @param colorSpace Color space.
+	 * @param illuminant Illuminant.
+	 * @param l L values (output).
+	 * @param a A values (output).
+	 * @param b B values (output).
+	 * @param offset Offset of the first color in l, a and b.
+	 *
+	 * @throws NullPointerException If any argument is not specified.
+	 * @throws IllegalArgumentException If the file does not contain R, G and B.
+	 * @throws IndexOutOfBoundsException If an output array is too small.
+	 */
+	public void convertRGBToLab(ColorSpaceRGB colorSpace, Illuminant illuminant, double[] l, double[] a, double[] b, int offset) {
+		ColorBatchUtil.convertRGBToLab(
+			getColumn(MeasurementField.RGB_R), getColumn(MeasurementField.RGB_G), getColumn(MeasurementField.RGB_B), 0,
+			colorSpace, illuminant, l, a, b, offset, size);
+	}
+
+	/**
+	 * Converts the XYZ columns to Lab-Colors, see
+	 * {@link ColorBatchUtil#convertXYZToLab(double[], double[], double[], int, Illuminant, double[], double[], double[], int, int)}.
+	 *
+	 * @param illuminant Illuminant.
+	 * @param l L values (output).
+	 * @param a A values (output).
+	 * @param b B values (output).
+	 * @param offset Offset of the first color in l, a and b.
+	 *
+	 * @throws NullPointerException If any argument is not specified.
+	 * @throws IllegalArgumentException If the file does not contain X, Y and Z.
+	 * @throws IndexOutOfBoundsException If an output array is too small.
+	 */
+	public void convertXYZToLab(Illuminant illuminant, double[] l, double[] a, double[] b, int offset) {
+		ColorBatchUtil.convertXYZToLab(
+			getColumn(MeasurementField.XYZ_X), getColumn(MeasurementField.XYZ_Y), getColumn(MeasurementField.XYZ_Z), 0,
+			illuminant, l, a, b, offset, size);
+	}
+
+	/**
+	 * Calculates the delta E of the reference against the Lab-Color of every row, see
+	 * {@link DeltaECalculatorDelegate#calculate(double, double, double, double[], double[], double[], int, double[], int, int)}.
+	 *
+	 * @param l L value of the reference.
+	 * @param a A value of the reference.
+	 * @param b B value of the reference.
+	 * @param delegate Delta E delegate.
+	 * @param result Delta E per row (output).
+	 * @param offset Offset of the first delta E in result.
+	 *
+	 * @throws NullPointerException If delegate is not specified.
+	 * @throws NullPointerException If result is not specified.
+	 * @throws IllegalArgumentException If the file does not contain L, A and B.
+	 * @throws IndexOutOfBoundsException If result is too small.
+	 */
+	public void calculateDeltaE(double l, double a, double b, DeltaECalculatorDelegate delegate, double[] result, int offset) {
+		Objects.requireNonNull(delegate, "delegate is not specified");
+
+		delegate.calculate(l, a, b,
+			getColumn(MeasurementField.LAB_L), getColumn(MeasurementField.LAB_A), getColumn(MeasurementField.LAB_B), 0,
+			result, offset, size);
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("%s[firstRow: %d, size: %d, fields: %s]", getClass().getSimpleName(), firstRow, size, fields);
+	}
+
+
+	private void moveTo(MeasurementField field, int index) {
+		Objects.requireNonNull(field, "field is not specified");
+
+		int token = tokens[field.ordinal()];
+		if (token < 0) {
+			throw new IllegalArgumentException(String.format("field %s is not contained", field));
+		}
+
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(String.format("index %d out of bounds for size %d", index, size));
+		}
+
+		parser.line(bytes, rowStarts[index], rowEnds[index]);
+		for (int i = 0; i <= token; i++) {
+			parser.next();
+		}
+	}
+}
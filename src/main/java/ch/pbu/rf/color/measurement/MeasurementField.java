@@ -0,0 +1,108 @@
+package ch.pbu.rf.color.measurement;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Represents the fields of a measurement file read by {@link MeasurementReader}.
+ * <p>
+ * The names are the ones of CGATS (<code>SAMPLE_ID</code>, <code>LAB_L</code>, ...). The header
+ * of a file is matched case-insensitively against them and against the listed aliases; columns
+ * with other names are skipped.
+ *
+ * @author Yanick Senn
+ */
+public enum MeasurementField {
+
+	/**
+	 * Represents the id of the sample (text). Aliases: <code>ID</code>, <code>SAMPLE_NAME</code>, <code>NAME</code>.
+	 */
+	SAMPLE_ID("ID", "SAMPLE_NAME", "NAME"),
+
+	/**
+	 * Represents the L value. Aliases: <code>L</code>, <code>L*</code>.
+	 */
+	LAB_L("L", "L*"),
+
+	/**
+	 * Represents the A value. Aliases: <code>A</code>, <code>A*</code>.
+	 */
+	LAB_A("A", "A*"),
+
+	/**
+	 * Represents the B value. Aliases: <code>B</code>, <code>B*</code>.
+	 */
+	LAB_B("B", "B*"),
+
+	/**
+	 * Represents the R value.
+	 */
+	RGB_R(),
+
+	/**
+	 * Represents the G value.
+	 */
+	RGB_G(),
+
+	/**
+	 * Represents the B value.
+	 */
+	RGB_B(),
+
+	/**
+	 * Represents the X value. Alias: <code>X</code>.
+	 */
+	XYZ_X("X"),
+
+	/**
+	 * Represents the Y value. Alias: <code>Y</code>.
+	 */
+	XYZ_Y("Y"),
+
+	/**
+	 * Represents the Z value. Alias: <code>Z</code>.
+	 */
+	XYZ_Z("Z"),
+	;
+
+	private static final Map<String, MeasurementField> BY_NAME = new HashMap<>();
+
+	static {
+		for (MeasurementField field : values()) {
+			BY_NAME.put(field.name(), field);
+
+			for (String alias : field.aliases) {
+				BY_NAME.put(alias, field);
+			}
+		}
+	}
+
+	private final String[] aliases;
+
+
+	private MeasurementField(String... aliases) {
+		this.aliases = aliases;
+	}
+
+
+	/**
+	 * Returns whether the field is numeric.
+	 *
+	 * @return True if the field is numeric, false if it is text.
+	 */
+	public boolean isNumeric() {
+		return this != SAMPLE_ID;
+	}
+
+	/**
+	 * Returns the field of a column name.
+	 *
+	 * @param name Column name (case-insensitive).
+	 *
+	 * @return Field or <code>null</code> if the name is not known.
+	 */
+	static MeasurementField forName(String name) {
+		return BY_NAME.get(name.trim().toUpperCase(Locale.ROOT));
+	}
+}
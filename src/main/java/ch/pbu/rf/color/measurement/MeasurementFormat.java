@@ -0,0 +1,28 @@
+package ch.pbu.rf.color.measurement;
+
+/**
+ * Represents the formats of a measurement file read by {@link MeasurementReader}.
+ *
+ * @author Yanick Senn
+ */
+public enum MeasurementFormat {
+
+	/**
+	 * Represents delimiter separated values with a header line.
+	 * <p>
+	 * The delimiter (<code>,</code>, <code>;</code> or tab) is detected from the header line.
+	 * Fields may be quoted with <code>"</code>. If the delimiter is not <code>,</code>, a
+	 * <code>,</code> is accepted as decimal separator as well.
+	 */
+	CSV,
+
+	/**
+	 * Represents the CGATS.17 (ANSI) text format.
+	 * <p>
+	 * The fields are listed between <code>BEGIN_DATA_FORMAT</code> and <code>END_DATA_FORMAT</code>,
+	 * the rows between <code>BEGIN_DATA</code> and <code>END_DATA</code>, separated by spaces or tabs.
+	 * Other keywords are skipped.
+	 */
+	CGATS,
+	;
+}
@@ -0,0 +1,319 @@
+package ch.pbu.rf.color.measurement;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents the tokenizer and number parser of {@link MeasurementReader}.
+ * <p>
+ * Works with absolute positions on the bytes of a line; the fast path copies nothing.
+ * Numbers with at most 18 significant digits and a decimal exponent within <code>[-22, 22]</code>
+ * are converted by a single multiplication or division of two exact doubles, which is correctly
+ * rounded like {@link Double#parseDouble(String)}. Other numbers fall back to it.
+ * Instances are not thread-safe.
+ *
+ * @author Yanick Senn
+ */
+final class MeasurementParser {
+	private static final int MAX_DIGITS = 18;
+	private static final long MAX_EXACT = 1L << 53;
+	private static final double[] POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+		1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	private final byte delimiter;
+	private final byte decimalSeparator;
+
+	private byte[] bytes;
+	private int position, limit;
+	private int start, end;
+	private boolean quoted;
+
+
+	/**
+	 * Constructor with delimiter and additional decimal separator.
+	 *
+	 * @param delimiter Delimiter or <code>0</code> for runs of spaces and tabs.
+	 * @param decimalSeparator Decimal separator accepted besides <code>.</code> or <code>0</code> for none.
+	 */
+	MeasurementParser(byte delimiter, byte decimalSeparator) {
+		this.delimiter = delimiter;
+		this.decimalSeparator = decimalSeparator;
+	}
+
+
+	/**
+	 * Sets the line to tokenize.
+	 *
+	 * @param bytes Bytes.
+	 * @param from Start of the line (inclusive).
+	 * @param to End of the line without line terminator (exclusive).
+	 */
+	void line(byte[] bytes, int from, int to) {
+		this.bytes = bytes;
+		this.position = from;
+		this.limit = to;
+		this.start = from;
+		this.end = from;
+		this.quoted = false;
+	}
+
+	/**
+	 * Moves to the next token of the line.
+	 *
+	 * @return True if there is a token, false if the line is exhausted.
+	 */
+	boolean next() {
+		return delimiter == 0 ? nextBlankSeparated() : nextDelimited();
+	}
+
+	/**
+	 * Returns whether the current token is empty.
+	 *
+	 * @return True if the token is empty, otherwise false.
+	 */
+	boolean isEmpty() {
+		return start == end;
+	}
+
+	/**
+	 * Returns whether the current token equals the ASCII <I>text</I>.
+	 *
+	 * @param text Text.
+	 *
+	 * @return True if the token equals the text, otherwise false.
+	 */
+	boolean equalsText(String text) {
+		if (end - start != text.length()) {
+			return false;
+		}
+
+		for (int i = 0; i < text.length(); i++) {
+			if (bytes[start + i] != text.charAt(i)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the current token as text (UTF-8, quotes removed).
+	 *
+	 * @return Text.
+	 */
+	String text() {
+		String result = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+		return quoted ? result.replace("\"\"", "\"") : result;
+	}
+
+	/**
+	 * Parses the current token as <code>double</code>.
+	 *
+	 * @return Value or {@link Double#NaN} if the token is empty.
+	 *
+	 * @throws NumberFormatException If the token is not a number.
+	 */
+	double parseDouble() {
+		if (start == end) {
+			return Double.NaN;
+		}
+
+		int i = start;
+		boolean negative = false;
+
+		byte c = bytes[i];
+		if (c == '-' || c == '+') {
+			negative = c == '-';
+			i++;
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean point = false;
+		boolean any = false;
+		int exponent = 0;
+
+		for (; i < end; i++) {
+			c = bytes[i];
+
+			if (c >= '0' && c <= '9') {
+				any = true;
+
+				if (mantissa == 0 && c == '0') {
+					// Leading zeros are not significant.
+					scale += point ? 1 : 0;
+					continue;
+				}
+
+				if (digits == MAX_DIGITS) {
+					return parseDoubleSlow();
+				}
+
+				mantissa = mantissa * 10 + (c - '0');
+				digits++;
+				scale += point ? 1 : 0;
+			} else if (!point && (c == '.' || (decimalSeparator != 0 && c == decimalSeparator))) {
+				point = true;
+			} else if (any && (c == 'e' || c == 'E')) {
+				exponent = parseExponent(i + 1);
+				break;
+			} else {
+				throw new NumberFormatException(String.format("'%s' is not a number", text()));
+			}
+		}
+
+		if (!any) {
+			throw new NumberFormatException(String.format("'%s' is not a number", text()));
+		}
+
+		if (mantissa == 0) {
+			return negative ? -0.0 : 0.0;
+		}
+
+		int exp10 = exponent - scale;
+		if (mantissa >= MAX_EXACT || exp10 < -22 || exp10 > 22) {
+			return parseDoubleSlow();
+		}
+
+		double result = exp10 < 0 ? mantissa / POW10[-exp10] : mantissa * POW10[exp10];
+		return negative ? -result : result;
+	}
+
+	/**
+	 * Parses the current token as exact {@link BigDecimal}.
+	 *
+	 * @return Value or <code>null</code> if the token is empty.
+	 *
+	 * @throws NumberFormatException If the token is not a number.
+	 */
+	BigDecimal parseExact() {
+		return start == end ? null : new BigDecimal(ascii());
+	}
+
+
+	private boolean nextBlankSeparated() {
+		while (position < limit && isBlank(bytes[position])) {
+			position++;
+		}
+
+		if (position >= limit) {
+			return false;
+		}
+
+		quoted = bytes[position] == '"';
+
+		if (quoted) {
+			start = ++position;
+			while (position < limit && bytes[position] != '"') {
+				position++;
+			}
+
+			end = position;
+			position = Math.min(position + 1, limit);
+		} else {
+			start = position;
+			while (position < limit && !isBlank(bytes[position])) {
+				position++;
+			}
+
+			end = position;
+		}
+
+		return true;
+	}
+
+	private boolean nextDelimited() {
+		// position is limit + 1 once the last token was taken
+		if (position > limit) {
+			return false;
+		}
+
+		int p = position;
+		while (p < limit && bytes[p] == ' ' && delimiter != ' ') {
+			p++;
+		}
+
+		quoted = p < limit && bytes[p] == '"';
+
+		if (quoted) {
+			start = ++p;
+			while (p < limit) {
+				if (bytes[p] == '"') {
+					if (p + 1 < limit && bytes[p + 1] == '"') {
+						p += 2;
+						continue;
+					}
+
+					break;
+				}
+
+				p++;
+			}
+
+			end = p;
+			while (p < limit && bytes[p] != delimiter) {
+				p++;
+			}
+		} else {
+			start = p;
+			while (p < limit && bytes[p] != delimiter) {
+				p++;
+			}
+
+			end = p;
+			while (end > start && bytes[end - 1] == ' ') {
+				end--;
+			}
+		}
+
+		position = p + 1;
+		return true;
+	}
+
+	private int parseExponent(int i) {
+		boolean negative = false;
+
+		if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+			negative = bytes[i] == '-';
+			i++;
+		}
+
+		if (i == end) {
+			throw new NumberFormatException(String.format("'%s' is not a number", text()));
+		}
+
+		int result = 0;
+		for (; i < end; i++) {
+			byte c = bytes[i];
+			if (c < '0' || c > '9') {
+				throw new NumberFormatException(String.format("'%s' is not a number", text()));
+			}
+
+			// Saturates, the slow path decides about overflow and underflow.
+			result = Math.min(result * 10 + (c - '0'), 100_000);
+		}
+
+		return negative ? -result : result;
+	}
+
+	private double parseDoubleSlow() {
+		return Double.parseDouble(ascii());
+	}
+
+	private String ascii() {
+		char[] chars = new char[end - start];
+		for (int i = 0; i < chars.length; i++) {
+			char c = (char) (bytes[start + i] & 0xFF);
+			chars[i] = decimalSeparator != 0 && c == decimalSeparator ? '.' : c;
+		}
+
+		return new String(chars);
+	}
+
+	private static boolean isBlank(byte c) {
+		return c == ' ' || c == '\t';
+	}
+}
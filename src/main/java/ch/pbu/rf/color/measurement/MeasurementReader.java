@@ -0,0 +1,514 @@
+package ch.pbu.rf.color.measurement;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Represents the reader of measurement files (CSV or CGATS) with millions of rows.
+ * <p>
+ * The file is mapped into memory by {@link FileChannel#map(MapMode, long, long)} in windows of
+ * 1 GiB, copied in bulk into a reused chunk of 1 MiB and parsed from there into the primitive
+ * columns of a {@link MeasurementBatch}; no <code>String</code> or {@link java.math.BigDecimal}
+ * is created per value. A line must not be longer than the chunk. Texts and exact values are
+ * parsed on demand by the batch. The memory used is bounded by the batch size, not by the size
+ * of the file.
+ * <p>
+ * The header is parsed by {@link #open(Path)}, the rows by every call of {@link #read(Consumer)}.
+ * A reader may be read concurrently by several threads, each read uses its own batch.
+ *
+ * @author Yanick Senn
+ */
+public final class MeasurementReader implements AutoCloseable {
+	public static final int DEFAULT_BATCH_SIZE = 4096;
+
+	private static final int DEFAULT_WINDOW = 1 << 30;
+	private static final int DEFAULT_CHUNK = 1 << 20;
+	private static final int DETECTION_LIMIT = 1 << 16;
+
+	private final FileChannel channel;
+	private final long size;
+	private final int window;
+	private final int chunkSize;
+	private final MeasurementFormat format;
+	private final int batchSize;
+
+	private final byte delimiter;
+	private final byte decimalSeparator;
+	private final MeasurementField[] fieldsByToken;
+	private final int[] tokensByField;
+	private final Set<MeasurementField> fields;
+	private final long dataStart;
+	private final long dataLine;
+
+
+	private MeasurementReader(FileChannel channel, MeasurementFormat format, int batchSize, int window, int chunkSize) throws IOException {
+		this.channel = channel;
+		this.size = channel.size();
+		this.window = window;
+		this.chunkSize = chunkSize;
+		this.batchSize = batchSize;
+
+		Chunk chunk = new Chunk();
+		chunk.fill(0);
+		int pos = skipByteOrderMark(chunk.bytes, chunk.limit);
+
+		this.format = format == null ? detect(chunk.bytes, pos, chunk.limit) : format;
+
+		Header header = this.format == MeasurementFormat.CGATS
+			? parseCGATSHeader(chunk.bytes, pos, chunk.limit)
+			: parseCSVHeader(chunk.bytes, pos, chunk.limit);
+
+		this.delimiter = header.delimiter;
+		this.decimalSeparator = header.delimiter == ',' ? 0 : (byte) ',';
+		this.dataStart = header.dataStart;
+		this.dataLine = header.dataLine;
+
+		this.tokensByField = new int[MeasurementField.values().length];
+		Arrays.fill(tokensByField, -1);
+
+		int tokens = 0;
+		for (int i = 0; i < header.names.length; i++) {
+			MeasurementField field = MeasurementField.forName(header.names[i]);
+
+			if (field != null && tokensByField[field.ordinal()] < 0) {
+				tokensByField[field.ordinal()] = i;
+				tokens = i + 1;
+			}
+		}
+
+		this.fieldsByToken = new MeasurementField[tokens];
+		Set<MeasurementField> contained = EnumSet.noneOf(MeasurementField.class);
+
+		for (MeasurementField field : MeasurementField.values()) {
+			int token = tokensByField[field.ordinal()];
+
+			if (token >= 0) {
+				fieldsByToken[token] = field;
+				contained.add(field);
+			}
+		}
+
+		this.fields = Collections.unmodifiableSet(contained);
+	}
+
+
+	/**
+	 * Opens the file, detects the format and parses the header. Uses {@link #DEFAULT_BATCH_SIZE}.
+	 *
+	 * @param path Path.
+	 *
+	 * @return Reader.
+	 *
+	 * @throws NullPointerException If path is not specified.
+	 * @throws IOException If the file can not be read or the header is not valid.
+	 */
+	public static MeasurementReader open(Path path) throws IOException {
+		return open(path, null, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Opens the file and parses the header.
+	 *
+	 * @param path Path.
+	 * @param format Format or <code>null</code> to detect it (CGATS if a <code>BEGIN_DATA_FORMAT</code> is found at the beginning).
+	 * @param batchSize Number of rows per batch.
+	 *
+	 * @return Reader.
+	 *
+	 * @throws NullPointerException If path is not specified.
+	 * @throws IllegalArgumentException If batchSize is smaller than 1.
+	 * @throws IOException If the file can not be read or the header is not valid.
+	 */
+	public static MeasurementReader open(Path path, MeasurementFormat format, int batchSize) throws IOException {
+		return open(path, format, batchSize, DEFAULT_WINDOW, DEFAULT_CHUNK);
+	}
+
+	static MeasurementReader open(Path path, MeasurementFormat format, int batchSize, int window, int chunkSize) throws IOException {
+		Objects.requireNonNull(path, "path is not specified");
+
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("batchSize should not be smaller than 1");
+		}
+
+		if (chunkSize < 1 || chunkSize > window) {
+			throw new IllegalArgumentException("chunkSize should be between 1 and window");
+		}
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+		try {
+			return new MeasurementReader(channel, format, batchSize, window, chunkSize);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+
+	/**
+	 * Returns the format.
+	 *
+	 * @return Format.
+	 */
+	public MeasurementFormat getFormat() {
+		return format;
+	}
+
+	/**
+	 * Returns the fields contained in the file.
+	 *
+	 * @return Fields (unmodifiable).
+	 */
+	public Set<MeasurementField> getFields() {
+		return fields;
+	}
+
+	/**
+	 * Returns the number of rows per batch.
+	 *
+	 * @return Number of rows per batch.
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Reads all rows and passes them batch by batch to the <I>consumer</I>.
+	 * <p>
+	 * The batch is reused for the next rows once the consumer returns. Empty lines are skipped,
+	 * empty numeric fields are {@link Double#NaN}.
+	 *
+	 * @param consumer Consumer.
+	 *
+	 * @return Number of rows.
+	 *
+	 * @throws NullPointerException If consumer is not specified.
+	 * @throws IOException If the file can not be read, a row has too few fields or a numeric field is not a number.
+	 */
+	public long read(Consumer<? super MeasurementBatch> consumer) throws IOException {
+		Objects.requireNonNull(consumer, "consumer is not specified");
+
+		MeasurementBatch batch = new MeasurementBatch(fields, tokensByField, delimiter, decimalSeparator, batchSize);
+		MeasurementParser parser = new MeasurementParser(delimiter, decimalSeparator);
+
+		long line = dataLine;
+		long rows = 0;
+		int count = 0;
+
+		Chunk chunk = new Chunk();
+		chunk.fill(dataStart);
+
+		byte[] bytes = chunk.bytes;
+		int pos = 0;
+
+		while (true) {
+			int limit = chunk.limit;
+			int eol = indexOf(bytes, pos, limit, (byte) '\n');
+
+			if (eol == limit && chunk.start + limit < size) {
+				// The line continues beyond the chunk: emit what refers to it and refill the chunk.
+				if (pos == 0) {
+					throw new IOException(String.format("line %d is longer than %d bytes", line + 1, chunkSize));
+				}
+
+				if (count > 0) {
+					batch.reset(bytes, count, rows);
+					consumer.accept(batch);
+					rows += count;
+					count = 0;
+				}
+
+				chunk.fill(chunk.start + pos);
+				pos = 0;
+				continue;
+			}
+
+			if (pos >= limit) {
+				break;
+			}
+
+			line++;
+
+			int to = eol > pos && bytes[eol - 1] == '\r' ? eol - 1 : eol;
+			parser.line(bytes, pos, to);
+
+			if (indexOfNonBlank(bytes, pos, to) < to && parser.next()) {
+				if (format == MeasurementFormat.CGATS && parser.equalsText("END_DATA")) {
+					break;
+				}
+
+				parseRow(parser, batch, count, line);
+				batch.rowStarts[count] = pos;
+				batch.rowEnds[count] = to;
+
+				if (++count == batchSize) {
+					batch.reset(bytes, count, rows);
+					consumer.accept(batch);
+					rows += count;
+					count = 0;
+				}
+			}
+
+			pos = eol + 1;
+		}
+
+		if (count > 0) {
+			batch.reset(bytes, count, rows);
+			consumer.accept(batch);
+			rows += count;
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Closes the file. Batches already passed stay readable.
+	 *
+	 * @throws IOException If the file can not be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+
+	@Override
+	public String toString() {
+		return String.format("%s[format: %s, fields: %s, size: %d]", getClass().getSimpleName(), format, fields, size);
+	}
+
+
+	/**
+	 * Parses the row into <I>index</I> of the batch. The parser is positioned on the first token.
+	 */
+	private void parseRow(MeasurementParser parser, MeasurementBatch batch, int index, long line) throws IOException {
+		int token = 0;
+
+		while (token < fieldsByToken.length) {
+			MeasurementField field = fieldsByToken[token];
+
+			if (field != null && field.isNumeric()) {
+				try {
+					batch.columns[field.ordinal()][index] = parser.parseDouble();
+				} catch (NumberFormatException e) {
+					throw new IOException(String.format("line %d: %s %s", line, field, e.getMessage()), e);
+				}
+			}
+
+			if (++token < fieldsByToken.length && !parser.next()) {
+				break;
+			}
+		}
+
+		if (token < fieldsByToken.length) {
+			throw new IOException(String.format("line %d has %d fields, expected at least %d", line, token, fieldsByToken.length));
+		}
+	}
+
+
+	private MeasurementFormat detect(byte[] bytes, int pos, int limit) {
+		MeasurementParser parser = new MeasurementParser((byte) 0, (byte) 0);
+		limit = Math.min(limit, DETECTION_LIMIT);
+
+		while (pos < limit) {
+			int eol = indexOf(bytes, pos, limit, (byte) '\n');
+			parser.line(bytes, pos, eol);
+
+			if (parser.next() && parser.equalsText("BEGIN_DATA_FORMAT")) {
+				return MeasurementFormat.CGATS;
+			}
+
+			pos = eol + 1;
+		}
+
+		return MeasurementFormat.CSV;
+	}
+
+	private Header parseCSVHeader(byte[] bytes, int pos, int limit) throws IOException {
+		long line = 0;
+
+		while (pos < limit) {
+			int eol = indexOf(bytes, pos, limit, (byte) '\n');
+			int to = eol > pos && bytes[eol - 1] == '\r' ? eol - 1 : eol;
+			line++;
+
+			if (eol == limit && limit < size) {
+				throw new IOException(String.format("header is longer than %d bytes", chunkSize));
+			}
+
+			if (indexOfNonBlank(bytes, pos, to) < to) {
+				byte delimiter = detectDelimiter(bytes, pos, to);
+				MeasurementParser parser = new MeasurementParser(delimiter, (byte) 0);
+				parser.line(bytes, pos, to);
+
+				String[] names = new String[0];
+				while (parser.next()) {
+					names = Arrays.copyOf(names, names.length + 1);
+					names[names.length - 1] = parser.text();
+				}
+
+				return new Header(names, delimiter, Math.min(eol + 1L, size), line);
+			}
+
+			pos = eol + 1;
+		}
+
+		throw new IOException("header is missing");
+	}
+
+	private Header parseCGATSHeader(byte[] bytes, int pos, int limit) throws IOException {
+		MeasurementParser parser = new MeasurementParser((byte) 0, (byte) 0);
+		long line = 0;
+
+		String[] names = null;
+		boolean inFormat = false;
+
+		while (pos < limit) {
+			int eol = indexOf(bytes, pos, limit, (byte) '\n');
+			int to = eol > pos && bytes[eol - 1] == '\r' ? eol - 1 : eol;
+			line++;
+
+			if (eol == limit && limit < size) {
+				throw new IOException(String.format("header is longer than %d bytes", chunkSize));
+			}
+
+			parser.line(bytes, pos, to);
+
+			while (parser.next()) {
+				if (inFormat) {
+					if (parser.equalsText("END_DATA_FORMAT")) {
+						inFormat = false;
+					} else {
+						names = Arrays.copyOf(names, names.length + 1);
+						names[names.length - 1] = parser.text();
+					}
+				} else if (parser.equalsText("BEGIN_DATA_FORMAT")) {
+					inFormat = true;
+					names = new String[0];
+				} else if (parser.equalsText("BEGIN_DATA")) {
+					if (names == null) {
+						throw new IOException("BEGIN_DATA_FORMAT is missing");
+					}
+
+					return new Header(names, (byte) 0, Math.min(eol + 1L, size), line);
+				} else {
+					// Other keywords and their values.
+					break;
+				}
+			}
+
+			pos = eol + 1;
+		}
+
+		throw new IOException("BEGIN_DATA is missing");
+	}
+
+	private static byte detectDelimiter(byte[] bytes, int from, int to) {
+		int commas = 0, semicolons = 0, tabs = 0;
+		boolean quoted = false;
+
+		for (int i = from; i < to; i++) {
+			byte c = bytes[i];
+
+			if (c == '"') {
+				quoted = !quoted;
+			} else if (!quoted) {
+				commas += c == ',' ? 1 : 0;
+				semicolons += c == ';' ? 1 : 0;
+				tabs += c == '\t' ? 1 : 0;
+			}
+		}
+
+		if (tabs > commas && tabs > semicolons) {
+			return '\t';
+		}
+
+		return semicolons > commas ? (byte) ';' : (byte) ',';
+	}
+
+	private static int skipByteOrderMark(byte[] bytes, int limit) {
+		boolean bom = limit >= 3
+			&& bytes[0] == (byte) 0xEF
+			&& bytes[1] == (byte) 0xBB
+			&& bytes[2] == (byte) 0xBF;
+
+		return bom ? 3 : 0;
+	}
+
+	private static int indexOf(byte[] bytes, int from, int to, byte value) {
+		int i = from;
+		while (i < to && bytes[i] != value) {
+			i++;
+		}
+
+		return i;
+	}
+
+	private static int indexOfNonBlank(byte[] bytes, int from, int to) {
+		int i = from;
+		while (i < to && (bytes[i] == ' ' || bytes[i] == '\t')) {
+			i++;
+		}
+
+		return i;
+	}
+
+
+	/**
+	 * Represents the chunk of the file that is parsed, copied from the current mapped window.
+	 */
+	private final class Chunk {
+		private final byte[] bytes = new byte[chunkSize];
+
+		private ByteBuffer mapped;
+		private long mappedStart;
+
+		private long start;
+		private int limit;
+
+		/**
+		 * Copies the bytes from <I>position</I> on into the chunk and maps the next window if needed.
+		 */
+		private void fill(long position) throws IOException {
+			int length = (int) Math.min(bytes.length, size - position);
+
+			if (mapped == null || position < mappedStart || position + length > mappedStart + mapped.limit()) {
+				mapped = channel.map(MapMode.READ_ONLY, position, Math.min(window, size - position));
+				mappedStart = position;
+			}
+
+			mapped.position((int) (position - mappedStart));
+			mapped.get(bytes, 0, length);
+
+			start = position;
+			limit = length;
+		}
+	}
+
+	/**
+	 * Represents the parsed header.
+	 */
+	private static final class Header {
+		private final String[] names;
+		private final byte delimiter;
+		private final long dataStart;
+		private final long dataLine;
+
+		private Header(String[] names, byte delimiter, long dataStart, long dataLine) {
+			this.names = names;
+			this.delimiter = delimiter;
+			this.dataStart = dataStart;
+			this.dataLine = dataLine;
+		}
+	}
+}
@@ -1,10 +1,20 @@
 package ch.pbu.rf.color.rgb;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import ch.pbu.rf.Matrix3;
+import ch.pbu.rf.RF;
+import ch.pbu.rf.Vector3;
 import ch.pbu.rf.color.ColorType;
 import ch.pbu.rf.color.space.ColorSpace;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.illuminant.ChromaticAdaptation;
 import ch.pbu.rf.illuminant.Illuminant;
 
 /**
@@ -18,6 +28,11 @@ public class ColorSpaceRGB extends ColorSpace {
 	private final ChromaticityCoordinate g;
 	private final ChromaticityCoordinate b;
 	
+	private volatile Matrix3 rgbToXyz;
+	private volatile Matrix3 xyzToRgb;
+	private final ConcurrentMap<List<Object>, Matrix3> adaptedRgbToXyz = new ConcurrentHashMap<>();
+	private final ConcurrentMap<List<Object>, Matrix3> adaptedXyzToRgb = new ConcurrentHashMap<>();
+	
 
 	/**
 	 * Constructor with name, illuminant, rx, ry, gx, gy, bx and by.
@@ -115,6 +130,183 @@ public class ColorSpaceRGB extends ColorSpace {
 		return b;
 	}
 	
+	/**
+	 * Returns the transformations matrix to convert RGB to XYZ.
+	 * <p>
+	 * The matrix is calculated once on first access and cached afterwards.
+	 * 
+	 * @return A copy of the transformations matrix to convert RGB to XYZ.
+	 */
+	public BigDecimal[][] getRGBtoXYZTransformationMatrix() {
+		return getRGBtoXYZMatrix().toArray();
+	}
+	
+	/**
+	 * Returns the transformations matrix to convert RGB to XYZ rounded to the given precision.
+	 * 
+	 * @param mc Math-Context.
+	 * 
+	 * @return A copy of the transformations matrix to convert RGB to XYZ.
+	 * 
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public BigDecimal[][] getRGBtoXYZTransformationMatrix(MathContext mc) {
+		return getRGBtoXYZMatrix().round(mc).toArray();
+	}
+	
+	/**
+	 * Returns the transformations matrix to convert XYZ to RGB.
+	 * <p>
+	 * The matrix is calculated once on first access and cached afterwards.
+	 * 
+	 * @return A copy of the transformations matrix to convert XYZ to RGB.
+	 */
+	public BigDecimal[][] getXYZtoRGBTransformationMatrix() {
+		return getXYZtoRGBMatrix().toArray();
+	}
+	
+	/**
+	 * Returns the transformations matrix to convert XYZ to RGB rounded to the given precision.
+	 * 
+	 * @param mc Math-Context.
+	 * 
+	 * @return A copy of the transformations matrix to convert XYZ to RGB.
+	 * 
+	 * @throws NullPointerException If mc is not specified.
+	 */
+	public BigDecimal[][] getXYZtoRGBTransformationMatrix(MathContext mc) {
+		return getXYZtoRGBMatrix().round(mc).toArray();
+	}
+	
+	/**
+	 * Returns the transformations matrix to convert RGB to XYZ.
+	 * <p>
+	 * The matrix is calculated once on first access and cached afterwards.
+	 * 
+	 * @return The transformations matrix to convert RGB to XYZ.
+	 */
+	public Matrix3 getRGBtoXYZMatrix() {
+		Matrix3 result = rgbToXyz;
+		
+		if (result == null) {
+			synchronized (this) {
+				result = rgbToXyz;
+				
+				if (result == null) {
+					result = calculateRGBtoXYZMatrix(RF.MC);
+					rgbToXyz = result;
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the transformations matrix to convert XYZ to RGB.
+	 * <p>
+	 * The matrix is calculated once on first access and cached afterwards.
+	 * 
+	 * @return The transformations matrix to convert XYZ to RGB.
+	 */
+	public Matrix3 getXYZtoRGBMatrix() {
+		Matrix3 result = xyzToRgb;
+		
+		if (result == null) {
+			synchronized (this) {
+				result = xyzToRgb;
+				
+				if (result == null) {
+					result = getRGBtoXYZMatrix().inverse(RF.MC);
+					xyzToRgb = result;
+				}
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the transformations matrix to convert RGB to XYZ adapted to the given illuminant.
+	 * <p>
+	 * The adaptation matrix from the illuminant of this color space to <I>illuminant</I> is fused
+	 * into the transformations matrix, which is calculated once per illuminant and adaptation and
+	 * cached afterwards.
+	 * 
+	 * @param illuminant Illuminant of the XYZ-Colors.
+	 * @param adaptation Chromatic adaptation.
+	 * 
+	 * @return The transformations matrix to convert RGB to XYZ.
+	 * 
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If adaptation is not specified.
+	 */
+	public Matrix3 getRGBtoXYZMatrix(Illuminant illuminant, ChromaticAdaptation adaptation) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Objects.requireNonNull(adaptation, "adaptation is not specified");
+		
+		return adaptedRgbToXyz.computeIfAbsent(Arrays.asList(illuminant, adaptation),
+			key -> adaptation.getMatrix(this.illuminant, illuminant).multiply(getRGBtoXYZMatrix(), RF.MC));
+	}
+	
+	/**
+	 * Returns the transformations matrix to convert XYZ adapted to the given illuminant to RGB.
+	 * <p>
+	 * The inverse of {@link #getRGBtoXYZMatrix(Illuminant, ChromaticAdaptation)}, cached the same way.
+	 * 
+	 * @param illuminant Illuminant of the XYZ-Colors.
+	 * @param adaptation Chromatic adaptation.
+	 * 
+	 * @return The transformations matrix to convert XYZ to RGB.
+	 * 
+	 * @throws NullPointerException If illuminant is not specified.
+	 * @throws NullPointerException If adaptation is not specified.
+	 */
+	public Matrix3 getXYZtoRGBMatrix(Illuminant illuminant, ChromaticAdaptation adaptation) {
+		Objects.requireNonNull(illuminant, "illuminant is not specified");
+		Objects.requireNonNull(adaptation, "adaptation is not specified");
+		
+		return adaptedXyzToRgb.computeIfAbsent(Arrays.asList(illuminant, adaptation),
+			key -> getRGBtoXYZMatrix(illuminant, adaptation).inverse(RF.MC));
+	}
+	
+	private Matrix3 calculateRGBtoXYZMatrix(MathContext mc) {
+		BigDecimal ccrx = r.getX();
+		BigDecimal ccry = r.getY();
+
+		BigDecimal ccgx = g.getX();
+		BigDecimal ccgy = g.getY();
+
+		BigDecimal ccbx = b.getX();
+		BigDecimal ccby = b.getY();
+		
+		ColorXYZ rw = illuminant.getReferenceWhite();
+		Vector3 vectorRw = new Vector3(rw.getX(), rw.getY(), rw.getZ());
+		
+		BigDecimal xr = ccrx.divide(ccry, mc);
+		BigDecimal xg = ccgx.divide(ccgy, mc);
+		BigDecimal xb = ccbx.divide(ccby, mc);
+
+		BigDecimal yr = BigDecimal.ONE;
+		BigDecimal yg = BigDecimal.ONE;
+		BigDecimal yb = BigDecimal.ONE;
+
+		BigDecimal zr = BigDecimal.ONE.subtract(ccrx, mc).subtract(ccry, mc).divide(ccry, mc);
+		BigDecimal zg = BigDecimal.ONE.subtract(ccgx, mc).subtract(ccgy, mc).divide(ccgy, mc);
+		BigDecimal zb = BigDecimal.ONE.subtract(ccbx, mc).subtract(ccby, mc).divide(ccby, mc);
+		
+		Matrix3 matrix = new Matrix3(
+			xr, xg, xb,
+			yr, yg, yb,
+			zr, zg, zb
+		);
+		
+		Vector3 vectorS = matrix.inverse(mc).multiply(vectorRw, mc);
+		
+		Matrix3 result = matrix.multiplyDiagonal(vectorS, mc);
+		return result;
+	}
+	
 
 	@Override
 	public int hashCode() {
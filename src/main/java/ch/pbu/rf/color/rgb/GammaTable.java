@@ -0,0 +1,214 @@
+package ch.pbu.rf.color.rgb;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.ColorUtilDouble;
+
+/**
+ * Represents the lookup table of the sRGB gamma correction for integer channels.
+ * <p>
+ * Channels of camera and scanner data are 8-bit or 16-bit, therefore the input domain of the
+ * gamma correction is 256 or 65536 values. The table replaces the transcendental power of
+ * {@link ColorUtil#calulateRGBtoXYZGammaCorrection(BigDecimal, MathContext)} with an array load.
+ * <ul>
+ * <li>The <code>double</code> values are calculated on creation.</li>
+ * <li>The exact values are calculated on first access per code and cached afterwards.</li>
+ * <li>The encoding maps a linear value to the nearest code by the precomputed decision boundaries.</li>
+ * </ul>
+ * Tables are shared per bit depth and precision, see {@link #of(int, MathContext)}.
+ *
+ * @author Yanick Senn
+ */
+public final class GammaTable {
+	public static final int BITS_8 = 8;
+	public static final int BITS_16 = 16;
+
+	private static final ConcurrentMap<String, GammaTable> TABLES = new ConcurrentHashMap<>();
+
+	private final int bits;
+	private final int max;
+	private final MathContext mc;
+	private final BigDecimal divisor;
+	private final BigDecimal[] linear;
+	private final double[] linearAsDouble;
+	private final double[] boundaries;
+
+
+	/**
+	 * Constructor with bits and math-context.
+	 *
+	 * @param bits Bit depth.
+	 * @param mc Math-Context.
+	 */
+	private GammaTable(int bits, MathContext mc) {
+		this.bits = bits;
+		this.max = (1 << bits) - 1;
+		this.mc = mc;
+		this.divisor = new BigDecimal(max);
+		this.linear = new BigDecimal[max + 1];
+		this.linearAsDouble = new double[max + 1];
+		this.boundaries = new double[max];
+
+		for (int code = 0; code <= max; code++) {
+			linearAsDouble[code] = ColorUtilDouble.calulateRGBtoXYZGammaCorrection((double) code / max);
+		}
+
+		// Linear value at which the encoded value reaches code + 0.5.
+		for (int code = 0; code < max; code++) {
+			boundaries[code] = ColorUtilDouble.calulateRGBtoXYZGammaCorrection((code + 0.5) / max);
+		}
+	}
+
+
+	/**
+	 * Returns the table for the given bit depth and the default precision {@link RF#MC}.
+	 *
+	 * @param bits Bit depth, {@link #BITS_8} or {@link #BITS_16}.
+	 *
+	 * @return Table.
+	 *
+	 * @throws IllegalArgumentException If bits is neither 8 nor 16.
+	 */
+	public static GammaTable of(int bits) {
+		return of(bits, RF.MC);
+	}
+
+	/**
+	 * Returns the table for the given bit depth and precision.
+	 * <p>
+	 * The table is created once per bit depth and precision and shared afterwards.
+	 *
+	 * @param bits Bit depth, {@link #BITS_8} or {@link #BITS_16}.
+	 * @param mc Math-Context, see {@link Precision}.
+	 *
+	 * @return Table.
+	 *
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If bits is neither 8 nor 16.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public static GammaTable of(int bits, MathContext mc) {
+		Precision.check(mc);
+
+		if (bits != BITS_8 && bits != BITS_16) {
+			throw new IllegalArgumentException(String.format("bits should be %d or %d", BITS_8, BITS_16));
+		}
+
+		return TABLES.computeIfAbsent(bits + ":" + mc, key -> new GammaTable(bits, mc));
+	}
+
+
+	/**
+	 * Returns the bit depth.
+	 *
+	 * @return Bit depth.
+	 */
+	public int getBits() {
+		return bits;
+	}
+
+	/**
+	 * Returns the biggest code (2<sup>bits</sup> - 1).
+	 *
+	 * @return Biggest code.
+	 */
+	public int getMaxCode() {
+		return max;
+	}
+
+	/**
+	 * Returns the math-context of the exact values.
+	 *
+	 * @return Math-Context.
+	 */
+	public MathContext getMathContext() {
+		return mc;
+	}
+
+	/**
+	 * Returns the linear value of the <I>code</I>.
+	 * <p>
+	 * Same as {@link ColorUtil#calulateRGBtoXYZGammaCorrection(BigDecimal, MathContext)} of
+	 * <I>code</I> / {@link #getMaxCode()}.
+	 *
+	 * @param code Code.
+	 *
+	 * @return Linear value.
+	 *
+	 * @throws IndexOutOfBoundsException If code is not between 0 and {@link #getMaxCode()}.
+	 */
+	public BigDecimal linearize(int code) {
+		BigDecimal result = linear[code];
+
+		// BigDecimal is immutable, a concurrent calculation of the same code is harmless.
+		if (result == null) {
+			result = ColorUtil.calulateRGBtoXYZGammaCorrection(new BigDecimal(code).divide(divisor, mc), mc);
+			linear[code] = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the linear value of the <I>code</I>.
+	 * <p>
+	 * Same as {@link ColorUtilDouble#calulateRGBtoXYZGammaCorrection(double)} of
+	 * <I>code</I> / {@link #getMaxCode()}.
+	 *
+	 * @param code Code.
+	 *
+	 * @return Linear value.
+	 *
+	 * @throws IndexOutOfBoundsException If code is not between 0 and {@link #getMaxCode()}.
+	 */
+	public double linearizeAsDouble(int code) {
+		return linearAsDouble[code];
+	}
+
+	/**
+	 * Returns the code nearest to the gamma corrected <I>val</I>.
+	 * <p>
+	 * Same as rounding {@link ColorUtilDouble#calulateXYZtoRGBGammaCorrection(double)} of <I>val</I>
+	 * multiplied by {@link #getMaxCode()}, clamped to the valid codes. NaN is encoded as 0.
+	 *
+	 * @param val Linear value.
+	 *
+	 * @return Code.
+	 */
+	public int encode(double val) {
+		int index = Arrays.binarySearch(boundaries, val);
+
+		// Exact hits belong to the upper code, otherwise the insertion point is the code.
+		int result = index >= 0 ? index + 1 : -index - 1;
+		return val != val ? 0 : result;
+	}
+
+	/**
+	 * Returns the code nearest to the gamma corrected <I>val</I>.
+	 *
+	 * @param val Linear value.
+	 *
+	 * @return Code.
+	 *
+	 * @throws NullPointerException If val is not specified.
+	 *
+	 * @see #encode(double)
+	 */
+	public int encode(BigDecimal val) {
+		Objects.requireNonNull(val, "val is not specified");
+		return encode(val.doubleValue());
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s[bits: %d, precision: %d]", getClass().getSimpleName(), bits, mc.getPrecision());
+	}
+}
@@ -0,0 +1,190 @@
+package ch.pbu.rf.illuminant;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import ch.pbu.rf.Matrix3;
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.RF;
+import ch.pbu.rf.Vector3;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+
+/**
+ * Represents the chromatic adaptation transforms between two illuminants.
+ * <p>
+ * The adaptation matrix from <I>source</I> to <I>target</I> is
+ * <code>M<sup>-1</sup> * diag(M * white<sub>target</sub> / M * white<sub>source</sub>) * M</code>
+ * with the cone response matrix <I>M</I> of the transform. It is calculated with {@link RF#MC}
+ * once per pair of illuminants and cached afterwards, so applying an adaptation costs one
+ * 3x3 multiply, or nothing if it is fused into another matrix such as
+ * {@link ch.pbu.rf.color.rgb.ColorSpaceRGB#getRGBtoXYZMatrix(Illuminant, ChromaticAdaptation)}.
+ *
+ * @author Yanick Senn
+ */
+public enum ChromaticAdaptation {
+	/**
+	 * Bradford transform (Lam, 1985).
+	 */
+	BRADFORD(
+		"0.8951", "0.2664", "-0.1614",
+		"-0.7502", "1.7135", "0.0367",
+		"0.0389", "-0.0685", "1.0296"),
+
+	/**
+	 * Von Kries transform with the Hunt-Pointer-Estevez cone response normalized to D65.
+	 */
+	VON_KRIES(
+		"0.40024", "0.70760", "-0.08081",
+		"-0.22630", "1.16532", "0.04570",
+		"0", "0", "0.91822"),
+
+	/**
+	 * Linear transform of CIECAM02 (CAT02).
+	 */
+	CAT02(
+		"0.7328", "0.4296", "-0.1624",
+		"-0.7036", "1.6975", "0.0061",
+		"0.0030", "0.0136", "0.9834");
+
+	private final Matrix3 coneResponse;
+	private final Matrix3 inverseConeResponse;
+	private final ConcurrentMap<Pair, Matrix3> matrices = new ConcurrentHashMap<>();
+
+
+	private ChromaticAdaptation(String... values) {
+		BigDecimal[] v = new BigDecimal[values.length];
+		for (int i = 0; i < values.length; i++) {
+			v[i] = new BigDecimal(values[i]);
+		}
+
+		this.coneResponse = new Matrix3(v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7], v[8]);
+		this.inverseConeResponse = coneResponse.inverse(RF.MC);
+	}
+
+
+	/**
+	 * Returns the cone response matrix <I>M</I>.
+	 *
+	 * @return Cone response matrix.
+	 */
+	public Matrix3 getConeResponseMatrix() {
+		return coneResponse;
+	}
+
+	/**
+	 * Returns the adaptation matrix from <I>source</I> to <I>target</I>.
+	 * <p>
+	 * The matrix is calculated once per pair and cached afterwards. If both illuminants are
+	 * equal, {@link Matrix3#IDENTITY} is returned.
+	 *
+	 * @param source Illuminant of the XYZ-Colors to adapt.
+	 * @param target Illuminant to adapt to.
+	 *
+	 * @return Adaptation matrix.
+	 *
+	 * @throws NullPointerException If source is not specified.
+	 * @throws NullPointerException If target is not specified.
+	 */
+	public Matrix3 getMatrix(Illuminant source, Illuminant target) {
+		Objects.requireNonNull(source, "source is not specified");
+		Objects.requireNonNull(target, "target is not specified");
+
+		if (source.equals(target)) {
+			return Matrix3.IDENTITY;
+		}
+
+		return matrices.computeIfAbsent(new Pair(source, target), this::calculateMatrix);
+	}
+
+	/**
+	 * Adapts the <I>color</I> from <I>source</I> to <I>target</I>.
+	 *
+	 * @param color XYZ-Color.
+	 * @param source Illuminant of the color.
+	 * @param target Illuminant to adapt to.
+	 *
+	 * @return Adapted XYZ-Color.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If source is not specified.
+	 * @throws NullPointerException If target is not specified.
+	 */
+	public ColorXYZ adapt(ColorXYZ color, Illuminant source, Illuminant target) {
+		return adapt(color, source, target, RF.MC);
+	}
+
+	/**
+	 * Adapts the <I>color</I> from <I>source</I> to <I>target</I> with the given precision.
+	 *
+	 * @param color XYZ-Color.
+	 * @param source Illuminant of the color.
+	 * @param target Illuminant to adapt to.
+	 * @param mc Math-Context, see {@link Precision}.
+	 *
+	 * @return Adapted XYZ-Color.
+	 *
+	 * @throws NullPointerException If color is not specified.
+	 * @throws NullPointerException If source is not specified.
+	 * @throws NullPointerException If target is not specified.
+	 * @throws NullPointerException If mc is not specified.
+	 * @throws IllegalArgumentException If mc is not supported, see {@link Precision#check(MathContext)}.
+	 */
+	public ColorXYZ adapt(ColorXYZ color, Illuminant source, Illuminant target, MathContext mc) {
+		Objects.requireNonNull(color, "color is not specified");
+		Precision.check(mc);
+
+		Vector3 xyz = getMatrix(source, target).round(mc).multiply(new Vector3(color.getX(), color.getY(), color.getZ()), mc);
+		return new ColorXYZ(xyz.getX(), xyz.getY(), xyz.getZ());
+	}
+
+
+	private Matrix3 calculateMatrix(Pair pair) {
+		MathContext mc = RF.MC;
+
+		Vector3 source = coneResponse.multiply(toVector(pair.source.getReferenceWhite()), mc);
+		Vector3 target = coneResponse.multiply(toVector(pair.target.getReferenceWhite()), mc);
+
+		Vector3 scale = new Vector3(
+			target.getX().divide(source.getX(), mc),
+			target.getY().divide(source.getY(), mc),
+			target.getZ().divide(source.getZ(), mc));
+
+		return inverseConeResponse.multiply(Matrix3.diagonal(scale).multiply(coneResponse, mc), mc);
+	}
+
+	private static Vector3 toVector(ColorXYZ color) {
+		return new Vector3(color.getX(), color.getY(), color.getZ());
+	}
+
+
+	/**
+	 * Represents the key of the cached adaptation matrices.
+	 */
+	private static final class Pair {
+		private final Illuminant source;
+		private final Illuminant target;
+
+		private Pair(Illuminant source, Illuminant target) {
+			this.source = source;
+			this.target = target;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * source.hashCode() + target.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Pair)) {
+				return false;
+			}
+
+			Pair other = (Pair) obj;
+			return source.equals(other.source) && target.equals(other.target);
+		}
+	}
+}
@@ -5,6 +5,8 @@ import java.math.BigDecimal;
 import java.math.MathContext;
 import java.util.Objects;
 
+import ch.pbu.rf.color.xyz.ColorXYZ;
+
 /**
  * Represents the Illuminant.
  * 
@@ -19,6 +21,11 @@ public class Illuminant {
 	private final MathContext mc;
 	private final int cct;
 	
+	private final double xAsDouble;
+	private final double yAsDouble;
+	
+	private volatile Derived derived;
+	
 	/**
 	 * Constructor with <I>Name</I>, <I>Year</I>, <I>Degrees</I>, <I>X</I>, <I>Y</I> and <I>CCT</I>.
 	 * 
@@ -38,7 +45,8 @@ public class Illuminant {
 		this.mc = Objects.requireNonNull(mc, "mc is not specified");
 		this.cct = cct;
 		
-		// https://github.com/anderslanglands/colorspace-rs/blob/master/src/illuminant.rs
+		this.xAsDouble = x.doubleValue();
+		this.yAsDouble = y.doubleValue();
 	}
 	
 	/**
@@ -92,7 +100,106 @@ public class Illuminant {
 	 * @return Z-value.
 	 */
 	public BigDecimal getZ() {
-		return BigDecimal.ONE.subtract(x, mc).subtract(y, mc);
+		return derived().z;
+	}
+	
+	/**
+	 * Returns the reference white (<I>Y</I> = 1).
+	 * 
+	 * @return Reference white as XYZ.
+	 */
+	public ColorXYZ getReferenceWhite() {
+		return derived().referenceWhite;
+	}
+	
+	/**
+	 * Returns the reciprocal of the reference white (1 / <I>X</I>, 1 / <I>Y</I>, 1 / <I>Z</I>).
+	 * 
+	 * @return Reciprocal reference white as XYZ.
+	 */
+	public ColorXYZ getReciprocalReferenceWhite() {
+		return derived().reciprocalReferenceWhite;
+	}
+	
+	/**
+	 * Returns the x-value as double.
+	 * 
+	 * @return X-value as double.
+	 */
+	public double getXAsDouble() {
+		return xAsDouble;
+	}
+	
+	/**
+	 * Returns the y-value as double.
+	 * 
+	 * @return Y-value as double.
+	 */
+	public double getYAsDouble() {
+		return yAsDouble;
+	}
+	
+	/**
+	 * Returns the z-value as double.
+	 * 
+	 * @return Z-value as double.
+	 */
+	public double getZAsDouble() {
+		return derived().zAsDouble;
+	}
+	
+	/**
+	 * Returns the x-value of the reference white as double.
+	 * 
+	 * @return X-value of the reference white as double.
+	 */
+	public double getReferenceWhiteXAsDouble() {
+		return derived().referenceWhiteXAsDouble;
+	}
+	
+	/**
+	 * Returns the y-value of the reference white as double.
+	 * 
+	 * @return Y-value of the reference white as double.
+	 */
+	public double getReferenceWhiteYAsDouble() {
+		return derived().referenceWhiteYAsDouble;
+	}
+	
+	/**
+	 * Returns the z-value of the reference white as double.
+	 * 
+	 * @return Z-value of the reference white as double.
+	 */
+	public double getReferenceWhiteZAsDouble() {
+		return derived().referenceWhiteZAsDouble;
+	}
+	
+	/**
+	 * Returns the x-value of the reciprocal reference white as double.
+	 * 
+	 * @return X-value of the reciprocal reference white as double.
+	 */
+	public double getReciprocalReferenceWhiteXAsDouble() {
+		return derived().reciprocalReferenceWhiteXAsDouble;
+	}
+	
+	/**
+	 * Returns the y-value of the reciprocal reference white as double.
+	 * 
+	 * @return Y-value of the reciprocal reference white as double.
+	 */
+	public double getReciprocalReferenceWhiteYAsDouble() {
+		return derived().reciprocalReferenceWhiteYAsDouble;
+	}
+	
+	/**
+	 * Returns the z-value of the reciprocal reference white as double.
+	 * 
+	 * @return Z-value of the reciprocal reference white as double.
+	 */
+	public double getReciprocalReferenceWhiteZAsDouble() {
+		return derived().reciprocalReferenceWhiteZAsDouble;
 	}
 	
 	/**
@@ -114,6 +221,26 @@ public class Illuminant {
 	}
 	
 	
+	
+	/**
+	 * Returns the derived values, which are calculated on first access.
+	 * <p>
+	 * Constructing the illuminants of {@link ch.pbu.rf.RF} is therefore cheap and only the
+	 * illuminants in use pay for the divisions. Concurrent first accesses may calculate the
+	 * values more than once, the results are equal.
+	 * 
+	 * @return Derived values.
+	 */
+	private Derived derived() {
+		Derived result = derived;
+		if (result == null) {
+			result = new Derived(x, y, mc);
+			derived = result;
+		}
+		
+		return result;
+	}
+	
 	@Override
 	public String toString() {
 		return String.format("%s[name: %s, year: %d, degrees: %d, x: %03d, y: %03d, CCT: %d]", getClass().getSimpleName(), name, year, degrees, x, y, cct);
@@ -151,4 +278,44 @@ public class Illuminant {
 			Objects.equals(this.mc, other.mc) &&
 			Objects.equals(this.cct, other.cct);
 	}
+	
+	
+	/**
+	 * Represents the values derived from <I>X</I> and <I>Y</I>.
+	 */
+	private static final class Derived {
+		private final BigDecimal z;
+		private final ColorXYZ referenceWhite;
+		private final ColorXYZ reciprocalReferenceWhite;
+		
+		private final double zAsDouble;
+		private final double referenceWhiteXAsDouble;
+		private final double referenceWhiteYAsDouble;
+		private final double referenceWhiteZAsDouble;
+		private final double reciprocalReferenceWhiteXAsDouble;
+		private final double reciprocalReferenceWhiteYAsDouble;
+		private final double reciprocalReferenceWhiteZAsDouble;
+		
+		private Derived(BigDecimal x, BigDecimal y, MathContext mc) {
+			// https://github.com/anderslanglands/colorspace-rs/blob/master/src/illuminant.rs
+			this.z = BigDecimal.ONE.subtract(x, mc).subtract(y, mc);
+			
+			BigDecimal rwy = BigDecimal.ONE;
+			BigDecimal rwx = x.multiply(rwy, mc).divide(y, mc);
+			BigDecimal rwz = z.multiply(rwy, mc).divide(y, mc);
+			this.referenceWhite = new ColorXYZ(rwx, rwy, rwz);
+			this.reciprocalReferenceWhite = new ColorXYZ(
+				BigDecimal.ONE.divide(rwx, mc), 
+				BigDecimal.ONE.divide(rwy, mc), 
+				BigDecimal.ONE.divide(rwz, mc));
+			
+			this.zAsDouble = z.doubleValue();
+			this.referenceWhiteXAsDouble = referenceWhite.getX().doubleValue();
+			this.referenceWhiteYAsDouble = referenceWhite.getY().doubleValue();
+			this.referenceWhiteZAsDouble = referenceWhite.getZ().doubleValue();
+			this.reciprocalReferenceWhiteXAsDouble = reciprocalReferenceWhite.getX().doubleValue();
+			this.reciprocalReferenceWhiteYAsDouble = reciprocalReferenceWhite.getY().doubleValue();
+			this.reciprocalReferenceWhiteZAsDouble = reciprocalReferenceWhite.getZ().doubleValue();
+		}
+	}
 }
@@ -0,0 +1,470 @@
+package ch.pbu.rf.pot.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+import ch.pbu.rf.color.Color;
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.lab.PreparedColorLab;
+import ch.pbu.rf.pot.Pot;
+
+/**
+ * Represents an in-memory k-d tree over the Lab-Colors of pots.
+ * <p>
+ * Supports exact k-nearest and radius queries under {@link Delta#E1976} and
+ * {@link Delta#E2000}. Subtrees are pruned by a lower bound of the delta E
+ * derived from the bounding box of the subtree; the remaining candidates are
+ * calculated exactly (within {@link ColorUtilDouble#ACCURACY}).
+ * <p>
+ * For the delta E2000 the lower bound follows from
+ * <code>dE00<sup>2</sup> &ge; (dL / SL)<sup>2</sup> + &lambda; (da<sup>2</sup> + db<sup>2</sup>) / SC<sup>2</sup></code>
+ * with <code>&lambda; = 1 - &radic;3 / 2</code> (since <code>|RT| &lt; &radic;3</code>),
+ * <code>C' &le; 1.5 C*ab</code> (since <code>G &le; 0.5</code>) and <code>SH &le; SC</code>
+ * (since <code>T &le; 1.93</code>), where SL and SC are bounded from above by the
+ * lightness and chroma ranges of the subtree.
+ * <p>
+ * The index is immutable and may be queried concurrently.
+ *
+ * @author Yanick Senn
+ */
+public class PotIndex {
+	public static final int DEFAULT_LEAF_SIZE = 16;
+
+	private static final double LAMBDA = 1.0 - Math.sqrt(3.0) / 2.0;
+	private static final double SC_FACTOR = 0.045 * 1.5 / 2.0;
+
+	// Lower bounds are shrunk slightly so that rounding never prunes a candidate.
+	private static final double SLACK = 1.0 - 1e-9;
+
+	private final Pot[] pots;
+	private final PreparedColorLab[] colors;
+	private final double[] l;
+	private final double[] a;
+	private final double[] b;
+	private final double[] c;
+	private final int leafSize;
+	private final Node root;
+
+
+	/**
+	 * Constructor with pots.
+	 *
+	 * @param pots Pots.
+	 *
+	 * @throws NullPointerException If pots is not specified.
+	 * @throws NullPointerException If any pot or its color is not specified.
+	 * @throws IllegalArgumentException If the color of any pot is not a Lab-Color.
+	 */
+	public PotIndex(Collection<Pot> pots) {
+		this(pots, DEFAULT_LEAF_SIZE);
+	}
+
+	/**
+	 * Constructor with pots and leaf size.
+	 *
+	 * @param pots Pots.
+	 * @param leafSize Maximum number of pots per leaf.
+	 *
+	 * @throws NullPointerException If pots is not specified.
+	 * @throws NullPointerException If any pot or its color is not specified.
+	 * @throws IllegalArgumentException If the color of any pot is not a Lab-Color.
+	 * @throws IllegalArgumentException If leafSize is smaller than 1.
+	 */
+	public PotIndex(Collection<Pot> pots, int leafSize) {
+		Objects.requireNonNull(pots, "pots is not specified");
+
+		if (leafSize < 1) {
+			throw new IllegalArgumentException("leafSize should not be smaller than 1");
+		}
+
+		int n = pots.size();
+
+		this.pots = new Pot[n];
+		this.colors = new PreparedColorLab[n];
+		this.l = new double[n];
+		this.a = new double[n];
+		this.b = new double[n];
+		this.c = new double[n];
+		this.leafSize = leafSize;
+
+		int i = 0;
+		for (Pot pot : pots) {
+			Objects.requireNonNull(pot, "pot is not specified");
+
+			Color color = Objects.requireNonNull(pot.getColor(), "pot color is not specified");
+			if (!(color instanceof ColorLab)) {
+				throw new IllegalArgumentException(String.format("pot color should be a Lab-Color (%s)", color.getType()));
+			}
+
+			this.pots[i] = pot;
+			this.colors[i] = new PreparedColorLab((ColorLab) color);
+			i++;
+		}
+
+		// Sorted in place, nodes refer to ranges of the arrays.
+		this.root = n == 0 ? null : build(0, n);
+
+		for (i = 0; i < n; i++) {
+			l[i] = colors[i].getLAsDouble();
+			a[i] = colors[i].getAAsDouble();
+			b[i] = colors[i].getBAsDouble();
+			c[i] = colors[i].getCAsDouble();
+		}
+	}
+
+
+	/**
+	 * Returns the number of pots.
+	 *
+	 * @return Number of pots.
+	 */
+	public int size() {
+		return pots.length;
+	}
+
+	/**
+	 * Returns the <I>k</I> nearest pots to the <I>target</I> under {@link Delta#E1976}.
+	 *
+	 * @param target Target.
+	 * @param k Maximum number of pots.
+	 *
+	 * @return Nearest pots, ordered by ascending delta E.
+	 *
+	 * @throws NullPointerException If target is not specified.
+	 * @throws IllegalArgumentException If k is smaller than 1.
+	 */
+	public List<PotMatch> findNearest(ColorLab target, int k) {
+		return findNearest(target, k, Delta.E1976);
+	}
+
+	/**
+	 * Returns the <I>k</I> nearest pots to the <I>target</I> under the <I>delta</I>.
+	 *
+	 * @param target Target.
+	 * @param k Maximum number of pots.
+	 * @param delta Delta E.
+	 *
+	 * @return Nearest pots, ordered by ascending delta E.
+	 *
+	 * @throws NullPointerException If target is not specified.
+	 * @throws NullPointerException If delta is not specified.
+	 * @throws IllegalArgumentException If k is smaller than 1.
+	 */
+	public List<PotMatch> findNearest(ColorLab target, int k, Delta delta) {
+		if (k < 1) {
+			throw new IllegalArgumentException("k should not be smaller than 1");
+		}
+
+		Query query = new Query(target, delta);
+		PriorityQueue<PotMatch> matches = new PriorityQueue<>(Math.min(k, Math.max(1, pots.length)), Collections.reverseOrder());
+
+		if (root != null) {
+			findNearest(root, query, k, matches);
+		}
+
+		return toSortedList(matches);
+	}
+
+	/**
+	 * Returns all pots within the <I>radius</I> around the <I>target</I> under {@link Delta#E1976}.
+	 *
+	 * @param target Target.
+	 * @param radius Maximum delta E (inclusive).
+	 *
+	 * @return Pots within the radius, ordered by ascending delta E.
+	 *
+	 * @throws NullPointerException If target is not specified.
+	 * @throws IllegalArgumentException If radius is negative.
+	 */
+	public List<PotMatch> findWithin(ColorLab target, double radius) {
+		return findWithin(target, radius, Delta.E1976);
+	}
+
+	/**
+	 * Returns all pots within the <I>radius</I> around the <I>target</I> under the <I>delta</I>.
+	 *
+	 * @param target Target.
+	 * @param radius Maximum delta E (inclusive).
+	 * @param delta Delta E.
+	 *
+	 * @return Pots within the radius, ordered by ascending delta E.
+	 *
+	 * @throws NullPointerException If target is not specified.
+	 * @throws NullPointerException If delta is not specified.
+	 * @throws IllegalArgumentException If radius is negative.
+	 */
+	public List<PotMatch> findWithin(ColorLab target, double radius, Delta delta) {
+		if (!(radius >= 0)) {
+			throw new IllegalArgumentException("radius should not be negative");
+		}
+
+		Query query = new Query(target, delta);
+		List<PotMatch> matches = new ArrayList<>();
+
+		if (root != null) {
+			findWithin(root, query, radius, matches);
+		}
+
+		Collections.sort(matches);
+		return matches;
+	}
+
+
+	private void findNearest(Node node, Query query, int k, PriorityQueue<PotMatch> matches) {
+		if (node.left == null) {
+			for (int i = node.from; i < node.to; i++) {
+				boolean full = matches.size() == k;
+				double worst = full ? matches.peek().getDistance() : Double.POSITIVE_INFINITY;
+
+				if (full && query.lowerBoundSquared(l[i], l[i], a[i], a[i], b[i], b[i], c[i]) * SLACK > worst * worst) {
+					continue;
+				}
+
+				double distance = query.distance(i);
+				if (!full) {
+					matches.add(new PotMatch(pots[i], distance));
+				} else if (distance < worst) {
+					matches.poll();
+					matches.add(new PotMatch(pots[i], distance));
+				}
+			}
+
+			return;
+		}
+
+		double boundLeft = query.lowerBoundSquared(node.left);
+		double boundRight = query.lowerBoundSquared(node.right);
+
+		Node first = boundLeft <= boundRight ? node.left : node.right;
+		Node second = boundLeft <= boundRight ? node.right : node.left;
+
+		findNearest(first, query, k, matches);
+
+		if (matches.size() < k || Math.max(boundLeft, boundRight) * SLACK <= square(matches.peek().getDistance())) {
+			findNearest(second, query, k, matches);
+		}
+	}
+
+	private void findWithin(Node node, Query query, double radius, List<PotMatch> matches) {
+		if (query.lowerBoundSquared(node) * SLACK > radius * radius) {
+			return;
+		}
+
+		if (node.left == null) {
+			for (int i = node.from; i < node.to; i++) {
+				if (query.lowerBoundSquared(l[i], l[i], a[i], a[i], b[i], b[i], c[i]) * SLACK > radius * radius) {
+					continue;
+				}
+
+				double distance = query.distance(i);
+				if (distance <= radius) {
+					matches.add(new PotMatch(pots[i], distance));
+				}
+			}
+
+			return;
+		}
+
+		findWithin(node.left, query, radius, matches);
+		findWithin(node.right, query, radius, matches);
+	}
+
+	private Node build(int from, int to) {
+		double minL = Double.POSITIVE_INFINITY, maxL = Double.NEGATIVE_INFINITY;
+		double minA = Double.POSITIVE_INFINITY, maxA = Double.NEGATIVE_INFINITY;
+		double minB = Double.POSITIVE_INFINITY, maxB = Double.NEGATIVE_INFINITY;
+		double maxC = 0.0;
+
+		for (int i = from; i < to; i++) {
+			PreparedColorLab color = colors[i];
+			minL = Math.min(minL, color.getLAsDouble());
+			maxL = Math.max(maxL, color.getLAsDouble());
+			minA = Math.min(minA, color.getAAsDouble());
+			maxA = Math.max(maxA, color.getAAsDouble());
+			minB = Math.min(minB, color.getBAsDouble());
+			maxB = Math.max(maxB, color.getBAsDouble());
+			maxC = Math.max(maxC, color.getCAsDouble());
+		}
+
+		Node node = new Node(from, to, minL, maxL, minA, maxA, minB, maxB, maxC);
+
+		if (to - from > leafSize) {
+			double extentL = maxL - minL;
+			double extentA = maxA - minA;
+			double extentB = maxB - minB;
+
+			int axis = extentL >= extentA && extentL >= extentB ? 0 : (extentA >= extentB ? 1 : 2);
+			int middle = (from + to) >>> 1;
+
+			select(from, to - 1, middle, axis);
+
+			node.left = build(from, middle);
+			node.right = build(middle, to);
+		}
+
+		return node;
+	}
+
+	/**
+	 * Partially sorts the range <I>from</I> to <I>to</I> (inclusive) along the <I>axis</I>
+	 * so that the <I>n</I>-th pot is in its sorted position (quickselect).
+	 */
+	private void select(int from, int to, int n, int axis) {
+		while (from < to) {
+			double pivot = coordinate((from + to) >>> 1, axis);
+			int i = from;
+			int j = to;
+
+			while (i <= j) {
+				while (coordinate(i, axis) < pivot) {
+					i++;
+				}
+
+				while (coordinate(j, axis) > pivot) {
+					j--;
+				}
+
+				if (i <= j) {
+					swap(i, j);
+					i++;
+					j--;
+				}
+			}
+
+			if (n <= j) {
+				to = j;
+			} else if (n >= i) {
+				from = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	private double coordinate(int i, int axis) {
+		switch (axis) {
+			case 0:
+				return colors[i].getLAsDouble();
+			case 1:
+				return colors[i].getAAsDouble();
+			default:
+				return colors[i].getBAsDouble();
+		}
+	}
+
+	private void swap(int i, int j) {
+		Pot pot = pots[i];
+		pots[i] = pots[j];
+		pots[j] = pot;
+
+		PreparedColorLab color = colors[i];
+		colors[i] = colors[j];
+		colors[j] = color;
+	}
+
+
+	private static List<PotMatch> toSortedList(PriorityQueue<PotMatch> matches) {
+		List<PotMatch> result = new ArrayList<>(matches);
+		Collections.sort(result);
+		return result;
+	}
+
+	private static double gap(double value, double min, double max) {
+		if (value < min) {
+			return min - value;
+		}
+
+		if (value > max) {
+			return value - max;
+		}
+
+		return 0.0;
+	}
+
+	private static double square(double value) {
+		return value * value;
+	}
+
+
+	/**
+	 * Represents a node of the tree covering the pots <I>from</I> to <I>to</I>.
+	 * Leafs have no children.
+	 */
+	private static final class Node {
+		private final int from, to;
+		private final double minL, maxL;
+		private final double minA, maxA;
+		private final double minB, maxB;
+		private final double maxC;
+
+		private Node left;
+		private Node right;
+
+		private Node(int from, int to, double minL, double maxL, double minA, double maxA, double minB, double maxB, double maxC) {
+			this.from = from;
+			this.to = to;
+			this.minL = minL;
+			this.maxL = maxL;
+			this.minA = minA;
+			this.maxA = maxA;
+			this.minB = minB;
+			this.maxB = maxB;
+			this.maxC = maxC;
+		}
+	}
+
+	/**
+	 * Represents the target and the delta E of a query.
+	 */
+	private final class Query {
+		private final PreparedColorLab target;
+		private final boolean e2000;
+
+		private Query(ColorLab target, Delta delta) {
+			this.target = new PreparedColorLab(Objects.requireNonNull(target, "target is not specified"));
+			this.e2000 = Objects.requireNonNull(delta, "delta is not specified") == Delta.E2000;
+		}
+
+		private double distance(int i) {
+			if (e2000) {
+				return ColorUtilDouble.calculateDeltaE2000(target, colors[i]);
+			}
+
+			double dL = target.getLAsDouble() - l[i];
+			double da = target.getAAsDouble() - a[i];
+			double db = target.getBAsDouble() - b[i];
+			return Math.sqrt(dL * dL + da * da + db * db);
+		}
+
+		private double lowerBoundSquared(Node node) {
+			return lowerBoundSquared(node.minL, node.maxL, node.minA, node.maxA, node.minB, node.maxB, node.maxC);
+		}
+
+		private double lowerBoundSquared(double minL, double maxL, double minA, double maxA, double minB, double maxB, double maxC) {
+			double tL = target.getLAsDouble();
+
+			double dL = gap(tL, minL, maxL);
+			double da = gap(target.getAAsDouble(), minA, maxA);
+			double db = gap(target.getBAsDouble(), minB, maxB);
+
+			if (!e2000) {
+				return dL * dL + da * da + db * db;
+			}
+
+			// SL grows with the distance of the mean L to 50.
+			double meanL50 = Math.max(Math.abs(tL + minL - 100.0), Math.abs(tL + maxL - 100.0)) / 2.0;
+			meanL50 *= meanL50;
+
+			double sl = 1.0 + 0.015 * meanL50 / Math.sqrt(20.0 + meanL50);
+			double sc = 1.0 + SC_FACTOR * (target.getCAsDouble() + maxC);
+
+			return dL * dL / (sl * sl) + LAMBDA * (da * da + db * db) / (sc * sc);
+		}
+	}
+}
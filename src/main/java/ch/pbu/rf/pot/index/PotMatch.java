@@ -0,0 +1,59 @@
+package ch.pbu.rf.pot.index;
+
+import java.util.Objects;
+
+import ch.pbu.rf.pot.Pot;
+
+/**
+ * Represents a match of a {@link PotIndex} query: the pot and its delta E to the target.
+ * 
+ * @author Yanick Senn
+ */
+public class PotMatch implements Comparable<PotMatch> {
+	private final Pot pot;
+	private final double distance;
+	
+	
+	/**
+	 * Constructor with pot and distance.
+	 * 
+	 * @param pot Pot.
+	 * @param distance Delta E to the target.
+	 * 
+	 * @throws NullPointerException If pot is not specified.
+	 */
+	public PotMatch(Pot pot, double distance) {
+		this.pot = Objects.requireNonNull(pot, "pot is not specified");
+		this.distance = distance;
+	}
+	
+	
+	/**
+	 * Returns the pot.
+	 * 
+	 * @return Pot.
+	 */
+	public Pot getPot() {
+		return pot;
+	}
+	
+	/**
+	 * Returns the delta E to the target.
+	 * 
+	 * @return Delta E.
+	 */
+	public double getDistance() {
+		return distance;
+	}
+	
+	
+	@Override
+	public int compareTo(PotMatch other) {
+		return Double.compare(distance, other.distance);
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%s[pot: %s, distance: %s]", getClass().getSimpleName(), pot.getName(), distance);
+	}
+}
@@ -0,0 +1,49 @@
+package ch.pbu.rf.color;
+
+/**
+ * Represents the accelerated kernels of {@link ColorBatchUtil}.
+ * <p>
+ * This is the Java 21 variant of the multi-release JAR. The kernels are vectorized by
+ * {@link VectorColorKernels} if the module <code>jdk.incubator.vector</code> is resolved
+ * (<code>--add-modules jdk.incubator.vector</code>) and not disabled by the system property
+ * <code>ch.pbu.rf.vectorized=false</code>. Otherwise the caller falls back to its scalar loop.
+ *
+ * @author Yanick Senn
+ */
+final class ColorKernels {
+	private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+		&& Boolean.parseBoolean(System.getProperty("ch.pbu.rf.vectorized", "true"));
+
+	/**
+	 * Private constructor.
+	 */
+	private ColorKernels() {
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Returns <code>true</code> if the kernels are vectorized.
+	 *
+	 * @return <code>true</code> if the kernels are vectorized. Returns <code>false</code> otherwise.
+	 */
+	static boolean isVectorized() {
+		return VECTORIZED;
+	}
+
+	/**
+	 * Converts <I>length</I> RGB-Colors to Lab-Colors by the <I>matrix</I>, which already
+	 * contains the division by the reference white (row-major, 9 values).
+	 * The ranges are checked by the caller.
+	 *
+	 * @return <code>true</code> if the colors are converted. Returns <code>false</code> if the caller has to convert them.
+	 */
+	static boolean convertRGBToLab(double[] matrix, double[] r, double[] g, double[] b, int offset, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		if (!VECTORIZED) {
+			return false;
+		}
+
+		VectorColorKernels.convertRGBToLab(matrix, r, g, b, offset, labL, labA, labB, outOffset, length);
+		return true;
+	}
+}
@@ -0,0 +1,71 @@
+package ch.pbu.rf.color;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Represents the <code>jdk.incubator.vector</code> kernels of {@link ColorKernels}.
+ * <p>
+ * Only loaded if the module is resolved. Every lane performs the same operations as
+ * {@link ColorUtilDouble}; the transcendental functions of the Vector API may differ from
+ * {@link Math} in the last bits, the results stay within {@link ColorUtilDouble#ACCURACY}.
+ *
+ * @author Yanick Senn
+ */
+final class VectorColorKernels {
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	/**
+	 * Private constructor.
+	 */
+	private VectorColorKernels() {
+		throw new AssertionError();
+	}
+
+
+	static void convertRGBToLab(double[] matrix, double[] r, double[] g, double[] b, int offset, double[] labL, double[] labA, double[] labB, int outOffset, int length) {
+		double m00 = matrix[0], m01 = matrix[1], m02 = matrix[2];
+		double m10 = matrix[3], m11 = matrix[4], m12 = matrix[5];
+		double m20 = matrix[6], m21 = matrix[7], m22 = matrix[8];
+
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += SPECIES.length()) {
+			DoubleVector vr = DoubleVector.fromArray(SPECIES, r, offset + i);
+			DoubleVector vg = DoubleVector.fromArray(SPECIES, g, offset + i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, offset + i);
+
+			DoubleVector fx = f(vr.mul(m00).add(vg.mul(m01)).add(vb.mul(m02)));
+			DoubleVector fy = f(vr.mul(m10).add(vg.mul(m11)).add(vb.mul(m12)));
+			DoubleVector fz = f(vr.mul(m20).add(vg.mul(m21)).add(vb.mul(m22)));
+
+			fy.mul(116.0).sub(16.0).intoArray(labL, outOffset + i);
+			fx.sub(fy).mul(500.0).intoArray(labA, outOffset + i);
+			fy.sub(fz).mul(200.0).intoArray(labB, outOffset + i);
+		}
+
+		for (; i < length; i++) {
+			double vr = r[offset + i], vg = g[offset + i], vb = b[offset + i];
+
+			double fx = ColorUtilDouble._calculate_f_lab(m00 * vr + m01 * vg + m02 * vb);
+			double fy = ColorUtilDouble._calculate_f_lab(m10 * vr + m11 * vg + m12 * vb);
+			double fz = ColorUtilDouble._calculate_f_lab(m20 * vr + m21 * vg + m22 * vb);
+
+			labL[outOffset + i] = fy * 116.0 - 16.0;
+			labA[outOffset + i] = (fx - fy) * 500.0;
+			labB[outOffset + i] = (fy - fz) * 200.0;
+		}
+	}
+
+	/**
+	 * Lane-wise {@link ColorUtilDouble#_calculate_f_lab(double)}.
+	 */
+	private static DoubleVector f(DoubleVector value) {
+		VectorMask<Double> cubic = value.compare(VectorOperators.GT, ColorUtilDouble.E);
+		DoubleVector linear = value.mul(ColorUtilDouble.K).add(16.0).div(116.0);
+		return linear.blend(value.lanewise(VectorOperators.CBRT), cubic);
+	}
+}
@@ -0,0 +1,56 @@
+package ch.pbu.rf.color.deltae;
+
+/**
+ * Represents the accelerated kernels of {@link Delta}.
+ * <p>
+ * This is the Java 21 variant of the multi-release JAR. The kernels are vectorized by
+ * {@link VectorDeltaKernels} if the module <code>jdk.incubator.vector</code> is resolved
+ * (<code>--add-modules jdk.incubator.vector</code>) and not disabled by the system property
+ * <code>ch.pbu.rf.vectorized=false</code>. Otherwise the caller falls back to its scalar loop.
+ *
+ * @author Yanick Senn
+ */
+final class DeltaKernels {
+	private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+		&& Boolean.parseBoolean(System.getProperty("ch.pbu.rf.vectorized", "true"));
+
+	/**
+	 * Private constructor.
+	 */
+	private DeltaKernels() {
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Returns <code>true</code> if the kernels are vectorized.
+	 *
+	 * @return <code>true</code> if the kernels are vectorized. Returns <code>false</code> otherwise.
+	 */
+	static boolean isVectorized() {
+		return VECTORIZED;
+	}
+
+	/**
+	 * Calculates the delta E of the reference against the samples <I>from</I> to <I>to</I>
+	 * into <code>result[offset + j - from]</code>. The ranges are checked by the caller.
+	 *
+	 * @return <code>true</code> if the delta E are calculated. Returns <code>false</code> if the caller has to calculate them.
+	 */
+	static boolean calculate(Delta delta, double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, int from, int to, double[] result, int offset) {
+		if (!VECTORIZED) {
+			return false;
+		}
+
+		switch (delta) {
+			case E1976:
+				VectorDeltaKernels.calculateDeltaE1976(l, a, b, sampleL, sampleA, sampleB, from, to, result, offset);
+				return true;
+			case E2000:
+				VectorDeltaKernels.calculateDeltaE2000(l, a, b, sampleL, sampleA, sampleB, from, to, result, offset);
+				return true;
+			default:
+				return false;
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package ch.pbu.rf.color.deltae;
+
+import ch.pbu.rf.color.ColorUtilDouble;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Represents the <code>jdk.incubator.vector</code> kernels of {@link DeltaKernels}.
+ * <p>
+ * Only loaded if the module is resolved. Every lane performs the same operations as
+ * {@link ColorUtilDouble#calculateDeltaE1976(double, double, double, double, double, double)} and
+ * {@link ColorUtilDouble#calculateDeltaE2000(double, double, double, double, double, double)},
+ * including the replacement of zero-components. The transcendental functions of the Vector API
+ * may differ from {@link Math} in the last bits, the results stay within {@link ColorUtilDouble#ACCURACY}.
+ *
+ * @author Yanick Senn
+ */
+final class VectorDeltaKernels {
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+	private static final double NEARLY_ZERO = ColorUtilDouble.replaceZeroWithNearlyZero(0.0);
+	private static final double POW_25_7 = Math.pow(25, 7);
+	private static final double TO_RADIANS = Math.toRadians(1.0);
+	private static final double TO_DEGREES = Math.toDegrees(1.0);
+
+	/**
+	 * Private constructor.
+	 */
+	private VectorDeltaKernels() {
+		throw new AssertionError();
+	}
+
+
+	static void calculateDeltaE1976(double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, int from, int to, double[] result, int offset) {
+		double l1 = ColorUtilDouble.replaceZeroWithNearlyZero(l);
+		double a1 = ColorUtilDouble.replaceZeroWithNearlyZero(a);
+		double b1 = ColorUtilDouble.replaceZeroWithNearlyZero(b);
+
+		int length = to - from;
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += SPECIES.length()) {
+			DoubleVector dL = nonZero(DoubleVector.fromArray(SPECIES, sampleL, from + i)).neg().add(l1);
+			DoubleVector da = nonZero(DoubleVector.fromArray(SPECIES, sampleA, from + i)).neg().add(a1);
+			DoubleVector db = nonZero(DoubleVector.fromArray(SPECIES, sampleB, from + i)).neg().add(b1);
+
+			dL.mul(dL).add(da.mul(da)).add(db.mul(db)).sqrt().intoArray(result, offset + i);
+		}
+
+		for (; i < length; i++) {
+			result[offset + i] = ColorUtilDouble.calculateDeltaE1976(l, a, b, sampleL[from + i], sampleA[from + i], sampleB[from + i]);
+		}
+	}
+
+	static void calculateDeltaE2000(double l, double a, double b, double[] sampleL, double[] sampleA, double[] sampleB, int from, int to, double[] result, int offset) {
+		double l1 = ColorUtilDouble.replaceZeroWithNearlyZero(l);
+		double a1 = ColorUtilDouble.replaceZeroWithNearlyZero(a);
+		double b1 = ColorUtilDouble.replaceZeroWithNearlyZero(b);
+		double bb1 = b1 * b1;
+		double cab1 = Math.sqrt(a1 * a1 + bb1);
+
+		DoubleVector vb1 = DoubleVector.broadcast(SPECIES, b1);
+
+		int length = to - from;
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+
+		for (; i < bound; i += SPECIES.length()) {
+			DoubleVector l2 = nonZero(DoubleVector.fromArray(SPECIES, sampleL, from + i));
+			DoubleVector a2 = nonZero(DoubleVector.fromArray(SPECIES, sampleA, from + i));
+			DoubleVector b2 = nonZero(DoubleVector.fromArray(SPECIES, sampleB, from + i));
+
+			DoubleVector bb2 = b2.mul(b2);
+			DoubleVector cab2 = a2.mul(a2).add(bb2).sqrt();
+
+			// 1 + G
+			DoubleVector g = ratio7(cab2.add(cab1).div(2.0)).sqrt().neg().add(1.0).div(2.0).add(1.0);
+
+			// a', C', h'
+			DoubleVector a1p = g.mul(a1);
+			DoubleVector c1p = a1p.mul(a1p).add(bb1).sqrt();
+			DoubleVector h1p = hue(a1p, vb1);
+
+			DoubleVector a2p = g.mul(a2);
+			DoubleVector c2p = a2p.mul(a2p).add(bb2).sqrt();
+			DoubleVector h2p = hue(a2p, b2);
+
+			// Means
+			DoubleVector dh = h2p.sub(h1p).abs();
+			VectorMask<Double> far = dh.compare(VectorOperators.GT, 180.0);
+
+			DoubleVector meanL = l2.add(l1).div(2.0);
+			DoubleVector meanC = c1p.add(c2p).div(2.0);
+			DoubleVector sumH = h1p.add(h2p);
+			DoubleVector meanH = sumH.blend(sumH.sub(360.0), far).div(2.0);
+
+			// Deltas
+			DoubleVector dL = l2.sub(l1).abs();
+			DoubleVector dC = c2p.sub(c1p).abs();
+			DoubleVector dH = c1p.mul(c2p).sqrt().mul(2.0)
+				.mul(dh.blend(dh.neg().add(360.0), far).mul(TO_RADIANS).div(2.0).lanewise(VectorOperators.SIN));
+
+			// Weighting functions
+			DoubleVector meanL50 = meanL.sub(50.0).mul(meanL.sub(50.0));
+			DoubleVector sl = meanL50.mul(0.015).div(meanL50.add(20.0).sqrt()).add(1.0);
+			DoubleVector sc = meanC.mul(0.045).add(1.0);
+			DoubleVector sh = meanC.mul(0.015).mul(t(meanH)).add(1.0);
+
+			// Rotation
+			DoubleVector x = meanH.sub(275.0).div(25.0);
+			DoubleVector d0 = x.mul(x).neg().lanewise(VectorOperators.EXP).mul(30.0);
+			DoubleVector rc = ratio7(meanC).sqrt().mul(2.0);
+			DoubleVector rt = rc.neg().mul(d0.mul(TO_RADIANS).mul(2.0).lanewise(VectorOperators.SIN));
+
+			DoubleVector termL = dL.div(sl);
+			DoubleVector termC = dC.div(sc);
+			DoubleVector termH = dH.div(sh);
+
+			termL.mul(termL).add(termC.mul(termC)).add(termH.mul(termH)).add(rt.mul(termC).mul(termH))
+				.sqrt().intoArray(result, offset + i);
+		}
+
+		for (; i < length; i++) {
+			result[offset + i] = ColorUtilDouble.calculateDeltaE2000(l, a, b, sampleL[from + i], sampleA[from + i], sampleB[from + i]);
+		}
+	}
+
+
+	private static DoubleVector nonZero(DoubleVector value) {
+		return value.blend(NEARLY_ZERO, value.compare(VectorOperators.EQ, 0.0));
+	}
+
+	/**
+	 * Lane-wise <code>value<sup>7</sup> / (value<sup>7</sup> + 25<sup>7</sup>)</code>.
+	 */
+	private static DoubleVector ratio7(DoubleVector value) {
+		DoubleVector value2 = value.mul(value);
+		DoubleVector value7 = value2.mul(value2).mul(value2).mul(value);
+		return value7.div(value7.add(POW_25_7));
+	}
+
+	/**
+	 * Lane-wise hue angle in degrees (<code>[0, 360)</code>).
+	 */
+	private static DoubleVector hue(DoubleVector a, DoubleVector b) {
+		DoubleVector result = b.lanewise(VectorOperators.ATAN2, a).mul(TO_DEGREES);
+		return result.blend(result.add(360.0), result.compare(VectorOperators.LT, 0.0));
+	}
+
+	/**
+	 * Lane-wise weighting function <I>T</I> of the hue.
+	 */
+	private static DoubleVector t(DoubleVector meanH) {
+		return meanH.sub(30.0).mul(TO_RADIANS).lanewise(VectorOperators.COS).mul(-0.17).add(1.0)
+			.add(meanH.mul(2.0).mul(TO_RADIANS).lanewise(VectorOperators.COS).mul(0.24))
+			.add(meanH.mul(3.0).add(6.0).mul(TO_RADIANS).lanewise(VectorOperators.COS).mul(0.32))
+			.sub(meanH.mul(4.0).sub(63.0).mul(TO_RADIANS).lanewise(VectorOperators.COS).mul(0.20));
+	}
+}
@@ -0,0 +1,148 @@
+package ch.pbu.rf;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.color.ColorUtilDouble;
+
+/**
+ * Test for {@link LUDecompositionDouble}.
+ * <p>
+ * Every operation is compared against the corresponding operation of {@link LUDecomposition}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: LUDecompositionDouble")
+class LUDecompositionDoubleTest {
+	private static final double DELTA = ColorUtilDouble.ACCURACY;
+	private static final int N = 20;
+	
+	@Test
+	@DisplayName(value = "Test: of(double[][])")
+	void testOf() {
+		Assertions.assertThrows(NullPointerException.class, () -> LUDecompositionDouble.of(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LUDecompositionDouble.of(new double[0][]));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LUDecompositionDouble.of(new double[2][3]));
+		
+		double[][] matrix = createMatrix(new Random(42));
+		LUDecompositionDouble lu = LUDecompositionDouble.of(matrix);
+		LUDecomposition expected = LUDecomposition.of(toExact(matrix), RF.MC);
+		
+		Assertions.assertEquals(N, lu.getSize());
+		Assertions.assertFalse(lu.isSingular());
+		Assertions.assertArrayEquals(expected.getPivot(), lu.getPivot());
+		assertEquals(expected.getLower(), lu.getLower());
+		assertEquals(expected.getUpper(), lu.getUpper());
+		
+		double determinant = expected.determinant().doubleValue();
+		Assertions.assertEquals(determinant, lu.determinant(), Math.abs(determinant) * DELTA);
+		Assertions.assertEquals(lu.determinant(), MathUtil.calculateDeterminant(matrix));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: solve(...) and inverse()")
+	void testSolve() {
+		Random random = new Random(42);
+		double[][] matrix = createMatrix(random);
+		double[] vector = new double[N];
+		
+		for (int i = 0; i < N; i++) {
+			vector[i] = random.nextDouble();
+		}
+		
+		LUDecompositionDouble lu = LUDecompositionDouble.of(matrix);
+		LUDecomposition expected = LUDecomposition.of(toExact(matrix), RF.MC);
+		
+		Assertions.assertThrows(NullPointerException.class, () -> lu.solve((double[]) null));
+		Assertions.assertThrows(NullPointerException.class, () -> lu.solve((double[][]) null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> lu.solve(new double[N - 1]));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> lu.solve(new double[N - 1][1]));
+		
+		BigDecimal[] exactVector = new BigDecimal[N];
+		for (int i = 0; i < N; i++) {
+			exactVector[i] = new BigDecimal(vector[i]);
+		}
+		
+		BigDecimal[] solution = expected.solve(exactVector);
+		double[] actual = MathUtil.calculateSolution(matrix, vector);
+		
+		for (int i = 0; i < N; i++) {
+			Assertions.assertEquals(solution[i].doubleValue(), actual[i], DELTA);
+		}
+		
+		assertEquals(expected.inverse(), MathUtil.calculateInverse(matrix));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: singular matrix")
+	void testSingular() {
+		// Only the first has exact elimination factors, the others leave a rounding residue in the last pivot.
+		double[][][] matrices = {
+			{ { 1.0, 2.0 }, { 2.0, 4.0 } },
+			{ { 3.0, 3.0 }, { 1.0, 1.0 } },
+			{ { 7.0, 21.0 }, { 3.0, 9.0 } },
+			{ { 0.1, 0.2, 0.3 }, { 0.4, 0.5, 0.6 }, { 0.7, 0.8, 0.9 } },
+			{ { 2.0, 1.0, 1.0 }, { 1.0, 3.0, 2.0 }, { 3.0, 4.0, 3.0 } }
+		};
+		
+		for (double[][] matrix : matrices) {
+			double[] vector = new double[matrix.length];
+			
+			LUDecompositionDouble lu = LUDecompositionDouble.of(matrix);
+			Assertions.assertTrue(lu.isSingular());
+			Assertions.assertEquals(0.0, lu.determinant());
+			Assertions.assertThrows(ArithmeticException.class, () -> lu.solve(vector));
+			Assertions.assertThrows(ArithmeticException.class, () -> lu.inverse());
+			Assertions.assertThrows(ArithmeticException.class, () -> MathUtil.calculateInverse(matrix));
+		}
+		
+		// Every singular [[p, p * k], [q, q * k]]
+		for (int p = 1; p <= 20; p++) {
+			for (int q = 1; q <= 20; q++) {
+				for (int k = 1; k <= 5; k++) {
+					double[][] matrix = { { p, p * k }, { q, q * k } };
+					Assertions.assertTrue(LUDecompositionDouble.of(matrix).isSingular());
+				}
+			}
+		}
+		
+		// Small, but regular
+		Assertions.assertFalse(LUDecompositionDouble.of(new double[][] { { 1e-40, 0.0 }, { 0.0, 1e-60 } }).isSingular());
+	}
+	
+	private static double[][] createMatrix(Random random) {
+		double[][] matrix = new double[N][N];
+		
+		for (int y = 0; y < N; y++) {
+			for (int x = 0; x < N; x++) {
+				matrix[y][x] = random.nextDouble() * 2.0 - 1.0;
+			}
+		}
+		
+		return matrix;
+	}
+	
+	private static BigDecimal[][] toExact(double[][] matrix) {
+		BigDecimal[][] result = new BigDecimal[matrix.length][matrix[0].length];
+		
+		for (int y = 0; y < matrix.length; y++) {
+			for (int x = 0; x < matrix[y].length; x++) {
+				result[y][x] = new BigDecimal(matrix[y][x]);
+			}
+		}
+		
+		return result;
+	}
+	
+	private static void assertEquals(BigDecimal[][] expected, double[][] actual) {
+		for (int y = 0; y < expected.length; y++) {
+			for (int x = 0; x < expected[y].length; x++) {
+				Assertions.assertEquals(expected[y][x].doubleValue(), actual[y][x], DELTA);
+			}
+		}
+	}
+}
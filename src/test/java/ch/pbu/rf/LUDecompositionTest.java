@@ -0,0 +1,166 @@
+package ch.pbu.rf;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.yanicksenn.testing.Testing;
+
+/**
+ * Test for {@link LUDecomposition}.
+ * <p>
+ * The 3x3 results are compared against the cofactor based operations of {@link MathUtil}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: LUDecomposition")
+class LUDecompositionTest {
+	private static final MathContext MC = RF.MC;
+	private static final BigDecimal DELTA = new BigDecimal("1E-90");
+	
+	private static final BigDecimal[][] N = {
+		{ new BigDecimal("0"), new BigDecimal("-1"), new BigDecimal("0.5") },
+		{ new BigDecimal("2"), new BigDecimal("3"), new BigDecimal("7") },
+		{ new BigDecimal("-4"), new BigDecimal("1.25"), new BigDecimal("1") }
+	};
+	
+	@Test
+	@DisplayName(value = "Test: of(BigDecimal[][], MathContext)")
+	void testOf() {
+		Assertions.assertThrows(NullPointerException.class, () -> LUDecomposition.of(null, MC));
+		Assertions.assertThrows(NullPointerException.class, () -> LUDecomposition.of(N, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LUDecomposition.of(new BigDecimal[][] { { null } }, MC));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LUDecomposition.of(MathUtil.createMatrix(BigDecimal.ONE, 3, 2), MC));
+		
+		LUDecomposition lu = LUDecomposition.of(N, MC);
+		Assertions.assertEquals(3, lu.getSize());
+		Assertions.assertEquals(MC, lu.getMathContext());
+		Assertions.assertFalse(lu.isSingular());
+		
+		// P * A = L * U
+		BigDecimal[][] product = MathUtil.calculateProduct(lu.getLower(), lu.getUpper(), MC);
+		int[] pivot = lu.getPivot();
+		
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 3; x++) {
+				Testing.assertEquals(N[pivot[y]][x], product[y][x], DELTA, MC);
+			}
+		}
+		
+		// The input is not modified.
+		Assertions.assertEquals(0, N[0][0].signum());
+	}
+	
+	@Test
+	@DisplayName(value = "Test: determinant() and inverse()")
+	void testInverse() {
+		LUDecomposition lu = LUDecomposition.of(N, MC);
+		
+		Testing.assertEquals(MathUtil.calculate3x3Determinant(N, MC), lu.determinant(), DELTA, MC);
+		Testing.assertEquals(MathUtil.calculate3x3Determinant(N, MC), MathUtil.calculateDeterminant(N, MC), DELTA, MC);
+		
+		BigDecimal[][] expected = MathUtil.calculate3x3Inverse(N, MC);
+		BigDecimal[][] inverse = MathUtil.calculateInverse(N, MC);
+		
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 3; x++) {
+				Testing.assertEquals(expected[y][x], inverse[y][x], DELTA, MC);
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: solve(...)")
+	void testSolve() {
+		LUDecomposition lu = LUDecomposition.of(N, MC);
+		
+		Assertions.assertThrows(NullPointerException.class, () -> lu.solve((BigDecimal[]) null));
+		Assertions.assertThrows(NullPointerException.class, () -> lu.solve((BigDecimal[][]) null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> lu.solve(new BigDecimal[2]));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> lu.solve(MathUtil.createMatrix(BigDecimal.ONE, 1, 2)));
+		
+		// Bigger than the 3x3 of the cofactor operations.
+		int n = 12;
+		Random random = new Random(42);
+		BigDecimal[][] matrix = MathUtil.createMatrix(BigDecimal.ZERO, n);
+		BigDecimal[][] vector = MathUtil.createMatrix(BigDecimal.ZERO, 1, n);
+		
+		for (int y = 0; y < n; y++) {
+			for (int x = 0; x < n; x++) {
+				matrix[y][x] = new BigDecimal(random.nextInt(201) - 100);
+			}
+			
+			vector[y][0] = new BigDecimal(random.nextInt(201) - 100);
+		}
+		
+		BigDecimal[][] solution = LUDecomposition.of(matrix, MC).solve(vector);
+		BigDecimal[][] product = MathUtil.calculateProduct(matrix, solution, MC);
+		
+		BigDecimal[] values = new BigDecimal[n];
+		for (int y = 0; y < n; y++) {
+			values[y] = vector[y][0];
+		}
+		
+		BigDecimal[] solution2 = MathUtil.calculateSolution(matrix, values, MC);
+		
+		for (int y = 0; y < n; y++) {
+			Testing.assertEquals(vector[y][0], product[y][0], DELTA, MC);
+			Testing.assertEquals(solution[y][0], solution2[y], DELTA, MC);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: singular matrix")
+	void testSingular() {
+		// Only the first has exact elimination factors, the others leave a rounding residue in the last pivot.
+		String[][][] matrices = {
+			{ { "1", "2", "3" }, { "2", "4", "6" }, { "0", "1", "1" } },
+			{ { "3", "3" }, { "1", "1" } },
+			{ { "7", "21" }, { "3", "9" } },
+			{ { ".1", ".2", ".3" }, { ".4", ".5", ".6" }, { ".7", ".8", ".9" } },
+			{ { "2", "1", "1" }, { "1", "3", "2" }, { "3", "4", "3" } }
+		};
+		
+		for (String[][] values : matrices) {
+			BigDecimal[][] matrix = new BigDecimal[values.length][values.length];
+			BigDecimal[] vector = new BigDecimal[values.length];
+			
+			for (int y = 0; y < values.length; y++) {
+				for (int x = 0; x < values.length; x++) {
+					matrix[y][x] = new BigDecimal(values[y][x]);
+				}
+				
+				vector[y] = BigDecimal.ONE;
+			}
+			
+			LUDecomposition lu = LUDecomposition.of(matrix, MC);
+			Assertions.assertTrue(lu.isSingular());
+			Assertions.assertEquals(0, lu.determinant().signum());
+			Assertions.assertThrows(ArithmeticException.class, () -> lu.solve(vector));
+			Assertions.assertThrows(ArithmeticException.class, () -> lu.inverse());
+			Assertions.assertThrows(ArithmeticException.class, () -> MathUtil.calculateInverse(matrix, MC));
+		}
+		
+		// Every singular [[p, p * k], [q, q * k]]
+		for (int p = 1; p <= 20; p++) {
+			for (int q = 1; q <= 20; q++) {
+				for (int k = 1; k <= 5; k++) {
+					BigDecimal[][] matrix = {
+						{ BigDecimal.valueOf(p), BigDecimal.valueOf(p * k) },
+						{ BigDecimal.valueOf(q), BigDecimal.valueOf(q * k) }
+					};
+					
+					Assertions.assertTrue(LUDecomposition.of(matrix, MC).isSingular());
+				}
+			}
+		}
+		
+		// Small, but regular
+		BigDecimal[][] small = { { new BigDecimal("1E-40"), BigDecimal.ZERO }, { BigDecimal.ZERO, new BigDecimal("1E-60") } };
+		Assertions.assertFalse(LUDecomposition.of(small, MC).isSingular());
+	}
+}
@@ -3,11 +3,14 @@ package ch.pbu.rf;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import ch.obermuhlner.math.big.BigDecimalMath;
 import ch.yanicksenn.testing.Testing;
 
 /**
@@ -20,6 +23,12 @@ class MathUtilTest {
 	private static final MathContext MC = new MathContext(100, RoundingMode.HALF_UP);
 	private static final BigDecimal DELTA = new BigDecimal("0.001");
 
+	@Test
+	@DisplayName(value = "Test: PI")
+	void testPI() {
+		Assertions.assertEquals(BigDecimalMath.pi(MC), MathUtil.PI);
+	}
+
 	@Test
 	@DisplayName(value = "Test: toRadians(BigDecimal, MathContext)")
 	void testToRadians() {
@@ -329,6 +338,145 @@ class MathUtilTest {
 	}
 	
 
+	@Test
+	@DisplayName(value = "Test: calculateProductParallel(BigDecimal[][], BigDecimal[][], MathContext)")
+	void testCalculateProductParallel() {
+		BigDecimal[][] matrix1 = MathUtil.createMatrix(BigDecimal.ZERO, 1);
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProductParallel(null, matrix1, MC));
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProductParallel(matrix1, null, MC));
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProductParallel(matrix1, matrix1, null));
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProductParallel(matrix1, matrix1, MC, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> MathUtil.calculateProductParallel(
+			MathUtil.createMatrix(BigDecimal.ZERO, 2, 2), MathUtil.createMatrix(BigDecimal.ZERO, 3, 3), MC));
+		
+		Random random = new Random(42);
+		BigDecimal[][] matrix2 = createRandomExactMatrix(random, 40, 30);
+		BigDecimal[][] matrix3 = createRandomExactMatrix(random, 20, 40);
+		
+		BigDecimal[][] expected = MathUtil.calculateProduct(matrix2, matrix3, MC);
+		BigDecimal[][] result = MathUtil.calculateProductParallel(matrix2, matrix3, MC);
+		
+		Assertions.assertEquals(30, result.length);
+		Assertions.assertEquals(20, result[0].length);
+		
+		for (int y = 0; y < result.length; y++) {
+			for (int x = 0; x < result[y].length; x++) {
+				Assertions.assertEquals(0, expected[y][x].compareTo(result[y][x]));
+			}
+		}
+		
+		// Bigger than a block in every dimension; accumulation order equals the naive loop.
+		BigDecimal[][] matrix4 = createRandomExactMatrix(random, 70, 130);
+		BigDecimal[][] matrix5 = createRandomExactMatrix(random, 80, 70);
+		
+		expected = MathUtil.calculateProduct(matrix4, matrix5, MC);
+		result = MathUtil.calculateProductParallel(matrix4, matrix5, MC);
+		
+		for (int y = 0; y < result.length; y++) {
+			Assertions.assertArrayEquals(expected[y], result[y]);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculateProduct(double[][], double[][])")
+	void testCalculateProduct_double() {
+		double[][] matrix1 = { { 1.0 } };
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProduct(null, matrix1));
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProduct(matrix1, (double[][]) null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> MathUtil.calculateProduct(new double[0][], matrix1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> MathUtil.calculateProduct(new double[][] { { 1.0, 2.0 }, { 1.0 } }, matrix1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> MathUtil.calculateProduct(new double[2][2], new double[3][3]));
+		
+		double[][] matrix2 = { { 1.0, 2.0, 3.0 }, { 4.0, 5.0, 6.0 } };
+		double[][] matrix3 = { { 7.0, 8.0 }, { 9.0, 10.0 }, { 11.0, 12.0 } };
+		
+		double[][] result = MathUtil.calculateProduct(matrix2, matrix3);
+		Assertions.assertArrayEquals(new double[] { 58.0, 64.0 }, result[0]);
+		Assertions.assertArrayEquals(new double[] { 139.0, 154.0 }, result[1]);
+		
+		// Bigger than a block in every dimension; accumulation order equals the naive loop.
+		Random random = new Random(42);
+		double[][] matrix4 = createRandomMatrix(random, 150, 130);
+		double[][] matrix5 = createRandomMatrix(random, 70, 150);
+		
+		double[][] expected = calculateProductNaive(matrix4, matrix5);
+		double[][] actual = MathUtil.calculateProduct(matrix4, matrix5);
+		
+		for (int y = 0; y < expected.length; y++) {
+			Assertions.assertArrayEquals(expected[y], actual[y]);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculateProductParallel(double[][], double[][])")
+	void testCalculateProductParallel_double() {
+		double[][] matrix1 = { { 1.0 } };
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProductParallel(null, matrix1));
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProductParallel(matrix1, (double[][]) null));
+		Assertions.assertThrows(NullPointerException.class, () -> MathUtil.calculateProductParallel(matrix1, matrix1, null));
+		
+		Random random = new Random(42);
+		double[][] matrix2 = createRandomMatrix(random, 200, 300);
+		double[][] matrix3 = createRandomMatrix(random, 100, 200);
+		
+		double[][] expected = calculateProductNaive(matrix2, matrix3);
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			double[][] actual1 = MathUtil.calculateProductParallel(matrix2, matrix3);
+			double[][] actual2 = MathUtil.calculateProductParallel(matrix2, matrix3, pool);
+			
+			for (int y = 0; y < expected.length; y++) {
+				Assertions.assertArrayEquals(expected[y], actual1[y]);
+				Assertions.assertArrayEquals(expected[y], actual2[y]);
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static BigDecimal[][] createRandomExactMatrix(Random random, int width, int height) {
+		BigDecimal[][] matrix = MathUtil.createMatrix(BigDecimal.ZERO, width, height);
+		
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				matrix[y][x] = new BigDecimal(random.nextDouble() * 2.0 - 1.0);
+			}
+		}
+		
+		return matrix;
+	}
+	
+	private static double[][] createRandomMatrix(Random random, int width, int height) {
+		double[][] matrix = new double[height][width];
+		
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				matrix[y][x] = random.nextDouble() * 2.0 - 1.0;
+			}
+		}
+		
+		return matrix;
+	}
+	
+	private static double[][] calculateProductNaive(double[][] matrix1, double[][] matrix2) {
+		double[][] result = new double[matrix1.length][matrix2[0].length];
+		
+		for (int y = 0; y < matrix1.length; y++) {
+			for (int x = 0; x < matrix2[0].length; x++) {
+				double value = 0.0;
+				
+				for (int z = 0; z < matrix2.length; z++) {
+					value += matrix1[y][z] * matrix2[z][x];
+				}
+				
+				result[y][x] = value;
+			}
+		}
+		
+		return result;
+	}
+
 	@Test
 	@DisplayName(value = "Test: calculate3x3Inverse(BigDecimal[][], MathContext)")
 	void testCalculate3x3Inverse() {
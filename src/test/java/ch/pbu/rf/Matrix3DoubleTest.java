@@ -0,0 +1,80 @@
+package ch.pbu.rf;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.color.ColorUtilDouble;
+
+/**
+ * Test for {@link Matrix3Double} and {@link Vector3Double}.
+ * <p>
+ * Every operation is compared against the corresponding operation of {@link Matrix3}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: Matrix3Double")
+class Matrix3DoubleTest {
+	private static final double DELTA = ColorUtilDouble.ACCURACY;
+	
+	private static final Matrix3 M = RF.RGB.ColorSpace.sRGB.getRGBtoXYZMatrix();
+	private static final Matrix3 N = Matrix3.of(new BigDecimal[][] {
+		{ new BigDecimal("2"), new BigDecimal("-1"), new BigDecimal("0.5") },
+		{ new BigDecimal("0"), new BigDecimal("3"), new BigDecimal("7") },
+		{ new BigDecimal("-4"), new BigDecimal("1.25"), new BigDecimal("1") }
+	});
+	private static final Vector3 V = new Vector3(new BigDecimal("0.2"), new BigDecimal("0.4"), new BigDecimal("0.6"));
+	
+	@Test
+	@DisplayName(value = "Test: multiply(...)")
+	void testMultiply() {
+		Matrix3Double m = M.toDouble();
+		double[] result = new double[4];
+		
+		Assertions.assertThrows(NullPointerException.class, () -> m.multiply((Vector3Double) null));
+		Assertions.assertThrows(NullPointerException.class, () -> m.multiply(0, 0, 0, null, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.multiply(0, 0, 0, result, 2));
+		
+		Vector3Double expected = M.multiply(V, RF.MC).toDouble();
+		assertEquals(expected.toArray(), m.multiply(V.toDouble()).toArray());
+		
+		m.multiply(0.2, 0.4, 0.6, result, 1);
+		assertEquals(expected.toArray(), new double[] { result[1], result[2], result[3] });
+		
+		assertEquals(M.multiply(N, RF.MC).toDouble(), m.multiply(N.toDouble()));
+		assertEquals(M.multiplyDiagonal(V, RF.MC).toDouble(), m.multiplyDiagonal(V.toDouble()));
+		Assertions.assertEquals(m, m.multiply(Matrix3Double.IDENTITY));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: determinant(), inverse() and transpose()")
+	void testInverse() {
+		for (Matrix3 matrix : new Matrix3[] { M, N }) {
+			Matrix3Double m = matrix.toDouble();
+			
+			Assertions.assertEquals(matrix.determinant(RF.MC).doubleValue(), m.determinant(), DELTA);
+			assertEquals(matrix.inverse(RF.MC).toDouble(), m.inverse());
+			assertEquals(matrix.transpose().toDouble(), m.transpose());
+		}
+		
+		Matrix3Double singular = new Matrix3Double(1, 2, 3, 2, 4, 6, 0, 1, 1);
+		Assertions.assertSame(singular, singular.inverse());
+	}
+	
+	
+	private static void assertEquals(Matrix3Double expected, Matrix3Double actual) {
+		for (int y = 0; y < 3; y++) {
+			assertEquals(expected.toArray()[y], actual.toArray()[y]);
+		}
+	}
+	
+	private static void assertEquals(double[] expected, double[] actual) {
+		Assertions.assertEquals(expected.length, actual.length);
+		
+		for (int i = 0; i < expected.length; i++) {
+			Assertions.assertEquals(expected[i], actual[i], DELTA);
+		}
+	}
+}
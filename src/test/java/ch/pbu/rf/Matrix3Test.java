@@ -0,0 +1,133 @@
+package ch.pbu.rf;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link Matrix3} and {@link Vector3}.
+ * <p>
+ * Every operation is compared against the corresponding operation of {@link MathUtil}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: Matrix3")
+class Matrix3Test {
+	private static final MathContext MC = RF.MC;
+	
+	private static final BigDecimal[][] M = {
+		{ bd("0.4124"), bd("0.3576"), bd("0.1805") },
+		{ bd("0.2126"), bd("0.7152"), bd("0.0722") },
+		{ bd("0.0193"), bd("0.1192"), bd("0.9505") }
+	};
+	
+	private static final BigDecimal[][] N = {
+		{ bd("2"), bd("-1"), bd("0.5") },
+		{ bd("0"), bd("3"), bd("7") },
+		{ bd("-4"), bd("1.25"), bd("1") }
+	};
+	
+	private static final BigDecimal[][] V = {
+		{ bd("0.2") },
+		{ bd("0.4") },
+		{ bd("0.6") }
+	};
+	
+	@Test
+	@DisplayName(value = "Test: of(BigDecimal[][])")
+	void testOf() {
+		Assertions.assertThrows(NullPointerException.class, () -> Matrix3.of(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Matrix3.of(V));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Vector3.of(M));
+		Assertions.assertThrows(NullPointerException.class, () -> new Matrix3(null, bd("0"), bd("0"), bd("0"), bd("0"), bd("0"), bd("0"), bd("0"), bd("0")));
+		Assertions.assertThrows(NullPointerException.class, () -> new Vector3(bd("0"), bd("0"), null));
+		
+		Matrix3 m = Matrix3.of(M);
+		assertEquals(M, m.toArray());
+		assertEquals(V, Vector3.of(V).toArray());
+		
+		Assertions.assertEquals(bd("0.7152"), m.get(1, 1));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> m.get(3, 0));
+		Assertions.assertEquals(m, Matrix3.of(M));
+		Assertions.assertEquals(m.hashCode(), Matrix3.of(M).hashCode());
+		
+		// The scale is ignored
+		Assertions.assertEquals(Matrix3.IDENTITY, new Matrix3(bd("1.00"), bd("0"), bd("0.0"), bd("0"), bd("1.0"), bd("0"), bd("0"), bd("0"), bd("1")));
+		Assertions.assertEquals(Matrix3.IDENTITY.hashCode(), new Matrix3(bd("1.00"), bd("0"), bd("0.0"), bd("0"), bd("1.0"), bd("0"), bd("0"), bd("0"), bd("1")).hashCode());
+		Assertions.assertNotEquals(Matrix3.IDENTITY, m);
+		Assertions.assertEquals(new Vector3(bd("1.0"), bd("2"), bd("0")), new Vector3(bd("1"), bd("2.00"), bd("0.000")));
+		Assertions.assertEquals(new Vector3(bd("1.0"), bd("2"), bd("0")).hashCode(), new Vector3(bd("1"), bd("2.00"), bd("0.000")).hashCode());
+		Assertions.assertNotEquals(new Vector3(bd("1"), bd("2"), bd("3")), new Vector3(bd("1"), bd("2"), bd("3.1")));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: multiply(Vector3, MathContext) and multiply(Matrix3, MathContext)")
+	void testMultiply() {
+		Matrix3 m = Matrix3.of(M);
+		
+		Assertions.assertThrows(NullPointerException.class, () -> m.multiply((Vector3) null, MC));
+		Assertions.assertThrows(NullPointerException.class, () -> m.multiply(Matrix3.IDENTITY, null));
+		
+		assertEquals(MathUtil.calculateProduct(M, V, MC), m.multiply(Vector3.of(V), MC).toArray());
+		assertEquals(MathUtil.calculateProduct(M, N, MC), m.multiply(Matrix3.of(N), MC).toArray());
+		assertEquals(M, m.multiply(Matrix3.IDENTITY, MC).toArray());
+		assertEquals(MathUtil.calculateProduct(M, Matrix3.diagonal(Vector3.of(V)).toArray(), MC), m.multiplyDiagonal(Vector3.of(V), MC).toArray());
+	}
+	
+	@Test
+	@DisplayName(value = "Test: determinant(MathContext), inverse(MathContext) and transpose()")
+	void testInverse() {
+		for (BigDecimal[][] matrix : new BigDecimal[][][] { M, N }) {
+			Matrix3 m = Matrix3.of(matrix);
+			
+			Assertions.assertEquals(MathUtil.calculate3x3Determinant(matrix, MC), m.determinant(MC));
+			assertEquals(MathUtil.calculate3x3Inverse(matrix, MC), m.inverse(MC).toArray());
+			assertEquals(MathUtil.calculate3x3Inverse(matrix, Precision.DIGITS_34), m.inverse(Precision.DIGITS_34).toArray());
+			
+			Matrix3 transpose = m.transpose();
+			for (int y = 0; y < 3; y++) {
+				for (int x = 0; x < 3; x++) {
+					Assertions.assertEquals(m.get(y, x), transpose.get(x, y));
+				}
+			}
+		}
+		
+		Matrix3 singular = Matrix3.of(new BigDecimal[][] { { bd("1"), bd("2"), bd("3") }, { bd("2"), bd("4"), bd("6") }, { bd("0"), bd("1"), bd("1") } });
+		Assertions.assertSame(singular, singular.inverse(MC));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: toDouble()")
+	void testToDouble() {
+		Matrix3Double m = Matrix3.of(M).toDouble();
+		Vector3Double v = Vector3.of(V).toDouble();
+		
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 3; x++) {
+				Assertions.assertEquals(M[y][x].doubleValue(), m.get(y, x));
+			}
+		}
+		
+		Assertions.assertArrayEquals(new double[] { 0.2, 0.4, 0.6 }, v.toArray());
+	}
+	
+	
+	private static void assertEquals(BigDecimal[][] expected, BigDecimal[][] actual) {
+		Assertions.assertEquals(expected.length, actual.length);
+		
+		for (int y = 0; y < expected.length; y++) {
+			Assertions.assertEquals(expected[y].length, actual[y].length);
+			
+			for (int x = 0; x < expected[y].length; x++) {
+				Assertions.assertEquals(0, expected[y][x].compareTo(actual[y][x]), String.format("(%d, %d): %s != %s", y, x, expected[y][x], actual[y][x]));
+			}
+		}
+	}
+	
+	private static BigDecimal bd(String val) {
+		return new BigDecimal(val);
+	}
+}
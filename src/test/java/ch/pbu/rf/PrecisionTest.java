@@ -0,0 +1,125 @@
+package ch.pbu.rf;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.yanicksenn.testing.Testing;
+
+/**
+ * Test for {@link Precision}.
+ * <p>
+ * Every calculation with a reduced precision is compared against the calculation with {@link RF#MC}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: Precision")
+class PrecisionTest {
+	private static final MathContext MC = RF.MC;
+	private static final BigDecimal DELTA = new BigDecimal("1E-28");
+	
+	private static final ColorLab COLOR1 = new ColorLab(new BigDecimal("50.0000"), new BigDecimal("2.6772"), new BigDecimal("-79.7751"));
+	private static final ColorLab COLOR2 = new ColorLab(new BigDecimal("50.0000"), new BigDecimal("0.0000"), new BigDecimal("-82.7485"));
+	
+	@Test
+	@DisplayName(value = "Test: of(int)")
+	void testOf() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Precision.of(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Precision.of(MC.getPrecision() + 1));
+		
+		Assertions.assertSame(Precision.DIGITS_34, Precision.of(34));
+		Assertions.assertSame(Precision.DIGITS_50, Precision.of(50));
+		Assertions.assertSame(Precision.DIGITS_100, Precision.of(100));
+		Assertions.assertEquals(20, Precision.of(20).getPrecision());
+	}
+	
+	@Test
+	@DisplayName(value = "Test: check(MathContext)")
+	void testCheck() {
+		Assertions.assertThrows(NullPointerException.class, () -> Precision.check(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Precision.check(MathContext.UNLIMITED));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Precision.check(new MathContext(MC.getPrecision() + 1)));
+		
+		Assertions.assertSame(Precision.DECIMAL128, Precision.check(Precision.DECIMAL128));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculateDeltaE(ColorLab, ColorLab, MathContext)")
+	void testCalculateDeltaE() {
+		for (Delta delta : Delta.values()) {
+			Assertions.assertThrows(NullPointerException.class, () -> delta.calculate(COLOR1, COLOR2, null));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> delta.calculate(COLOR1, COLOR2, MathContext.UNLIMITED));
+			
+			BigDecimal expected = delta.calculate(COLOR1, COLOR2);
+			
+			for (MathContext mc : new MathContext[] { Precision.DECIMAL128, Precision.DIGITS_34, Precision.DIGITS_50 }) {
+				BigDecimal actual = delta.calculate(COLOR1, COLOR2, mc);
+				
+				Assertions.assertTrue(actual.precision() <= mc.getPrecision());
+				Testing.assertEquals(expected, actual, DELTA, MC);
+			}
+			
+			Testing.assertEquals(expected, delta.calculate(COLOR1, COLOR2, Precision.DECIMAL64), new BigDecimal("1E-12"), MC);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convert(Color, Illuminant, MathContext)")
+	void testConvert() {
+		MathContext mc = Precision.DIGITS_34;
+		
+		ColorXYZ expectedXYZ = ColorUtil.convertToXYZ(COLOR1, RF.CIE1931.D65);
+		ColorXYZ actualXYZ = ColorUtil.convertToXYZ(COLOR1, RF.CIE1931.D65, mc);
+		Testing.assertEquals(expectedXYZ.getX(), actualXYZ.getX(), DELTA, MC);
+		Testing.assertEquals(expectedXYZ.getY(), actualXYZ.getY(), DELTA, MC);
+		Testing.assertEquals(expectedXYZ.getZ(), actualXYZ.getZ(), DELTA, MC);
+		
+		ColorLab expectedLab = ColorUtil.convertToLab(expectedXYZ, RF.CIE1931.D65);
+		ColorLab actualLab = ColorUtil.convertToLab(actualXYZ, RF.CIE1931.D65, mc);
+		Testing.assertEquals(expectedLab.getL(), actualLab.getL(), DELTA, MC);
+		Testing.assertEquals(expectedLab.getA(), actualLab.getA(), DELTA, MC);
+		Testing.assertEquals(expectedLab.getB(), actualLab.getB(), DELTA, MC);
+		
+		ColorRGB rgb = new ColorRGB(new BigDecimal("0.2"), new BigDecimal("0.4"), new BigDecimal("0.6"));
+		expectedXYZ = ColorUtil.convertToXYZ(rgb, RF.CIE1931.D65);
+		actualXYZ = ColorUtil.convertToXYZ(rgb, RF.CIE1931.D65, mc);
+		Testing.assertEquals(expectedXYZ.getX(), actualXYZ.getX(), DELTA, MC);
+		Testing.assertEquals(expectedXYZ.getY(), actualXYZ.getY(), DELTA, MC);
+		Testing.assertEquals(expectedXYZ.getZ(), actualXYZ.getZ(), DELTA, MC);
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculate3x3Inverse(BigDecimal[][], MathContext)")
+	void testCalculate3x3Inverse() {
+		BigDecimal[][] m = RF.RGB.ColorSpace.sRGB.getRGBtoXYZTransformationMatrix();
+		BigDecimal[][] expected = MathUtil.calculate3x3Inverse(m, MC);
+		BigDecimal[][] actual = MathUtil.calculate3x3Inverse(MathUtil.round(m, Precision.DIGITS_34), Precision.DIGITS_34);
+		
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 3; x++) {
+				Assertions.assertTrue(actual[y][x].precision() <= Precision.DIGITS_34.getPrecision());
+				Testing.assertEquals(expected[y][x], actual[y][x], DELTA, MC);
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculate...TransformationMatrix(ColorSpaceRGB, MathContext)")
+	void testCalculateTransformationMatrix() {
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtil.calculateRGBtoXYZTransformationMatrix(RF.RGB.ColorSpace.sRGB, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ColorUtil.calculateRGBtoXYZTransformationMatrix(RF.RGB.ColorSpace.sRGB, MathContext.UNLIMITED));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtil.calculateXYZtoRGBTransformationMatrix(RF.RGB.ColorSpace.sRGB, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ColorUtil.calculateXYZtoRGBTransformationMatrix(RF.RGB.ColorSpace.sRGB, MathContext.UNLIMITED));
+		
+		BigDecimal[][] actual = ColorUtil.calculateXYZtoRGBTransformationMatrix(RF.RGB.ColorSpace.sRGB, Precision.DIGITS_34);
+		Assertions.assertTrue(actual[0][0].precision() <= Precision.DIGITS_34.getPrecision());
+	}
+}
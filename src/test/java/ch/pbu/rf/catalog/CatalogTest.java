@@ -0,0 +1,135 @@
+package ch.pbu.rf.catalog;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.color.ColorType;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.pot.Pot;
+
+/**
+ * Test for {@link Catalog}.
+ *
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: Catalog")
+class CatalogTest {
+	
+	@Test
+	@DisplayName(value = "Test: open(Path)")
+	void testOpen() throws IOException {
+		Path file = Files.createTempFile("catalog", ".bin");
+		
+		try {
+			Assertions.assertThrows(NullPointerException.class, () -> Catalog.open(null));
+			Assertions.assertThrows(IOException.class, () -> Catalog.open(file));
+			
+			Files.write(file, new byte[100]);
+			Assertions.assertThrows(IOException.class, () -> Catalog.open(file));
+			
+			CatalogWriter.create(file, ColorType.XYZ, 8).close();
+			
+			Catalog catalog = Catalog.open(file);
+			Assertions.assertEquals(ColorType.XYZ, catalog.getColorType());
+			Assertions.assertEquals(0, catalog.size());
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> catalog.getColor(0));
+			
+			// Unknown version
+			byte[] bytes = Files.readAllBytes(file);
+			bytes[8] = 2;
+			Files.write(file, bytes);
+			Assertions.assertThrows(IOException.class, () -> Catalog.open(file));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: getColor(int), getName(int), getAmountInMilliliter(int) and getPot(int)")
+	void testGet() throws IOException {
+		Path file = Files.createTempFile("catalog", ".bin");
+		
+		try {
+			try (CatalogWriter writer = CatalogWriter.create(file, ColorType.LAB)) {
+				writer.append(createPot("Blau", "30.5", "10.25", "-60.125", 5000));
+				writer.append(new ColorLab(new BigDecimal("100"), BigDecimal.ZERO, BigDecimal.ZERO));
+				writer.append(createPot("Gr\u00FCn \u00FC", "50", "-40", "30", 750));
+				writer.append(createPot("Blau", "31", "11", "-59", 1000));
+			}
+			
+			Catalog catalog = Catalog.open(file);
+			Assertions.assertEquals(ColorType.LAB, catalog.getColorType());
+			Assertions.assertEquals(4, catalog.size());
+			
+			Assertions.assertEquals(new ColorLab(new BigDecimal("30.5"), new BigDecimal("10.25"), new BigDecimal("-60.125")), catalog.getColor(0));
+			Assertions.assertEquals("Blau", catalog.getName(0));
+			Assertions.assertEquals(5000, catalog.getAmountInMilliliter(0));
+			
+			Assertions.assertNull(catalog.getName(1));
+			Assertions.assertEquals(0, catalog.getAmountInMilliliter(1));
+			Assertions.assertEquals(100.0, catalog.getComponent(1, 0));
+			
+			Pot pot = catalog.getPot(2);
+			Assertions.assertEquals("Gr\u00FCn \u00FC", pot.getName());
+			Assertions.assertEquals(new ColorLab(new BigDecimal("50.0"), new BigDecimal("-40.0"), new BigDecimal("30.0")), pot.getColor());
+			Assertions.assertEquals(750, pot.getAmountInMilliliter());
+			
+			Assertions.assertEquals("Blau", catalog.getName(3));
+			
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> catalog.getName(4));
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> catalog.getComponent(-1, 0));
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> catalog.getComponent(0, 3));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: copyComponents(int, double[], double[], double[], int, int)")
+	void testCopyComponents() throws IOException {
+		Path file = Files.createTempFile("catalog", ".bin");
+		
+		try {
+			try (CatalogWriter writer = CatalogWriter.create(file, ColorType.XYZ)) {
+				for (int i = 0; i < 10; i++) {
+					writer.append(new ColorXYZ(BigDecimal.valueOf(i), BigDecimal.valueOf(i * 0.5), BigDecimal.valueOf(-i)));
+				}
+			}
+			
+			Catalog catalog = Catalog.open(file);
+			Assertions.assertThrows(IllegalStateException.class, () -> catalog.getPot(0));
+			Assertions.assertEquals(new ColorXYZ(BigDecimal.valueOf(3.0), BigDecimal.valueOf(1.5), BigDecimal.valueOf(-3.0)), catalog.getColor(3));
+			
+			double[] x = new double[5];
+			double[] y = new double[5];
+			double[] z = new double[5];
+			catalog.copyComponents(6, x, y, z, 1, 4);
+			
+			Assertions.assertArrayEquals(new double[] { 0, 6, 7, 8, 9 }, x);
+			Assertions.assertArrayEquals(new double[] { 0, 3, 3.5, 4, 4.5 }, y);
+			Assertions.assertArrayEquals(new double[] { 0, -6, -7, -8, -9 }, z);
+			
+			Assertions.assertThrows(NullPointerException.class, () -> catalog.copyComponents(0, null, y, z, 0, 1));
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> catalog.copyComponents(7, x, y, z, 0, 4));
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> catalog.copyComponents(0, x, y, z, 2, 4));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	
+	static Pot createPot(String name, String l, String a, String b, long amountInMilliliter) {
+		Pot result = new Pot();
+		result.setName(name);
+		result.setColor(new ColorLab(new BigDecimal(l), new BigDecimal(a), new BigDecimal(b)));
+		result.setAmountInMilliliter(amountInMilliliter);
+		return result;
+	}
+}
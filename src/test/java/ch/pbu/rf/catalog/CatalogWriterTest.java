@@ -0,0 +1,131 @@
+package ch.pbu.rf.catalog;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.color.ColorType;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.pbu.rf.pot.Pot;
+
+/**
+ * Test for {@link CatalogWriter}.
+ *
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: CatalogWriter")
+class CatalogWriterTest {
+	
+	@Test
+	@DisplayName(value = "Test: create(Path, ColorType, int)")
+	void testCreate() throws IOException {
+		Path file = Files.createTempFile("catalog", ".bin");
+		
+		try {
+			Assertions.assertThrows(NullPointerException.class, () -> CatalogWriter.create(null, ColorType.LAB));
+			Assertions.assertThrows(NullPointerException.class, () -> CatalogWriter.create(file, null));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> CatalogWriter.create(file, ColorType.RGB));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> CatalogWriter.create(file, ColorType.LAB, 0));
+			
+			try (CatalogWriter writer = CatalogWriter.create(file, ColorType.LAB)) {
+				Assertions.assertEquals(ColorType.LAB, writer.getColorType());
+				Assertions.assertEquals(0, writer.size());
+				
+				Assertions.assertThrows(NullPointerException.class, () -> writer.append((Pot) null));
+				Assertions.assertThrows(NullPointerException.class, () -> writer.append(new Pot()));
+				Assertions.assertThrows(IllegalArgumentException.class, () -> writer.append(new ColorXYZ(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)));
+				Assertions.assertThrows(IllegalArgumentException.class, () -> writer.append(new ColorRGB(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE)));
+				Assertions.assertEquals(0, writer.size());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: append(Pot) beyond the capacity and open(Path)")
+	void testAppend() throws IOException {
+		Path file = Files.createTempFile("catalog", ".bin");
+		Random random = new Random(1);
+		int length = 10_000;
+		Pot[] pots = new Pot[length];
+		
+		for (int i = 0; i < length; i++) {
+			// Names repeat, they are stored once.
+			pots[i] = CatalogTest.createPot("Pot " + random.nextInt(500),
+				String.valueOf(random.nextInt(10000) / 100.0),
+				String.valueOf(random.nextInt(20000) / 100.0 - 100),
+				String.valueOf(random.nextInt(20000) / 100.0 - 100),
+				random.nextInt(10000));
+		}
+		
+		try {
+			try (CatalogWriter writer = CatalogWriter.create(file, ColorType.LAB, 16)) {
+				for (int i = 0; i < 3000; i++) {
+					writer.append(pots[i]);
+				}
+				
+				writer.flush();
+				
+				// A catalog opened before the growth keeps the old file.
+				Catalog before = Catalog.open(file);
+				
+				for (int i = 3000; i < 5000; i++) {
+					writer.append(pots[i]);
+				}
+				
+				Assertions.assertEquals(5000, writer.size());
+				Assertions.assertEquals(3000, before.size());
+				assertEquals(pots, before);
+			}
+			
+			Assertions.assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+			
+			try (CatalogWriter writer = CatalogWriter.open(file)) {
+				Assertions.assertEquals(5000, writer.size());
+				
+				for (int i = 5000; i < length; i++) {
+					writer.append(pots[i]);
+				}
+				
+				writer.append(new ColorLab(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE), null, 1);
+			}
+			
+			Catalog catalog = Catalog.open(file);
+			Assertions.assertEquals(length + 1, catalog.size());
+			Assertions.assertNull(catalog.getName(length));
+			assertEquals(pots, catalog);
+			
+			// 500 distinct names of at most 7 bytes
+			Assertions.assertTrue(Files.size(file) < (long) length * 60);
+		} finally {
+			Files.delete(file);
+		}
+		
+		Assertions.assertThrows(NullPointerException.class, () -> CatalogWriter.open(null));
+		Assertions.assertThrows(IOException.class, () -> CatalogWriter.open(file));
+	}
+	
+	
+	private static void assertEquals(Pot[] expected, Catalog actual) {
+		for (int i = 0; i < actual.size() && i < expected.length; i++) {
+			Pot pot = actual.getPot(i);
+			
+			Assertions.assertEquals(expected[i].getName(), pot.getName());
+			Assertions.assertEquals(expected[i].getAmountInMilliliter(), pot.getAmountInMilliliter());
+			
+			ColorLab color = (ColorLab) expected[i].getColor();
+			Assertions.assertEquals(color.getL().doubleValue(), actual.getComponent(i, 0));
+			Assertions.assertEquals(color.getA().doubleValue(), actual.getComponent(i, 1));
+			Assertions.assertEquals(color.getB().doubleValue(), actual.getComponent(i, 2));
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package ch.pbu.rf.color;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.RF;
+
+/**
+ * Test for {@link ColorBatchUtil}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: ColorBatchUtil")
+class ColorBatchUtilTest {
+	private static final double DELTA = ColorUtilDouble.ACCURACY;
+	private static final int LENGTH = 100;
+	
+	
+	@Test
+	@DisplayName(value = "Test: convertRGBToXYZ(double[], double[], double[], ColorSpaceRGB, double[], double[], double[])")
+	void testConvertRGBToXYZ() {
+		double[][] rgb = RandomColors.createRGBPlanes(LENGTH, 1);
+		double[] x = new double[LENGTH];
+		double[] y = new double[LENGTH];
+		double[] z = new double[LENGTH];
+		
+		Assertions.assertThrows(NullPointerException.class, () -> ColorBatchUtil.convertRGBToXYZ(rgb[0], rgb[1], rgb[2], null, x, y, z));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorBatchUtil.convertRGBToXYZ(rgb[0], rgb[1], rgb[2], RF.RGB.ColorSpace.sRGB, x, y, new double[LENGTH - 1]));
+		
+		ColorBatchUtil.convertRGBToXYZ(rgb[0], rgb[1], rgb[2], RF.RGB.ColorSpace.sRGB, x, y, z);
+		
+		for (int i = 0; i < LENGTH; i++) {
+			double[] expected = ColorUtilDouble.convertRGBToXYZ(rgb[0][i], rgb[1][i], rgb[2][i], RF.CIE1931.D65);
+			Assertions.assertEquals(expected[0], x[i], DELTA);
+			Assertions.assertEquals(expected[1], y[i], DELTA);
+			Assertions.assertEquals(expected[2], z[i], DELTA);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convertXYZToLab(double[], double[], double[], Illuminant, double[], double[], double[])")
+	void testConvertXYZToLab() {
+		double[][] xyz = RandomColors.createRGBPlanes(LENGTH, 2);
+		double[] l = new double[LENGTH];
+		double[] a = new double[LENGTH];
+		double[] b = new double[LENGTH];
+		
+		Assertions.assertThrows(NullPointerException.class, () -> ColorBatchUtil.convertXYZToLab(xyz[0], xyz[1], xyz[2], null, l, a, b));
+		
+		ColorBatchUtil.convertXYZToLab(xyz[0], xyz[1], xyz[2], RF.CIE1931.D50, l, a, b);
+		
+		for (int i = 0; i < LENGTH; i++) {
+			assertLab(ColorUtilDouble.convertXYZToLab(xyz[0][i], xyz[1][i], xyz[2][i], RF.CIE1931.D50), l, a, b, i);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convertRGBToLab(...) - planar, interleaved float and interleaved byte")
+	void testConvertRGBToLab() {
+		double[][] rgb = RandomColors.createRGBPlanes(LENGTH, 3);
+		float[] rgbFloat = new float[LENGTH * 3];
+		byte[] rgbByte = new byte[LENGTH * 3];
+		
+		for (int i = 0; i < LENGTH; i++) {
+			for (int c = 0; c < 3; c++) {
+				rgbFloat[i * 3 + c] = (float) rgb[c][i];
+				rgbByte[i * 3 + c] = (byte) (i * 3 + c);
+			}
+		}
+		
+		double[] l = new double[LENGTH];
+		double[] a = new double[LENGTH];
+		double[] b = new double[LENGTH];
+		
+		ColorBatchUtil.convertRGBToLab(rgb[0], rgb[1], rgb[2], RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b);
+		for (int i = 0; i < LENGTH; i++) {
+			assertLab(expectedLab(rgb[0][i], rgb[1][i], rgb[2][i]), l, a, b, i);
+		}
+		
+		ColorBatchUtil.convertRGBToLab(rgbFloat, 0, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, LENGTH);
+		for (int i = 0; i < LENGTH; i++) {
+			assertLab(expectedLab(rgbFloat[i * 3], rgbFloat[i * 3 + 1], rgbFloat[i * 3 + 2]), l, a, b, i);
+		}
+		
+		ColorBatchUtil.convertRGBToLab(rgbByte, 1, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, LENGTH - 1);
+		for (int i = 0; i < LENGTH - 1; i++) {
+			int j = (i + 1) * 3;
+			assertLab(expectedLab((rgbByte[j] & 0xFF) / 255.0, (rgbByte[j + 1] & 0xFF) / 255.0, (rgbByte[j + 2] & 0xFF) / 255.0), l, a, b, i);
+		}
+		
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorBatchUtil.convertRGBToLab(rgbByte, 1, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, LENGTH));
+		
+		// offset * 3 would overflow to 2
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorBatchUtil.convertRGBToLab(rgbByte, 1431655766, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorBatchUtil.convertRGBToLab(rgbFloat, 1431655766, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, 0));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convertEncodedRGBToLab(...) - interleaved byte and interleaved short")
+	void testConvertEncodedRGBToLab() {
+		Random random = new Random(4);
+		byte[] rgbByte = new byte[LENGTH * 3];
+		short[] rgbShort = new short[LENGTH * 3];
+		
+		random.nextBytes(rgbByte);
+		for (int i = 0; i < rgbShort.length; i++) {
+			rgbShort[i] = (short) random.nextInt(65536);
+		}
+		
+		double[] l = new double[LENGTH];
+		double[] a = new double[LENGTH];
+		double[] b = new double[LENGTH];
+		
+		ColorBatchUtil.convertEncodedRGBToLab(rgbByte, 0, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, LENGTH);
+		for (int i = 0; i < LENGTH; i++) {
+			int j = i * 3;
+			assertLab(expectedLab(
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection((rgbByte[j] & 0xFF) / 255.0),
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection((rgbByte[j + 1] & 0xFF) / 255.0),
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection((rgbByte[j + 2] & 0xFF) / 255.0)), l, a, b, i);
+		}
+		
+		ColorBatchUtil.convertEncodedRGBToLab(rgbShort, 0, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, LENGTH);
+		for (int i = 0; i < LENGTH; i++) {
+			int j = i * 3;
+			assertLab(expectedLab(
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection((rgbShort[j] & 0xFFFF) / 65535.0),
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection((rgbShort[j + 1] & 0xFFFF) / 65535.0),
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection((rgbShort[j + 2] & 0xFFFF) / 65535.0)), l, a, b, i);
+		}
+		
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorBatchUtil.convertEncodedRGBToLab(rgbShort, 1, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, LENGTH));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorBatchUtil.convertEncodedRGBToLab(rgbShort, 1431655766, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorBatchUtil.convertEncodedRGBToLab(rgbByte, 1431655766, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, l, a, b, 0, 0));
+	}
+	
+	
+	private static double[] expectedLab(double r, double g, double b) {
+		double[] xyz = ColorUtilDouble.convertRGBToXYZ(r, g, b, RF.CIE1931.D65);
+		return ColorUtilDouble.convertXYZToLab(xyz[0], xyz[1], xyz[2], RF.CIE1931.D50);
+	}
+	
+	private static void assertLab(double[] expected, double[] l, double[] a, double[] b, int index) {
+		Assertions.assertEquals(expected[0], l[index], DELTA);
+		Assertions.assertEquals(expected[1], a[index], DELTA);
+		Assertions.assertEquals(expected[2], b[index], DELTA);
+	}
+}
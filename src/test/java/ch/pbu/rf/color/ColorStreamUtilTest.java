@@ -0,0 +1,143 @@
+package ch.pbu.rf.color;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+
+/**
+ * Test for {@link ColorStreamUtil}.
+ *
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: ColorStreamUtil")
+class ColorStreamUtilTest {
+	private static final double DELTA = ColorUtilDouble.ACCURACY;
+	private static final int LENGTH = 10_000;
+	
+	
+	@Test
+	@DisplayName(value = "Test: convertRGBToXYZ(Stream, ColorSpaceRGB, int)")
+	void testConvertRGBToXYZ() {
+		List<ColorRGB> colors = RandomColors.createRGB(LENGTH, 1);
+		
+		Assertions.assertThrows(NullPointerException.class, () -> ColorStreamUtil.convertRGBToXYZ(null, RF.RGB.ColorSpace.sRGB));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorStreamUtil.convertRGBToXYZ(colors.stream(), null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ColorStreamUtil.convertRGBToXYZ(colors.stream(), RF.RGB.ColorSpace.sRGB, 0));
+		
+		List<ColorXYZ> result = ColorStreamUtil.convertRGBToXYZ(colors.stream(), RF.RGB.ColorSpace.sRGB, 7).collect(Collectors.toList());
+		
+		Assertions.assertEquals(LENGTH, result.size());
+		
+		for (int i = 0; i < LENGTH; i++) {
+			ColorRGB color = colors.get(i);
+			double[] expected = ColorUtilDouble.convertRGBToXYZ(color.getR().doubleValue(), color.getG().doubleValue(), color.getB().doubleValue(), RF.CIE1931.D65);
+			
+			Assertions.assertEquals(expected[0], result.get(i).getX().doubleValue(), DELTA);
+			Assertions.assertEquals(expected[1], result.get(i).getY().doubleValue(), DELTA);
+			Assertions.assertEquals(expected[2], result.get(i).getZ().doubleValue(), DELTA);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convertXYZToLab(Stream, Illuminant)")
+	void testConvertXYZToLab() {
+		List<ColorXYZ> colors = ColorStreamUtil.convertRGBToXYZ(RandomColors.createRGB(LENGTH, 2).stream(), RF.RGB.ColorSpace.sRGB).collect(Collectors.toList());
+		
+		Assertions.assertThrows(NullPointerException.class, () -> ColorStreamUtil.convertXYZToLab(colors.stream(), null));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorStreamUtil.convertXYZToLab(Stream.of((ColorXYZ) null), RF.CIE1931.D50).count());
+		
+		List<ColorLab> result = ColorStreamUtil.convertXYZToLab(colors.stream(), RF.CIE1931.D50).collect(Collectors.toList());
+		
+		Assertions.assertEquals(LENGTH, result.size());
+		
+		for (int i = 0; i < LENGTH; i++) {
+			ColorXYZ color = colors.get(i);
+			assertLab(ColorUtilDouble.convertXYZToLab(color.getX().doubleValue(), color.getY().doubleValue(), color.getZ().doubleValue(), RF.CIE1931.D50), result.get(i));
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convertRGBToLab(Stream, ColorSpaceRGB, Illuminant) with a parallel stream")
+	void testConvertRGBToLab_parallel() {
+		List<ColorRGB> colors = RandomColors.createRGB(LENGTH, 3);
+		
+		Stream<ColorLab> stream = ColorStreamUtil.convertRGBToLab(colors.stream().parallel(), RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, 64);
+		Assertions.assertTrue(stream.isParallel());
+		
+		List<ColorLab> result = stream.collect(Collectors.toList());
+		
+		Assertions.assertEquals(LENGTH, result.size());
+		
+		for (int i = 0; i < LENGTH; i++) {
+			ColorRGB color = colors.get(i);
+			double[] xyz = ColorUtilDouble.convertRGBToXYZ(color.getR().doubleValue(), color.getG().doubleValue(), color.getB().doubleValue(), RF.CIE1931.D65);
+			assertLab(ColorUtilDouble.convertXYZToLab(xyz[0], xyz[1], xyz[2], RF.CIE1931.D65), result.get(i));
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convertRGBToLab(Stream, ColorSpaceRGB, Illuminant) with an infinite stream")
+	void testConvertRGBToLab_infinite() {
+		Random random = new Random(4);
+		AtomicInteger pulled = new AtomicInteger();
+		AtomicBoolean closed = new AtomicBoolean();
+		
+		Stream<ColorRGB> colors = Stream.generate(() -> RandomColors.createRGB(random))
+			.peek(color -> pulled.incrementAndGet())
+			.onClose(() -> closed.set(true));
+		
+		try (Stream<ColorLab> stream = ColorStreamUtil.convertRGBToLab(colors, RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65)) {
+			Assertions.assertEquals(2500, stream.limit(2500).count());
+		}
+		
+		Assertions.assertTrue(pulled.get() <= 2500 + ColorStreamUtil.DEFAULT_BATCH_SIZE);
+		Assertions.assertTrue(closed.get());
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculateDeltaE(ColorLab, Stream, DeltaECalculatorDelegate)")
+	void testCalculateDeltaE() {
+		List<ColorLab> samples = ColorStreamUtil.convertRGBToLab(RandomColors.createRGB(LENGTH, 5).stream(), RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65).collect(Collectors.toList());
+		ColorLab reference = new ColorLab(new BigDecimal("50"), new BigDecimal("10"), new BigDecimal("-10"));
+		
+		Assertions.assertThrows(NullPointerException.class, () -> ColorStreamUtil.calculateDeltaE(null, samples.stream(), Delta.E2000));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorStreamUtil.calculateDeltaE(reference, samples.stream(), null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ColorStreamUtil.calculateDeltaE(reference, samples.stream(), Delta.E2000, -1));
+		
+		for (Delta delta : Delta.values()) {
+			double[] sequential = ColorStreamUtil.calculateDeltaE(reference, samples.stream(), delta, 100).toArray();
+			double[] parallel = ColorStreamUtil.calculateDeltaE(reference, samples.stream().parallel(), delta, 100).toArray();
+			
+			Assertions.assertEquals(LENGTH, sequential.length);
+			Assertions.assertArrayEquals(sequential, parallel);
+			
+			IntStream.range(0, LENGTH).forEach(i -> {
+				ColorLab sample = samples.get(i);
+				double expected = delta.calculate(50, 10, -10, sample.getL().doubleValue(), sample.getA().doubleValue(), sample.getB().doubleValue());
+				Assertions.assertEquals(expected, sequential[i], DELTA);
+			});
+		}
+	}
+	
+	
+	private static void assertLab(double[] expected, ColorLab actual) {
+		Assertions.assertEquals(expected[0], actual.getL().doubleValue(), DELTA);
+		Assertions.assertEquals(expected[1], actual.getA().doubleValue(), DELTA);
+		Assertions.assertEquals(expected[2], actual.getB().doubleValue(), DELTA);
+	}
+}
@@ -0,0 +1,265 @@
+package ch.pbu.rf.color;
+
+import static ch.pbu.rf.MathUtil.bd;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+
+/**
+ * Test for {@link ColorUtilDouble}.
+ * <p>
+ * Every result is compared against the exact {@link ColorUtil} result.
+ *
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: ColorUtilDouble")
+class ColorUtilDoubleTest {
+	private static final MathContext MC = new MathContext(100, RoundingMode.HALF_UP);
+	private static final double DELTA = ColorUtilDouble.ACCURACY;
+
+	private static final String[][] LAB_PAIRS = {
+		{ "52.1",  "42.18",  "20.92",  "52",   "41",    "25"    },
+		{ "70.23", "-12.36", "-13.86", "68.2", "-13.8", "-14.4" },
+		{ "53.13", "-34.86", "13.39",  "53",   "-34",   "17"    },
+		{ "65.46", "25.91",  "-0.41",  "63.6", "26.4",  "-0.5"  },
+		{ "40.65", "7.39",   "-21.43", "41",   "7",     "-22"   },
+		{ "80.72", "-3.89",  "36.85",  "80.3", "-1.8",  "34.2"  },
+		{ "36.23", "1.41",   "4.48",   "0",    "0",     "0"     },
+		{ "75.61", "0.73",   "4.84",   "0",    "0",     "0"     },
+		{ "57.02", "-22.23", "-29.89", "57",   "-23",   "-27"   },
+		{ "62.48", "1.56",   "4.18",   "0",    "0",     "0"     },
+		{ "53.94", "45.5",   "0.53",   "54",   "44",    "-2"    },
+		{ "61.31", "0.15",   "3.45",   "58.6", "0.6",   "4"     },
+		{ "79.35", "-4.04",  "61.3",   "78",   "-3",    "58"    },
+		{ "51.81", "1.71",   "3.13",   "0",    "0",     "0"     },
+		{ "82.63", "-0.58",  "3.35",   "80",   "0.01",  "0.01"  },
+		{ "35.61", "1.3",    "2.35",   "38",   "0.01",  "0.01"  },
+	};
+
+
+	@Test
+	@DisplayName(value = "Test: calculateReferenceWhite(Illuminant)")
+	void testCalculateReferenceWhite() {
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.calculateReferenceWhite(null));
+
+		ColorXYZ expected = ColorUtil.calculateReferenceWhite(RF.CIE1964.D50);
+		double[] actual = ColorUtilDouble.calculateReferenceWhite(RF.CIE1964.D50);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	@DisplayName(value = "Test: convertToXYZ(ColorLab, Illuminant)")
+	void testConvertToXYZ_lab() {
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.convertToXYZ((ColorLab) null, RF.CIE1931.D50));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.convertToXYZ(new ColorLab(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO), null));
+
+		for (String[] pair : LAB_PAIRS) {
+			ColorLab color = new ColorLab(bd(pair[0], MC), bd(pair[1], MC), bd(pair[2], MC));
+			assertEquals(ColorUtil.convertToXYZ(color, RF.CIE1931.D50), ColorUtilDouble.convertToXYZ(color, RF.CIE1931.D50));
+		}
+	}
+
+	@Test
+	@DisplayName(value = "Test: convertLabToXYZ(double, double, double, Illuminant) and back")
+	void testConvertLabToXYZ_roundTrip() {
+		for (String[] pair : LAB_PAIRS) {
+			double[] lab = { Double.parseDouble(pair[0]), Double.parseDouble(pair[1]), Double.parseDouble(pair[2]) };
+			double[] xyz = ColorUtilDouble.convertLabToXYZ(lab[0], lab[1], lab[2], RF.CIE1931.D65);
+			double[] back = ColorUtilDouble.convertXYZToLab(xyz[0], xyz[1], xyz[2], RF.CIE1931.D65);
+
+			Assertions.assertArrayEquals(lab, back, DELTA);
+		}
+	}
+
+	@Test
+	@DisplayName(value = "Test: convertToXYZ(ColorRGB, Illuminant)")
+	void testConvertToXYZ_rgb() {
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.convertToXYZ((ColorRGB) null, RF.CIE1931.D50));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.convertToXYZ(new ColorRGB(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO), null));
+
+		ColorRGB color = new ColorRGB(bd("0.5", MC), bd("0.25", MC), bd("0.75", MC));
+		assertEquals(ColorUtil.convertToXYZ(color, RF.CIE1931.D50), ColorUtilDouble.convertToXYZ(color, RF.CIE1931.D50));
+	}
+
+	@Test
+	@DisplayName(value = "Test: convertToLab(ColorXYZ, Illuminant)")
+	void testConvertToLab() {
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.convertToLab(null, RF.CIE1931.D50));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.convertToLab(new ColorXYZ(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO), null));
+
+		ColorXYZ color1 = new ColorXYZ(bd("0.300", MC), bd("0.700", MC), bd("0.200", MC));
+		assertEquals(ColorUtil.convertToLab(color1, RF.CIE1931.D50), ColorUtilDouble.convertToLab(color1, RF.CIE1931.D50));
+
+		ColorXYZ color2 = new ColorXYZ(bd("0.001", MC), bd("0.002", MC), bd("0.003", MC));
+		assertEquals(ColorUtil.convertToLab(color2, RF.CIE1931.D50), ColorUtilDouble.convertToLab(color2, RF.CIE1931.D50));
+	}
+
+	@Test
+	@DisplayName(value = "Test: calculateRGBtoXYZTransformationMatrix(ColorSpaceRGB)")
+	void testCalculateRGBtoXYZTransformationMatrix() {
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.calculateRGBtoXYZTransformationMatrix(null));
+
+		assertEquals(ColorUtil.calculateRGBtoXYZTransformationMatrix(RF.RGB.ColorSpace.sRGB), ColorUtilDouble.calculateRGBtoXYZTransformationMatrix(RF.RGB.ColorSpace.sRGB));
+		assertEquals(ColorUtil.calculateXYZtoRGBTransformationMatrix(RF.RGB.ColorSpace.AdobeRGB), ColorUtilDouble.calculateXYZtoRGBTransformationMatrix(RF.RGB.ColorSpace.AdobeRGB));
+	}
+
+	@Test
+	@DisplayName(value = "Test: calulateRGBtoXYZGammaCorrection(double) and calulateXYZtoRGBGammaCorrection(double)")
+	void testGammaCorrection() {
+		for (int i = 0; i <= 20; i++) {
+			BigDecimal val = bd(i, MC).divide(bd(20, MC), MC);
+			Assertions.assertEquals(ColorUtil.calulateRGBtoXYZGammaCorrection(val).doubleValue(), ColorUtilDouble.calulateRGBtoXYZGammaCorrection(val.doubleValue()), DELTA);
+			Assertions.assertEquals(ColorUtil.calulateXYZtoRGBGammaCorrection(val).doubleValue(), ColorUtilDouble.calulateXYZtoRGBGammaCorrection(val.doubleValue()), DELTA);
+		}
+	}
+
+	@Test
+	@DisplayName(value = "Test: calculateDeltaE1976(ColorLab, ColorLab)")
+	void testCalculateDeltaE1976() {
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.calculateDeltaE1976(null, new ColorLab(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO)));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.calculateDeltaE1976(new ColorLab(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO), null));
+
+		for (String[] pair : LAB_PAIRS) {
+			ColorLab color1 = new ColorLab(bd(pair[0], MC), bd(pair[1], MC), bd(pair[2], MC));
+			ColorLab color2 = new ColorLab(bd(pair[3], MC), bd(pair[4], MC), bd(pair[5], MC));
+
+			double expected = ColorUtil.calculateDeltaE1976(color1, color2).doubleValue();
+			Assertions.assertEquals(expected, ColorUtilDouble.calculateDeltaE1976(color1, color2), DELTA);
+			Assertions.assertEquals(expected, Delta.E1976.calculate(
+				color1.getL().doubleValue(), color1.getA().doubleValue(), color1.getB().doubleValue(),
+				color2.getL().doubleValue(), color2.getA().doubleValue(), color2.getB().doubleValue()), DELTA);
+		}
+	}
+
+	@Test
+	@DisplayName(value = "Test: calculateDeltaE2000(ColorLab, ColorLab)")
+	void testCalculateDeltaE2000() {
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.calculateDeltaE2000(null, new ColorLab(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO)));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.calculateDeltaE2000(new ColorLab(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO), null));
+
+		for (String[] pair : LAB_PAIRS) {
+			ColorLab color1 = new ColorLab(bd(pair[0], MC), bd(pair[1], MC), bd(pair[2], MC));
+			ColorLab color2 = new ColorLab(bd(pair[3], MC), bd(pair[4], MC), bd(pair[5], MC));
+
+			double expected = ColorUtil.calculateDeltaE2000(color1, color2).doubleValue();
+			Assertions.assertEquals(expected, ColorUtilDouble.calculateDeltaE2000(color1, color2), DELTA);
+			Assertions.assertEquals(expected, ColorUtilDouble.calculateDeltaE2000(color2, color1), DELTA);
+			Assertions.assertEquals(expected, Delta.E2000.calculate(
+				color1.getL().doubleValue(), color1.getA().doubleValue(), color1.getB().doubleValue(),
+				color2.getL().doubleValue(), color2.getA().doubleValue(), color2.getB().doubleValue()), DELTA);
+		}
+	}
+
+	@Test
+	@DisplayName(value = "Test: calculateDeltaE2000(ColorLab, ColorLab) with neutrality")
+	void testCalculateDeltaE2000_neutrality() {
+		ColorLab color = new ColorLab(bd("52.10", MC), bd("42.18", MC), bd("20.92", MC));
+		Assertions.assertEquals(0.0, ColorUtilDouble.calculateDeltaE2000(color, color));
+	}
+
+	@Test
+	@DisplayName(value = "Test: convert...(double, double, double, Illuminant, double[], int)")
+	void testConvertInto() {
+		double[] out = new double[5];
+
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.convertRGBToLab(0.5, 0.25, 0.75, null, out, 0));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtilDouble.convertRGBToLab(0.5, 0.25, 0.75, RF.CIE1931.D65, null, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorUtilDouble.convertRGBToLab(0.5, 0.25, 0.75, RF.CIE1931.D65, out, -1));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorUtilDouble.convertXYZToLab(0.5, 0.25, 0.75, RF.CIE1931.D65, out, 3));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorUtilDouble.convertRGBToXYZ(0.5, 0.25, 0.75, RF.CIE1931.D65, out, 3));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ColorUtilDouble.convertLabToXYZ(50, 10, -10, RF.CIE1931.D65, out, 3));
+
+		double[] xyz = ColorUtilDouble.convertRGBToXYZ(0.5, 0.25, 0.75, RF.CIE1931.D65);
+		ColorUtilDouble.convertRGBToXYZ(0.5, 0.25, 0.75, RF.CIE1931.D65, out, 2);
+		Assertions.assertArrayEquals(xyz, new double[] { out[2], out[3], out[4] });
+
+		double[] lab = ColorUtilDouble.convertXYZToLab(xyz[0], xyz[1], xyz[2], RF.CIE1931.D65);
+		ColorUtilDouble.convertXYZToLab(xyz[0], xyz[1], xyz[2], RF.CIE1931.D65, out, 1);
+		Assertions.assertArrayEquals(lab, new double[] { out[1], out[2], out[3] });
+
+		ColorUtilDouble.convertRGBToLab(0.5, 0.25, 0.75, RF.CIE1931.D65, out, 0);
+		Assertions.assertArrayEquals(lab, new double[] { out[0], out[1], out[2] });
+
+		double[] back = ColorUtilDouble.convertLabToXYZ(lab[0], lab[1], lab[2], RF.CIE1931.D65);
+		ColorUtilDouble.convertLabToXYZ(lab[0], lab[1], lab[2], RF.CIE1931.D65, out, 2);
+		Assertions.assertArrayEquals(back, new double[] { out[2], out[3], out[4] });
+	}
+
+	@Test
+	@DisplayName(value = "Test: convert...(double, double, double, Illuminant, double[], int) does not allocate")
+	void testConvertInto_allocation() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "allocated bytes are not available");
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+		Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported(), "allocated bytes are not supported");
+		threads.setThreadAllocatedMemoryEnabled(true);
+
+		double[] out = new double[3];
+		long id = Thread.currentThread().getId();
+		int n = 100_000;
+
+		// Loads and initializes every class on the path before measuring.
+		convertInto(out, n);
+
+		long overhead = threads.getThreadAllocatedBytes(id);
+		overhead = threads.getThreadAllocatedBytes(id) - overhead;
+
+		long before = threads.getThreadAllocatedBytes(id);
+		double sink = convertInto(out, n);
+		long after = threads.getThreadAllocatedBytes(id);
+
+		Assertions.assertFalse(Double.isNaN(sink));
+		Assertions.assertEquals(0, (after - before - overhead) / n, "bytes per conversion");
+	}
+
+
+	private static double convertInto(double[] out, int n) {
+		double result = 0.0;
+
+		for (int i = 0; i < n; i++) {
+			double v = (i % 256) / 255.0;
+
+			ColorUtilDouble.convertRGBToXYZ(v, 1.0 - v, 0.5, RF.CIE1931.D65, out, 0);
+			ColorUtilDouble.convertXYZToLab(out[0], out[1], out[2], RF.CIE1931.D65, out, 0);
+			ColorUtilDouble.convertLabToXYZ(out[0], out[1], out[2], RF.CIE1931.D65, out, 0);
+			ColorUtilDouble.convertRGBToLab(v, 0.5, 1.0 - v, RF.CIE1931.D65, out, 0);
+			result += out[0];
+		}
+
+		return result;
+	}
+
+	private static void assertEquals(ColorXYZ expected, double[] actual) {
+		Assertions.assertEquals(expected.getX().doubleValue(), actual[0], DELTA);
+		Assertions.assertEquals(expected.getY().doubleValue(), actual[1], DELTA);
+		Assertions.assertEquals(expected.getZ().doubleValue(), actual[2], DELTA);
+	}
+
+	private static void assertEquals(ColorLab expected, double[] actual) {
+		Assertions.assertEquals(expected.getL().doubleValue(), actual[0], DELTA);
+		Assertions.assertEquals(expected.getA().doubleValue(), actual[1], DELTA);
+		Assertions.assertEquals(expected.getB().doubleValue(), actual[2], DELTA);
+	}
+
+	private static void assertEquals(BigDecimal[][] expected, double[][] actual) {
+		for (int y = 0; y < expected.length; y++) {
+			for (int x = 0; x < expected[y].length; x++) {
+				Assertions.assertEquals(expected[y][x].doubleValue(), actual[y][x], DELTA);
+			}
+		}
+	}
+}
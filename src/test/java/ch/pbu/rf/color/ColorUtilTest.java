@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import ch.obermuhlner.math.big.BigDecimalMath;
 import ch.pbu.rf.RF;
 import ch.pbu.rf.color.deltae.Delta;
 import ch.pbu.rf.color.lab.ColorLab;
@@ -28,6 +29,14 @@ class ColorUtilTest {
 	private static final BigDecimal DELTA = bd("0.001", MC);
 
 
+	@Test
+	@DisplayName(value = "Test: E, K and PI")
+	void testConstants() {
+		Assertions.assertEquals(bd(216, MC).divide(bd(24389, MC), MC), ColorUtil.E);
+		Assertions.assertEquals(bd(24389, MC).divide(bd(27, MC), MC), ColorUtil.K);
+		Assertions.assertEquals(BigDecimalMath.pi(MC), ColorUtil.PI);
+	}
+	
 	@Test
 	@DisplayName(value = "Test: calculateReferenceWhite(Illuminant) - Exceptions")
 	void testCalculateReferenceWhite_exceptions() {
@@ -87,6 +96,29 @@ class ColorUtilTest {
 		Testing.assertEquals(bd("52.884", MC), lab.getB(), DELTA, MC);
 	}
 	
+	@Test
+	@DisplayName(value = "Test: convertToXYZ(ColorLab, Illuminant) - Round trip")
+	void testConvertToXYZColor_lab_roundTrip() {
+		ColorLab[] colors = {
+			new ColorLab(bd("86.996", MC), bd("-105.145", MC), bd("52.884", MC)),
+			new ColorLab(bd("52.1", MC), bd("42.18", MC), bd("20.92", MC)),
+			new ColorLab(bd("70.23", MC), bd("-12.36", MC), bd("-13.86", MC)),
+			new ColorLab(bd("5", MC), bd("1.5", MC), bd("-2", MC)),
+		};
+		
+		for (ColorLab color : colors) {
+			ColorLab lab = ColorUtil.convertToLab(ColorUtil.convertToXYZ(color, RF.CIE1931.D50), RF.CIE1931.D50);
+			Testing.assertEquals(color.getL(), lab.getL(), DELTA, MC);
+			Testing.assertEquals(color.getA(), lab.getA(), DELTA, MC);
+			Testing.assertEquals(color.getB(), lab.getB(), DELTA, MC);
+		}
+		
+		ColorXYZ xyz = ColorUtil.convertToXYZ(new ColorLab(bd("86.996", MC), bd("-105.145", MC), bd("52.884", MC)), RF.CIE1931.D50);
+		Testing.assertEquals(bd("0.300", MC), xyz.getX(), DELTA, MC);
+		Testing.assertEquals(bd("0.700", MC), xyz.getY(), DELTA, MC);
+		Testing.assertEquals(bd("0.200", MC), xyz.getZ(), DELTA, MC);
+	}
+	
 	@Test
 	@DisplayName(value = "Test: calculateRGBtoXYZTransformationMatrix(ColorSpaceRGB) - Exceptions")
 	void testCalculateRGBtoXYZTransformationMatrix_exceptions() {
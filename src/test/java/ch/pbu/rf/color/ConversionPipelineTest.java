@@ -0,0 +1,169 @@
+package ch.pbu.rf.color;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.yanicksenn.testing.Testing;
+
+/**
+ * Test for {@link ConversionPipeline}.
+ * <p>
+ * Every conversion to Lab is compared against the chain of {@link ColorUtil} and {@link ColorUtilDouble}
+ * calls, every conversion from Lab against the original color.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: ConversionPipeline")
+class ConversionPipelineTest {
+	private static final MathContext MC = Precision.DIGITS_34;
+	private static final BigDecimal DELTA = new BigDecimal("1E-25");
+	private static final double DELTA_DOUBLE = ColorUtilDouble.ACCURACY;
+	private static final int LENGTH = 50;
+	
+	@Test
+	@DisplayName(value = "Test: of(...)")
+	void testOf() {
+		Assertions.assertThrows(NullPointerException.class, () -> ConversionPipeline.of(null, RF.CIE1931.D65));
+		Assertions.assertThrows(NullPointerException.class, () -> ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, null));
+		Assertions.assertThrows(NullPointerException.class, () -> ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, false, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, false, MathContext.UNLIMITED));
+		
+		ConversionPipeline pipeline = ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50);
+		Assertions.assertEquals(RF.RGB.ColorSpace.sRGB, pipeline.getColorSpace());
+		Assertions.assertEquals(RF.CIE1931.D50, pipeline.getIlluminant());
+		Assertions.assertEquals(ColorUtil.MC, pipeline.getMathContext());
+		Assertions.assertFalse(pipeline.isEncoded());
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convertToLab(ColorRGB) and convertToRGB(ColorLab)")
+	void testConvertRGB() {
+		ConversionPipeline pipeline = ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, false, MC);
+		ConversionPipeline encoded = ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, true, MC);
+		
+		Assertions.assertThrows(NullPointerException.class, () -> pipeline.convertToLab((ColorRGB) null));
+		Assertions.assertThrows(NullPointerException.class, () -> pipeline.convertToRGB(null));
+		
+		Random random = new Random(42);
+		for (int i = 0; i < LENGTH; i++) {
+			ColorRGB rgb = new ColorRGB(new BigDecimal(random.nextDouble()), new BigDecimal(random.nextDouble()), new BigDecimal(random.nextDouble()));
+			
+			ColorLab expected = ColorUtil.convertToLab(ColorUtil.convertToXYZ(rgb, RF.CIE1931.D65, MC), RF.CIE1931.D65, MC);
+			ColorLab lab = pipeline.convertToLab(rgb);
+			assertEquals(expected, lab);
+			assertEquals(rgb, pipeline.convertToRGB(lab));
+			
+			ColorRGB linear = new ColorRGB(
+				ColorUtil.calulateRGBtoXYZGammaCorrection(rgb.getR(), MC),
+				ColorUtil.calulateRGBtoXYZGammaCorrection(rgb.getG(), MC),
+				ColorUtil.calulateRGBtoXYZGammaCorrection(rgb.getB(), MC));
+			
+			lab = encoded.convertToLab(rgb);
+			assertEquals(pipeline.convertToLab(linear), lab);
+			assertEquals(rgb, encoded.convertToRGB(lab));
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convertToLab(ColorXYZ) and convertToXYZ(ColorLab)")
+	void testConvertXYZ() {
+		ConversionPipeline pipeline = ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50, false, MC);
+		
+		Assertions.assertThrows(NullPointerException.class, () -> pipeline.convertToLab((ColorXYZ) null));
+		Assertions.assertThrows(NullPointerException.class, () -> pipeline.convertToXYZ(null));
+		
+		Random random = new Random(42);
+		for (int i = 0; i < LENGTH; i++) {
+			ColorXYZ xyz = new ColorXYZ(new BigDecimal(random.nextDouble()), new BigDecimal(random.nextDouble()), new BigDecimal(random.nextDouble()));
+			
+			ColorLab lab = pipeline.convertToLab(xyz);
+			assertEquals(ColorUtil.convertToLab(xyz, RF.CIE1931.D50, MC), lab);
+			
+			ColorXYZ result = pipeline.convertToXYZ(lab);
+			Testing.assertEquals(xyz.getX(), result.getX(), DELTA, MC);
+			Testing.assertEquals(xyz.getY(), result.getY(), DELTA, MC);
+			Testing.assertEquals(xyz.getZ(), result.getZ(), DELTA, MC);
+			
+			ColorXYZ expected = ColorUtil.convertToXYZ(lab, RF.CIE1931.D50, MC);
+			Testing.assertEquals(expected.getX(), result.getX(), DELTA, MC);
+			Testing.assertEquals(expected.getY(), result.getY(), DELTA, MC);
+			Testing.assertEquals(expected.getZ(), result.getZ(), DELTA, MC);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: convert...(double, double, double, double[], int)")
+	void testConvertDouble() {
+		ConversionPipeline pipeline = ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65);
+		ConversionPipeline encoded = ConversionPipeline.of(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, true, MC);
+		double[] result = new double[4];
+		double[] result2 = new double[3];
+		
+		Assertions.assertThrows(NullPointerException.class, () -> pipeline.convertRGBToLab(0, 0, 0, null, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> pipeline.convertRGBToLab(0, 0, 0, result, 2));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> pipeline.convertLabToRGB(0, 0, 0, result, -1));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> pipeline.convertXYZToLab(0, 0, 0, new double[2], 0));
+		Assertions.assertThrows(NullPointerException.class, () -> pipeline.convertLabToXYZ(0, 0, 0, null, 0));
+		
+		Random random = new Random(42);
+		for (int i = 0; i < LENGTH; i++) {
+			double r = random.nextDouble();
+			double g = random.nextDouble();
+			double b = random.nextDouble();
+			
+			double[] xyz = ColorUtilDouble.convertRGBToXYZ(r, g, b, RF.CIE1931.D65);
+			double[] lab = ColorUtilDouble.convertXYZToLab(xyz[0], xyz[1], xyz[2], RF.CIE1931.D65);
+			
+			pipeline.convertRGBToLab(r, g, b, result, 1);
+			assertEquals(lab, result, 1);
+			
+			pipeline.convertLabToRGB(lab[0], lab[1], lab[2], result, 1);
+			assertEquals(new double[] { r, g, b }, result, 1);
+			
+			pipeline.convertXYZToLab(xyz[0], xyz[1], xyz[2], result2, 0);
+			assertEquals(lab, result2, 0);
+			
+			pipeline.convertLabToXYZ(lab[0], lab[1], lab[2], result2, 0);
+			assertEquals(xyz, result2, 0);
+			assertEquals(ColorUtilDouble.convertLabToXYZ(lab[0], lab[1], lab[2], RF.CIE1931.D65), result2, 0);
+			
+			encoded.convertRGBToLab(r, g, b, result2, 0);
+			pipeline.convertRGBToLab(
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection(r),
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection(g),
+				ColorUtilDouble.calulateRGBtoXYZGammaCorrection(b), result, 0);
+			assertEquals(result2, result, 0);
+			
+			encoded.convertLabToRGB(result2[0], result2[1], result2[2], result2, 0);
+			assertEquals(new double[] { r, g, b }, result2, 0);
+		}
+	}
+	
+	private static void assertEquals(ColorLab expected, ColorLab actual) {
+		Testing.assertEquals(expected.getL(), actual.getL(), DELTA, MC);
+		Testing.assertEquals(expected.getA(), actual.getA(), DELTA, MC);
+		Testing.assertEquals(expected.getB(), actual.getB(), DELTA, MC);
+	}
+	
+	private static void assertEquals(ColorRGB expected, ColorRGB actual) {
+		Testing.assertEquals(expected.getR(), actual.getR(), DELTA, MC);
+		Testing.assertEquals(expected.getG(), actual.getG(), DELTA, MC);
+		Testing.assertEquals(expected.getB(), actual.getB(), DELTA, MC);
+	}
+	
+	private static void assertEquals(double[] expected, double[] actual, int offset) {
+		for (int i = 0; i < 3; i++) {
+			Assertions.assertEquals(expected[i], actual[offset + i], DELTA_DOUBLE);
+		}
+	}
+}
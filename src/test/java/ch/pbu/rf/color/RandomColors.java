@@ -0,0 +1,122 @@
+package ch.pbu.rf.color;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+
+/**
+ * Creates seeded random colors for the tests.
+ * <p>
+ * Lab values are within <code>L: [0, 100]</code> and <code>a, b: [-100, 100]</code>, RGB values
+ * within <code>[0, 1)</code>. The same seed always results in the same colors.
+ *
+ * @author Yanick Senn
+ */
+public final class RandomColors {
+	
+	/**
+	 * Private constructor.
+	 */
+	private RandomColors() {
+		throw new AssertionError();
+	}
+	
+	
+	/**
+	 * Creates <I>length</I> Lab-Colors as planes (<code>{l, a, b}</code>).
+	 *
+	 * @param length Number of colors.
+	 * @param seed Seed.
+	 *
+	 * @return L, a and b values.
+	 */
+	public static double[][] createLabPlanes(int length, long seed) {
+		Random random = new Random(seed);
+		double[][] result = new double[3][length];
+		
+		for (int i = 0; i < length; i++) {
+			result[0][i] = random.nextDouble() * 100;
+			result[1][i] = random.nextDouble() * 200 - 100;
+			result[2][i] = random.nextDouble() * 200 - 100;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Creates <I>length</I> RGB-Colors as planes (<code>{r, g, b}</code>).
+	 *
+	 * @param length Number of colors.
+	 * @param seed Seed.
+	 *
+	 * @return R, g and b values.
+	 */
+	public static double[][] createRGBPlanes(int length, long seed) {
+		Random random = new Random(seed);
+		double[][] result = new double[3][length];
+		
+		for (int c = 0; c < 3; c++) {
+			for (int i = 0; i < length; i++) {
+				result[c][i] = random.nextDouble();
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Creates <I>length</I> Lab-Colors with two decimal places.
+	 *
+	 * @param length Number of colors.
+	 * @param seed Seed.
+	 *
+	 * @return Lab-Colors.
+	 */
+	public static List<ColorLab> createLab(int length, long seed) {
+		Random random = new Random(seed);
+		return IntStream.range(0, length).mapToObj(i -> createLab(random)).collect(Collectors.toList());
+	}
+	
+	/**
+	 * Creates a Lab-Color with two decimal places.
+	 *
+	 * @param random Random.
+	 *
+	 * @return Lab-Color.
+	 */
+	public static ColorLab createLab(Random random) {
+		return new ColorLab(
+			BigDecimal.valueOf(random.nextInt(10001), 2),
+			BigDecimal.valueOf(random.nextInt(20001) - 10000, 2),
+			BigDecimal.valueOf(random.nextInt(20001) - 10000, 2));
+	}
+	
+	/**
+	 * Creates <I>length</I> RGB-Colors.
+	 *
+	 * @param length Number of colors.
+	 * @param seed Seed.
+	 *
+	 * @return RGB-Colors.
+	 */
+	public static List<ColorRGB> createRGB(int length, long seed) {
+		Random random = new Random(seed);
+		return IntStream.range(0, length).mapToObj(i -> createRGB(random)).collect(Collectors.toList());
+	}
+	
+	/**
+	 * Creates an RGB-Color.
+	 *
+	 * @param random Random.
+	 *
+	 * @return RGB-Color.
+	 */
+	public static ColorRGB createRGB(Random random) {
+		return new ColorRGB(BigDecimal.valueOf(random.nextDouble()), BigDecimal.valueOf(random.nextDouble()), BigDecimal.valueOf(random.nextDouble()));
+	}
+}
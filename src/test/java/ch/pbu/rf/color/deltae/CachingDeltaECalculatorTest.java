@@ -0,0 +1,135 @@
+package ch.pbu.rf.color.deltae;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.color.lab.ColorLab;
+
+/**
+ * Test for {@link CachingDeltaECalculator}.
+ *
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: CachingDeltaECalculator")
+class CachingDeltaECalculatorTest {
+
+	@Test
+	@DisplayName(value = "Test: CachingDeltaECalculator(DeltaECalculatorDelegate, ...)")
+	void testConstructor() {
+		Assertions.assertThrows(NullPointerException.class, () -> new CachingDeltaECalculator(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new CachingDeltaECalculator(Delta.E2000, 0, 4, true));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new CachingDeltaECalculator(Delta.E2000, 10, -1, true));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new CachingDeltaECalculator(Delta.E2000, 10, CachingDeltaECalculator.MAXIMUM_SCALE + 1, true));
+
+		CachingDeltaECalculator calculator = new CachingDeltaECalculator(Delta.E2000);
+		Assertions.assertEquals(Delta.E2000, calculator.getDelegate());
+		Assertions.assertEquals(CachingDeltaECalculator.DEFAULT_MAXIMUM_SIZE, calculator.getMaximumSize());
+		Assertions.assertEquals(CachingDeltaECalculator.DEFAULT_SCALE, calculator.getScale());
+		Assertions.assertTrue(calculator.isSymmetric());
+		Assertions.assertEquals(0, calculator.getSize());
+	}
+
+	@Test
+	@DisplayName(value = "Test: calculate(ColorLab, ColorLab)")
+	void testCalculate() {
+		CachingDeltaECalculator calculator = new CachingDeltaECalculator(Delta.E2000);
+		ColorLab color1 = lab("50.00001", "2.6772", "-79.7751");
+		ColorLab color2 = lab("50", "0", "-82.7485");
+
+		Assertions.assertThrows(NullPointerException.class, () -> calculator.calculate(null, color2));
+		Assertions.assertThrows(NullPointerException.class, () -> calculator.calculate(color1, null));
+
+		BigDecimal expected = Delta.E2000.calculate(lab("50", "2.6772", "-79.7751"), color2);
+
+		Assertions.assertEquals(expected, calculator.calculate(color1, color2));
+		Assertions.assertEquals(0, calculator.getHitCount());
+		Assertions.assertEquals(1, calculator.getMissCount());
+
+		// Hit with the same quantized colors and with the swapped order.
+		Assertions.assertEquals(expected, calculator.calculate(lab("50.00004", "2.67720", "-79.7751"), color2));
+		Assertions.assertEquals(expected, calculator.calculate(color2, color1));
+		Assertions.assertEquals(2, calculator.getHitCount());
+		Assertions.assertEquals(1, calculator.getMissCount());
+		Assertions.assertEquals(1, calculator.getSize());
+
+		Assertions.assertEquals(expected.round(Precision.DIGITS_34), calculator.calculate(color1, color2, Precision.DIGITS_34));
+		Assertions.assertTrue(calculator.isWithin(color1, color2, expected));
+		Assertions.assertFalse(calculator.isWithin(color1, color2, expected.subtract(new BigDecimal("1e-6"))));
+		Assertions.assertEquals(5, calculator.getHitCount());
+
+		calculator.clear();
+		Assertions.assertEquals(0, calculator.getSize());
+		Assertions.assertEquals(expected, calculator.calculate(color1, color2));
+		Assertions.assertEquals(2, calculator.getMissCount());
+	}
+
+	@Test
+	@DisplayName(value = "Test: calculate(ColorLab, ColorLab) with asymmetric delegate")
+	void testCalculateAsymmetric() {
+		AtomicInteger calls = new AtomicInteger();
+		DeltaECalculatorDelegate delegate = (color1, color2) -> {
+			calls.incrementAndGet();
+			return color1.getL().subtract(color2.getL());
+		};
+
+		CachingDeltaECalculator calculator = new CachingDeltaECalculator(delegate, 10, 2, false);
+		Assertions.assertFalse(calculator.isSymmetric());
+
+		ColorLab color1 = lab("10.004", "0", "0");
+		ColorLab color2 = lab("4", "0", "0");
+
+		Assertions.assertEquals(0, new BigDecimal("6.00").compareTo(calculator.calculate(color1, color2)));
+		Assertions.assertEquals(0, new BigDecimal("-6.00").compareTo(calculator.calculate(color2, color1)));
+		Assertions.assertEquals(0, new BigDecimal("6.00").compareTo(calculator.calculate(color1, color2)));
+		Assertions.assertEquals(2, calls.get());
+
+		Assertions.assertEquals(delegate.calculate(1, 2, 3, 4, 5, 6), calculator.calculate(1, 2, 3, 4, 5, 6));
+	}
+
+	@Test
+	@DisplayName(value = "Test: eviction")
+	void testEviction() {
+		CachingDeltaECalculator calculator = new CachingDeltaECalculator(Delta.E1976, 40, 2, true);
+		Random random = new Random(1);
+
+		for (int i = 0; i < 500; i++) {
+			ColorLab color1 = lab(random.nextInt(100), random.nextInt(200) - 100, random.nextInt(200) - 100);
+			ColorLab color2 = lab(random.nextInt(100), random.nextInt(200) - 100, random.nextInt(200) - 100);
+
+			Assertions.assertEquals(0, Delta.E1976.calculate(color1, color2).compareTo(calculator.calculate(color1, color2)));
+			Assertions.assertTrue(calculator.getSize() <= 40);
+		}
+
+		Assertions.assertEquals(40, calculator.getSize());
+		Assertions.assertEquals(calculator.getMissCount() - 40, calculator.getEvictionCount());
+
+		// The most recently used pair survives the next insertion into its segment.
+		ColorLab color1 = lab(1, 2, 3);
+		ColorLab color2 = lab(4, 5, 6);
+		calculator.calculate(color1, color2);
+		long misses = calculator.getMissCount();
+
+		for (int i = 0; i < 500; i++) {
+			calculator.calculate(color1, color2);
+			calculator.calculate(lab(i, 0, 0), lab(0, 0, 0));
+		}
+
+		calculator.calculate(color1, color2);
+		Assertions.assertEquals(misses + 500, calculator.getMissCount());
+	}
+
+
+	private static ColorLab lab(String l, String a, String b) {
+		return new ColorLab(new BigDecimal(l), new BigDecimal(a), new BigDecimal(b));
+	}
+
+	private static ColorLab lab(int l, int a, int b) {
+		return new ColorLab(BigDecimal.valueOf(l), BigDecimal.valueOf(a), BigDecimal.valueOf(b));
+	}
+}
@@ -0,0 +1,106 @@
+package ch.pbu.rf.color.deltae;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.pbu.rf.color.RandomColors;
+import ch.pbu.rf.color.lab.ColorLab;
+
+/**
+ * Test for {@link DeltaBatch}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: DeltaBatch")
+class DeltaBatchTest {
+	private static final int N = 300;
+	private static final int M = 70;
+	private static final double DELTA = ColorUtilDouble.ACCURACY;
+	
+	
+	@Test
+	@DisplayName(value = "Test: DeltaBatch(DeltaECalculatorDelegate, ...)")
+	void testConstructor() {
+		Assertions.assertThrows(NullPointerException.class, () -> new DeltaBatch(null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new DeltaBatch(Delta.E2000, 0));
+		
+		try (DeltaBatch batch = new DeltaBatch(Delta.E2000, 3)) {
+			Assertions.assertEquals(3, batch.getParallelism());
+			Assertions.assertEquals(Delta.E2000, batch.getDelegate());
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculate(double, double, double, double[], double[], double[], double[])")
+	void testCalculateReference() {
+		double[][] samples = RandomColors.createLabPlanes(N, 1);
+		double[] result = new double[N];
+		
+		try (DeltaBatch batch = new DeltaBatch(Delta.E2000, 4)) {
+			Assertions.assertThrows(IllegalArgumentException.class, () -> batch.calculate(50, 10, 10, samples[0], samples[1], new double[N - 1], result));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> batch.calculate(50, 10, 10, samples[0], samples[1], samples[2], new double[N - 1]));
+			
+			batch.calculate(50, 10, -10, samples[0], samples[1], samples[2], result);
+		}
+		
+		for (int j = 0; j < N; j++) {
+			Assertions.assertEquals(Delta.E2000.calculate(50, 10, -10, samples[0][j], samples[1][j], samples[2][j]), result[j], DELTA);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculate(double[], double[], double[], double[], double[], double[], double[])")
+	void testCalculatePairs() {
+		double[][] colors1 = RandomColors.createLabPlanes(N, 2);
+		double[][] colors2 = RandomColors.createLabPlanes(M, 3);
+		double[] result = new double[N * M];
+		
+		try (DeltaBatch batch = new DeltaBatch(Delta.E1976, 4)) {
+			batch.calculate(colors1[0], colors1[1], colors1[2], colors2[0], colors2[1], colors2[2], result);
+		}
+		
+		for (int i = 0; i < N; i++) {
+			for (int j = 0; j < M; j++) {
+				Assertions.assertEquals(Delta.E1976.calculate(colors1[0][i], colors1[1][i], colors1[2][i], colors2[0][j], colors2[1][j], colors2[2][j]), result[i * M + j], DELTA);
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculate(double[], double[], double[], double[])")
+	void testCalculateMatrix() {
+		double[][] colors = RandomColors.createLabPlanes(M, 4);
+		double[] result = new double[M * M];
+		double[] resultFull = new double[M * M];
+		
+		// Not a Delta, therefore calculated in full
+		DeltaECalculatorDelegate delegate = new DeltaECalculatorDelegate() {
+			@Override
+			public BigDecimal calculate(ColorLab color1, ColorLab color2) {
+				return Delta.E2000.calculate(color1, color2);
+			}
+			
+			@Override
+			public double calculate(double l1, double a1, double b1, double l2, double a2, double b2) {
+				return Delta.E2000.calculate(l1, a1, b1, l2, a2, b2);
+			}
+		};
+		
+		try (DeltaBatch batch = new DeltaBatch(Delta.E2000, 4); DeltaBatch batchFull = new DeltaBatch(delegate, 4)) {
+			batch.calculate(colors[0], colors[1], colors[2], result);
+			batchFull.calculate(colors[0], colors[1], colors[2], resultFull);
+		}
+		
+		for (int i = 0; i < M; i++) {
+			for (int j = 0; j < M; j++) {
+				double expected = Delta.E2000.calculate(colors[0][i], colors[1][i], colors[2][i], colors[0][j], colors[1][j], colors[2][j]);
+				Assertions.assertEquals(expected, result[i * M + j], 1e-12);
+				Assertions.assertEquals(expected, resultFull[i * M + j], 1e-12);
+			}
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package ch.pbu.rf.color.deltae;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.pbu.rf.color.RandomColors;
+import ch.pbu.rf.color.lab.ColorLab;
+
+/**
+ * Test for {@link Delta}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: Delta")
+class DeltaTest {
+	private static final double[] THRESHOLDS = { 0, 0.5, 1, 2, 5, 20 };
+	
+	
+	@Test
+	@DisplayName(value = "Test: isWithin(ColorLab, ColorLab, BigDecimal)")
+	void testIsWithin() {
+		Random random = new Random(1);
+		ColorLab color = RandomColors.createLab(random);
+		
+		for (Delta delta : Delta.values()) {
+			Assertions.assertThrows(NullPointerException.class, () -> delta.isWithin(color, color, null));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> delta.isWithin(color, color, BigDecimal.ONE.negate()));
+			Assertions.assertTrue(delta.isWithin(color, color, BigDecimal.ZERO));
+			
+			for (int i = 0; i < 60; i++) {
+				ColorLab color1 = RandomColors.createLab(random);
+				ColorLab color2 = i % 2 == 0 ? RandomColors.createLab(random) : createNearbyLab(random, color1);
+				BigDecimal expected = delta.calculate(color1, color2);
+				
+				for (double threshold : THRESHOLDS) {
+					BigDecimal t = BigDecimal.valueOf(threshold);
+					Assertions.assertEquals(expected.compareTo(t) <= 0, delta.isWithin(color1, color2, t));
+				}
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: isWithin(ColorLab, ColorLab, BigDecimal, MathContext)")
+	void testIsWithin_MathContext() {
+		Random random = new Random(4);
+		ColorLab color = RandomColors.createLab(random);
+		
+		for (Delta delta : Delta.values()) {
+			Assertions.assertThrows(NullPointerException.class, () -> delta.isWithin(color, color, BigDecimal.ONE, null));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> delta.isWithin(color, color, BigDecimal.ONE, new MathContext(0)));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> delta.isWithin(color, color, BigDecimal.ONE.negate(), Precision.DIGITS_34));
+			
+			for (MathContext mc : new MathContext[] { Precision.DECIMAL64, Precision.DIGITS_34 }) {
+				for (int i = 0; i < 40; i++) {
+					ColorLab color1 = RandomColors.createLab(random);
+					ColorLab color2 = i % 2 == 0 ? RandomColors.createLab(random) : createNearbyLab(random, color1);
+					BigDecimal expected = delta.calculate(color1, color2, mc);
+					
+					for (double threshold : THRESHOLDS) {
+						BigDecimal t = BigDecimal.valueOf(threshold);
+						Assertions.assertEquals(expected.compareTo(t) <= 0, delta.isWithin(color1, color2, t, mc));
+					}
+				}
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: isWithin(double, double, double, double, double, double, double)")
+	void testIsWithin_double() {
+		Random random = new Random(2);
+		
+		for (Delta delta : Delta.values()) {
+			Assertions.assertThrows(IllegalArgumentException.class, () -> delta.isWithin(50, 0, 0, 50, 0, 0, -1));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> delta.isWithin(50, 0, 0, 50, 0, 0, Double.NaN));
+			
+			for (int i = 0; i < 20000; i++) {
+				double l1 = random.nextDouble() * 100, a1 = random.nextDouble() * 200 - 100, b1 = random.nextDouble() * 200 - 100;
+				double scale = i % 2 == 0 ? 100 : 3;
+				double l2 = l1 + (random.nextDouble() * 2 - 1) * scale, a2 = a1 + (random.nextDouble() * 2 - 1) * scale, b2 = b1 + (random.nextDouble() * 2 - 1) * scale;
+				
+				double expected = delta.calculate(l1, a1, b1, l2, a2, b2);
+				
+				for (double threshold : THRESHOLDS) {
+					if (Math.abs(expected - threshold) > ColorUtilDouble.ACCURACY) {
+						Assertions.assertEquals(expected <= threshold, delta.isWithin(l1, a1, b1, l2, a2, b2, threshold));
+					}
+				}
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculate(double, double, double, double[], double[], double[], int, double[], int, int)")
+	void testCalculateSamples() {
+		Random random = new Random(3);
+		int length = 103;
+		double[] l = new double[length], a = new double[length], b = new double[length];
+		
+		for (int i = 0; i < length; i++) {
+			l[i] = random.nextDouble() * 100;
+			a[i] = random.nextDouble() * 200 - 100;
+			b[i] = random.nextDouble() * 200 - 100;
+		}
+		
+		l[0] = 0;
+		a[1] = 0;
+		b[1] = 0;
+		
+		for (Delta delta : Delta.values()) {
+			double[] result = new double[length + 2];
+			
+			Assertions.assertThrows(NullPointerException.class, () -> delta.calculate(50, 0, 0, l, a, b, 0, null, 0, length));
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> delta.calculate(50, 0, 0, l, a, b, 1, result, 0, length));
+			Assertions.assertThrows(IndexOutOfBoundsException.class, () -> delta.calculate(50, 0, 0, l, a, b, 0, result, 3, length));
+			
+			delta.calculate(l[5], a[5], b[5], l, a, b, 1, result, 2, length - 1);
+			
+			Assertions.assertEquals(0.0, result[0]);
+			Assertions.assertEquals(0.0, result[1]);
+			
+			for (int i = 1; i < length; i++) {
+				Assertions.assertEquals(delta.calculate(l[5], a[5], b[5], l[i], a[i], b[i]), result[i + 1], ColorUtilDouble.ACCURACY);
+			}
+		}
+	}
+	
+	
+	private static ColorLab createNearbyLab(Random random, ColorLab color) {
+		return new ColorLab(
+			color.getL().add(BigDecimal.valueOf(random.nextInt(301) - 150, 2)),
+			color.getA().add(BigDecimal.valueOf(random.nextInt(301) - 150, 2)),
+			color.getB().add(BigDecimal.valueOf(random.nextInt(301) - 150, 2)));
+	}
+}
@@ -0,0 +1,73 @@
+package ch.pbu.rf.color.lab;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.color.ColorUtil;
+
+/**
+ * Test for {@link ImmutableColorLab}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: ImmutableColorLab")
+class ImmutableColorLabTest {
+	
+	@Test
+	@DisplayName(value = "Test: ImmutableColorLab(BigDecimal, BigDecimal, BigDecimal)")
+	void testImmutableColorLab() {
+		Assertions.assertThrows(NullPointerException.class, () -> new ImmutableColorLab(null, BigDecimal.ZERO, BigDecimal.ZERO));
+		Assertions.assertThrows(NullPointerException.class, () -> new ImmutableColorLab(BigDecimal.ZERO, null, BigDecimal.ZERO));
+		Assertions.assertThrows(NullPointerException.class, () -> new ImmutableColorLab(BigDecimal.ZERO, BigDecimal.ZERO, null));
+		
+		ImmutableColorLab color = new ImmutableColorLab(new BigDecimal("50"), new BigDecimal("-20"), new BigDecimal("30"));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> color.setL(BigDecimal.ONE));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> color.setA(BigDecimal.ONE));
+		Assertions.assertThrows(UnsupportedOperationException.class, () -> color.setB(BigDecimal.ONE));
+		Assertions.assertEquals(0, new BigDecimal("50").compareTo(color.getL()));
+		
+		// Usable by every calculation accepting a ColorLab.
+		Assertions.assertEquals(0, BigDecimal.ZERO.compareTo(ColorUtil.calculateDeltaE2000(color, color)));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: of(ColorLab)")
+	void testOf() {
+		Assertions.assertThrows(NullPointerException.class, () -> ImmutableColorLab.of(null));
+		Assertions.assertThrows(NullPointerException.class, () -> ImmutableColorLab.of(new ColorLab(null, BigDecimal.ZERO, BigDecimal.ZERO)));
+		
+		ColorLab color = new ColorLab(new BigDecimal("50"), new BigDecimal("-20"), new BigDecimal("30"));
+		ImmutableColorLab immutable = ImmutableColorLab.of(color);
+		Assertions.assertSame(immutable, ImmutableColorLab.of(immutable));
+		
+		// The copy does not follow changes of the original.
+		color.setL(BigDecimal.ONE);
+		Assertions.assertEquals(0, new BigDecimal("50").compareTo(immutable.getL()));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: equals(Object) and hashCode()")
+	void testEquals() {
+		ImmutableColorLab color1 = new ImmutableColorLab(new BigDecimal("50"), new BigDecimal("-20"), new BigDecimal("0"));
+		ImmutableColorLab color2 = new ImmutableColorLab(new BigDecimal("50.000"), new BigDecimal("-2E+1"), new BigDecimal("0.00"));
+		ImmutableColorLab color3 = new ImmutableColorLab(new BigDecimal("50"), new BigDecimal("-20"), new BigDecimal("0.001"));
+		
+		Assertions.assertEquals(color1, color2);
+		Assertions.assertEquals(color1.hashCode(), color2.hashCode());
+		Assertions.assertNotEquals(color1, color3);
+		Assertions.assertNotEquals(color1, new ColorLab(color1.getL(), color1.getA(), color1.getB()));
+		Assertions.assertNotEquals(color1, null);
+		
+		Set<ColorLab> set = new HashSet<>();
+		set.add(color1);
+		set.add(color2);
+		set.add(color3);
+		Assertions.assertEquals(2, set.size());
+		Assertions.assertTrue(set.contains(new ImmutableColorLab(new BigDecimal("50.0"), new BigDecimal("-20.0"), BigDecimal.ZERO)));
+	}
+}
@@ -0,0 +1,123 @@
+package ch.pbu.rf.color.lab;
+
+import static ch.pbu.rf.MathUtil.bd;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.yanicksenn.testing.Testing;
+
+/**
+ * Test for {@link PreparedColorLab}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: PreparedColorLab")
+class PreparedColorLabTest {
+	private static final MathContext MC = new MathContext(100, RoundingMode.HALF_UP);
+	private static final BigDecimal DELTA = bd("0.000000000000000000000000000001", MC);
+	private static final BigDecimal[] THRESHOLDS = { bd("0", MC), bd("1", MC), bd("5", MC), bd("20", MC) };
+	
+	private static final ColorLab[] COLORS = {
+		new ColorLab(bd("52.1", MC), bd("42.18", MC), bd("20.92", MC)),
+		new ColorLab(bd("52", MC), bd("41", MC), bd("25", MC)),
+		new ColorLab(bd("70.23", MC), bd("-12.36", MC), bd("-13.86", MC)),
+		new ColorLab(bd("35.61", MC), bd("1.3", MC), bd("2.35", MC)),
+		new ColorLab(bd("80", MC), bd("0.01", MC), bd("0.01", MC)),
+		new ColorLab(bd("0", MC), bd("0", MC), bd("1", MC)),
+	};
+	
+	
+	@Test
+	@DisplayName(value = "Test: PreparedColorLab(ColorLab)")
+	void testPreparedColorLab() {
+		Assertions.assertThrows(NullPointerException.class, () -> new PreparedColorLab(null));
+		
+		ColorLab color = new ColorLab(bd("50", MC), bd("3", MC), bd("-4", MC));
+		PreparedColorLab prepared = new PreparedColorLab(color);
+		
+		Assertions.assertSame(color, prepared.getColor());
+		Testing.assertEquals(bd("5", MC), prepared.getC(), MC);
+		Assertions.assertEquals(5.0, prepared.getCAsDouble());
+		Assertions.assertEquals(16.0, prepared.getBSquaredAsDouble());
+		
+		PreparedColorLab black = new PreparedColorLab(new ColorLab(bd("0", MC), bd("0", MC), bd("0", MC)));
+		Assertions.assertNotEquals(0, black.getL().signum());
+		Assertions.assertNotEquals(0.0, black.getLAsDouble());
+	}
+	
+	@Test
+	@DisplayName(value = "Test: PreparedColorLab(ColorLab, MathContext)")
+	void testPreparedColorLab_MathContext() {
+		ColorLab color = new ColorLab(bd("50", MC), bd("3", MC), bd("-4", MC));
+		
+		Assertions.assertThrows(NullPointerException.class, () -> new PreparedColorLab(null, Precision.DIGITS_34));
+		Assertions.assertThrows(NullPointerException.class, () -> new PreparedColorLab(color, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new PreparedColorLab(color, new MathContext(0)));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new PreparedColorLab(color, new MathContext(101)));
+		
+		Assertions.assertSame(ColorUtil.MC, new PreparedColorLab(color).getMathContext());
+		Assertions.assertSame(Precision.DIGITS_34, new PreparedColorLab(color, Precision.DIGITS_34).getMathContext());
+		
+		PreparedColorLab black = new PreparedColorLab(new ColorLab(bd("0", MC), bd("0", MC), bd("0", MC)), Precision.DIGITS_34);
+		Assertions.assertEquals(0, ColorUtil.replaceZeroWithNearlyZero(BigDecimal.ZERO, Precision.DIGITS_34).compareTo(black.getL()));
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculateDeltaE2000(PreparedColorLab, PreparedColorLab)")
+	void testCalculateDeltaE2000() {
+		for (ColorLab color1 : COLORS) {
+			for (ColorLab color2 : COLORS) {
+				PreparedColorLab prepared1 = new PreparedColorLab(color1);
+				PreparedColorLab prepared2 = new PreparedColorLab(color2);
+				
+				BigDecimal expected = ColorUtil.calculateDeltaE2000(color1, color2);
+				Testing.assertEquals(expected, ColorUtil.calculateDeltaE2000(prepared1, prepared2), DELTA, MC);
+				Testing.assertEquals(expected, Delta.E2000.calculate(prepared1, prepared2), DELTA, MC);
+				Testing.assertEquals(ColorUtil.calculateDeltaE1976(color1, color2), Delta.E1976.calculate(prepared1, prepared2), DELTA, MC);
+				
+				Assertions.assertEquals(ColorUtilDouble.calculateDeltaE2000(color1, color2), ColorUtilDouble.calculateDeltaE2000(prepared1, prepared2));
+				Assertions.assertEquals(expected.doubleValue(), ColorUtilDouble.calculateDeltaE2000(prepared1, prepared2), ColorUtilDouble.ACCURACY);
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: calculateDeltaE2000(PreparedColorLab, PreparedColorLab, MathContext)")
+	void testCalculateDeltaE2000_MathContext() {
+		for (MathContext mc : new MathContext[] { Precision.DECIMAL64, Precision.DIGITS_34 }) {
+			for (ColorLab color1 : COLORS) {
+				for (ColorLab color2 : COLORS) {
+					PreparedColorLab prepared1 = new PreparedColorLab(color1, mc);
+					PreparedColorLab prepared2 = new PreparedColorLab(color2, mc);
+					
+					// Same result as the unprepared colors, not only within a delta
+					BigDecimal expected = ColorUtil.calculateDeltaE2000(color1, color2, mc);
+					Assertions.assertEquals(expected, ColorUtil.calculateDeltaE2000(prepared1, prepared2, mc));
+					Assertions.assertEquals(expected, Delta.E2000.calculate(prepared1, prepared2, mc));
+					Assertions.assertEquals(ColorUtil.calculateDeltaE1976(color1, color2, mc), Delta.E1976.calculate(prepared1, prepared2, mc));
+					Assertions.assertTrue(expected.precision() <= mc.getPrecision());
+					
+					for (BigDecimal threshold : THRESHOLDS) {
+						Assertions.assertEquals(expected.compareTo(threshold) <= 0, ColorUtil.isDeltaE2000Within(prepared1, prepared2, threshold, mc));
+					}
+				}
+			}
+		}
+		
+		PreparedColorLab prepared = new PreparedColorLab(COLORS[0]);
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtil.calculateDeltaE2000(prepared, prepared, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> ColorUtil.calculateDeltaE2000(prepared, prepared, new MathContext(0)));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtil.isDeltaE2000Within(prepared, prepared, BigDecimal.ONE, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Delta.E1976.calculate(prepared, prepared, new MathContext(101)));
+	}
+}
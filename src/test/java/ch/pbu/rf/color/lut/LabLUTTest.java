@@ -0,0 +1,164 @@
+package ch.pbu.rf.color.lut;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+
+/**
+ * Test for {@link LabLUT}.
+ *
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: LabLUT")
+class LabLUTTest {
+	private static final LabLUT LINEAR = LabLUT.create(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, 9, false, Precision.DIGITS_34);
+	private static final LabLUT ENCODED = LabLUT.create(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, 9, true, Precision.DIGITS_34);
+	private static final double DELTA = 1e-4;
+
+
+	@Test
+	@DisplayName(value = "Test: create(ColorSpaceRGB, Illuminant, int, boolean, MathContext)")
+	void testCreate() {
+		Assertions.assertThrows(NullPointerException.class, () -> LabLUT.create(null, RF.CIE1931.D65));
+		Assertions.assertThrows(NullPointerException.class, () -> LabLUT.create(RF.RGB.ColorSpace.sRGB, null));
+		Assertions.assertThrows(NullPointerException.class, () -> LabLUT.create(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, 17, false, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LabLUT.create(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, LabLUT.MIN_SIZE - 1, false, Precision.DIGITS_34));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LabLUT.create(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, LabLUT.MAX_SIZE + 1, false, Precision.DIGITS_34));
+
+		Assertions.assertEquals(9, LINEAR.getSize());
+		Assertions.assertFalse(LINEAR.isEncoded());
+		Assertions.assertTrue(ENCODED.isEncoded());
+	}
+
+	@Test
+	@DisplayName(value = "Test: lookup(double, double, double, double[], int)")
+	void testLookup() {
+		double[] lab = new double[4];
+
+		Assertions.assertThrows(NullPointerException.class, () -> LINEAR.lookup(0, 0, 0, null, 0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> LINEAR.lookup(0, 0, 0, lab, 2));
+
+		// Grid points are reproduced up to the float storage.
+		for (double r : new double[] { 0.0, 0.25, 1.0 }) {
+			for (double g : new double[] { 0.0, 0.5, 0.875 }) {
+				for (double b : new double[] { 0.0, 0.125, 1.0 }) {
+					ColorLab expected = exact(r, g, b);
+					LINEAR.lookup(r, g, b, lab, 1);
+
+					Assertions.assertEquals(expected.getL().doubleValue(), lab[1], DELTA);
+					Assertions.assertEquals(expected.getA().doubleValue(), lab[2], DELTA);
+					Assertions.assertEquals(expected.getB().doubleValue(), lab[3], DELTA);
+				}
+			}
+		}
+
+		// Out of range channels are clamped.
+		double[] clamped = new double[3];
+		LINEAR.lookup(-1.0, 2.0, Double.NaN, lab, 0);
+		LINEAR.lookup(0.0, 1.0, 0.0, clamped, 0);
+		Assertions.assertArrayEquals(clamped, new double[] { lab[0], lab[1], lab[2] });
+	}
+
+	@Test
+	@DisplayName(value = "Test: convert(...) - planar and interleaved byte")
+	void testConvert() {
+		Random random = new Random(1);
+		int length = 64;
+
+		double[] r = new double[length];
+		double[] g = new double[length];
+		double[] b = new double[length];
+		byte[] rgb = new byte[length * 3];
+		random.nextBytes(rgb);
+
+		for (int i = 0; i < length; i++) {
+			r[i] = random.nextDouble();
+			g[i] = random.nextDouble();
+			b[i] = random.nextDouble();
+		}
+
+		double[] l = new double[length];
+		double[] a = new double[length];
+		double[] bb = new double[length];
+		double[] lab = new double[3];
+
+		LINEAR.convert(r, g, b, l, a, bb);
+		for (int i = 0; i < length; i++) {
+			LINEAR.lookup(r[i], g[i], b[i], lab, 0);
+			Assertions.assertArrayEquals(lab, new double[] { l[i], a[i], bb[i] });
+		}
+
+		ENCODED.convert(rgb, 1, l, a, bb, 0, length - 1);
+		for (int i = 0; i < length - 1; i++) {
+			int j = (i + 1) * 3;
+			ENCODED.lookup((rgb[j] & 0xFF) / 255.0, (rgb[j + 1] & 0xFF) / 255.0, (rgb[j + 2] & 0xFF) / 255.0, lab, 0);
+			Assertions.assertArrayEquals(lab, new double[] { l[i], a[i], bb[i] });
+		}
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> LINEAR.convert(r, g, new double[length - 1], l, a, bb));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ENCODED.convert(rgb, 1, l, a, bb, 0, length));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> ENCODED.convert(rgb, 1431655766, l, a, bb, 0, 0));
+	}
+
+	@Test
+	@DisplayName(value = "Test: measure(DeltaECalculatorDelegate, int, long)")
+	void testMeasure() {
+		Assertions.assertThrows(NullPointerException.class, () -> LINEAR.measure(null, 10, 1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> LINEAR.measure(Delta.E2000, -1, 1));
+
+		LabLUTReport report = LINEAR.measure(Delta.E2000, 200, 1);
+		Assertions.assertEquals(208, report.getSamples());
+		Assertions.assertTrue(report.getMeanError() <= report.getMaxError());
+		Assertions.assertEquals(3, report.getWorst().length);
+
+		// A finer grid interpolates more accurately.
+		LabLUTReport finer = LabLUT.create(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, 17, false, Precision.DIGITS_34).measure(Delta.E2000, 200, 1);
+		Assertions.assertTrue(finer.getMaxError() < report.getMaxError());
+		Assertions.assertTrue(ENCODED.measure(Delta.E2000, 200, 1).getMaxError() < report.getMaxError());
+	}
+
+	@Test
+	@DisplayName(value = "Test: write(OutputStream) and read(InputStream, ColorSpaceRGB, Illuminant)")
+	void testWriteRead() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ENCODED.write(out);
+		byte[] bytes = out.toByteArray();
+
+		LabLUT read = LabLUT.read(new ByteArrayInputStream(bytes), RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65);
+		Assertions.assertEquals(ENCODED.getSize(), read.getSize());
+		Assertions.assertEquals(ENCODED.isEncoded(), read.isEncoded());
+		Assertions.assertEquals(ENCODED.getMathContext().getPrecision(), read.getMathContext().getPrecision());
+
+		double[] expected = new double[3];
+		double[] actual = new double[3];
+		for (double val = 0.0; val <= 1.0; val += 0.07) {
+			ENCODED.lookup(val, 1.0 - val, val / 2, expected, 0);
+			read.lookup(val, 1.0 - val, val / 2, actual, 0);
+			Assertions.assertArrayEquals(expected, actual);
+		}
+
+		Assertions.assertThrows(IOException.class, () -> LabLUT.read(new ByteArrayInputStream(bytes), RF.RGB.ColorSpace.AdobeRGB, RF.CIE1931.D65));
+		Assertions.assertThrows(IOException.class, () -> LabLUT.read(new ByteArrayInputStream(bytes), RF.RGB.ColorSpace.sRGB, RF.CIE1931.D50));
+		Assertions.assertThrows(IOException.class, () -> LabLUT.read(new ByteArrayInputStream(new byte[16]), RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65));
+		Assertions.assertThrows(IOException.class, () -> LabLUT.read(new ByteArrayInputStream(bytes, 0, bytes.length - 1), RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65));
+	}
+
+
+	private static ColorLab exact(double r, double g, double b) {
+		ColorRGB rgb = new ColorRGB(new BigDecimal(r), new BigDecimal(g), new BigDecimal(b));
+		return ColorUtil.convertToLab(ColorUtil.convertToXYZ(rgb, RF.CIE1931.D65), RF.CIE1931.D65);
+	}
+}
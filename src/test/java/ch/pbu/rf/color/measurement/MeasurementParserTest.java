@@ -0,0 +1,98 @@
+package ch.pbu.rf.color.measurement;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for {@link MeasurementParser}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: MeasurementParser")
+class MeasurementParserTest {
+	
+	
+	@Test
+	@DisplayName(value = "Test: parseDouble()")
+	void testParseDouble() {
+		String[] values = {
+			"0", "-0", "+1", "1.", ".5", "0.05", "00012.5000", "-97.123456", "1e3", "1.5E-7", "-2.5e+10",
+			"123456789012345678", "1234567890123456789", "0.1234567890123456789", "9007199254740993",
+			"1e22", "1e23", "4.9e-324", "1.7976931348623157e308", "1e400", "1e-400"
+		};
+		
+		for (String value : values) {
+			Assertions.assertEquals(Double.doubleToLongBits(Double.parseDouble(value)), Double.doubleToLongBits(parse(value, (byte) 0).parseDouble()), value);
+		}
+		
+		Random random = new Random(1);
+		for (int i = 0; i < 100_000; i++) {
+			String value = i % 2 == 0
+				? Double.toString((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10))
+				: BigDecimal.valueOf(random.nextInt(2_000_001) - 1_000_000, random.nextInt(9)).toPlainString();
+			
+			Assertions.assertEquals(Double.doubleToLongBits(Double.parseDouble(value)), Double.doubleToLongBits(parse(value, (byte) 0).parseDouble()), value);
+		}
+		
+		Assertions.assertEquals(1.25, parse("1,25", (byte) ',').parseDouble());
+		Assertions.assertTrue(Double.isNaN(parse("", (byte) 0).parseDouble()));
+		
+		for (String value : new String[] { "-", ".", "abc", "1.2.3", "1e", "e5", "1,5", "1e5x", "--1" }) {
+			Assertions.assertThrows(NumberFormatException.class, () -> parse(value, (byte) 0).parseDouble(), value);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: parseExact()")
+	void testParseExact() {
+		Assertions.assertEquals(new BigDecimal("12.3400"), parse("12.3400", (byte) 0).parseExact());
+		Assertions.assertEquals(new BigDecimal("-0.1234567890123456789012345"), parse("-0.1234567890123456789012345", (byte) 0).parseExact());
+		Assertions.assertEquals(new BigDecimal("1.25"), parse("1,25", (byte) ',').parseExact());
+		Assertions.assertNull(parse("", (byte) 0).parseExact());
+		Assertions.assertThrows(NumberFormatException.class, () -> parse("abc", (byte) 0).parseExact());
+	}
+	
+	@Test
+	@DisplayName(value = "Test: next()")
+	void testNext() {
+		MeasurementParser csv = new MeasurementParser((byte) ',', (byte) 0);
+		byte[] bytes = "a, \"b,\"\"c\"\" \" ,,d ".getBytes(StandardCharsets.UTF_8);
+		csv.line(bytes, 0, bytes.length);
+		
+		Assertions.assertTrue(csv.next());
+		Assertions.assertEquals("a", csv.text());
+		Assertions.assertTrue(csv.next());
+		Assertions.assertEquals("b,\"c\" ", csv.text());
+		Assertions.assertTrue(csv.next());
+		Assertions.assertTrue(csv.isEmpty());
+		Assertions.assertTrue(csv.next());
+		Assertions.assertEquals("d", csv.text());
+		Assertions.assertFalse(csv.next());
+		
+		MeasurementParser cgats = new MeasurementParser((byte) 0, (byte) 0);
+		bytes = "  A1\t\"Patch 1\"   50.5 ".getBytes(StandardCharsets.UTF_8);
+		cgats.line(bytes, 0, bytes.length);
+		
+		Assertions.assertTrue(cgats.next());
+		Assertions.assertTrue(cgats.equalsText("A1"));
+		Assertions.assertTrue(cgats.next());
+		Assertions.assertEquals("Patch 1", cgats.text());
+		Assertions.assertTrue(cgats.next());
+		Assertions.assertEquals(50.5, cgats.parseDouble());
+		Assertions.assertFalse(cgats.next());
+	}
+	
+	
+	private static MeasurementParser parse(String value, byte decimalSeparator) {
+		byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+		MeasurementParser parser = new MeasurementParser((byte) ';', decimalSeparator);
+		parser.line(bytes, 0, bytes.length);
+		parser.next();
+		return parser;
+	}
+}
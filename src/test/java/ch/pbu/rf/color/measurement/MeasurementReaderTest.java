@@ -0,0 +1,232 @@
+package ch.pbu.rf.color.measurement;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.ColorBatchUtil;
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.pbu.rf.color.lab.ColorLab;
+
+/**
+ * Test for {@link MeasurementReader}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: MeasurementReader")
+class MeasurementReaderTest {
+	private static final String CGATS = String.join("\n",
+		"CGATS.17",
+		"ORIGINATOR\t\"Test\"",
+		"NUMBER_OF_FIELDS 8",
+		"BEGIN_DATA_FORMAT",
+		"SAMPLE_ID SAMPLE_NAME RGB_R RGB_G RGB_B",
+		"LAB_L LAB_A LAB_B",
+		"END_DATA_FORMAT",
+		"NUMBER_OF_SETS 3",
+		"BEGIN_DATA",
+		"1\t\"White patch\"\t1.0\t1.0\t1.0\t100.0\t0.0\t0.0",
+		"2  \"Gray\"  0.5  0.5  0.5  76.07  0  0",
+		"",
+		"3 \"Red\" 1 0 0 53.24 80.09 67.2",
+		"END_DATA",
+		"");
+	
+	
+	@Test
+	@DisplayName(value = "Test: open(Path, MeasurementFormat, int)")
+	void testOpen() throws IOException {
+		Path file = write("ID,L,a,b\n1,50,0,0\n");
+		
+		try {
+			Assertions.assertThrows(NullPointerException.class, () -> MeasurementReader.open(null));
+			Assertions.assertThrows(IllegalArgumentException.class, () -> MeasurementReader.open(file, null, 0));
+			Assertions.assertThrows(IOException.class, () -> MeasurementReader.open(file, MeasurementFormat.CGATS, 10));
+			
+			try (MeasurementReader reader = MeasurementReader.open(file)) {
+				Assertions.assertEquals(MeasurementFormat.CSV, reader.getFormat());
+				Assertions.assertEquals(EnumSet.of(MeasurementField.SAMPLE_ID, MeasurementField.LAB_L, MeasurementField.LAB_A, MeasurementField.LAB_B), reader.getFields());
+				Assertions.assertThrows(NullPointerException.class, () -> reader.read(null));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: read(Consumer) of CSV")
+	void testReadCSV() throws IOException {
+		Path file = write("\uFEFFid,Comment,L*,a*,b*\r\n\"A,1\",x,50.5,-10.25,3\r\n\r\nA2,\"y\",12.3456789012345678901,,-0.5\r\nA3,z,0,1e1,2");
+		
+		try (MeasurementReader reader = MeasurementReader.open(file, null, 2)) {
+			List<Long> firstRows = new ArrayList<>();
+			
+			long rows = reader.read(batch -> {
+				firstRows.add(batch.getFirstRow());
+				
+				if (batch.getFirstRow() == 0) {
+					Assertions.assertEquals(2, batch.getSize());
+					Assertions.assertEquals("A,1", batch.getId(0));
+					Assertions.assertArrayEquals(new double[] { 50.5, 12.345678901234567 }, slice(batch.getColumn(MeasurementField.LAB_L), 2));
+					Assertions.assertEquals(-10.25, batch.getColumn(MeasurementField.LAB_A)[0]);
+					Assertions.assertTrue(Double.isNaN(batch.getColumn(MeasurementField.LAB_A)[1]));
+					Assertions.assertEquals(new BigDecimal("12.3456789012345678901"), batch.getExact(MeasurementField.LAB_L, 1));
+					Assertions.assertNull(batch.getExact(MeasurementField.LAB_A, 1));
+					Assertions.assertEquals(new ColorLab(new BigDecimal("50.5"), new BigDecimal("-10.25"), new BigDecimal("3")), batch.getColorLab(0));
+					
+					Assertions.assertThrows(IllegalArgumentException.class, () -> batch.getColumn(MeasurementField.SAMPLE_ID));
+					Assertions.assertThrows(IllegalArgumentException.class, () -> batch.getColumn(MeasurementField.XYZ_X));
+					Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batch.getId(2));
+				} else {
+					Assertions.assertEquals(1, batch.getSize());
+					Assertions.assertEquals("A3", batch.getId(0));
+					Assertions.assertEquals(10.0, batch.getColumn(MeasurementField.LAB_A)[0]);
+				}
+			});
+			
+			Assertions.assertEquals(3, rows);
+			Assertions.assertEquals(2, firstRows.size());
+			Assertions.assertEquals(2L, firstRows.get(1).longValue());
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: read(Consumer) of CSV with semicolons and decimal commas")
+	void testReadCSV_semicolon() throws IOException {
+		Path file = write("X;Y;Z\n0,5;\"0,25\";1\n");
+		
+		try (MeasurementReader reader = MeasurementReader.open(file)) {
+			reader.read(batch -> {
+				Assertions.assertEquals(0.5, batch.getColumn(MeasurementField.XYZ_X)[0]);
+				Assertions.assertEquals(0.25, batch.getColumn(MeasurementField.XYZ_Y)[0]);
+				Assertions.assertEquals(new BigDecimal("0.25"), batch.getExact(MeasurementField.XYZ_Y, 0));
+			});
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: read(Consumer) of CGATS")
+	void testReadCGATS() throws IOException {
+		Path file = write(CGATS + "4 \"After END_DATA\" 0 0 0 0 0 0\n");
+		
+		try (MeasurementReader reader = MeasurementReader.open(file)) {
+			Assertions.assertEquals(MeasurementFormat.CGATS, reader.getFormat());
+			Assertions.assertFalse(reader.getFields().contains(MeasurementField.XYZ_X));
+			
+			long rows = reader.read(batch -> {
+				Assertions.assertEquals(3, batch.getSize());
+				Assertions.assertEquals("2", batch.getId(1));
+				
+				double[] l = new double[3], a = new double[3], b = new double[3];
+				double[] expectedL = new double[3], expectedA = new double[3], expectedB = new double[3];
+				
+				batch.convertRGBToLab(RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, l, a, b, 0);
+				ColorBatchUtil.convertRGBToLab(
+					batch.getColumn(MeasurementField.RGB_R), batch.getColumn(MeasurementField.RGB_G), batch.getColumn(MeasurementField.RGB_B), 0,
+					RF.RGB.ColorSpace.sRGB, RF.CIE1931.D65, expectedL, expectedA, expectedB, 0, 3);
+				
+				Assertions.assertArrayEquals(expectedL, l);
+				Assertions.assertArrayEquals(expectedA, a);
+				Assertions.assertArrayEquals(expectedB, b);
+				
+				double[] result = new double[4];
+				batch.calculateDeltaE(100, 0, 0, Delta.E2000, result, 1);
+				
+				Assertions.assertEquals(0.0, result[1], ColorUtilDouble.ACCURACY);
+				Assertions.assertEquals(Delta.E2000.calculate(100, 0, 0, 53.24, 80.09, 67.2), result[3], ColorUtilDouble.ACCURACY);
+			});
+			
+			Assertions.assertEquals(3, rows);
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: read(Consumer) across chunks and mapping windows")
+	void testRead_windows() throws IOException {
+		Random random = new Random(1);
+		int length = 5000;
+		double[] expected = new double[length];
+		StringBuilder content = new StringBuilder("LAB_L,LAB_A,LAB_B\n");
+		
+		for (int i = 0; i < length; i++) {
+			expected[i] = random.nextInt(1_000_000) / 1000.0;
+			content.append(expected[i]).append(',').append(-expected[i]).append(",0\n");
+		}
+		
+		Path file = write(content.toString());
+		
+		try (MeasurementReader reader = MeasurementReader.open(file, MeasurementFormat.CSV, 100, 1024, 256)) {
+			double[] actual = new double[length];
+			
+			long rows = reader.read(batch -> {
+				Assertions.assertTrue(batch.getSize() <= 100);
+				
+				for (int i = 0; i < batch.getSize(); i++) {
+					actual[(int) batch.getFirstRow() + i] = batch.getColumn(MeasurementField.LAB_L)[i];
+					Assertions.assertEquals(-batch.getColumn(MeasurementField.LAB_L)[i], batch.getExact(MeasurementField.LAB_A, i).doubleValue());
+				}
+			});
+			
+			Assertions.assertEquals(length, rows);
+			Assertions.assertArrayEquals(expected, actual);
+		}
+		
+		Assertions.assertThrows(IOException.class, () -> MeasurementReader.open(file, MeasurementFormat.CSV, 100, 1024, 16));
+		
+		try (MeasurementReader reader = MeasurementReader.open(file, MeasurementFormat.CSV, 100, 1024, 18)) {
+			Assertions.assertThrows(IOException.class, () -> reader.read(batch -> { }));
+		} finally {
+			Files.delete(file);
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: read(Consumer) of invalid rows")
+	void testRead_invalid() throws IOException {
+		Path notANumber = write("L,a,b\n1,2,3\n1,x,3\n");
+		Path tooFewFields = write("L,a,b\n1,2\n");
+		
+		try (MeasurementReader reader = MeasurementReader.open(notANumber)) {
+			IOException e = Assertions.assertThrows(IOException.class, () -> reader.read(batch -> { }));
+			Assertions.assertTrue(e.getMessage().startsWith("line 3"), e.getMessage());
+		}
+		
+		try (MeasurementReader reader = MeasurementReader.open(tooFewFields)) {
+			Assertions.assertThrows(IOException.class, () -> reader.read(batch -> { }));
+		} finally {
+			Files.delete(notANumber);
+			Files.delete(tooFewFields);
+		}
+	}
+	
+	
+	private static Path write(String content) throws IOException {
+		Path file = Files.createTempFile("measurement", ".txt");
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+	
+	private static double[] slice(double[] values, int length) {
+		double[] result = new double[length];
+		System.arraycopy(values, 0, result, 0, length);
+		return result;
+	}
+}
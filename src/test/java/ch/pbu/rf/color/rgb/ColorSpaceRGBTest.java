@@ -6,8 +6,10 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import ch.pbu.rf.MathUtil;
 import ch.pbu.rf.RF;
 import ch.pbu.rf.color.ColorType;
+import ch.yanicksenn.testing.Testing;
 
 /**
  * Test for {@link ColorSpaceRGB}.
@@ -100,4 +102,25 @@ class ColorSpaceRGBTest {
 		ColorSpaceRGB colorSpace10 = new ColorSpaceRGB("Name", RF.CIE1931.D65, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ONE);
 		Assertions.assertNotEquals(colorSpace1, colorSpace10);
 	}
+	
+	@Test
+	@DisplayName(value = "Test: getRGBtoXYZTransformationMatrix() and getXYZtoRGBTransformationMatrix()")
+	void testGetTransformationMatrix() {
+		ColorSpaceRGB colorSpace = new ColorSpaceRGB("Name", RF.CIE1931.D65, new BigDecimal("0.64"), new BigDecimal("0.33"), new BigDecimal("0.30"), new BigDecimal("0.60"), new BigDecimal("0.15"), new BigDecimal("0.06"));
+		
+		BigDecimal[][] rgbToXyz = colorSpace.getRGBtoXYZTransformationMatrix();
+		BigDecimal[][] xyzToRgb = colorSpace.getXYZtoRGBTransformationMatrix();
+		BigDecimal[][] identity = MathUtil.calculateProduct(rgbToXyz, xyzToRgb, RF.MC);
+		
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 3; x++) {
+				Testing.assertEquals(x == y ? BigDecimal.ONE : BigDecimal.ZERO, identity[y][x], new BigDecimal("0.000000001"), RF.MC);
+			}
+		}
+		
+		// Returned matrices are copies of the cached ones
+		rgbToXyz[0][0] = BigDecimal.TEN;
+		Assertions.assertNotEquals(BigDecimal.TEN, colorSpace.getRGBtoXYZTransformationMatrix()[0][0]);
+		Assertions.assertNotSame(colorSpace.getXYZtoRGBTransformationMatrix(), colorSpace.getXYZtoRGBTransformationMatrix());
+	}
 }
@@ -0,0 +1,77 @@
+package ch.pbu.rf.color.rgb;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.yanicksenn.testing.Testing;
+
+/**
+ * Test for {@link GammaTable}.
+ *
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: GammaTable")
+class GammaTableTest {
+
+	@Test
+	@DisplayName(value = "Test: of(int, MathContext)")
+	void testOf() {
+		Assertions.assertThrows(NullPointerException.class, () -> GammaTable.of(GammaTable.BITS_8, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> GammaTable.of(12));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> GammaTable.of(GammaTable.BITS_8, MathContext.UNLIMITED));
+
+		Assertions.assertSame(GammaTable.of(GammaTable.BITS_8), GammaTable.of(GammaTable.BITS_8, RF.MC));
+		Assertions.assertNotSame(GammaTable.of(GammaTable.BITS_8), GammaTable.of(GammaTable.BITS_8, Precision.DIGITS_34));
+
+		Assertions.assertEquals(255, GammaTable.of(GammaTable.BITS_8).getMaxCode());
+		Assertions.assertEquals(65535, GammaTable.of(GammaTable.BITS_16).getMaxCode());
+	}
+
+	@Test
+	@DisplayName(value = "Test: linearize(int)")
+	void testLinearize() {
+		GammaTable table = GammaTable.of(GammaTable.BITS_8, Precision.DIGITS_34);
+
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> table.linearize(256));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> table.linearizeAsDouble(-1));
+
+		for (int code = 0; code <= table.getMaxCode(); code += 15) {
+			BigDecimal val = new BigDecimal(code).divide(new BigDecimal(255), Precision.DIGITS_34);
+			BigDecimal expected = ColorUtil.calulateRGBtoXYZGammaCorrection(val, Precision.DIGITS_34);
+
+			Assertions.assertEquals(expected, table.linearize(code));
+			Assertions.assertSame(table.linearize(code), table.linearize(code));
+			Testing.assertEquals(expected, new BigDecimal(table.linearizeAsDouble(code)), new BigDecimal(ColorUtilDouble.ACCURACY), RF.MC);
+		}
+	}
+
+	@Test
+	@DisplayName(value = "Test: encode(double)")
+	void testEncode() {
+		for (int bits : new int[] { GammaTable.BITS_8, GammaTable.BITS_16 }) {
+			GammaTable table = GammaTable.of(bits);
+			int max = table.getMaxCode();
+
+			Assertions.assertEquals(0, table.encode(-1.0));
+			Assertions.assertEquals(0, table.encode(Double.NaN));
+			Assertions.assertEquals(max, table.encode(2.0));
+
+			for (int code = 0; code <= max; code += bits == GammaTable.BITS_8 ? 1 : 257) {
+				Assertions.assertEquals(code, table.encode(table.linearizeAsDouble(code)));
+			}
+
+			for (double val = 0.0; val <= 1.0; val += 0.0013) {
+				long expected = Math.round(ColorUtilDouble.calulateXYZtoRGBGammaCorrection(val) * max);
+				Assertions.assertEquals(expected, table.encode(val), 1);
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package ch.pbu.rf.illuminant;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.Matrix3;
+import ch.pbu.rf.Precision;
+import ch.pbu.rf.RF;
+import ch.pbu.rf.color.ColorUtil;
+import ch.pbu.rf.color.ConversionPipeline;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.color.rgb.ColorRGB;
+import ch.pbu.rf.color.rgb.ColorSpaceRGB;
+import ch.pbu.rf.color.xyz.ColorXYZ;
+import ch.yanicksenn.testing.Testing;
+
+/**
+ * Test for {@link ChromaticAdaptation}.
+ * 
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: ChromaticAdaptation")
+class ChromaticAdaptationTest {
+	private static final MathContext MC = RF.MC;
+	private static final BigDecimal DELTA = new BigDecimal("1E-90");
+	
+	@Test
+	@DisplayName(value = "Test: getMatrix(Illuminant, Illuminant)")
+	void testGetMatrix() {
+		Assertions.assertThrows(NullPointerException.class, () -> ChromaticAdaptation.BRADFORD.getMatrix(null, RF.CIE1931.D50));
+		Assertions.assertThrows(NullPointerException.class, () -> ChromaticAdaptation.BRADFORD.getMatrix(RF.CIE1931.D65, null));
+		
+		Assertions.assertSame(Matrix3.IDENTITY, ChromaticAdaptation.CAT02.getMatrix(RF.CIE1931.D65, RF.CIE1931.D65));
+		Assertions.assertSame(
+			ChromaticAdaptation.BRADFORD.getMatrix(RF.CIE1931.D65, RF.CIE1931.D50),
+			ChromaticAdaptation.BRADFORD.getMatrix(RF.CIE1931.D65, RF.CIE1931.D50));
+		
+		// Bradford D65 to D50 (Lindbloom); the white points differ slightly in the fourth digit.
+		double[][] expected = {
+			{ 1.0478112, 0.0228866, -0.0501270 },
+			{ 0.0295424, 0.9904844, -0.0170491 },
+			{ -0.0092345, 0.0150436, 0.7521316 }
+		};
+		
+		Matrix3 matrix = ChromaticAdaptation.BRADFORD.getMatrix(RF.CIE1931.D65, RF.CIE1931.D50);
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 3; x++) {
+				Assertions.assertEquals(expected[y][x], matrix.get(y, x).doubleValue(), 5e-4);
+			}
+		}
+		
+		for (ChromaticAdaptation adaptation : ChromaticAdaptation.values()) {
+			Matrix3 forward = adaptation.getMatrix(RF.CIE1964.A, RF.CIE1964.D65);
+			Matrix3 backward = adaptation.getMatrix(RF.CIE1964.D65, RF.CIE1964.A);
+			assertEquals(Matrix3.IDENTITY, forward.multiply(backward, MC));
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: adapt(ColorXYZ, Illuminant, Illuminant)")
+	void testAdapt() {
+		Assertions.assertThrows(NullPointerException.class, () -> ChromaticAdaptation.BRADFORD.adapt(null, RF.CIE1931.D65, RF.CIE1931.D50));
+		Assertions.assertThrows(NullPointerException.class, () -> ChromaticAdaptation.BRADFORD.adapt(RF.CIE1931.D65.getReferenceWhite(), RF.CIE1931.D65, RF.CIE1931.D50, null));
+		
+		for (ChromaticAdaptation adaptation : ChromaticAdaptation.values()) {
+			for (Illuminant source : RF.CIE1931.getIlluminants()) {
+				ColorXYZ white = adaptation.adapt(source.getReferenceWhite(), source, RF.CIE1931.D50);
+				assertEquals(RF.CIE1931.D50.getReferenceWhite(), white);
+			}
+		}
+	}
+	
+	@Test
+	@DisplayName(value = "Test: fused RGB to XYZ")
+	void testFused() {
+		ColorSpaceRGB colorSpace = RF.RGB.ColorSpace.sRGB;
+		ColorRGB white = new ColorRGB(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.ONE);
+		ColorRGB color = new ColorRGB(new BigDecimal("0.2"), new BigDecimal("0.5"), new BigDecimal("0.9"));
+		
+		Assertions.assertThrows(NullPointerException.class, () -> colorSpace.getRGBtoXYZMatrix(null, ChromaticAdaptation.BRADFORD));
+		Assertions.assertThrows(NullPointerException.class, () -> colorSpace.getXYZtoRGBMatrix(RF.CIE1931.D50, null));
+		Assertions.assertSame(
+			colorSpace.getRGBtoXYZMatrix(RF.CIE1931.D50, ChromaticAdaptation.BRADFORD),
+			colorSpace.getRGBtoXYZMatrix(RF.CIE1931.D50, ChromaticAdaptation.BRADFORD));
+		assertEquals(Matrix3.IDENTITY, colorSpace.getRGBtoXYZMatrix(RF.CIE1931.D50, ChromaticAdaptation.BRADFORD)
+			.multiply(colorSpace.getXYZtoRGBMatrix(RF.CIE1931.D50, ChromaticAdaptation.BRADFORD), MC));
+		
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtil.convertToXYZ(white, colorSpace, null, ChromaticAdaptation.BRADFORD, MC));
+		Assertions.assertThrows(NullPointerException.class, () -> ColorUtil.convertToXYZ(white, colorSpace, RF.CIE1931.D50, null, MC));
+		assertEquals(RF.CIE1931.D50.getReferenceWhite(), ColorUtil.convertToXYZ(white, colorSpace, RF.CIE1931.D50, ChromaticAdaptation.BRADFORD, MC));
+		assertEquals(
+			ChromaticAdaptation.BRADFORD.adapt(ColorUtil.convertToXYZ(color, RF.CIE1931.D65, MC), RF.CIE1931.D65, RF.CIE1931.D50),
+			ColorUtil.convertToXYZ(color, colorSpace, RF.CIE1931.D50, ChromaticAdaptation.BRADFORD, MC));
+		
+		ConversionPipeline pipeline = ConversionPipeline.of(colorSpace, RF.CIE1931.D50, ChromaticAdaptation.BRADFORD, false, Precision.DIGITS_34);
+		Assertions.assertEquals(ChromaticAdaptation.BRADFORD, pipeline.getAdaptation());
+		
+		ColorLab lab = pipeline.convertToLab(white);
+		Testing.assertEquals(new BigDecimal("100"), lab.getL(), new BigDecimal("1E-25"), MC);
+		Testing.assertEquals(BigDecimal.ZERO, lab.getA(), new BigDecimal("1E-25"), MC);
+		Testing.assertEquals(BigDecimal.ZERO, lab.getB(), new BigDecimal("1E-25"), MC);
+		
+		ColorRGB rgb = pipeline.convertToRGB(pipeline.convertToLab(color));
+		Testing.assertEquals(color.getR(), rgb.getR(), new BigDecimal("1E-25"), MC);
+		Testing.assertEquals(color.getG(), rgb.getG(), new BigDecimal("1E-25"), MC);
+		Testing.assertEquals(color.getB(), rgb.getB(), new BigDecimal("1E-25"), MC);
+	}
+	
+	private static void assertEquals(ColorXYZ expected, ColorXYZ actual) {
+		Testing.assertEquals(expected.getX(), actual.getX(), DELTA, MC);
+		Testing.assertEquals(expected.getY(), actual.getY(), DELTA, MC);
+		Testing.assertEquals(expected.getZ(), actual.getZ(), DELTA, MC);
+	}
+	
+	private static void assertEquals(Matrix3 expected, Matrix3 actual) {
+		for (int y = 0; y < 3; y++) {
+			for (int x = 0; x < 3; x++) {
+				Testing.assertEquals(expected.get(y, x), actual.get(y, x), DELTA, MC);
+			}
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package ch.pbu.rf.pot.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import ch.pbu.rf.color.ColorUtilDouble;
+import ch.pbu.rf.color.RandomColors;
+import ch.pbu.rf.color.deltae.Delta;
+import ch.pbu.rf.color.lab.ColorLab;
+import ch.pbu.rf.pot.Pot;
+
+/**
+ * Test for {@link PotIndex}.
+ * <p>
+ * Every query is compared against a linear scan.
+ *
+ * @author Yanick Senn
+ */
+@DisplayName(value = "Test: PotIndex")
+class PotIndexTest {
+	private static final List<Pot> POTS = createRandomPots(3000, 1);
+	private static final List<ColorLab> TARGETS = RandomColors.createLab(25, 2);
+
+
+	@Test
+	@DisplayName(value = "Test: PotIndex(Collection)")
+	void testConstructor() {
+		Assertions.assertThrows(NullPointerException.class, () -> new PotIndex(null));
+		Assertions.assertThrows(NullPointerException.class, () -> new PotIndex(Collections.singletonList(new Pot())));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new PotIndex(POTS, 0));
+
+		PotIndex empty = new PotIndex(Collections.emptyList());
+		Assertions.assertEquals(0, empty.size());
+		Assertions.assertTrue(empty.findNearest(TARGETS.get(0), 3).isEmpty());
+		Assertions.assertTrue(empty.findWithin(TARGETS.get(0), 10).isEmpty());
+
+		Assertions.assertEquals(POTS.size(), new PotIndex(POTS).size());
+	}
+
+	@Test
+	@DisplayName(value = "Test: findNearest(ColorLab, int, Delta)")
+	void testFindNearest() {
+		PotIndex index = new PotIndex(POTS);
+
+		Assertions.assertThrows(NullPointerException.class, () -> index.findNearest(null, 1));
+		Assertions.assertThrows(NullPointerException.class, () -> index.findNearest(TARGETS.get(0), 1, null));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> index.findNearest(TARGETS.get(0), 0));
+
+		for (Delta delta : Delta.values()) {
+			for (ColorLab target : TARGETS) {
+				for (int k : new int[] { 1, 7, 40 }) {
+					List<PotMatch> expected = scan(target, delta);
+					assertEquals(expected.subList(0, k), index.findNearest(target, k, delta));
+				}
+			}
+		}
+
+		Assertions.assertEquals(POTS.size(), index.findNearest(TARGETS.get(0), POTS.size() + 1).size());
+	}
+
+	@Test
+	@DisplayName(value = "Test: findWithin(ColorLab, double, Delta)")
+	void testFindWithin() {
+		PotIndex index = new PotIndex(POTS, 4);
+
+		Assertions.assertThrows(NullPointerException.class, () -> index.findWithin(null, 1));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> index.findWithin(TARGETS.get(0), -1));
+
+		for (Delta delta : Delta.values()) {
+			for (ColorLab target : TARGETS) {
+				for (double radius : new double[] { 0, 5, 20 }) {
+					List<PotMatch> expected = new ArrayList<>();
+					for (PotMatch match : scan(target, delta)) {
+						if (match.getDistance() <= radius) {
+							expected.add(match);
+						}
+					}
+
+					assertEquals(expected, index.findWithin(target, radius, delta));
+				}
+			}
+		}
+	}
+
+
+	private static List<PotMatch> scan(ColorLab target, Delta delta) {
+		List<PotMatch> result = new ArrayList<>();
+
+		for (Pot pot : POTS) {
+			ColorLab color = (ColorLab) pot.getColor();
+			result.add(new PotMatch(pot, delta.calculate(
+				target.getL().doubleValue(), target.getA().doubleValue(), target.getB().doubleValue(),
+				color.getL().doubleValue(), color.getA().doubleValue(), color.getB().doubleValue())));
+		}
+
+		Collections.sort(result);
+		return result;
+	}
+
+	private static void assertEquals(List<PotMatch> expected, List<PotMatch> actual) {
+		Assertions.assertEquals(expected.size(), actual.size());
+
+		for (int i = 0; i < expected.size(); i++) {
+			Assertions.assertSame(expected.get(i).getPot(), actual.get(i).getPot());
+			Assertions.assertEquals(expected.get(i).getDistance(), actual.get(i).getDistance(), ColorUtilDouble.ACCURACY);
+		}
+	}
+
+	private static List<Pot> createRandomPots(int length, long seed) {
+		Random random = new Random(seed);
+		Pot[] result = new Pot[length];
+
+		for (int i = 0; i < length; i++) {
+			result[i] = new Pot();
+			result[i].setName("Pot " + i);
+			result[i].setColor(RandomColors.createLab(random));
+		}
+
+		return Arrays.asList(result);
+	}
+}